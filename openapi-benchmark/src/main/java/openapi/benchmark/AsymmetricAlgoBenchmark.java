@@ -0,0 +1,104 @@
+package openapi.benchmark;
+
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.model.KeyPair;
+import openapi.sdk.common.util.AsymmetricCryUtil;
+import openapi.sdk.common.util.Base64Util;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 非对称算法基准测试：对比RSA、SM2、Ed25519的签名、验签及对称密钥加解密吞吐量
+ * <p>
+ * gatewayCall模拟服务端在对称加密模式下处理一次调用的非对称运算：验签、解密调用者的对称密钥、加密返回值的对称密钥
+ * </p>
+ * <p>
+ * 运行：java -jar openapi-benchmark/target/benchmarks.jar AsymmetricAlgoBenchmark
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsymmetricAlgoBenchmark {
+
+    /**
+     * 非对称加密算法
+     */
+    @Param({AsymmetricCryAlgo.RSA, AsymmetricCryAlgo.SM2, AsymmetricCryAlgo.ED25519})
+    private String algo;
+
+    /**
+     * 数据长度（字节）
+     */
+    @Param({"1024"})
+    private int size;
+
+    private AsymmetricCryHandler handler;
+    private KeyPair serverKeyPair;
+    private KeyPair callerKeyPair;
+    private byte[] data;
+    private String symmetricKey;
+    private String wrappedKey;
+    private String sign;
+
+    @Setup
+    public void setup() {
+        handler = CryHandlerMap.getAsymmetricCryHandler(algo);
+        serverKeyPair = generateKeys(algo);
+        callerKeyPair = generateKeys(algo);
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        symmetricKey = Base64Util.bytesToBase64(CryHandlerMap.getSymmetricCryHandler(SymmetricCryAlgo.AES).generateKey());
+        wrappedKey = handler.cry(serverKeyPair.getPublicKey(), symmetricKey);
+        sign = handler.sign(callerKeyPair.getPrivateKey(), data);
+    }
+
+    @Benchmark
+    public String sign() {
+        return handler.sign(callerKeyPair.getPrivateKey(), data);
+    }
+
+    @Benchmark
+    public void verifySign(Blackhole blackhole) {
+        blackhole.consume(handler.verifySign(callerKeyPair.getPublicKey(), data, sign));
+    }
+
+    @Benchmark
+    public String wrapKey() {
+        return handler.cry(callerKeyPair.getPublicKey(), symmetricKey);
+    }
+
+    @Benchmark
+    public String unwrapKey() {
+        return handler.deCry(serverKeyPair.getPrivateKey(), wrappedKey);
+    }
+
+    @Benchmark
+    public void gatewayCall(Blackhole blackhole) {
+        blackhole.consume(handler.verifySign(callerKeyPair.getPublicKey(), data, sign));
+        blackhole.consume(handler.deCry(serverKeyPair.getPrivateKey(), wrappedKey));
+        blackhole.consume(handler.cry(callerKeyPair.getPublicKey(), symmetricKey));
+    }
+
+    private static KeyPair generateKeys(String algo) {
+        switch (algo) {
+            case AsymmetricCryAlgo.SM2:
+                return AsymmetricCryUtil.generateSM2Keys();
+            case AsymmetricCryAlgo.ED25519:
+                return AsymmetricCryUtil.generateEd25519Keys();
+            default:
+                return AsymmetricCryUtil.generateRSAKeys();
+        }
+    }
+}
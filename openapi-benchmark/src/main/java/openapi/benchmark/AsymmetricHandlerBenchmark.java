@@ -0,0 +1,144 @@
+package openapi.benchmark;
+
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.model.KeyPair;
+import openapi.sdk.common.util.AsymmetricCryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 非对称加密处理器基准测试：覆盖所有内置的非对称加密处理器的加签、验签、加密、解密
+ * <p>
+ * 加签、验签的数据长度为100B~50MB（签名需对全部内容计算摘要）；
+ * 非对称加解密在sdk中主要用于加密对称密钥，仅采用非对称加密模式时才会加密整个请求体，
+ * 而RSA需按块分段运算（50MB约需20万次私钥运算，单次操作达数分钟），故加解密只测到64KB，
+ * 更大的数据可通过-p size=...指定。
+ * 自定义注册的处理器可通过-p algo=算法名称指定（需在CryHandlerMap中注册，密钥按RSA格式生成）
+ * </p>
+ * <p>
+ * 多线程运行：java -jar openapi-benchmark/target/benchmarks.jar AsymmetricHandlerBenchmark -t 8 -prof gc，
+ * 或使用{@link BenchmarkRunner}依次以1、8、32、64个线程运行
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsymmetricHandlerBenchmark {
+
+    /**
+     * 加签、验签的测试数据
+     */
+    @State(Scope.Benchmark)
+    public static class SignState {
+
+        /**
+         * 非对称加密算法
+         */
+        @Param({AsymmetricCryAlgo.RSA, AsymmetricCryAlgo.SM2, AsymmetricCryAlgo.ED25519})
+        private String algo;
+
+        /**
+         * 数据长度（字节）
+         */
+        @Param({"100", "1024", "65536", "1048576", "52428800"})
+        private int size;
+
+        private AsymmetricCryHandler handler;
+        private KeyPair keyPair;
+        private byte[] data;
+        private String sign;
+
+        @Setup
+        public void setup() {
+            handler = getHandler(algo);
+            keyPair = generateKeys(algo);
+            data = randomBytes(size);
+            sign = handler.sign(keyPair.getPrivateKey(), data);
+        }
+    }
+
+    /**
+     * 加密、解密的测试数据
+     */
+    @State(Scope.Benchmark)
+    public static class CryState {
+
+        /**
+         * 非对称加密算法
+         */
+        @Param({AsymmetricCryAlgo.RSA, AsymmetricCryAlgo.SM2, AsymmetricCryAlgo.ED25519})
+        private String algo;
+
+        /**
+         * 数据长度（字节）
+         */
+        @Param({"100", "1024", "65536"})
+        private int size;
+
+        private AsymmetricCryHandler handler;
+        private KeyPair keyPair;
+        private byte[] data;
+        private byte[] cipherText;
+
+        @Setup
+        public void setup() {
+            handler = getHandler(algo);
+            keyPair = generateKeys(algo);
+            data = randomBytes(size);
+            cipherText = handler.cry(keyPair.getPublicKey(), data);
+        }
+    }
+
+    @Benchmark
+    public String sign(SignState state) {
+        return state.handler.sign(state.keyPair.getPrivateKey(), state.data);
+    }
+
+    @Benchmark
+    public boolean verifySign(SignState state) {
+        return state.handler.verifySign(state.keyPair.getPublicKey(), state.data, state.sign);
+    }
+
+    @Benchmark
+    public byte[] cry(CryState state) {
+        return state.handler.cry(state.keyPair.getPublicKey(), state.data);
+    }
+
+    @Benchmark
+    public byte[] deCry(CryState state) {
+        return state.handler.deCry(state.keyPair.getPrivateKey(), state.cipherText);
+    }
+
+    private static AsymmetricCryHandler getHandler(String algo) {
+        AsymmetricCryHandler handler = CryHandlerMap.getAsymmetricCryHandler(algo);
+        if (handler == null) {
+            throw new IllegalArgumentException("未注册的非对称加密算法：" + algo);
+        }
+        return handler;
+    }
+
+    private static KeyPair generateKeys(String algo) {
+        switch (algo) {
+            case AsymmetricCryAlgo.SM2:
+                return AsymmetricCryUtil.generateSM2Keys();
+            case AsymmetricCryAlgo.ED25519:
+                return AsymmetricCryUtil.generateEd25519Keys();
+            default:
+                return AsymmetricCryUtil.generateRSAKeys();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,50 @@
+package openapi.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试运行器：依次以1、8、32、64个线程运行指定的基准测试，并输出GC/内存分配指标（gc.alloc.rate.norm即每次操作分配的字节数）
+ * <p>
+ * 运行：java -cp openapi-benchmark/target/benchmarks.jar openapi.benchmark.BenchmarkRunner [基准测试名称正则]，
+ * 不指定时运行全部基准测试。只需单个线程数时可直接使用JMH命令行：
+ * java -jar openapi-benchmark/target/benchmarks.jar SymmetricHandlerBenchmark -t 8 -prof gc
+ * </p>
+ * <p>
+ * 注：50MB的用例在高并发下每个线程都会持有一份结果，需要足够的堆内存，可通过-jvmArgsAppend -Xmx8g调整
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class BenchmarkRunner {
+
+    /**
+     * 并发线程数
+     */
+    private static final int[] THREADS = {1, 8, 32, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "openapi\\.benchmark\\..*";
+        run(include);
+    }
+
+    /**
+     * 依次以各个线程数运行基准测试
+     *
+     * @param include 基准测试名称正则
+     * @throws RunnerException 运行异常
+     */
+    public static void run(String include) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package openapi.benchmark;
+
+import cn.hutool.core.util.RandomUtil;
+import openapi.benchmark.legacy.LegacyBinaryUtil;
+import openapi.sdk.common.constant.Constant;
+import openapi.sdk.common.model.Binary;
+import openapi.sdk.common.model.BinaryFrame;
+import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.util.BinaryUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 二进制请求体组装与解析基准测试：对比逐个拼接数组、截取子数组的旧实现与分段组装、视图解析，以及v1、v2格式定位文件数据
+ * <p>
+ * 配合-prof gc运行可查看每次操作分配的内存（gc.alloc.rate.norm）
+ * </p>
+ * <p>
+ * 运行：java -jar openapi-benchmark/target/benchmarks.jar BinaryFrameBenchmark -prof gc
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFrameBenchmark {
+
+    /**
+     * 二进制对象个数
+     */
+    @Param({"1", "10", "100"})
+    private int count;
+
+    /**
+     * 每个二进制对象的数据长度（字节）
+     */
+    @Param({"65536"})
+    private int size;
+
+    private List<Binary> binaries;
+    private String paramStr;
+    private byte[] bodyBytes;
+    private byte[] v2BodyBytes;
+    private Path file;
+    private FileChannel channel;
+
+    @Setup
+    public void setup() throws IOException {
+        binaries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FileBinary binary = new FileBinary();
+            binary.setFileName(i + ".bin");
+            binary.setData(RandomUtil.randomBytes(size));
+            binaries.add(binary);
+        }
+        paramStr = BinaryUtil.getBinariesString(binaries);
+        bodyBytes = BinaryUtil.buildMultiBinaryBytes(binaries, paramStr);
+        v2BodyBytes = BinaryUtil.buildMultiBinaryBytes(binaries, paramStr, Constant.BINARY_FORMAT_V2);
+        file = Files.createTempFile("BinaryFrameBenchmark", ".bin");
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        channel.close();
+        Files.delete(file);
+    }
+
+    /**
+     * 旧实现：每个二进制对象重新拼接整个数组
+     *
+     * @return 请求体
+     */
+    @Benchmark
+    public byte[] legacyBuild() {
+        return LegacyBinaryUtil.buildMultiBinaryBytes(binaries, paramStr);
+    }
+
+    /**
+     * 分段组装后一次拼接（按总长度分配，各段只拷贝一次）
+     *
+     * @return 请求体
+     */
+    @Benchmark
+    public byte[] build() {
+        return BinaryUtil.buildMultiBinaryBytes(binaries, paramStr);
+    }
+
+    /**
+     * 分段组装后聚集写入文件通道（二进制数据不拷贝）
+     *
+     * @return 写入的字节数
+     * @throws IOException 写入异常
+     */
+    @Benchmark
+    public long gatherWrite() throws IOException {
+        ByteBuffer[] buffers = BinaryUtil.buildMultiBinaryBuffers(binaries, paramStr);
+        return BinaryUtil.write(channel.position(0), buffers);
+    }
+
+    /**
+     * 旧实现：截取参数及各二进制数据的子数组
+     *
+     * @param blackhole 结果消费者
+     */
+    @Benchmark
+    public void legacyParse(Blackhole blackhole) {
+        int paramLength = LegacyBinaryUtil.getParamLength(bodyBytes);
+        blackhole.consume(LegacyBinaryUtil.getParamStr(bodyBytes, paramLength));
+        long index = BinaryUtil.getBinaryLengthStartIndex(paramLength);
+        for (int i = 0; i < count; i++) {
+            byte[] data = LegacyBinaryUtil.getBinaryDataBytes(bodyBytes, index);
+            blackhole.consume(data);
+            index = BinaryUtil.getNextBinaryLengthStartIndex(index, data);
+        }
+    }
+
+    /**
+     * 解析为各二进制数据的视图（不拷贝）
+     *
+     * @param blackhole 结果消费者
+     */
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        int paramLength = BinaryUtil.getParamLength(bodyBytes);
+        blackhole.consume(BinaryUtil.getParamStr(bodyBytes, paramLength));
+        long index = BinaryUtil.getBinaryLengthStartIndex(paramLength);
+        for (int i = 0; i < count; i++) {
+            ByteBuffer data = BinaryUtil.getBinaryData(bodyBytes, index);
+            blackhole.consume(data);
+            index = BinaryUtil.getNextBinaryLengthStartIndex(index, data);
+        }
+    }
+
+    /**
+     * v1格式：解析后获取最后一个二进制数据（需依次跳过之前的各文件）
+     *
+     * @return 最后一个二进制数据的视图
+     */
+    @Benchmark
+    public ByteBuffer lastBinaryV1() {
+        BinaryFrame frame = BinaryUtil.parseFrame(bodyBytes);
+        return frame.getBinaryData(frame.getBinaryCount() - 1);
+    }
+
+    /**
+     * v2格式：解析文件长度表后直接获取最后一个二进制数据
+     *
+     * @return 最后一个二进制数据的视图
+     */
+    @Benchmark
+    public ByteBuffer lastBinaryV2() {
+        BinaryFrame frame = BinaryUtil.parseFrame(v2BodyBytes);
+        return frame.getBinaryData(frame.getBinaryCount() - 1);
+    }
+}
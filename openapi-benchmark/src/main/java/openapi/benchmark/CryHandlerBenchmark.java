@@ -0,0 +1,119 @@
+package openapi.benchmark;
+
+import openapi.benchmark.legacy.LegacyAESSymmetricCryHandler;
+import openapi.benchmark.legacy.LegacyRSAAsymmetricCryHandler;
+import openapi.benchmark.legacy.LegacySM2AsymmetricCryHandler;
+import openapi.benchmark.legacy.LegacySM4SymmetricCryHandler;
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.model.KeyPair;
+import openapi.sdk.common.util.AsymmetricCryUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 加密处理器基准测试：对比旧实现（每次调用创建hutool对象）与当前实现（按线程复用JCE对象）
+ * <p>
+ * 运行：java -jar openapi-benchmark/target/benchmarks.jar CryHandlerBenchmark -t 32，
+ * 或直接运行main方法，依次以1、8、32、64个线程执行
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryHandlerBenchmark {
+
+    /**
+     * 实现：legacy（旧实现）或current（当前实现）
+     */
+    @Param({"legacy", "current"})
+    private String impl;
+
+    /**
+     * 算法组合：非对称算法/对称算法
+     */
+    @Param({"RSA/AES", "SM2/SM4"})
+    private String algo;
+
+    /**
+     * 数据长度（字节）
+     */
+    @Param({"1024"})
+    private int size;
+
+    private AsymmetricCryHandler asymmetricCryHandler;
+    private SymmetricCryHandler symmetricCryHandler;
+    private KeyPair keyPair;
+    private byte[] data;
+    private byte[] symmetricKey;
+    private byte[] symmetricCipherText;
+    private byte[] wrappedKey;
+    private String sign;
+
+    @Setup
+    public void setup() {
+        boolean sm = algo.startsWith(AsymmetricCryAlgo.SM2);
+        boolean legacy = "legacy".equals(impl);
+        if (sm) {
+            keyPair = AsymmetricCryUtil.generateSM2Keys();
+            asymmetricCryHandler = legacy ? new LegacySM2AsymmetricCryHandler() : CryHandlerMap.getAsymmetricCryHandler(AsymmetricCryAlgo.SM2);
+            symmetricCryHandler = legacy ? new LegacySM4SymmetricCryHandler() : CryHandlerMap.getSymmetricCryHandler(SymmetricCryAlgo.SM4);
+        } else {
+            keyPair = AsymmetricCryUtil.generateRSAKeys();
+            asymmetricCryHandler = legacy ? new LegacyRSAAsymmetricCryHandler() : CryHandlerMap.getAsymmetricCryHandler(AsymmetricCryAlgo.RSA);
+            symmetricCryHandler = legacy ? new LegacyAESSymmetricCryHandler() : CryHandlerMap.getSymmetricCryHandler(SymmetricCryAlgo.AES);
+        }
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        symmetricKey = symmetricCryHandler.generateKey();
+        symmetricCipherText = symmetricCryHandler.cry(data, symmetricKey);
+        wrappedKey = asymmetricCryHandler.cry(keyPair.getPublicKey(), symmetricKey);
+        sign = asymmetricCryHandler.sign(keyPair.getPrivateKey(), data);
+    }
+
+    @Benchmark
+    public byte[] symmetricEncrypt() {
+        return symmetricCryHandler.cry(data, symmetricKey);
+    }
+
+    @Benchmark
+    public byte[] symmetricDecrypt() {
+        return symmetricCryHandler.deCry(symmetricCipherText, symmetricKey);
+    }
+
+    @Benchmark
+    public byte[] wrapKey() {
+        return asymmetricCryHandler.cry(keyPair.getPublicKey(), symmetricKey);
+    }
+
+    @Benchmark
+    public byte[] unwrapKey() {
+        return asymmetricCryHandler.deCry(keyPair.getPrivateKey(), wrappedKey);
+    }
+
+    @Benchmark
+    public String sign() {
+        return asymmetricCryHandler.sign(keyPair.getPrivateKey(), data);
+    }
+
+    @Benchmark
+    public void verifySign(Blackhole blackhole) {
+        blackhole.consume(asymmetricCryHandler.verifySign(keyPair.getPublicKey(), data, sign));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(CryHandlerBenchmark.class.getSimpleName());
+    }
+}
@@ -0,0 +1,50 @@
+package openapi.benchmark;
+
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.util.SymmetricCryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对称密钥生成及加密处理器查找的基准测试（每次调用都会执行，需保证足够轻量）
+ * <p>
+ * 多线程运行：java -jar openapi-benchmark/target/benchmarks.jar RegistryBenchmark -t 8 -prof gc，
+ * 或使用{@link BenchmarkRunner}依次以1、8、32、64个线程运行
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+
+    /**
+     * 对称加密算法
+     */
+    @Param({SymmetricCryAlgo.AES, SymmetricCryAlgo.SM4})
+    private String symmetricAlgo;
+
+    @Benchmark
+    public byte[] getKey() {
+        return SymmetricCryUtil.getKey(symmetricAlgo);
+    }
+
+    @Benchmark
+    public SymmetricCryHandler getSymmetricCryHandler() {
+        return CryHandlerMap.getSymmetricCryHandler(symmetricAlgo);
+    }
+
+    @Benchmark
+    public AsymmetricCryHandler getAsymmetricCryHandler() {
+        return CryHandlerMap.getAsymmetricCryHandler(AsymmetricCryAlgo.RSA);
+    }
+}
@@ -0,0 +1,108 @@
+package openapi.benchmark;
+
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.ContentSigner;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.model.InParams;
+import openapi.sdk.common.model.KeyPair;
+import openapi.sdk.common.util.AsymmetricCryUtil;
+import openapi.sdk.common.util.CommonUtil;
+import openapi.sdk.common.util.CompressUtil;
+import openapi.sdk.common.util.HmacUtil;
+import openapi.sdk.common.util.PipelineUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求体处理基准测试：对比分步处理（压缩、加密、拼接签名内容各自生成完整数组）与单遍处理管道
+ * <p>
+ * 配合-prof gc运行可查看每次操作分配的内存（gc.alloc.rate.norm）
+ * </p>
+ * <p>
+ * 运行：java -jar openapi-benchmark/target/benchmarks.jar SealPipelineBenchmark -prof gc
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SealPipelineBenchmark {
+
+    /**
+     * 对称加密算法
+     */
+    @Param({"AES", "AES_GCM"})
+    private String algo;
+
+    /**
+     * 请求体长度（字节）
+     */
+    @Param({"65536", "1048576"})
+    private int size;
+
+    /**
+     * 是否压缩
+     */
+    @Param({"true", "false"})
+    private boolean compress;
+
+    private SymmetricCryHandler handler;
+    private AsymmetricCryHandler signHandler;
+    private KeyPair keyPair;
+    private byte[] data;
+    private byte[] key;
+
+    @Setup
+    public void setup() {
+        handler = CryHandlerMap.getSymmetricCryHandler(algo);
+        signHandler = CryHandlerMap.getAsymmetricCryHandler(AsymmetricCryAlgo.RSA);
+        keyPair = AsymmetricCryUtil.generateRSAKeys();
+        //模拟JSON文本，具有一定的可压缩性
+        StringBuilder json = new StringBuilder(size);
+        for (int i = 0; json.length() < size; i++) {
+            json.append("{\"id\":").append(i).append(",\"name\":\"user").append(i % 1000).append("\"},");
+        }
+        data = HmacUtil.bytes(json.substring(0, size));
+        key = handler.generateKey();
+    }
+
+    /**
+     * 分步处理：压缩、加密各生成一个完整数组，再拼接密文与流水号后签名
+     *
+     * @return 签名
+     */
+    @Benchmark
+    public String separatePasses() {
+        InParams inParams = newInParams();
+        byte[] body = compress ? CompressUtil.compress(data) : data;
+        inParams.setBodyBytes(handler.cry(body, key));
+        return signHandler.sign(keyPair.getPrivateKey(), CommonUtil.getSignContent(inParams));
+    }
+
+    /**
+     * 单遍处理：压缩→加密→增量签名
+     *
+     * @return 签名
+     */
+    @Benchmark
+    public String pipeline() {
+        InParams inParams = newInParams();
+        ContentSigner signer = signHandler.newSigner(keyPair.getPrivateKey());
+        inParams.setBodyBytes(PipelineUtil.seal(data, compress, handler, key, null, signer));
+        signer.update(HmacUtil.bytes(inParams.getUuid()));
+        return signer.sign();
+    }
+
+    private InParams newInParams() {
+        InParams inParams = new InParams();
+        inParams.setUuid("uuid");
+        return inParams;
+    }
+}
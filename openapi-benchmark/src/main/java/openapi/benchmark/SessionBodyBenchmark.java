@@ -0,0 +1,82 @@
+package openapi.benchmark;
+
+import openapi.sdk.common.enums.HmacAlgo;
+import openapi.sdk.common.handler.AeadSymmetricCryHandler;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.model.InParams;
+import openapi.sdk.common.util.CommonUtil;
+import openapi.sdk.common.util.HmacUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话加密模式请求体处理基准测试：对比ECB加密+HMAC(请求体)与GCM加密（HMAC只覆盖元数据）
+ * <p>
+ * 注：SunJCE的GCM内建指令需JIT编译后才生效，故预热时间较长
+ * </p>
+ * <p>
+ * 运行：java -jar openapi-benchmark/target/benchmarks.jar SessionBodyBenchmark
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionBodyBenchmark {
+
+    /**
+     * 对称加密算法
+     */
+    @Param({"AES", "AES_GCM", "SM4", "SM4_GCM"})
+    private String algo;
+
+    /**
+     * 请求体长度（字节）
+     */
+    @Param({"1024", "65536", "1048576"})
+    private int size;
+
+    private SymmetricCryHandler handler;
+    private InParams inParams;
+    private byte[] data;
+    private byte[] cryKey;
+    private byte[] macKey;
+
+    @Setup
+    public void setup() {
+        handler = CryHandlerMap.getSymmetricCryHandler(algo);
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        cryKey = handler.generateKey();
+        macKey = handler.generateKey();
+        inParams = new InParams();
+        inParams.setUuid("uuid");
+        inParams.setApi("openapi.example.api.UserApi");
+        inParams.setMethod("getUser");
+    }
+
+    /**
+     * 客户端发送请求体：加密+签名
+     *
+     * @return 签名
+     */
+    @Benchmark
+    public String encryptAndSign() {
+        InParams params = new InParams();
+        params.setUuid(inParams.getUuid());
+        params.setApi(inParams.getApi());
+        params.setMethod(inParams.getMethod());
+        boolean aead = handler instanceof AeadSymmetricCryHandler;
+        byte[] body = aead ? ((AeadSymmetricCryHandler) handler).cry(data, cryKey, CommonUtil.getRequestAad(params))
+                : handler.cry(data, cryKey);
+        params.setBodyBytes(body);
+        return HmacUtil.sign(HmacAlgo.HMAC_SHA256, macKey, CommonUtil.getHmacSignContent(params, !aead));
+    }
+}
@@ -0,0 +1,67 @@
+package openapi.benchmark;
+
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.handler.SymmetricCryHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对称加密处理器基准测试：覆盖所有内置的对称加密处理器在100B~50MB数据下的加密、解密
+ * <p>
+ * 自定义注册的处理器可通过-p algo=算法名称指定（需在CryHandlerMap中注册）。
+ * 多线程运行：java -jar openapi-benchmark/target/benchmarks.jar SymmetricHandlerBenchmark -t 8 -prof gc，
+ * 或使用{@link BenchmarkRunner}依次以1、8、32、64个线程运行
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SymmetricHandlerBenchmark {
+
+    /**
+     * 对称加密算法
+     */
+    @Param({SymmetricCryAlgo.AES, SymmetricCryAlgo.SM4, SymmetricCryAlgo.AES_GCM, SymmetricCryAlgo.SM4_GCM})
+    private String algo;
+
+    /**
+     * 数据长度（字节）
+     */
+    @Param({"100", "1024", "65536", "1048576", "52428800"})
+    private int size;
+
+    private SymmetricCryHandler handler;
+    private byte[] data;
+    private byte[] key;
+    private byte[] cipherText;
+
+    @Setup
+    public void setup() {
+        handler = CryHandlerMap.getSymmetricCryHandler(algo);
+        if (handler == null) {
+            throw new IllegalArgumentException("未注册的对称加密算法：" + algo);
+        }
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        key = handler.generateKey();
+        cipherText = handler.cry(data, key);
+    }
+
+    @Benchmark
+    public byte[] cry() {
+        return handler.cry(data, key);
+    }
+
+    @Benchmark
+    public byte[] deCry() {
+        return handler.deCry(cipherText, key);
+    }
+}
@@ -0,0 +1,80 @@
+package openapi.benchmark.legacy;
+
+import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.ByteUtil;
+import openapi.sdk.common.model.Binary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 二进制对象的组装与解析（旧实现：每追加一个二进制对象重新拼接整个数组，解析时截取子数组，仅作为基准测试的对照）
+ *
+ * @author wanghuidong
+ * 时间： 2022/7/12 10:42
+ */
+public class LegacyBinaryUtil {
+
+    /**
+     * 构建多个二进制对象的字节数据
+     *
+     * @param binaries     多个二进制对象
+     * @param paramJsonStr 参数的字符串表示
+     * @return 字节数据
+     */
+    public static byte[] buildMultiBinaryBytes(List<Binary> binaries, String paramJsonStr) {
+        List<byte[]> binaryLengthBytesList = new ArrayList<>();
+        List<byte[]> binaryDataBytesList = new ArrayList<>();
+        for (Binary binary : binaries) {
+            byte[] binaryLengthBytes = ByteUtil.longToBytes(binary.getLength());
+            byte[] binaryDataBytes = binary.getData();
+            binaryLengthBytesList.add(binaryLengthBytes);
+            binaryDataBytesList.add(binaryDataBytes);
+        }
+        byte[] paramBytes = paramJsonStr.getBytes(StandardCharsets.UTF_8);
+        byte[] paramLengthBytes = ByteUtil.intToBytes(paramBytes.length);
+        int binaryCount = binaries.size();
+        byte[] binaryCountBytes = new byte[]{(byte) binaryCount};
+        byte[] bodyBytes = ArrayUtil.addAll(paramLengthBytes, paramBytes, binaryCountBytes);
+        for (int i = 0; i < binaryCount; i++) {
+            bodyBytes = ArrayUtil.addAll(bodyBytes, binaryLengthBytesList.get(i), binaryDataBytesList.get(i));
+        }
+        return bodyBytes;
+    }
+
+    /**
+     * 获取参数长度
+     *
+     * @param bodyBytes 请求体（响应体）中的字节数据
+     * @return 参数长度
+     */
+    public static int getParamLength(byte[] bodyBytes) {
+        return ByteUtil.bytesToInt(ArrayUtil.sub(bodyBytes, 0, 4));
+    }
+
+    /**
+     * 获取参数字符串
+     *
+     * @param bodyBytes   请求体（响应体）中的字节数据
+     * @param paramLength 参数长度
+     * @return 参数字符串
+     */
+    public static String getParamStr(byte[] bodyBytes, int paramLength) {
+        byte[] paramBytes = ArrayUtil.sub(bodyBytes, 4, 4 + paramLength);
+        return new String(paramBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 获取二进制对象中的文件数据
+     *
+     * @param bodyBytes              请求体（响应体）中的字节数据
+     * @param binaryLengthStartIndex 二进制文件长度信息(BinarySize)的起始位置
+     * @return 文件数据
+     */
+    public static byte[] getBinaryDataBytes(byte[] bodyBytes, long binaryLengthStartIndex) {
+        long binaryLength = ByteUtil.bytesToLong(ArrayUtil.sub(bodyBytes, (int) binaryLengthStartIndex, (int) (binaryLengthStartIndex + 8)));
+        long binaryDataStartIndex = binaryLengthStartIndex + 8;
+        return ArrayUtil.sub(bodyBytes, (int) binaryDataStartIndex, (int) (binaryDataStartIndex + binaryLength));
+    }
+}
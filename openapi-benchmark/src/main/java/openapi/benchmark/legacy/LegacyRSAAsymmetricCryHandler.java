@@ -0,0 +1,70 @@
+package openapi.benchmark.legacy;
+
+import cn.hutool.crypto.SecureUtil;
+import cn.hutool.crypto.asymmetric.KeyType;
+import cn.hutool.crypto.asymmetric.RSA;
+import cn.hutool.crypto.asymmetric.Sign;
+import cn.hutool.crypto.asymmetric.SignAlgorithm;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.util.Base64Util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RSA非对称加密处理器（旧实现：每次调用创建hutool加密对象，仅作为基准测试的对照）
+ *
+ * @author wanghuidong
+ * 时间： 2022/6/4 13:30
+ */
+public class LegacyRSAAsymmetricCryHandler implements AsymmetricCryHandler {
+    @Override
+    public String sign(String privateKey, String content) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        return this.sign(privateKey, data);
+    }
+
+    @Override
+    public String sign(String privateKey, byte[] content) {
+        Sign sign = SecureUtil.sign(SignAlgorithm.SHA256withRSA, privateKey, null);
+        byte[] signed = sign.sign(content);
+        return Base64Util.bytesToBase64(signed);
+    }
+
+    @Override
+    public boolean verifySign(String publicKey, String content, String sign) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        return this.verifySign(publicKey, data, sign);
+    }
+
+    @Override
+    public boolean verifySign(String publicKey, byte[] content, String sign) {
+        Sign signObj = SecureUtil.sign(SignAlgorithm.SHA256withRSA, null, publicKey);
+        return signObj.verify(content, Base64Util.base64ToBytes(sign));
+    }
+
+    @Override
+    public String cry(String publicKey, String content) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        byte[] encrypt = this.cry(publicKey, data);
+        return Base64Util.bytesToBase64(encrypt);
+    }
+
+    @Override
+    public byte[] cry(String publicKey, byte[] content) {
+        RSA rsa = new RSA(null, publicKey);
+        return rsa.encrypt(content, KeyType.PublicKey);
+    }
+
+    @Override
+    public String deCry(String privateKey, String content) {
+        byte[] dataBytes = Base64Util.base64ToBytes(content);
+        byte[] decrypt = this.deCry(privateKey, dataBytes);
+        return new String(decrypt, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] deCry(String privateKey, byte[] content) {
+        RSA rsa = new RSA(privateKey, null);
+        return rsa.decrypt(content, KeyType.PrivateKey);
+    }
+}
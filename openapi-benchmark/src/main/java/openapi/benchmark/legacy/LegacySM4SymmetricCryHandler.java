@@ -0,0 +1,43 @@
+package openapi.benchmark.legacy;
+
+import cn.hutool.crypto.symmetric.SM4;
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.util.SymmetricCryUtil;
+
+/**
+ * SM4对称加密处理器（旧实现：每次调用创建hutool加密对象，仅作为基准测试的对照）
+ *
+ * @author wanghuidong
+ * 时间： 2022/6/4 13:57
+ */
+public class LegacySM4SymmetricCryHandler implements SymmetricCryHandler {
+    @Override
+    public byte[] generateKey() {
+        return SymmetricCryUtil.getKey(SymmetricCryAlgo.SM4);
+    }
+
+    @Override
+    public String cry(String content, byte[] keyBytes) {
+        SM4 sm4 = new SM4(keyBytes);
+        return sm4.encryptBase64(content);
+    }
+
+    @Override
+    public byte[] cry(byte[] content, byte[] keyBytes) {
+        SM4 sm4 = new SM4(keyBytes);
+        return sm4.encrypt(content);
+    }
+
+    @Override
+    public String deCry(String content, byte[] keyBytes) {
+        SM4 sm4 = new SM4(keyBytes);
+        return sm4.decryptStr(content);
+    }
+
+    @Override
+    public byte[] deCry(byte[] content, byte[] keyBytes) {
+        SM4 sm4 = new SM4(keyBytes);
+        return sm4.decrypt(content);
+    }
+}
@@ -0,0 +1,398 @@
+package openapi.client.sdk;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import lombok.extern.slf4j.Slf4j;
+import openapi.client.sdk.balance.Endpoint;
+import openapi.client.sdk.chunk.ChunkOptions;
+import openapi.sdk.common.constant.Constant;
+import openapi.sdk.common.enums.DataType;
+import openapi.sdk.common.exception.OpenApiClientException;
+import openapi.sdk.common.model.Binary;
+import openapi.sdk.common.model.BinarySink;
+import openapi.sdk.common.model.ChunkParam;
+import openapi.sdk.common.model.ChunkStatus;
+import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.model.OutParams;
+import openapi.sdk.common.model.StreamBinary;
+import openapi.sdk.common.util.ChunkUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 分片传输：大文件按分片逐个上传（下载），多个分片并行传输，单个分片失败时只重试该分片
+ * <p>
+ * 上传前先查询服务端已确认接收的分片，只传输剩余部分。每次调用使用各自的分片传输ID（数据摘要+随机数），
+ * 相同数据的并发调用互不影响；调用失败时保留其分片传输ID，之后一次相同数据的调用沿用该ID，从已接收的分片续传。
+ * 同一次调用的所有分片请求与主请求发往同一节点
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Slf4j
+class ChunkTransfer {
+
+    /**
+     * 保留的未完成传输的最大数量
+     */
+    private static final int RESUMABLE_MAX_SIZE = 1024;
+
+    /**
+     * 数据摘要在分片传输ID中的长度
+     */
+    private static final int CONTENT_KEY_LENGTH = 32;
+
+    private final OpenApiClient client;
+
+    private final ChunkOptions options;
+
+    /**
+     * 调用失败而保留的分片传输ID（key为数据摘要），每个ID只交给之后的一次调用续传
+     */
+    private final Map<String, String> resumable = Collections.synchronizedMap(new LinkedHashMap<String, String>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > RESUMABLE_MAX_SIZE;
+        }
+    });
+
+    ChunkTransfer(OpenApiClient client, ChunkOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    /**
+     * 是否需要分片上传
+     *
+     * @param binary 二进制对象
+     * @return 数据超过分片大小时返回true
+     */
+    boolean isChunked(Binary binary) {
+        return binary.getLength() > options.getChunkSize();
+    }
+
+    /**
+     * 生成本次调用的分片传输ID
+     * <p>
+     * 可重复读取的数据由内容、长度及分片大小的摘要加随机数组成，相同数据有保留的未完成传输时沿用（续传）；
+     * 只能读取一次的输入流无法续传，随机生成
+     * </p>
+     *
+     * @param binary 二进制对象
+     * @return 分片传输ID
+     */
+    String newTransferId(Binary binary) {
+        if (binary instanceof StreamBinary && !((StreamBinary) binary).repeatable()) {
+            return IdUtil.simpleUUID();
+        }
+        String contentKey = getContentKey(binary);
+        String transferId = resumable.remove(contentKey);
+        if (transferId != null) {
+            log.debug("沿用未完成的分片传输{}", transferId);
+            return transferId;
+        }
+        return contentKey + IdUtil.simpleUUID();
+    }
+
+    /**
+     * 保留调用失败的分片传输，之后一次相同数据的调用从已接收的分片续传（服务端在调用成功后才删除已接收的分片）
+     *
+     * @param transferId 分片传输ID
+     */
+    void retain(String transferId) {
+        if (transferId.length() > CONTENT_KEY_LENGTH) {
+            resumable.put(transferId.substring(0, CONTENT_KEY_LENGTH), transferId);
+        }
+    }
+
+    /**
+     * 计算数据摘要：内容、长度及分片大小
+     *
+     * @param binary 二进制对象
+     * @return 数据摘要
+     */
+    private String getContentKey(Binary binary) {
+        long startTime = System.nanoTime();
+        String contentHash;
+        try (InputStream in = openStream(binary)) {
+            contentHash = DigestUtil.sha256Hex(in);
+        } catch (IOException ex) {
+            throw new OpenApiClientException("读取二进制数据失败：" + ex.getMessage(), ex);
+        }
+        log.debug("计算数据摘要耗时:{}ms", (System.nanoTime() - startTime) / 100_0000);
+        return DigestUtil.sha256Hex(contentHash + ":" + binary.getLength() + ":" + options.getChunkSize()).substring(0, CONTENT_KEY_LENGTH);
+    }
+
+    /**
+     * 分片上传：跳过服务端已确认接收的分片，其余分片按顺序读取后并行上传
+     *
+     * @param endpoint   节点
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     * @param binary     二进制对象
+     */
+    void upload(Endpoint endpoint, String callerId, String transferId, Binary binary) {
+        long startTime = System.nanoTime();
+        long length = binary.getLength();
+        long chunkSize = options.getChunkSize();
+        int count = ChunkUtil.getChunkCount(length, chunkSize);
+        OutParams statusOutParams = retry(() -> client.callChunk(endpoint, callerId, Constant.CHUNK_METHOD_STATUS,
+                newParam(transferId, 0, length), null));
+        ChunkStatus status = JSONUtil.toBean(statusOutParams.getData(), ChunkStatus.class);
+        Set<Integer> received = new HashSet<>(status.getReceived() == null ? Collections.emptyList() : status.getReceived());
+        if (received.size() >= count) {
+            log.debug("分片传输{}的{}个分片已全部接收", transferId, count);
+            return;
+        }
+        Deque<CompletableFuture<?>> inFlight = new ArrayDeque<>();
+        try (InputStream in = openStream(binary)) {
+            for (int i = 0; i < count; i++) {
+                long chunkLength = ChunkUtil.getChunkLength(length, chunkSize, i);
+                if (received.contains(i)) {
+                    skipFully(in, chunkLength);
+                    continue;
+                }
+                FileBinary chunk = new FileBinary();
+                chunk.setData(readFully(in, (int) chunkLength));
+                ChunkParam param = newParam(transferId, i, length);
+                if (inFlight.size() >= options.getParallelism()) {
+                    join(inFlight.poll());
+                }
+                inFlight.add(CompletableFuture.runAsync(() -> retry(() -> client.callChunk(endpoint, callerId,
+                        Constant.CHUNK_METHOD_UPLOAD, param, chunk)), ChunkExecutor.INSTANCE));
+            }
+            while (!inFlight.isEmpty()) {
+                join(inFlight.poll());
+            }
+        } catch (IOException ex) {
+            awaitQuietly(inFlight);
+            throw new OpenApiClientException("读取分片数据失败：" + ex.getMessage(), ex);
+        } catch (RuntimeException ex) {
+            awaitQuietly(inFlight);
+            throw ex;
+        }
+        log.debug("分片上传{}（{}个分片，跳过{}个）耗时:{}ms", transferId, count, received.size(),
+                (System.nanoTime() - startTime) / 100_0000);
+    }
+
+    /**
+     * 分片下载：按分片并行下载服务端暂存的二进制返回值，写入接收目标或出参，完成后释放服务端暂存的数据
+     *
+     * @param endpoint   节点
+     * @param callerId   调用者ID
+     * @param outParams  出参（数据为二进制对象的属性及分片传输ID）
+     * @param binarySink 二进制返回值的接收目标，为null时写入出参
+     */
+    void download(Endpoint endpoint, String callerId, OutParams outParams, BinarySink binarySink) {
+        long startTime = System.nanoTime();
+        JSONObject binaryJson = JSONUtil.parseObj(outParams.getData());
+        String transferId = binaryJson.getStr("transferId");
+        long length = binaryJson.getLong("length", 0L);
+        ChunkUtil.checkTransferId(transferId);
+        int count = ChunkUtil.getChunkCount(length, options.getChunkSize());
+        try {
+            if (binarySink == null) {
+                if (length > Integer.MAX_VALUE - 8) {
+                    throw new OpenApiClientException("二进制返回值超过2GB，请使用BinarySink接收");
+                }
+                byte[] data = new byte[(int) length];
+                int[] position = new int[1];
+                fetch(endpoint, callerId, transferId, length, count, bytes -> {
+                    System.arraycopy(bytes, 0, data, position[0], bytes.length);
+                    position[0] += bytes.length;
+                });
+                outParams.setBinaryData(data);
+            } else {
+                try (OutputStream out = binarySink.open()) {
+                    fetch(endpoint, callerId, transferId, length, count, out::write);
+                } catch (IOException | RuntimeException ex) {
+                    binarySink.discard();
+                    throw ex;
+                }
+            }
+        } catch (IOException ex) {
+            throw new OpenApiClientException("写入分片数据失败：" + ex.getMessage(), ex);
+        } finally {
+            release(endpoint, callerId, transferId);
+        }
+        binaryJson.remove("transferId");
+        outParams.setData(binaryJson.toString());
+        outParams.setDataType(DataType.BINARY);
+        log.debug("分片下载{}（{}个分片）耗时:{}ms", transferId, count, (System.nanoTime() - startTime) / 100_0000);
+    }
+
+    /**
+     * 并行下载各分片，按分片顺序写出（同时下载的分片数不超过并行数）
+     *
+     * @param endpoint   节点
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     * @param length     数据总长度
+     * @param count      分片数量
+     * @param writer     分片数据的写出
+     * @throws IOException 写出异常
+     */
+    private void fetch(Endpoint endpoint, String callerId, String transferId, long length, int count,
+                       ChunkWriter writer) throws IOException {
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                if (inFlight.size() >= options.getParallelism()) {
+                    writer.write(join(inFlight.poll()));
+                }
+                ChunkParam param = newParam(transferId, i, length);
+                long chunkLength = ChunkUtil.getChunkLength(length, options.getChunkSize(), i);
+                inFlight.add(CompletableFuture.supplyAsync(() -> retry(() -> {
+                    OutParams outParams = client.callChunk(endpoint, callerId, Constant.CHUNK_METHOD_DOWNLOAD, param, null);
+                    byte[] bytes = outParams.getBinaryData() == null ? new byte[0] : outParams.getBinaryData();
+                    if (bytes.length != chunkLength) {
+                        throw new OpenApiClientException("分片数据长度不一致：" + param.getIndex());
+                    }
+                    return bytes;
+                }), ChunkExecutor.INSTANCE));
+            }
+            while (!inFlight.isEmpty()) {
+                writer.write(join(inFlight.poll()));
+            }
+        } catch (IOException | RuntimeException ex) {
+            awaitQuietly(inFlight);
+            throw ex;
+        }
+    }
+
+    /**
+     * 某个分片失败时等待其它在途的分片请求结束（忽略其结果），避免失败后仍有请求在后台传输
+     *
+     * @param inFlight 在途的分片请求
+     */
+    private void awaitQuietly(Deque<? extends CompletableFuture<?>> inFlight) {
+        for (CompletableFuture<?> future : inFlight) {
+            try {
+                future.join();
+            } catch (RuntimeException ignored) {
+                //已有失败的分片，其它分片的结果不再关心
+            }
+        }
+        inFlight.clear();
+    }
+
+    /**
+     * 释放服务端暂存的数据（释放失败时由服务端按保留时间清理）
+     *
+     * @param endpoint   节点
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     */
+    private void release(Endpoint endpoint, String callerId, String transferId) {
+        try {
+            client.callChunk(endpoint, callerId, Constant.CHUNK_METHOD_RELEASE, newParam(transferId, 0, 0), null);
+        } catch (Exception ex) {
+            log.warn("释放分片传输{}失败：{}", transferId, ex.getMessage());
+        }
+    }
+
+    /**
+     * 执行分片请求，失败时重试
+     *
+     * @param call 分片请求
+     * @param <T>  返回值类型
+     * @return 返回值
+     */
+    private <T> T retry(Supplier<T> call) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException ex) {
+                if (attempt >= options.getMaxRetries()) {
+                    throw ex;
+                }
+                log.warn("分片请求失败，第{}次重试：{}", attempt + 1, ex.getMessage());
+            }
+        }
+    }
+
+    private ChunkParam newParam(String transferId, int index, long length) {
+        ChunkParam param = new ChunkParam();
+        param.setTransferId(transferId);
+        param.setIndex(index);
+        param.setChunkSize(options.getChunkSize());
+        param.setLength(length);
+        return param;
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+        }
+    }
+
+    private InputStream openStream(Binary binary) throws IOException {
+        if (binary instanceof StreamBinary) {
+            return ((StreamBinary) binary).openStream();
+        }
+        return new ByteArrayInputStream(binary.getData() == null ? new byte[0] : binary.getData());
+    }
+
+    private byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(bytes, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("数据长度不足");
+            }
+            offset += read;
+        }
+        return bytes;
+    }
+
+    private void skipFully(InputStream in, long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("数据长度不足");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * 分片数据的写出
+     */
+    private interface ChunkWriter {
+        void write(byte[] bytes) throws IOException;
+    }
+
+    /**
+     * 分片传输的线程池（所有客户端共用的守护线程，每次传输同时执行的分片数不超过并行数）
+     */
+    private static final class ChunkExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(
+                new NamedThreadFactory("openapi-chunk-", true));
+    }
+}
@@ -0,0 +1,86 @@
+package openapi.client.sdk;
+
+import openapi.sdk.common.model.BatchEntry;
+import openapi.sdk.common.model.OutParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * openapi批量调用
+ * <p>
+ * 多个方法调用合并为一个请求，只需一次签名及对称加密，服务端并行执行后按添加顺序返回各调用的结果；
+ * 单个调用失败不影响其它调用，通过{@link OutParams#isSuccess}判断各调用是否成功。
+ * 注：通过{@link OpenApiClient#batch()}创建，非线程安全
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class OpenApiBatch {
+
+    private final OpenApiClient client;
+
+    /**
+     * 默认的API接口名称
+     */
+    private final String api;
+
+    private final List<BatchEntry> entries = new ArrayList<>();
+
+    OpenApiBatch(OpenApiClient client, String api) {
+        this.client = client;
+        this.api = api;
+    }
+
+    /**
+     * 添加一个调用（使用客户端配置的API接口名）
+     *
+     * @param method API方法名
+     * @param params API方法参数
+     * @return 批量调用
+     */
+    public OpenApiBatch add(String method, Object... params) {
+        return this.add(api, method, params);
+    }
+
+    /**
+     * 添加一个调用
+     *
+     * @param api    API接口名
+     * @param method API方法名
+     * @param params API方法参数
+     * @return 批量调用
+     */
+    public OpenApiBatch add(String api, String method, Object... params) {
+        entries.add(client.newBatchEntry(api, method, params));
+        return this;
+    }
+
+    /**
+     * 获取已添加的调用数
+     *
+     * @return 调用数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 执行批量调用
+     *
+     * @return 各调用的返回值（与添加顺序一致）
+     */
+    public List<OutParams> execute() {
+        return client.callBatch(new ArrayList<>(entries));
+    }
+
+    /**
+     * 异步执行批量调用
+     *
+     * @return 各调用的返回值（与添加顺序一致）
+     */
+    public CompletableFuture<List<OutParams>> executeAsync() {
+        return client.callBatchAsync(new ArrayList<>(entries));
+    }
+}
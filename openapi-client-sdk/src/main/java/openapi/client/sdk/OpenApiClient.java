@@ -1,31 +1,82 @@
 package openapi.client.sdk;
 
+import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.thread.NamedThreadFactory;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.http.ContentType;
-import cn.hutool.http.HttpRequest;
-import cn.hutool.http.HttpResponse;
 import cn.hutool.json.JSONUtil;
 import lombok.extern.slf4j.Slf4j;
+import openapi.client.sdk.balance.Endpoint;
+import openapi.client.sdk.balance.LoadBalancer;
+import openapi.client.sdk.chunk.ChunkOptions;
+import openapi.client.sdk.constant.ClientConstant;
+import openapi.client.sdk.hedge.HedgePolicy;
+import openapi.client.sdk.limit.CallGuard;
+import openapi.client.sdk.limit.CircuitBreaker;
+import openapi.client.sdk.limit.GuardOptions;
+import openapi.client.sdk.timeout.AdaptiveTimeout;
+import openapi.client.sdk.timeout.AdaptiveTimeoutOptions;
 import openapi.client.sdk.model.BinaryParam;
+import openapi.client.sdk.transport.HutoolTransport;
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.client.sdk.transport.ResponseBodyReader;
+import openapi.client.sdk.transport.TransportRequest;
+import openapi.client.sdk.transport.TransportResponse;
+import openapi.sdk.common.cache.SymmetricKeyCache;
+import openapi.sdk.common.cache.WrappedKeyPool;
 import openapi.sdk.common.constant.Constant;
 import openapi.sdk.common.constant.ErrorCode;
 import openapi.sdk.common.constant.Header;
 import openapi.sdk.common.enums.CryModeEnum;
 import openapi.sdk.common.enums.DataType;
+import openapi.sdk.common.enums.HmacAlgo;
 import openapi.sdk.common.exception.OpenApiClientException;
+import openapi.sdk.common.handler.AeadSymmetricCryHandler;
 import openapi.sdk.common.handler.AsymmetricCryHandler;
 import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.handler.ContentSigner;
 import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.model.BatchEntry;
+import openapi.sdk.common.model.BatchResult;
 import openapi.sdk.common.model.Binary;
+import openapi.sdk.common.model.BinaryFrame;
+import openapi.sdk.common.model.BinarySink;
+import openapi.sdk.common.model.ChunkParam;
 import openapi.sdk.common.model.InParams;
 import openapi.sdk.common.model.OutParams;
+import openapi.sdk.common.model.SessionKey;
+import openapi.sdk.common.model.StreamBody;
+import openapi.sdk.common.model.WrappedKey;
 import openapi.sdk.common.util.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * 对外开放api客户端
@@ -36,11 +87,51 @@ import java.util.*;
 @Slf4j
 public class OpenApiClient {
 
+    /**
+     * 阻塞的传输层执行异步调用时等待响应的线程池，key: 最大线程数:等待队列容量
+     */
+    private static final Map<String, ExecutorService> IO_EXECUTORS = new ConcurrentHashMap<>();
+
     /**
      * openapi基础路径,例如(http://localhost)
      */
     private final String baseUrl;
 
+    /**
+     * 负载均衡器（多节点时按延迟选择节点，单节点时只有baseUrl一个节点）
+     */
+    private final LoadBalancer loadBalancer;
+
+    /**
+     * 对冲请求策略（幂等方法使用），为null时不发送对冲请求
+     */
+    private final HedgePolicy hedgePolicy;
+
+    /**
+     * 远程方法调用保护（自适应并发限制及熔断）的配置，为null时不启用
+     */
+    private final GuardOptions guardOptions;
+
+    /**
+     * 自适应超时的配置，为null时使用静态配置的超时时间
+     */
+    private final AdaptiveTimeoutOptions adaptiveTimeoutOptions;
+
+    /**
+     * 二进制数据的传输格式（请求体按该格式构建，并要求服务端按该格式返回）
+     */
+    private final int binaryFormat;
+
+    /**
+     * 分片传输的配置，为null时不启用
+     */
+    private final ChunkOptions chunkOptions;
+
+    /**
+     * 分片传输，未启用时为null
+     */
+    private final ChunkTransfer chunkTransfer;
+
     /**
      * 本系统私钥
      */
@@ -92,14 +183,14 @@ public class OpenApiClient {
     private final SymmetricCryHandler symmetricCryHandler;
 
     /**
-     * HTTP建立连接超时时间（单位秒）
+     * HTTP建立连接超时时间（单位毫秒）
      */
-    private final int httpConnectionTimeout;
+    private final long httpConnectionTimeout;
 
     /**
-     * HTTP数据传输超时时间（单位秒）
+     * HTTP数据传输超时时间（单位毫秒），启用自适应超时时作为上限（未配置上限时）
      */
-    private final int httpReadTimeout;
+    private final long httpReadTimeout;
 
     /**
      * HTTP请求代理域名
@@ -116,6 +207,72 @@ public class OpenApiClient {
      */
     private boolean enableCompress;
 
+    /**
+     * 对称密钥复用时间（单位秒）
+     */
+    private final long symmetricKeyReuseTime;
+
+    /**
+     * 对称密钥复用次数
+     */
+    private final int symmetricKeyReuseCount;
+
+    /**
+     * 对称密钥预生成池，未启用时为null
+     */
+    private final WrappedKeyPool keyPool;
+
+    /**
+     * 当前复用的对称密钥（对称加密模式且启用复用时使用）
+     */
+    private volatile WrappedKey wrappedKey;
+
+    /**
+     * 返回值对称密钥缓存（服务端复用对称密钥时，同一密钥只解密一次）
+     */
+    private final SymmetricKeyCache symmetricKeyCache = new SymmetricKeyCache(1,
+            Constant.SYMMETRIC_KEY_CACHE_PER_CALLER, Constant.SYMMETRIC_KEY_CACHE_TTL * 1000);
+
+    /**
+     * 会话密钥（会话加密模式下使用），key: 调用者ID@节点基础路径（会话只在握手的节点上有效）
+     */
+    private final Map<String, SessionKey> sessionKeys = new ConcurrentHashMap<>();
+
+    /**
+     * 会话握手锁，避免并发调用时重复握手
+     */
+    private final Object sessionLock = new Object();
+
+    /**
+     * 会话签名采用的HMAC算法
+     */
+    private final String sessionHmacAlgo;
+
+    /**
+     * HMAC共享密钥（HMAC模式下使用）
+     */
+    private final byte[] hmacSecret;
+
+    /**
+     * HMAC算法（HMAC模式下使用）
+     */
+    private final String hmacAlgo;
+
+    /**
+     * HTTP传输层
+     */
+    private final OpenApiTransport transport;
+
+    /**
+     * 异步调用时执行加解密、签名及反序列化的线程池
+     */
+    private final Executor asyncExecutor;
+
+    /**
+     * 阻塞的传输层执行异步调用时等待响应的线程池
+     */
+    private final ExecutorService ioExecutor;
+
     /**
      * 日志前缀
      */
@@ -139,11 +296,66 @@ public class OpenApiClient {
      * @param httpProxyHost         HTTP请求代理域名
      * @param httpProxyPort         HTTP请求代理端口
      * @param enableCompress        是否启用压缩
+     * @deprecated 超时时间只能精确到秒且无法配置新增的特性，请使用{@link OpenApiClientBuilder}构建对象
      */
+    @Deprecated
     public OpenApiClient(String baseUrl, String selfPrivateKey, String remotePublicKey, String asymmetricCryAlgo,
                          boolean retDecrypt, CryModeEnum cryModeEnum, String symmetricCryAlgo, String callerId, String api,
                          int httpConnectionTimeout, int httpReadTimeout, String httpProxyHost, Integer httpProxyPort, boolean enableCompress) {
+        this(baseUrl, selfPrivateKey, remotePublicKey, asymmetricCryAlgo, retDecrypt, cryModeEnum, symmetricCryAlgo, callerId, api,
+                TimeUnit.SECONDS.toMillis(httpConnectionTimeout), TimeUnit.SECONDS.toMillis(httpReadTimeout),
+                httpProxyHost, httpProxyPort, enableCompress, 0, 0, 0, null, HmacAlgo.HMAC_SHA256, HutoolTransport.INSTANCE, null,
+                ClientConstant.IO_THREADS, ClientConstant.IO_QUEUE_SIZE, null, null, null, null, Constant.BINARY_FORMAT_V1, null);
+    }
+
+    /**
+     * openapi客户端（由{@link OpenApiClientBuilder}调用）
+     *
+     * @param baseUrl               openapi基础路径
+     * @param selfPrivateKey        本系统私钥
+     * @param remotePublicKey       远程系统的公钥
+     * @param asymmetricCryAlgo     非对称加密算法
+     * @param retDecrypt            返回值是否需要解密
+     * @param cryModeEnum           加密模式
+     * @param symmetricCryAlgo      对称加密算法
+     * @param callerId              调用者ID
+     * @param api                   接口名称
+     * @param httpConnectionTimeout HTTP建立连接超时时间（单位毫秒）
+     * @param httpReadTimeout       HTTP数据传输超时时间（单位毫秒）
+     * @param httpProxyHost         HTTP请求代理域名
+     * @param httpProxyPort         HTTP请求代理端口
+     * @param enableCompress        是否启用压缩
+     * @param symmetricKeyReuseTime  对称密钥复用时间（单位秒）
+     * @param symmetricKeyReuseCount 对称密钥复用次数
+     * @param symmetricKeyPoolSize   对称密钥预生成池容量
+     * @param hmacSecret             HMAC共享密钥（HMAC模式下使用）
+     * @param hmacAlgo               HMAC算法（HMAC模式下使用）
+     * @param transport              HTTP传输层
+     * @param asyncExecutor          异步调用的线程池，为null时使用所有客户端共用的默认线程池
+     * @param ioThreads              阻塞传输层执行异步调用时IO线程池的最大线程数
+     * @param ioQueueSize            阻塞传输层执行异步调用时IO线程池的等待队列容量，0表示不排队
+     * @param loadBalancer           负载均衡器，为null时只调用baseUrl一个节点
+     * @param hedgePolicy            对冲请求策略，为null时不发送对冲请求
+     * @param guardOptions           调用保护（自适应并发限制及熔断）的配置，为null时不启用
+     * @param adaptiveTimeoutOptions 自适应超时的配置，为null时使用静态配置的超时时间
+     * @param binaryFormat           二进制数据的传输格式
+     * @param chunkOptions           分片传输的配置，为null时不启用
+     */
+    OpenApiClient(String baseUrl, String selfPrivateKey, String remotePublicKey, String asymmetricCryAlgo,
+                         boolean retDecrypt, CryModeEnum cryModeEnum, String symmetricCryAlgo, String callerId, String api,
+                         long httpConnectionTimeout, long httpReadTimeout, String httpProxyHost, Integer httpProxyPort, boolean enableCompress,
+                         long symmetricKeyReuseTime, int symmetricKeyReuseCount, int symmetricKeyPoolSize,
+                         String hmacSecret, String hmacAlgo, OpenApiTransport transport, Executor asyncExecutor,
+                         int ioThreads, int ioQueueSize, LoadBalancer loadBalancer, HedgePolicy hedgePolicy, GuardOptions guardOptions,
+                         AdaptiveTimeoutOptions adaptiveTimeoutOptions, int binaryFormat, ChunkOptions chunkOptions) {
         this.baseUrl = baseUrl;
+        this.loadBalancer = loadBalancer == null ? new LoadBalancer(Collections.singletonList(baseUrl)) : loadBalancer;
+        this.hedgePolicy = hedgePolicy;
+        this.guardOptions = guardOptions;
+        this.adaptiveTimeoutOptions = adaptiveTimeoutOptions;
+        this.binaryFormat = binaryFormat;
+        this.chunkOptions = chunkOptions;
+        this.chunkTransfer = chunkOptions == null ? null : new ChunkTransfer(this, chunkOptions);
         this.selfPrivateKey = selfPrivateKey;
         this.remotePublicKey = remotePublicKey;
         this.asymmetricCryAlgo = asymmetricCryAlgo;
@@ -159,6 +371,16 @@ public class OpenApiClient {
         this.httpProxyHost = httpProxyHost;
         this.httpProxyPort = httpProxyPort;
         this.enableCompress = enableCompress;
+        this.symmetricKeyReuseTime = symmetricKeyReuseTime;
+        this.symmetricKeyReuseCount = symmetricKeyReuseCount;
+        this.keyPool = symmetricKeyPoolSize > 0 && cryModeEnum == CryModeEnum.SYMMETRIC_CRY
+                ? WrappedKeyPool.getPool(symmetricCryAlgo, asymmetricCryAlgo, symmetricKeyPoolSize) : null;
+        this.sessionHmacAlgo = SessionKeyUtil.getHmacAlgo(asymmetricCryAlgo);
+        this.hmacSecret = hmacSecret == null ? null : HmacUtil.bytes(hmacSecret);
+        this.hmacAlgo = hmacAlgo;
+        this.transport = transport;
+        this.asyncExecutor = asyncExecutor == null ? DefaultAsyncExecutor.INSTANCE : asyncExecutor;
+        this.ioExecutor = getIoExecutor(ioThreads, ioQueueSize);
 
         //初始化信息打印
         if (log.isDebugEnabled()) {
@@ -177,6 +399,19 @@ public class OpenApiClient {
      * @return 返回值
      */
     public OutParams callOpenApi(InParams inParams) {
+        //直接传入的请求体按原样发送（不再压缩）
+        return this.callOpenApi(Constant.OPENAPI_PATH, inParams, false);
+    }
+
+    /**
+     * 调用openapi
+     *
+     * @param path     请求路径（单次调用或批量调用）
+     * @param inParams 入参
+     * @param compress 是否压缩请求体（压缩在加密、签名的同一流水线中完成）
+     * @return 返回值
+     */
+    private OutParams callOpenApi(String path, InParams inParams, boolean compress) {
         if (inParams == null) {
             throw new OpenApiClientException("入参不能为空");
         }
@@ -187,27 +422,290 @@ public class OpenApiClient {
         if (StrUtil.isBlank(inParams.getUuid())) {
             inParams.setUuid(IdUtil.simpleUUID());
         }
+        if (hedgePolicy != null && inParams.getBodyStream() == null && inParams.getBinarySink() == null
+                && inParams.getChunkBinaries() == null) {
+            //对冲调用的两个请求均异步执行，先成功者的返回值即为本次调用的返回值（流式请求体、流式接收返回值及分片上传不对冲）
+            try {
+                return callOpenApiHedged(path, inParams, compress).join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+            }
+        }
         logPrefix.set(String.format("uuid=%s:", inParams.getUuid()));
         try {
-            log.debug("{}入参：{}", logPrefix.get(), inParams);
-            encryptAndSign(inParams);
-            OutParams outParams = doCall(inParams);
-            log.debug("{}出参：{}", logPrefix.get(), outParams);
-            return outParams;
+            //同一次调用（包括握手、重试及分片传输）使用同一节点
+            return callOpenApi(loadBalancer.select(), path, inParams, compress);
         } finally {
             logPrefix.remove();
         }
     }
 
     /**
-     * 调用openapi
+     * 调用openapi的指定节点
+     *
+     * @param endpoint 节点
+     * @param path     请求路径
+     * @param inParams 入参
+     * @param compress 是否压缩请求体
+     * @return 返回值
+     */
+    private OutParams callOpenApi(Endpoint endpoint, String path, InParams inParams, boolean compress) {
+        OutParams outParams = null;
+        try {
+            outParams = doCallOpenApi(endpoint, path, inParams, compress);
+            return outParams;
+        } finally {
+            retainChunks(inParams, outParams);
+        }
+    }
+
+    /**
+     * 调用openapi的指定节点（先分片上传，会话失效时重新握手后重试一次）
+     *
+     * @param endpoint 节点
+     * @param path     请求路径
+     * @param inParams 入参
+     * @param compress 是否压缩请求体
+     * @return 返回值
+     */
+    private OutParams doCallOpenApi(Endpoint endpoint, String path, InParams inParams, boolean compress) {
+        log.debug("{}入参：{}", logPrefix.get(), inParams);
+        byte[] bodyBytes = inParams.getBodyBytes();
+        StreamBody bodyStream = inParams.getBodyStream();
+        uploadChunks(endpoint, inParams);
+        SessionKey sessionKey = getSessionKey(inParams.getCallerId(), endpoint);
+        encryptAndSign(inParams, sessionKey, compress);
+        OutParams outParams = doCall(endpoint, path, inParams, sessionKey);
+        if (sessionKey != null && Objects.equals(outParams.getCode(), ErrorCode.SESSION_INVALID)) {
+            //服务端会话已失效（如服务端重启或会话被淘汰），重新握手后重试一次
+            log.info("{}会话已失效，重新握手：{}", logPrefix.get(), outParams.getMessage());
+            invalidateSession(sessionKey, endpoint);
+            if (bodyStream != null && !bodyStream.isRepeatable()) {
+                //输入流已读取过，无法重发
+                return finishCall(outParams, sessionKey, inParams, endpoint);
+            }
+            sessionKey = getSessionKey(inParams.getCallerId(), endpoint);
+            inParams.setBodyBytes(bodyBytes);
+            inParams.setBodyStream(bodyStream);
+            encryptAndSign(inParams, sessionKey, compress);
+            outParams = doCall(endpoint, path, inParams, sessionKey);
+        }
+        return finishCall(outParams, sessionKey, inParams, endpoint);
+    }
+
+    /**
+     * 异步调用openapi
+     * <p>
+     * 加密、签名及返回值的解密、反序列化在异步线程池上执行，HTTP请求由传输层异步完成；
+     * 阻塞的传输层（默认的{@link openapi.client.sdk.transport.HutoolTransport}等）在单独的IO线程池上等待响应，不占用异步线程池；
+     * 使用非阻塞的{@link openapi.client.sdk.transport.AsyncHttpTransport}时等待响应期间不占用任何线程
+     * </p>
+     *
+     * @param inParams 入参
+     * @return 返回值
+     */
+    public CompletableFuture<OutParams> callOpenApiAsync(InParams inParams) {
+        //直接传入的请求体按原样发送（不再压缩）
+        return this.callOpenApiAsync(Constant.OPENAPI_PATH, inParams, false);
+    }
+
+    /**
+     * 异步调用openapi
+     *
+     * @param path     请求路径（单次调用或批量调用）
+     * @param inParams 入参
+     * @param compress 是否压缩请求体
+     * @return 返回值
+     */
+    private CompletableFuture<OutParams> callOpenApiAsync(String path, InParams inParams, boolean compress) {
+        if (inParams == null) {
+            throw new OpenApiClientException("入参不能为空");
+        }
+        checkInParams(inParams.getCallerId(), inParams.getApi(), inParams.getMethod());
+        if (StrUtil.isBlank(inParams.getUuid())) {
+            inParams.setUuid(IdUtil.simpleUUID());
+        }
+        if (hedgePolicy != null && inParams.getBodyStream() == null && inParams.getBinarySink() == null
+                && inParams.getChunkBinaries() == null) {
+            return callOpenApiHedged(path, inParams, compress);
+        }
+        return callOpenApiAsync(path, inParams, compress, loadBalancer.select(), null);
+    }
+
+    /**
+     * 异步调用openapi的指定节点
+     *
+     * @param path     请求路径
+     * @param inParams 入参
+     * @param compress 是否压缩请求体
+     * @param endpoint 节点
+     * @param done     对冲调用的结果，完成后取消未完成的HTTP请求，非对冲调用为null
+     * @return 返回值
+     */
+    private CompletableFuture<OutParams> callOpenApiAsync(String path, InParams inParams, boolean compress,
+                                                          Endpoint endpoint, CompletableFuture<?> done) {
+        String prefix = String.format("uuid=%s:", inParams.getUuid());
+        byte[] bodyBytes = inParams.getBodyBytes();
+        StreamBody bodyStream = inParams.getBodyStream();
+        return CompletableFuture.supplyAsync(() -> withLogPrefix(prefix, () -> {
+            log.debug("{}入参：{}", prefix, inParams);
+            uploadChunks(endpoint, inParams);
+            SessionKey sessionKey = getSessionKey(inParams.getCallerId(), endpoint);
+            encryptAndSign(inParams, sessionKey, compress);
+            return sessionKey;
+        }), asyncExecutor).thenCompose(sessionKey -> doCallAsync(endpoint, path, inParams, sessionKey, prefix, done).thenComposeAsync(outParams -> withLogPrefix(prefix, () -> {
+            if (sessionKey != null && Objects.equals(outParams.getCode(), ErrorCode.SESSION_INVALID)) {
+                //服务端会话已失效，重新握手后重试一次
+                log.info("{}会话已失效，重新握手：{}", prefix, outParams.getMessage());
+                invalidateSession(sessionKey, endpoint);
+                //输入流已读取过，无法重发
+                if (bodyStream == null || bodyStream.isRepeatable()) {
+                    SessionKey newSessionKey = getSessionKey(inParams.getCallerId(), endpoint);
+                    inParams.setBodyBytes(bodyBytes);
+                    inParams.setBodyStream(bodyStream);
+                    encryptAndSign(inParams, newSessionKey, compress);
+                    return doCallAsync(endpoint, path, inParams, newSessionKey, prefix, done).thenApplyAsync(retryOutParams -> withLogPrefix(prefix,
+                            () -> finishCall(retryOutParams, newSessionKey, inParams, endpoint)), asyncExecutor);
+                }
+            }
+            return CompletableFuture.completedFuture(finishCall(outParams, sessionKey, inParams, endpoint));
+        }), asyncExecutor)).whenComplete((outParams, ex) -> retainChunks(inParams, outParams));
+    }
+
+    /**
+     * 对冲调用openapi（幂等方法使用）
+     * <p>
+     * 主请求超过对冲延迟仍未返回时，在预算允许的情况下向另一节点发送相同的请求，采用先成功的返回值并取消另一个请求；
+     * 两个请求均失败时返回最后一个失败。非阻塞传输层会中断被取消的HTTP请求，阻塞传输层的请求继续执行但结果被丢弃
+     * </p>
+     *
+     * @param path     请求路径
+     * @param inParams 入参
+     * @param compress 是否压缩请求体
+     * @return 返回值
+     */
+    private CompletableFuture<OutParams> callOpenApiHedged(String path, InParams inParams, boolean compress) {
+        CompletableFuture<OutParams> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        AtomicBoolean settled = new AtomicBoolean();
+        Endpoint primary = loadBalancer.select();
+        long startTime = System.nanoTime();
+        hedgePolicy.onRequest();
+        callOpenApiAsync(path, copyInParams(inParams), compress, primary, result).whenComplete((outParams, ex) -> {
+            if (ex == null || unwrap(ex) instanceof CancellationException) {
+                hedgePolicy.recordLatency(System.nanoTime() - startTime);
+            }
+            completeHedged(result, settled, outParams, ex, pending, false);
+        });
+        long delay = hedgePolicy.getDelayNanos();
+        if (delay > 0) {
+            ScheduledFuture<?> timer = HedgeTimer.INSTANCE.schedule(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                Endpoint secondary = loadBalancer.selectOther(primary);
+                if (secondary == null || !hedgePolicy.tryHedge()) {
+                    return;
+                }
+                log.debug("uuid={}:主请求超过{}ms未返回，向{}发送对冲请求", inParams.getUuid(), delay / 100_0000, secondary.getBaseUrl());
+                pending.incrementAndGet();
+                callOpenApiAsync(path, copyInParams(inParams), compress, secondary, result)
+                        .whenComplete((outParams, ex) -> completeHedged(result, settled, outParams, ex, pending, true));
+            }, delay, TimeUnit.NANOSECONDS);
+            result.whenComplete((outParams, ex) -> timer.cancel(false));
+        }
+        return result;
+    }
+
+    /**
+     * 对冲调用的某个请求完成：成功则作为调用的返回值，失败则等待另一个请求，均失败时返回失败
+     *
+     * @param result    对冲调用的结果
+     * @param settled   对冲调用的结果是否已确定
+     * @param outParams 出参
+     * @param ex        异常
+     * @param pending   未完成的请求数
+     * @param hedge     是否为对冲请求
+     */
+    private void completeHedged(CompletableFuture<OutParams> result, AtomicBoolean settled, OutParams outParams, Throwable ex,
+                                AtomicInteger pending, boolean hedge) {
+        int remaining = pending.decrementAndGet();
+        if (ex == null) {
+            if (settled.compareAndSet(false, true)) {
+                if (hedge) {
+                    hedgePolicy.onHedgeWin();
+                }
+                result.complete(outParams);
+            }
+        } else if (remaining == 0 && settled.compareAndSet(false, true)) {
+            result.completeExceptionally(unwrap(ex));
+        }
+    }
+
+    /**
+     * 复制入参，对冲调用的每个请求各自加密、签名
+     *
+     * @param inParams 入参
+     * @return 入参副本
+     */
+    private InParams copyInParams(InParams inParams) {
+        InParams copy = new InParams();
+        BeanUtil.copyProperties(inParams, copy);
+        return copy;
+    }
+
+    private Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    /**
+     * 异步调用openapi
      * 注：请用{@link OpenApiClientBuilder}构建{@link OpenApiClient}对象
      *
      * @param method API方法名
      * @param params API方法参数
      * @return 返回值
      */
-    public OutParams callOpenApi(String method, Object... params) {
+    public CompletableFuture<OutParams> callOpenApiAsync(String method, Object... params) {
+        return this.callOpenApiAsync(Constant.OPENAPI_PATH, newInParams(callerId, api, method, params), enableCompress);
+    }
+
+    /**
+     * 异步调用openapi
+     * 注：请用{@link OpenApiClientBuilder}构建{@link OpenApiClient}对象
+     *
+     * @param api    API接口名
+     * @param method API方法名
+     * @param params API方法参数
+     * @return 返回值
+     */
+    public CompletableFuture<OutParams> callOpenApiAsync(String api, String method, Object... params) {
+        return this.callOpenApiAsync(Constant.OPENAPI_PATH, newInParams(callerId, api, method, params), enableCompress);
+    }
+
+    /**
+     * 异步调用openapi
+     *
+     * @param callerId 调用者ID
+     * @param api      API接口名
+     * @param method   API方法名
+     * @param params   API方法参数
+     * @return 返回值
+     */
+    public CompletableFuture<OutParams> callOpenApiAsync(String callerId, String api, String method, Object... params) {
+        return this.callOpenApiAsync(Constant.OPENAPI_PATH, newInParams(callerId, api, method, params), enableCompress);
+    }
+
+    /**
+     * 构建入参
+     *
+     * @param callerId 调用者ID
+     * @param api      API接口名
+     * @param method   API方法名
+     * @param params   API方法参数
+     * @return 入参
+     */
+    private InParams newInParams(String callerId, String api, String method, Object[] params) {
         //检查方法参数
         checkInParams(callerId, api, method);
 
@@ -218,11 +716,85 @@ public class OpenApiClient {
         inParams.setApi(api);
         inParams.setMethod(method);
 
+        //二进制返回值的接收目标不发送给服务端
+        BinarySink binarySink = null;
+        if (params != null) {
+            List<Object> paramList = new ArrayList<>(params.length);
+            for (Object param : params) {
+                if (param instanceof BinarySink) {
+                    if (binarySink != null) {
+                        throw new OpenApiClientException("二进制返回值的接收目标只能有一个");
+                    }
+                    binarySink = (BinarySink) param;
+                } else {
+                    paramList.add(param);
+                }
+            }
+            if (binarySink != null) {
+                params = paramList.toArray();
+            }
+        }
+        inParams.setBinarySink(binarySink);
+
         //设置入参的body
         setInParamsBody(inParams, params);
+        return inParams;
+    }
 
-        //调用openapi
-        return this.callOpenApi(inParams);
+    /**
+     * 完成一次调用：处理出参（服务端暂存了二进制返回值时从同一节点分片下载）并记录日志
+     *
+     * @param outParams  出参
+     * @param sessionKey 会话密钥（仅会话加密模式下有值）
+     * @param inParams   入参
+     * @param endpoint   节点
+     * @return 出参
+     */
+    private OutParams finishCall(OutParams outParams, SessionKey sessionKey, InParams inParams, Endpoint endpoint) {
+        handleOutParams(outParams, sessionKey, inParams.getUuid());
+        if (outParams.getDataType() == DataType.CHUNKED) {
+            if (chunkTransfer == null) {
+                throw new OpenApiClientException("服务端返回了分片传输的二进制数据，客户端未启用分片传输");
+            }
+            chunkTransfer.download(endpoint, inParams.getCallerId(), outParams, inParams.getBinarySink());
+        }
+        log.debug("{}出参：{}", logPrefix.get(), outParams);
+        return outParams;
+    }
+
+    /**
+     * 在设置了日志前缀的上下文中执行（异步调用的各阶段可能运行在不同线程上）
+     *
+     * @param prefix   日志前缀
+     * @param supplier 执行的操作
+     * @param <T>      返回值类型
+     * @return 操作的返回值
+     */
+    private <T> T withLogPrefix(String prefix, Supplier<T> supplier) {
+        //分片请求可能在调用线程上执行，完成后恢复原有的日志前缀
+        String previous = logPrefix.get();
+        logPrefix.set(prefix);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                logPrefix.remove();
+            } else {
+                logPrefix.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 调用openapi
+     * 注：请用{@link OpenApiClientBuilder}构建{@link OpenApiClient}对象
+     *
+     * @param method API方法名
+     * @param params API方法参数
+     * @return 返回值
+     */
+    public OutParams callOpenApi(String method, Object... params) {
+        return this.callOpenApi(Constant.OPENAPI_PATH, newInParams(callerId, api, method, params), enableCompress);
     }
 
     /**
@@ -235,21 +807,7 @@ public class OpenApiClient {
      * @return 返回值
      */
     public OutParams callOpenApi(String api, String method, Object... params) {
-        //检查方法参数
-        checkInParams(callerId, api, method);
-
-        //构建InParams对象
-        InParams inParams = new InParams();
-        inParams.setUuid(IdUtil.simpleUUID());
-        inParams.setCallerId(callerId);
-        inParams.setApi(api);
-        inParams.setMethod(method);
-
-        //设置入参的body
-        setInParamsBody(inParams, params);
-
-        //调用openapi
-        return this.callOpenApi(inParams);
+        return this.callOpenApi(Constant.OPENAPI_PATH, newInParams(callerId, api, method, params), enableCompress);
     }
 
     /**
@@ -262,21 +820,191 @@ public class OpenApiClient {
      * @return 返回值
      */
     public OutParams callOpenApi(String callerId, String api, String method, Object... params) {
-        //检查方法参数
+        return this.callOpenApi(Constant.OPENAPI_PATH, newInParams(callerId, api, method, params), enableCompress);
+    }
+
+    /**
+     * 创建批量调用：多个方法调用合并为一个签名、加密的请求，由服务端并行执行
+     * 注：批量调用中的方法须与服务端网关的加密模式一致，且不支持二进制类型的参数及返回值
+     *
+     * @return 批量调用
+     */
+    public OpenApiBatch batch() {
+        return new OpenApiBatch(this, api);
+    }
+
+    /**
+     * 构建批量调用的条目
+     *
+     * @param api    API接口名
+     * @param method API方法名
+     * @param params API方法参数
+     * @return 调用条目
+     */
+    BatchEntry newBatchEntry(String api, String method, Object[] params) {
         checkInParams(callerId, api, method);
+        InParams inParams = new InParams();
+        setInParamsBody(inParams, params);
+        if (inParams.getDataType() == DataType.BINARY) {
+            throw new OpenApiClientException("批量调用不支持二进制类型的参数");
+        }
+        BatchEntry entry = new BatchEntry();
+        entry.setApi(api);
+        entry.setMethod(method);
+        entry.setMultiParam(inParams.isMultiParam());
+        entry.setBody(inParams.getBody());
+        return entry;
+    }
 
-        //构建InParams对象
+    /**
+     * 批量调用openapi
+     *
+     * @param entries 调用条目
+     * @return 各条目的返回值（与条目顺序一致）
+     */
+    List<OutParams> callBatch(List<BatchEntry> entries) {
+        OutParams outParams = this.callOpenApi(Constant.BATCH_PATH, newBatchInParams(entries), enableCompress);
+        return toBatchOutParams(outParams, entries.size());
+    }
+
+    /**
+     * 异步批量调用openapi
+     *
+     * @param entries 调用条目
+     * @return 各条目的返回值（与条目顺序一致）
+     */
+    CompletableFuture<List<OutParams>> callBatchAsync(List<BatchEntry> entries) {
+        return this.callOpenApiAsync(Constant.BATCH_PATH, newBatchInParams(entries), enableCompress)
+                .thenApply(outParams -> toBatchOutParams(outParams, entries.size()));
+    }
+
+    /**
+     * 构建批量调用的入参（接口名、方法名为批量调用的保留名称）
+     *
+     * @param entries 调用条目
+     * @return 入参
+     */
+    private InParams newBatchInParams(List<BatchEntry> entries) {
+        if (CollUtil.isEmpty(entries)) {
+            throw new OpenApiClientException("批量调用的条目不能为空");
+        }
         InParams inParams = new InParams();
         inParams.setUuid(IdUtil.simpleUUID());
         inParams.setCallerId(callerId);
-        inParams.setApi(api);
-        inParams.setMethod(method);
+        inParams.setApi(Constant.BATCH_API);
+        inParams.setMethod(Constant.BATCH_METHOD);
+        String body = JSONUtil.toJsonStr(entries);
+        inParams.setBody(body);
+        inParams.setBodyBytes(body.getBytes(StandardCharsets.UTF_8));
+        inParams.setDataType(DataType.TEXT);
+        return inParams;
+    }
 
-        //设置入参的body
-        setInParamsBody(inParams, params);
+    /**
+     * 将批量调用的返回值拆分为各条目的出参
+     *
+     * @param outParams 批量调用的出参
+     * @param size      条目数
+     * @return 各条目的出参
+     */
+    private List<OutParams> toBatchOutParams(OutParams outParams, int size) {
+        List<BatchResult> results = JSONUtil.toList(outParams.getData(), BatchResult.class);
+        if (results.size() != size) {
+            throw new OpenApiClientException(String.format("批量调用返回的结果数%d与条目数%d不一致", results.size(), size));
+        }
+        List<OutParams> outParamsList = new ArrayList<>(size);
+        for (BatchResult result : results) {
+            OutParams entryOutParams = new OutParams();
+            entryOutParams.setUuid(outParams.getUuid());
+            entryOutParams.setCode(result.getCode());
+            entryOutParams.setMessage(result.getMessage());
+            entryOutParams.setData(result.getData());
+            entryOutParams.setDataType(DataType.TEXT);
+            outParamsList.add(entryOutParams);
+        }
+        return outParamsList;
+    }
+
+    /**
+     * 发送前分片上传入参中超过分片大小的二进制对象
+     *
+     * @param endpoint 节点（与主请求相同）
+     * @param inParams 入参
+     */
+    private void uploadChunks(Endpoint endpoint, InParams inParams) {
+        if (inParams.getChunkBinaries() == null) {
+            return;
+        }
+        for (Map.Entry<String, Binary> entry : inParams.getChunkBinaries().entrySet()) {
+            chunkTransfer.upload(endpoint, inParams.getCallerId(), entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 调用未成功时保留已分片上传的传输，之后相同数据的调用从已接收的分片续传
+     *
+     * @param inParams  入参
+     * @param outParams 出参，调用异常时为null
+     */
+    private void retainChunks(InParams inParams, OutParams outParams) {
+        if (inParams.getChunkBinaries() != null && !OutParams.isSuccess(outParams)) {
+            inParams.getChunkBinaries().keySet().forEach(chunkTransfer::retain);
+        }
+    }
+
+    /**
+     * 调用分片传输接口（使用服务端网关的加密模式）
+     *
+     * @param endpoint 节点
+     * @param callerId 调用者ID
+     * @param method   分片传输的方法名
+     * @param param    分片参数
+     * @param chunk    上传的分片，其它方法为null
+     * @return 出参
+     */
+    OutParams callChunk(Endpoint endpoint, String callerId, String method, ChunkParam param, Binary chunk) {
+        InParams inParams = new InParams();
+        inParams.setUuid(IdUtil.simpleUUID());
+        inParams.setCallerId(callerId);
+        inParams.setApi(Constant.CHUNK_API);
+        inParams.setMethod(method);
+        String body = JSONUtil.toJsonStr(param);
+        inParams.setBody(body);
+        inParams.setBinaryFormat(binaryFormat);
+        if (chunk == null) {
+            inParams.setBodyBytes(body.getBytes(StandardCharsets.UTF_8));
+            inParams.setDataType(DataType.TEXT);
+        } else {
+            inParams.setBodyBytes(BinaryUtil.buildSingleBinaryBytes(chunk, body, binaryFormat));
+            inParams.setDataType(DataType.BINARY);
+        }
+        return withLogPrefix(String.format("uuid=%s:", inParams.getUuid()),
+                () -> callOpenApi(endpoint, Constant.CHUNK_PATH, inParams, enableCompress));
+    }
 
-        //调用openapi
-        return this.callOpenApi(inParams);
+    /**
+     * 标记需分片上传的二进制对象：超过分片大小的设置分片传输ID（构建参数字符串后清除）
+     *
+     * @param params 方法参数
+     * @return 需分片上传的二进制对象（key为分片传输ID），没有时返回null
+     */
+    private Map<String, Binary> markChunkBinaries(Object[] params) {
+        if (chunkTransfer == null || params == null) {
+            return null;
+        }
+        Map<String, Binary> chunkBinaries = new LinkedHashMap<>();
+        for (Object param : params) {
+            if (param != null && BinaryUtil.isBinaryParam(param)) {
+                for (Binary binary : this.getBinaryParam(param).getBinaries()) {
+                    if (chunkTransfer.isChunked(binary)) {
+                        String transferId = chunkTransfer.newTransferId(binary);
+                        binary.setTransferId(transferId);
+                        chunkBinaries.put(transferId, binary);
+                    }
+                }
+            }
+        }
+        return chunkBinaries.isEmpty() ? null : chunkBinaries;
     }
 
     /**
@@ -286,8 +1014,26 @@ public class OpenApiClient {
      * @param params   方法参数
      */
     private void setInParamsBody(InParams inParams, Object[] params) {
+        Map<String, Binary> chunkBinaries = markChunkBinaries(params);
+        try {
+            setInParamsBody(inParams, params, chunkBinaries);
+        } finally {
+            if (chunkBinaries != null) {
+                chunkBinaries.values().forEach(binary -> binary.setTransferId(null));
+            }
+        }
+    }
+
+    /**
+     * 设置入参的body
+     *
+     * @param inParams      入参
+     * @param params        方法参数
+     * @param chunkBinaries 需分片上传的二进制对象，可为null
+     */
+    private void setInParamsBody(InParams inParams, Object[] params, Map<String, Binary> chunkBinaries) {
         String body = null;
-        byte[] bodyBytes = null;
+        List<Binary> binaries = null;
         boolean multiParam;
         if (params == null || params.length == 0) {
             //无参函数
@@ -303,7 +1049,7 @@ public class OpenApiClient {
             if (BinaryUtil.isBinaryParam(param)) {
                 BinaryParam binaryParam = this.getBinaryParam(param);
                 body = binaryParam.getBinariesStr();
-                bodyBytes = BinaryUtil.buildMultiBinaryBytes(binaryParam.getBinaries(), body);
+                binaries = binaryParam.getBinaries();
             } else {
                 body = StrObjectConvert.objToStr(param, paramClass);
             }
@@ -327,18 +1073,34 @@ public class OpenApiClient {
             }
             body = JSONUtil.toJsonStr(paramStrList);
             if (CollUtil.isNotEmpty(binaryList)) {
-                bodyBytes = BinaryUtil.buildMultiBinaryBytes(binaryList, body);
+                binaries = binaryList;
             }
             multiParam = true;
         }
         inParams.setBody(body);
-        if (bodyBytes != null) {
-            //二进制数据传输
-            inParams.setBodyBytes(enableCompress ? CompressUtil.compress(bodyBytes) : bodyBytes);
+        inParams.setBinaryFormat(binaryFormat);
+        if (chunkOptions != null) {
+            //支持分片下载
+            inParams.setChunkSize(chunkOptions.getChunkSize());
+        }
+        //此处为未压缩的明文，压缩与加密、签名在发送前一并完成
+        if (binaries != null) {
+            if (chunkBinaries != null) {
+                //分片上传的二进制对象只在参数中保留分片传输ID，数据不在请求体中
+                binaries = new ArrayList<>(binaries);
+                binaries.removeIf(binary -> binary.getTransferId() != null);
+                inParams.setChunkBinaries(chunkBinaries);
+            }
+            //二进制数据传输，含流式文件时发送时才读取文件数据
+            if (BinaryUtil.hasStreamBinary(binaries)) {
+                inParams.setBodyStream(BinaryUtil.buildMultiBinaryBody(binaries, body, binaryFormat));
+            } else {
+                inParams.setBodyBytes(BinaryUtil.buildMultiBinaryBytes(binaries, body, binaryFormat));
+            }
             inParams.setDataType(DataType.BINARY);
         } else {
             //常规文本传输
-            inParams.setBodyBytes(enableCompress ? CompressUtil.compressText(body) : body.getBytes(StandardCharsets.UTF_8));
+            inParams.setBodyBytes(body.getBytes(StandardCharsets.UTF_8));
             inParams.setDataType(DataType.TEXT);
         }
         log.debug("{}请求体的数据类型为：{}", logPrefix.get(), inParams.getDataType());
@@ -380,32 +1142,137 @@ public class OpenApiClient {
     }
 
     /**
-     * 加密&加签
+     * 获取调用者在节点上的会话密钥，不存在或即将过期时重新握手
      *
-     * @param inParams 入参
+     * @param callerId 调用者ID
+     * @param endpoint 节点
+     * @return 会话密钥，非会话加密模式返回null
+     */
+    private SessionKey getSessionKey(String callerId, Endpoint endpoint) {
+        if (this.cryModeEnum != CryModeEnum.SESSION_CRY) {
+            return null;
+        }
+        String key = getSessionMapKey(callerId, endpoint);
+        SessionKey sessionKey = sessionKeys.get(key);
+        if (sessionKey == null || sessionKey.isExpired()) {
+            synchronized (sessionLock) {
+                sessionKey = sessionKeys.get(key);
+                if (sessionKey == null || sessionKey.isExpired()) {
+                    sessionKey = handshake(callerId, endpoint);
+                    sessionKeys.put(key, sessionKey);
+                }
+            }
+        }
+        return sessionKey;
+    }
+
+    /**
+     * 使会话失效
+     *
+     * @param sessionKey 会话密钥
+     * @param endpoint   节点
+     */
+    private void invalidateSession(SessionKey sessionKey, Endpoint endpoint) {
+        sessionKeys.remove(getSessionMapKey(sessionKey.getCallerId(), endpoint), sessionKey);
+    }
+
+    private String getSessionMapKey(String callerId, Endpoint endpoint) {
+        return callerId + "@" + endpoint.getBaseUrl();
+    }
+
+    /**
+     * 会话握手，协商出会话密钥
+     *
+     * @param callerId 调用者ID
+     * @param endpoint 节点
+     * @return 会话密钥
+     */
+    private SessionKey handshake(String callerId, Endpoint endpoint) {
+        long startTime = System.nanoTime();
+        KeyPair keyPair = SessionKeyUtil.generateEphemeralKeyPair(asymmetricCryAlgo);
+        byte[] clientPublicKey = keyPair.getPublic().getEncoded();
+
+        //使用本系统私钥对临时公钥、流水号及时间戳签名（服务端据此拒绝过期或重放的握手请求）
+        InParams inParams = new InParams();
+        inParams.setUuid(IdUtil.simpleUUID());
+        inParams.setCallerId(callerId);
+        inParams.setBodyBytes(clientPublicKey);
+        long timestamp = System.currentTimeMillis();
+        byte[] requestSignContent = SessionKeyUtil.getHandshakeRequestSignContent(clientPublicKey, inParams.getUuid(), timestamp);
+        inParams.setSign(this.asymmetricCryHandler.sign(selfPrivateKey, requestSignContent));
+        Map<String, String> headers = new HashMap<>();
+        headers.put(Header.Request.UUID, inParams.getUuid());
+        headers.put(Header.Request.CALLER_ID, callerId);
+        headers.put(Header.Request.TIMESTAMP, String.valueOf(timestamp));
+        headers.put(Header.Request.SIGN, inParams.getSign());
+        OutParams outParams = execute(endpoint, null, Constant.HANDSHAKE_PATH, headers, clientPublicKey, null);
+        if (!OutParams.isSuccess(outParams)) {
+            throw new OpenApiClientException("会话握手失败:" + outParams);
+        }
+        byte[] serverPublicKey = outParams.getDataBytes();
+        if (ArrayUtil.isEmpty(serverPublicKey) || StrUtil.isBlank(outParams.getSessionId())
+                || outParams.getSessionTtl() == null || StrUtil.isBlank(outParams.getSign())) {
+            throw new OpenApiClientException("会话握手失败:服务端返回的握手信息不完整");
+        }
+
+        //使用远程系统公钥验证服务端临时公钥及会话ID的签名
+        byte[] signContent = SessionKeyUtil.getHandshakeSignContent(clientPublicKey, serverPublicKey, outParams.getSessionId(), inParams.getUuid());
+        if (!this.asymmetricCryHandler.verifySign(remotePublicKey, signContent, outParams.getSign())) {
+            throw new OpenApiClientException("会话握手失败:服务端签名验证失败");
+        }
+        SessionKey sessionKey = SessionKeyUtil.agree(keyPair.getPrivate(), serverPublicKey, clientPublicKey, serverPublicKey, sessionHmacAlgo);
+        sessionKey.setSessionId(outParams.getSessionId());
+        sessionKey.setCallerId(callerId);
+        //提前于服务端过期，避免请求途中会话失效
+        long ttlMillis = outParams.getSessionTtl() * 1000;
+        sessionKey.setExpireTime(System.currentTimeMillis() + ttlMillis - Math.min(ttlMillis / 10, 60_000));
+        this.logCostTime("会话握手", startTime);
+        log.debug("{}会话握手成功：{}", logPrefix.get(), sessionKey);
+        return sessionKey;
+    }
+
+    /**
+     * 压缩&加密&加签
+     * <p>
+     * 非对称签名时，请求体经压缩、加密后的传输字节直接增量送入签名器，最后再送入流水号，无需拼接签名内容
+     * </p>
+     *
+     * @param inParams   入参
+     * @param sessionKey 会话密钥（仅会话加密模式下有值）
+     * @param compress   是否压缩请求体
      */
-    private void encryptAndSign(InParams inParams) {
-        //加密
+    private void encryptAndSign(InParams inParams, SessionKey sessionKey, boolean compress) {
+        if (inParams.getBodyStream() != null) {
+            encryptAndSignStream(inParams, sessionKey, compress);
+            return;
+        }
+        //会话加密模式及HMAC模式使用HMAC签名，其它模式使用非对称签名
+        ContentSigner signer = sessionKey == null && this.cryModeEnum != CryModeEnum.HMAC
+                ? this.asymmetricCryHandler.newSigner(selfPrivateKey) : null;
+
+        //压缩&加密
         long startTime = System.nanoTime();
         byte[] bodyBytes = inParams.getBodyBytes();
         if (ArrayUtil.isNotEmpty(bodyBytes)) {
             if (this.cryModeEnum == CryModeEnum.SYMMETRIC_CRY) {
-                //生成对称密钥key
-                byte[] keyBytes = this.symmetricCryHandler.generateKey();
-
-                //转成base64不会有问题，如果采用new String("utf-8"),再转回来字节数会变大
-                String key = Base64Util.bytesToBase64(keyBytes);
-
-                //对key使用非对称加密
-                String cryKey = this.asymmetricCryHandler.cry(remotePublicKey, key);
-                inParams.setSymmetricCryKey(cryKey);
+                //获取对称密钥（复用窗口内复用同一个密钥）
+                WrappedKey wrappedKey = this.getWrappedKey();
+                inParams.setSymmetricCryKey(wrappedKey.getCryKey());
 
                 //对内容进行对称加密
-                bodyBytes = this.symmetricCryHandler.cry(bodyBytes, keyBytes);
+                bodyBytes = PipelineUtil.seal(bodyBytes, compress, this.symmetricCryHandler, wrappedKey.getKeyBytes(),
+                        CommonUtil.getRequestAad(inParams), signer);
+            } else if (this.cryModeEnum == CryModeEnum.SESSION_CRY) {
+                //使用会话密钥对内容进行对称加密
+                bodyBytes = PipelineUtil.seal(bodyBytes, compress, this.symmetricCryHandler, sessionKey.getCryKey(),
+                        CommonUtil.getRequestAad(inParams), signer);
             } else if (this.cryModeEnum == CryModeEnum.ASYMMETRIC_CRY) {
-                bodyBytes = this.asymmetricCryHandler.cry(remotePublicKey, bodyBytes);
+                //非对称加密无法分段进行，压缩后整体加密
+                bodyBytes = this.asymmetricCryHandler.cry(remotePublicKey, compress ? CompressUtil.compress(bodyBytes) : bodyBytes);
+                signer.update(bodyBytes);
             } else {
-                //不加密模式CryModeEnum.NONE
+                //不加密模式CryModeEnum.NONE、CryModeEnum.HMAC
+                bodyBytes = PipelineUtil.seal(bodyBytes, compress, null, null, null, signer);
             }
             inParams.setBodyBytes(bodyBytes);
         }
@@ -413,56 +1280,398 @@ public class OpenApiClient {
 
         //加签
         startTime = System.nanoTime();
-        byte[] signContent = CommonUtil.getSignContent(inParams);
-        String sign = this.asymmetricCryHandler.sign(selfPrivateKey, signContent);
+        String sign;
+        if (sessionKey != null) {
+            //会话加密模式使用会话的HMAC密钥签名
+            inParams.setSessionId(sessionKey.getSessionId());
+            //AEAD加密时请求体由认证标签保护，HMAC只需覆盖流水号、接口名、方法名
+            boolean signBody = !(this.symmetricCryHandler instanceof AeadSymmetricCryHandler);
+            sign = HmacUtil.sign(sessionHmacAlgo, sessionKey.getMacKey(), CommonUtil.getHmacSignContent(inParams, signBody));
+        } else if (this.cryModeEnum == CryModeEnum.HMAC) {
+            //HMAC模式使用共享密钥签名
+            sign = HmacUtil.sign(hmacAlgo, hmacSecret, CommonUtil.getHmacSignContent(inParams));
+        } else {
+            //与CommonUtil.getSignContent的内容一致：请求体（已送入）+流水号
+            signer.update(HmacUtil.bytes(inParams.getUuid()));
+            sign = signer.sign();
+        }
         inParams.setSign(sign);
         this.logCostTime("加签", startTime);
     }
 
+    /**
+     * 压缩&加密&加签（流式请求体）
+     * <p>
+     * 签名通过请求头发送，需在发送请求体之前得到：
+     * 会话加密模式下AEAD算法的请求体不参与签名，发送时边读边压缩、加密；
+     * 不加密且可重复读取的请求体先读取一遍计算签名，发送时再读取一遍；
+     * 其它情况（随机IV加密、只能读取一次的输入流）将压缩、加密后的请求体写入临时文件并同时签名，发送临时文件
+     * </p>
+     *
+     * @param inParams   入参
+     * @param sessionKey 会话密钥（仅会话加密模式下有值）
+     * @param compress   是否压缩请求体
+     */
+    private void encryptAndSignStream(InParams inParams, SessionKey sessionKey, boolean compress) {
+        if (this.cryModeEnum == CryModeEnum.ASYMMETRIC_CRY) {
+            throw new OpenApiClientException("非对称加密模式无法分段加密，不支持流式文件（StreamBinary），请使用对称加密或会话加密模式");
+        }
+        long startTime = System.nanoTime();
+        SymmetricCryHandler handler = null;
+        byte[] keyBytes = null;
+        if (this.cryModeEnum == CryModeEnum.SYMMETRIC_CRY) {
+            WrappedKey wrappedKey = this.getWrappedKey();
+            inParams.setSymmetricCryKey(wrappedKey.getCryKey());
+            handler = this.symmetricCryHandler;
+            keyBytes = wrappedKey.getKeyBytes();
+        } else if (sessionKey != null) {
+            inParams.setSessionId(sessionKey.getSessionId());
+            handler = this.symmetricCryHandler;
+            keyBytes = sessionKey.getCryKey();
+        }
+        StreamBody body = PipelineUtil.seal(inParams.getBodyStream(), compress, handler, keyBytes,
+                handler == null ? null : CommonUtil.getRequestAad(inParams));
+        //会话加密模式及HMAC模式使用HMAC签名（每部分附加长度，需先知道请求体长度），其它模式使用非对称签名
+        ContentSigner signer = sessionKey == null && this.cryModeEnum != CryModeEnum.HMAC
+                ? this.asymmetricCryHandler.newSigner(selfPrivateKey) : null;
+        boolean signBody = !(sessionKey != null && handler instanceof AeadSymmetricCryHandler);
+        //不加密且可重复读取时先读取一遍计算签名（HMAC签名需预先知道请求体长度），否则写入临时文件的同时签名
+        boolean readTwice = handler == null && body.isRepeatable() && (signer != null || body.getLength() >= 0);
+        if (signBody && !readTwice) {
+            body = PipelineUtil.spool(body, signer);
+        } else if (signer != null) {
+            try (InputStream in = body.open()) {
+                byte[] buffer = new byte[8192];
+                for (int n; (n = in.read(buffer)) >= 0; ) {
+                    signer.update(buffer, 0, n);
+                }
+            } catch (IOException ex) {
+                throw new OpenApiClientException("读取请求体失败", ex);
+            }
+        }
+        inParams.setBodyStream(body);
+        this.logCostTime("加密", startTime);
+
+        startTime = System.nanoTime();
+        try {
+            inParams.setSign(signStream(inParams, sessionKey, body, signBody, signer));
+        } catch (RuntimeException ex) {
+            body.release();
+            throw ex;
+        }
+        this.logCostTime("加签", startTime);
+    }
+
+    /**
+     * 流式请求体加签
+     *
+     * @param inParams   入参
+     * @param sessionKey 会话密钥（仅会话加密模式下有值）
+     * @param body       传输的请求体
+     * @param signBody   请求体是否参与签名
+     * @param signer     非对称签名器（请求体已送入），HMAC签名时为null
+     * @return 签名
+     */
+    private String signStream(InParams inParams, SessionKey sessionKey, StreamBody body, boolean signBody, ContentSigner signer) {
+        String sign;
+        if (!signBody) {
+            sign = HmacUtil.sign(sessionHmacAlgo, sessionKey.getMacKey(), CommonUtil.getHmacSignContent(inParams, false));
+        } else if (signer != null) {
+            signer.update(HmacUtil.bytes(inParams.getUuid()));
+            sign = signer.sign();
+        } else {
+            String algo = sessionKey != null ? sessionHmacAlgo : hmacAlgo;
+            byte[] key = sessionKey != null ? sessionKey.getMacKey() : hmacSecret;
+            try (InputStream in = body.open()) {
+                sign = HmacUtil.sign(algo, key, in, body.getLength(), HmacUtil.bytes(inParams.getUuid()),
+                        HmacUtil.bytes(inParams.getApi()), HmacUtil.bytes(inParams.getMethod()));
+            } catch (IOException ex) {
+                throw new OpenApiClientException("读取请求体失败", ex);
+            }
+        }
+        return sign;
+    }
+
+    /**
+     * 对称解密（AEAD算法时校验附加认证数据）
+     *
+     * @param data     密文
+     * @param keyBytes 对称密钥
+     * @param aad      附加认证数据
+     * @return 明文
+     */
+    private byte[] symmetricDeCry(byte[] data, byte[] keyBytes, byte[] aad) {
+        if (this.symmetricCryHandler instanceof AeadSymmetricCryHandler) {
+            return ((AeadSymmetricCryHandler) this.symmetricCryHandler).deCry(data, keyBytes, aad);
+        }
+        return this.symmetricCryHandler.deCry(data, keyBytes);
+    }
+
+    /**
+     * 获取对称密钥，启用复用时在复用窗口内返回同一个密钥
+     *
+     * @return 对称密钥
+     */
+    private WrappedKey getWrappedKey() {
+        WrappedKey wrappedKey = this.wrappedKey;
+        if (wrappedKey != null && wrappedKey.tryUse(remotePublicKey)) {
+            return wrappedKey;
+        }
+        byte[] keyBytes;
+        String cryKey;
+        if (keyPool != null) {
+            //从预生成池取出已加密好的密钥
+            WrappedKey pooledKey = keyPool.take(remotePublicKey);
+            keyBytes = pooledKey.getKeyBytes();
+            cryKey = pooledKey.getCryKey();
+        } else {
+            //生成对称密钥key
+            keyBytes = this.symmetricCryHandler.generateKey();
+
+            //转成base64不会有问题，如果采用new String("utf-8"),再转回来字节数会变大
+            String key = Base64Util.bytesToBase64(keyBytes);
+
+            //对key使用非对称加密
+            cryKey = this.asymmetricCryHandler.cry(remotePublicKey, key);
+        }
+        wrappedKey = new WrappedKey(keyBytes, cryKey, remotePublicKey, symmetricKeyReuseTime, symmetricKeyReuseCount);
+        if (symmetricKeyReuseTime > 0 || symmetricKeyReuseCount > 0) {
+            this.wrappedKey = wrappedKey;
+        }
+        return wrappedKey;
+    }
+
     /**
      * 调用远程openapi接口
      *
-     * @param inParams 入参
+     * @param endpoint 节点
+     * @param path     请求路径
+     * @param inParams   入参
+     * @param sessionKey 会话密钥（仅会话加密模式下有值，流式接收返回值时用于解密）
      * @return 结果
      */
-    private OutParams doCall(InParams inParams) {
+    private OutParams doCall(Endpoint endpoint, String path, InParams inParams, SessionKey sessionKey) {
         long startTime = System.nanoTime();
-        String url = CommonUtil.completeUrl(baseUrl, Constant.OPENAPI_PATH);
-        Map<String, String> headers = this.getHeaders(inParams);
-        byte[] bodyBytes = inParams.getBodyBytes();
         log.debug("{}调用openapi入参:{}", logPrefix.get(), inParams);
-        //构造http请求对象
-        HttpRequest request = HttpRequest.post(url)
-                .setConnectionTimeout(httpConnectionTimeout * 1000)
-                .setReadTimeout(httpReadTimeout * 1000)
-                .addHeaders(headers)
-                .header(cn.hutool.http.Header.ACCEPT, ContentType.OCTET_STREAM.getValue())
-                .contentType(ContentType.OCTET_STREAM.getValue())
-                .body(bodyBytes);
-        //设置http代理
-        if (StrUtil.isNotBlank(this.httpProxyHost) && this.httpProxyPort != null) {
-            request.setHttpProxy(httpProxyHost, httpProxyPort);
-        }
-        //执行http请求
-        HttpResponse response = null;
-        OutParams outParams;
+        OutParams outParams = execute(endpoint, inParams, path, this.getHeaders(inParams), inParams.getBodyBytes(),
+                newSinkReader(inParams, sessionKey));
+        log.debug("{}调用openapi出参：{}", logPrefix.get(), outParams);
+        log.debug("{}响应体的数据类型为：{}", logPrefix.get(), outParams.getDataType());
+        this.logCostTime("调用openapi", startTime);
+        return outParams;
+    }
+
+    /**
+     * 异步调用远程openapi接口
+     *
+     * @param endpoint 节点
+     * @param path     请求路径
+     * @param inParams   入参
+     * @param sessionKey 会话密钥（仅会话加密模式下有值，流式接收返回值时用于解密）
+     * @param prefix     日志前缀
+     * @param done       对冲调用的结果，完成后取消未完成的HTTP请求，可为null
+     * @return 结果
+     */
+    private CompletableFuture<OutParams> doCallAsync(Endpoint endpoint, String path, InParams inParams, SessionKey sessionKey,
+                                                     String prefix, CompletableFuture<?> done) {
+        long startTime = System.nanoTime();
+        log.debug("{}调用openapi入参:{}", prefix, inParams);
+        AdaptiveTimeout adaptiveTimeout = getAdaptiveTimeout(inParams);
+        long readTimeout = adaptiveTimeout == null ? httpReadTimeout : adaptiveTimeout.getReadTimeout(httpReadTimeout);
+        SinkReader sinkReader = newSinkReader(inParams, sessionKey);
+        TransportRequest request = buildRequest(endpoint, path, this.getHeaders(inParams), inParams.getBodyBytes(),
+                inParams.getBodyStream(), sinkReader, readTimeout);
+        CallGuard guard = getCallGuard(inParams);
+        long permit;
         try {
-            response = request.execute();
-            outParams = getOutParams(response);
-            log.debug("{}调用openapi出参：{}", logPrefix.get(), outParams);
-            log.debug("{}响应体的数据类型为：{}", logPrefix.get(), outParams.getDataType());
+            permit = guard == null ? CircuitBreaker.NO_PERMIT : guard.acquire();
+        } catch (RuntimeException ex) {
+            releaseBody(request);
+            throw ex;
+        }
+        loadBalancer.onStart(endpoint);
+        CompletableFuture<TransportResponse> future;
+        try {
+            //阻塞的传输层在IO线程池上等待响应，异步线程池只执行加解密、反序列化
+            future = transport.executeAsync(request, transport.isBlocking() ? ioExecutor : asyncExecutor);
+        } catch (RejectedExecutionException ex) {
+            //IO线程池已满，请求未发出，不计入节点及调用保护的统计
+            releaseBody(request);
+            loadBalancer.onCancel(endpoint);
+            if (guard != null) {
+                guard.onCancel(permit);
+            }
+            throw new OpenApiClientException("异步调用的IO线程池已满，请求被拒绝（可调大ioThreads、ioQueueSize或使用非阻塞传输层）", ex);
+        } catch (RuntimeException ex) {
+            releaseBody(request);
+            long latency = System.nanoTime() - startTime;
+            loadBalancer.onComplete(endpoint, latency, false);
+            if (guard != null) {
+                guard.onComplete(permit, latency, false);
+            }
+            if (adaptiveTimeout != null) {
+                adaptiveTimeout.record(latency, false, readTimeout);
+            }
+            throw ex;
+        }
+        if (done != null) {
+            done.whenComplete((r, ex) -> future.cancel(true));
+        }
+        return future.whenComplete((response, ex) -> {
+            releaseBody(request);
+            if (ex instanceof CancellationException) {
+                loadBalancer.onCancel(endpoint);
+                if (guard != null) {
+                    guard.onCancel(permit);
+                }
+            } else {
+                long latency = System.nanoTime() - startTime;
+                boolean healthy = ex == null && isHealthy(response);
+                loadBalancer.onComplete(endpoint, latency, healthy);
+                if (guard != null) {
+                    guard.onComplete(permit, latency, healthy);
+                }
+                if (adaptiveTimeout != null) {
+                    adaptiveTimeout.record(latency, healthy, readTimeout);
+                }
+            }
+        }).thenApply(response -> withLogPrefix(prefix, () -> {
+            OutParams outParams = getOutParams(response, sinkReader);
+            log.debug("{}调用openapi出参：{}", prefix, outParams);
             this.logCostTime("调用openapi", startTime);
+            return outParams;
+        }));
+    }
+
+    /**
+     * 执行HTTP请求
+     *
+     * @param endpoint  节点
+     * @param inParams  远程方法的入参，用于获取调用保护及自适应超时，为null时不启用（如会话握手）
+     * @param path      请求路径
+     * @param headers   请求头
+     * @param bodyBytes  请求体
+     * @param sinkReader 流式接收二进制返回值的读取器，为null时完整读取响应体
+     * @return 出参
+     */
+    private OutParams execute(Endpoint endpoint, InParams inParams, String path, Map<String, String> headers, byte[] bodyBytes,
+                              SinkReader sinkReader) {
+        CallGuard guard = inParams == null ? null : getCallGuard(inParams);
+        AdaptiveTimeout adaptiveTimeout = inParams == null ? null : getAdaptiveTimeout(inParams);
+        long readTimeout = adaptiveTimeout == null ? httpReadTimeout : adaptiveTimeout.getReadTimeout(httpReadTimeout);
+        TransportRequest request = buildRequest(endpoint, path, headers, bodyBytes,
+                inParams == null ? null : inParams.getBodyStream(), sinkReader, readTimeout);
+        //先获取调用许可，被拒绝的请求不计入节点的异常统计
+        long permit;
+        try {
+            permit = guard == null ? CircuitBreaker.NO_PERMIT : guard.acquire();
+        } catch (RuntimeException ex) {
+            releaseBody(request);
+            throw ex;
+        }
+        long startTime = System.nanoTime();
+        boolean healthy = false;
+        loadBalancer.onStart(endpoint);
+        try {
+            //执行http请求
+            TransportResponse response = transport.execute(request);
+            healthy = isHealthy(response);
+            return getOutParams(response, sinkReader);
         } finally {
-            if (response != null) {
-                response.close();
+            releaseBody(request);
+            long latency = System.nanoTime() - startTime;
+            loadBalancer.onComplete(endpoint, latency, healthy);
+            if (guard != null) {
+                guard.onComplete(permit, latency, healthy);
+            }
+            if (adaptiveTimeout != null) {
+                adaptiveTimeout.record(latency, healthy, readTimeout);
             }
         }
+    }
+
+    /**
+     * 获取远程方法的调用保护
+     *
+     * @param inParams 入参
+     * @return 调用保护，未启用时返回null
+     */
+    private CallGuard getCallGuard(InParams inParams) {
+        return guardOptions == null ? null : CallGuard.getOrCreate(inParams.getApi(), inParams.getMethod(), guardOptions);
+    }
+
+    /**
+     * 获取远程方法的自适应超时
+     *
+     * @param inParams 入参
+     * @return 自适应超时，未启用时返回null
+     */
+    private AdaptiveTimeout getAdaptiveTimeout(InParams inParams) {
+        return adaptiveTimeoutOptions == null ? null
+                : AdaptiveTimeout.getOrCreate(inParams.getApi(), inParams.getMethod(), adaptiveTimeoutOptions);
+    }
+
+    /**
+     * 判断节点是否正常响应（5xx或未返回OpenAPI响应头视为节点异常，用于负载均衡的异常检测）
+     *
+     * @param response 响应
+     * @return 是否正常响应
+     */
+    private boolean isHealthy(TransportResponse response) {
+        return response.getStatus() < 500 && StrUtil.isNotBlank(response.header(Header.Response.CODE));
+    }
+
+    /**
+     * 构建传输层请求
+     *
+     * @param endpoint    节点
+     * @param path        请求路径
+     * @param headers     请求头
+     * @param bodyBytes   请求体
+     * @param bodyStream  流式请求体（不为null时代替bodyBytes）
+     * @param bodyReader  响应体的读取器，为null时完整读取响应体
+     * @param readTimeout 数据传输超时时间（单位毫秒）
+     * @return 传输层请求
+     */
+    private TransportRequest buildRequest(Endpoint endpoint, String path, Map<String, String> headers, byte[] bodyBytes,
+                                          StreamBody bodyStream, ResponseBodyReader bodyReader, long readTimeout) {
+        TransportRequest request = new TransportRequest();
+        request.setUrl(CommonUtil.completeUrl(endpoint.getBaseUrl(), path));
+        request.setHeaders(headers);
+        request.setBody(bodyBytes);
+        request.setBodyStream(bodyStream);
+        request.setBodyReader(bodyReader);
+        request.setConnectTimeout((int) httpConnectionTimeout);
+        request.setReadTimeout((int) readTimeout);
+        request.setProxyHost(httpProxyHost);
+        request.setProxyPort(httpProxyPort);
+        return request;
+    }
+
+    /**
+     * 请求完成后释放流式请求体占用的资源（如临时文件）
+     *
+     * @param request 传输层请求
+     */
+    private void releaseBody(TransportRequest request) {
+        if (request.getBodyStream() != null) {
+            request.getBodyStream().release();
+        }
+    }
 
+    /**
+     * 处理出参（解密、解压及提取返回值）
+     *
+     * @param outParams  出参
+     * @param sessionKey 会话密钥（仅会话加密模式下有值）
+     * @param uuid       请求流水号
+     */
+    private void handleOutParams(OutParams outParams, SessionKey sessionKey, String uuid) {
         if (OutParams.isSuccess(outParams)) {
             //判断是否需要解密数据
             if (retDecrypt) {
                 //解密数据
-                decryptData(outParams);
+                decryptData(outParams, sessionKey, uuid);
 
                 //对称加密密钥清空
                 outParams.setSymmetricCryKey(null);
@@ -472,15 +1681,11 @@ public class OpenApiClient {
             byte[] retBytes = outParams.getDataBytes();
             if (ArrayUtil.isNotEmpty(retBytes)) {
                 if (outParams.getDataType() == DataType.BINARY) {
-                    //提取参数byte[]
+                    //提取参数及二进制数据byte[]（自动识别v1、v2格式）
                     retBytes = enableCompress ? CompressUtil.decompress(retBytes) : retBytes;
-                    int paramLength = BinaryUtil.getParamLength(retBytes);
-                    String paramStr = BinaryUtil.getParamStr(retBytes, paramLength);
-                    outParams.setData(paramStr);
-                    //提取二进制数据byte[]
-                    long binaryLengthStartIndex = BinaryUtil.getBinaryLengthStartIndex(paramLength);
-                    byte[] binaryDataBytes = BinaryUtil.getBinaryDataBytes(retBytes, binaryLengthStartIndex);
-                    outParams.setBinaryData(binaryDataBytes);
+                    BinaryFrame frame = BinaryUtil.parseFrame(retBytes);
+                    outParams.setData(frame.getParamStr());
+                    outParams.setBinaryData(frame.getBinaryDataBytes(0));
                 } else {
                     String data = enableCompress ? CompressUtil.decompressToText(retBytes) : new String(retBytes, StandardCharsets.UTF_8);
                     outParams.setData(data);
@@ -491,17 +1696,25 @@ public class OpenApiClient {
         } else {
             throw new OpenApiClientException("调用openapi异常:" + outParams);
         }
-        return outParams;
     }
 
 
     /**
      * 获取出参
      *
-     * @param response HTTP响应
+     * @param response   HTTP响应
+     * @param sinkReader 流式接收二进制返回值的读取器，可为null
      * @return 出参
      */
-    private OutParams getOutParams(HttpResponse response) {
+    private OutParams getOutParams(TransportResponse response, SinkReader sinkReader) {
+        if (sinkReader != null && !sinkReader.invoked && response.getBody() != null) {
+            //自定义传输层未调用读取器，从已读取的响应体中接收
+            try {
+                sinkReader.read(response, new ByteArrayInputStream(response.getBody()));
+            } catch (IOException ex) {
+                throw new OpenApiClientException("接收二进制返回值失败：" + ex.getMessage(), ex);
+            }
+        }
         OutParams outParams = new OutParams();
         outParams.setUuid(response.header(Header.Response.UUID));
         String resCode = response.header(Header.Response.CODE);
@@ -517,6 +1730,16 @@ public class OpenApiClient {
             String message = response.header(Header.Response.MESSAGE);
             outParams.setMessage(StrUtil.isBlank(message) ? null : Base64Util.base64ToStr(message));
             outParams.setSymmetricCryKey(response.header(Header.Response.SYMMETRIC_CRY_KEY));
+            outParams.setSessionId(response.header(Header.Response.SESSION_ID));
+            outParams.setSign(response.header(Header.Response.SIGN));
+            String sessionTtl = response.header(Header.Response.SESSION_TTL);
+            if (StrUtil.isNotBlank(sessionTtl)) {
+                try {
+                    outParams.setSessionTtl(Long.valueOf(sessionTtl));
+                } catch (NumberFormatException ex) {
+                    throw new OpenApiClientException("服务端返回了非法会话有效期：" + sessionTtl, ex);
+                }
+            }
             String dataType = response.header(Header.Response.DATA_TYPE);
             if (StrUtil.isBlank(dataType)) {
                 throw new OpenApiClientException("服务端未返回数据类型");
@@ -526,7 +1749,12 @@ public class OpenApiClient {
             } catch (IllegalArgumentException ex) {
                 throw new OpenApiClientException("服务端返回了非法数据类型：" + dataType, ex);
             }
-            outParams.setDataBytes(response.bodyBytes());
+            outParams.setDataBytes(response.getBody());
+            if (sinkReader != null && sinkReader.paramStr != null) {
+                //二进制数据已写入接收目标，只保留参数部分
+                outParams.setDataBytes(null);
+                outParams.setData(sinkReader.paramStr);
+            }
         }
         return outParams;
     }
@@ -545,29 +1773,42 @@ public class OpenApiClient {
         headers.put(Header.Request.METHOD, inParams.getMethod());
         headers.put(Header.Request.SIGN, inParams.getSign());
         headers.put(Header.Request.SYMMETRIC_CRY_KEY, inParams.getSymmetricCryKey());
+        if (inParams.getSessionId() != null) {
+            headers.put(Header.Request.SESSION_ID, inParams.getSessionId());
+        }
         headers.put(Header.Request.MULTI_PARAM, String.valueOf(inParams.isMultiParam()));
         headers.put(Header.Request.DATA_TYPE, inParams.getDataType().name());
+        if (inParams.getBinaryFormat() >= Constant.BINARY_FORMAT_V2) {
+            headers.put(Header.Request.BINARY_FORMAT, String.valueOf(inParams.getBinaryFormat()));
+        }
+        if (inParams.getChunkSize() > 0) {
+            headers.put(Header.Request.CHUNK_SIZE, String.valueOf(inParams.getChunkSize()));
+        }
         return headers;
     }
 
     /**
      * 解密数据
      *
-     * @param outParams 返回值
+     * @param outParams  返回值
+     * @param sessionKey 会话密钥（仅会话加密模式下有值）
+     * @param uuid       请求流水号
      */
-    private void decryptData(OutParams outParams) {
+    private void decryptData(OutParams outParams, SessionKey sessionKey, String uuid) {
         try {
             long startTime = System.nanoTime();
             byte[] dataBytes = outParams.getDataBytes();
             if (ArrayUtil.isNotEmpty(dataBytes)) {
                 if (this.cryModeEnum == CryModeEnum.SYMMETRIC_CRY) {
-                    String key = this.asymmetricCryHandler.deCry(selfPrivateKey, outParams.getSymmetricCryKey());
-                    byte[] keyBytes = Base64Util.base64ToBytes(key);
-                    dataBytes = this.symmetricCryHandler.deCry(dataBytes, keyBytes);
+                    byte[] keyBytes = symmetricKeyCache.get(callerId, outParams.getSymmetricCryKey(),
+                            key -> Base64Util.base64ToBytes(this.asymmetricCryHandler.deCry(selfPrivateKey, key)));
+                    dataBytes = this.symmetricDeCry(dataBytes, keyBytes, CommonUtil.getResponseAad(uuid));
+                } else if (this.cryModeEnum == CryModeEnum.SESSION_CRY) {
+                    dataBytes = this.symmetricDeCry(dataBytes, sessionKey.getCryKey(), CommonUtil.getResponseAad(uuid));
                 } else if (this.cryModeEnum == CryModeEnum.ASYMMETRIC_CRY) {
                     dataBytes = this.asymmetricCryHandler.deCry(selfPrivateKey, dataBytes);
                 } else {
-                    //不加密模式CryModeEnum.NONE
+                    //不加密模式CryModeEnum.NONE、CryModeEnum.HMAC
                 }
                 outParams.setDataBytes(dataBytes);
             }
@@ -582,6 +1823,64 @@ public class OpenApiClient {
         }
     }
 
+    /**
+     * 获取返回值对称密钥缓存（可用于查看缓存命中率等指标）
+     *
+     * @return 对称密钥缓存
+     */
+    public SymmetricKeyCache getSymmetricKeyCache() {
+        return symmetricKeyCache;
+    }
+
+    /**
+     * 获取对称密钥预生成池（可用于查看补充速率、饥饿率等指标）
+     *
+     * @return 对称密钥预生成池，未启用时返回null
+     */
+    public WrappedKeyPool getKeyPool() {
+        return keyPool;
+    }
+
+    /**
+     * 获取负载均衡器（可用于查看各节点的响应时间、摘除状态等指标）
+     *
+     * @return 负载均衡器
+     */
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    /**
+     * 获取调用保护（自适应并发限制及熔断）的配置
+     *
+     * @return 调用保护的配置，未启用时返回null
+     */
+    public GuardOptions getGuardOptions() {
+        return guardOptions;
+    }
+
+    /**
+     * 获取分片传输的配置
+     *
+     * @return 分片传输的配置，未启用时返回null
+     */
+    public ChunkOptions getChunkOptions() {
+        return chunkOptions;
+    }
+
+    /**
+     * 获取远程方法当前生效的HTTP数据传输超时时间
+     *
+     * @param method 方法名
+     * @return 超时时间（单位毫秒），未启用自适应超时时返回静态配置的超时时间
+     */
+    public long getReadTimeout(String method) {
+        if (adaptiveTimeoutOptions == null) {
+            return httpReadTimeout;
+        }
+        return AdaptiveTimeout.getOrCreate(api, method, adaptiveTimeoutOptions).getReadTimeout(httpReadTimeout);
+    }
+
     /**
      * 检查入参
      *
@@ -609,10 +1908,14 @@ public class OpenApiClient {
     private void logCryModel(CryModeEnum cryModeEnum) {
         if (cryModeEnum == CryModeEnum.SYMMETRIC_CRY) {
             log.debug("采用非对称加密{}+对称加密{}模式", asymmetricCryAlgo, symmetricCryAlgo);
+        } else if (cryModeEnum == CryModeEnum.SESSION_CRY) {
+            log.debug("采用会话加密模式,握手用的非对称加密{},会话用的对称加密{}", asymmetricCryAlgo, symmetricCryAlgo);
         } else if (cryModeEnum == CryModeEnum.ASYMMETRIC_CRY) {
             log.debug("仅采用非对称加密{}模式", asymmetricCryAlgo);
         } else if (cryModeEnum == CryModeEnum.NONE) {
             log.debug("采用不加密模式,签名用的非对称加密{}", asymmetricCryAlgo);
+        } else if (cryModeEnum == CryModeEnum.HMAC) {
+            log.debug("采用HMAC模式,签名用的HMAC算法{}", hmacAlgo);
         }
     }
 
@@ -630,10 +1933,130 @@ public class OpenApiClient {
     public String toString() {
         return String.format("\nopenApiClient hashCode:%x,\nbaseUrl:%s,\nselfPrivateKey:%s,\nremotePublicKey:%s," +
                         "\nasymmetricCryAlgo:%s,\nretDecrypt:%s;\ncryModeEnum:%s,\nsymmetricCryAlgo:%s," +
-                        "\ncallerId:%s,\napi:%s,\nhttpConnectionTimeout:%s,\nhttpReadTimeout:%s,\nenableCompress:%s",
+                        "\ncallerId:%s,\napi:%s,\nhttpConnectionTimeout:%sms,\nhttpReadTimeout:%sms,\nenableCompress:%s," +
+                        "\nhmacSecret:%s,\nhmacAlgo:%s,\ntransport:%s,\nloadBalancer:%s,\nhedgePolicy:%s,\nguardOptions:%s,\nadaptiveTimeoutOptions:%s,\nbinaryFormat:%s,\nchunkOptions:%s",
                 this.hashCode(), baseUrl, maskKey(selfPrivateKey), maskKey(remotePublicKey),
                 asymmetricCryAlgo, retDecrypt, cryModeEnum, symmetricCryAlgo,
-                callerId, api, httpConnectionTimeout, httpReadTimeout, enableCompress);
+                callerId, api, httpConnectionTimeout, httpReadTimeout, enableCompress,
+                hmacSecret == null ? null : "******", hmacAlgo, transport, loadBalancer, hedgePolicy, guardOptions, adaptiveTimeoutOptions, binaryFormat, chunkOptions);
+    }
+
+    /**
+     * 创建流式接收二进制返回值的读取器
+     *
+     * @param inParams   入参
+     * @param sessionKey 会话密钥（仅会话加密模式下有值）
+     * @return 读取器，未指定接收目标时返回null
+     */
+    private SinkReader newSinkReader(InParams inParams, SessionKey sessionKey) {
+        return inParams.getBinarySink() == null ? null : new SinkReader(inParams.getBinarySink(), sessionKey, inParams.getUuid());
+    }
+
+    /**
+     * 流式接收二进制返回值：边解密、解压边将二进制数据写入接收目标，只有参数部分读入内存
+     * <p>
+     * 非成功或非二进制类型的响应体按原样完整读取；非对称加密模式无法流式解密，先完整读取再解密
+     * </p>
+     */
+    private final class SinkReader implements ResponseBodyReader {
+
+        private final BinarySink sink;
+
+        private final SessionKey sessionKey;
+
+        private final String uuid;
+
+        /**
+         * 是否已被传输层调用
+         */
+        private volatile boolean invoked;
+
+        /**
+         * 返回值的参数部分，二进制数据写入接收目标后才有值
+         */
+        private volatile String paramStr;
+
+        SinkReader(BinarySink sink, SessionKey sessionKey, String uuid) {
+            this.sink = sink;
+            this.sessionKey = sessionKey;
+            this.uuid = uuid;
+        }
+
+        @Override
+        public void read(TransportResponse response, InputStream body) throws IOException {
+            invoked = true;
+            if (!String.valueOf(ErrorCode.SUCCESS).equals(response.header(Header.Response.CODE))
+                    || !DataType.BINARY.name().equals(response.header(Header.Response.DATA_TYPE))) {
+                response.setBody(IoUtil.readBytes(body, false));
+                return;
+            }
+            SymmetricCryHandler handler = null;
+            byte[] keyBytes = null;
+            if (retDecrypt) {
+                if (cryModeEnum == CryModeEnum.SYMMETRIC_CRY) {
+                    handler = symmetricCryHandler;
+                    keyBytes = symmetricKeyCache.get(callerId, response.header(Header.Response.SYMMETRIC_CRY_KEY),
+                            key -> Base64Util.base64ToBytes(asymmetricCryHandler.deCry(selfPrivateKey, key)));
+                } else if (cryModeEnum == CryModeEnum.SESSION_CRY) {
+                    handler = symmetricCryHandler;
+                    keyBytes = sessionKey.getCryKey();
+                } else if (cryModeEnum == CryModeEnum.ASYMMETRIC_CRY) {
+                    body = new ByteArrayInputStream(asymmetricCryHandler.deCry(selfPrivateKey, IoUtil.readBytes(body, false)));
+                }
+            }
+            try (DataInputStream in = new DataInputStream(PipelineUtil.open(body, enableCompress, handler, keyBytes,
+                    CommonUtil.getResponseAad(uuid)))) {
+                BinaryFrameReader reader = new BinaryFrameReader(in);
+                String paramStr = reader.readParamStr();
+                if (reader.readBinaryCount() != 1) {
+                    throw new OpenApiClientException("接收目标只支持返回单个二进制对象");
+                }
+                try (OutputStream out = sink.open()) {
+                    BinaryUtil.copyBinaryData(in, out, reader.nextBinaryLength());
+                }
+                this.paramStr = paramStr;
+            } catch (IOException | RuntimeException ex) {
+                sink.discard();
+                throw ex;
+            }
+            response.setBody(null);
+        }
+    }
+
+    /**
+     * 默认的异步调用线程池（所有客户端共用的守护线程，线程数与CPU核数一致，首次使用时创建）
+     */
+    private static final class DefaultAsyncExecutor {
+        private static final ExecutorService INSTANCE = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), new NamedThreadFactory("openapi-async-", true));
+    }
+
+    /**
+     * 获取阻塞的传输层执行异步调用时等待响应的线程池，同样配置的客户端共用
+     * <p>
+     * 线程按需创建、空闲回收（守护线程），线程数及等待队列都有上限，超出时拒绝执行（不阻塞调用线程）
+     * </p>
+     *
+     * @param ioThreads   最大线程数
+     * @param ioQueueSize 等待队列容量，0表示不排队
+     * @return 线程池
+     */
+    private static ExecutorService getIoExecutor(int ioThreads, int ioQueueSize) {
+        return IO_EXECUTORS.computeIfAbsent(ioThreads + ":" + ioQueueSize, key -> {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(ioThreads, ioThreads, 60, TimeUnit.SECONDS,
+                    ioQueueSize > 0 ? new ArrayBlockingQueue<>(ioQueueSize) : new SynchronousQueue<>(),
+                    new NamedThreadFactory("openapi-io-", true), new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
+    }
+
+    /**
+     * 发送对冲请求的定时器（所有客户端共用的守护线程，首次使用时创建）
+     */
+    private static final class HedgeTimer {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(
+                new NamedThreadFactory("openapi-hedge-", true));
     }
 
     private String maskKey(String key) {
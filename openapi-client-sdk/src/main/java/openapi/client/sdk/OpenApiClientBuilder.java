@@ -1,15 +1,27 @@
 package openapi.client.sdk;
 
 import cn.hutool.core.util.StrUtil;
+import openapi.client.sdk.balance.LoadBalancer;
+import openapi.client.sdk.chunk.ChunkOptions;
 import openapi.client.sdk.constant.ClientConstant;
+import openapi.client.sdk.hedge.HedgePolicy;
+import openapi.client.sdk.limit.GuardOptions;
+import openapi.client.sdk.timeout.AdaptiveTimeoutOptions;
+import openapi.client.sdk.transport.HutoolTransport;
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.sdk.common.constant.Constant;
 import openapi.sdk.common.exception.OpenApiClientException;
 import openapi.sdk.common.enums.AsymmetricCryAlgo;
 import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.enums.HmacAlgo;
 import openapi.sdk.common.enums.SymmetricCryAlgo;
 import openapi.sdk.common.handler.AsymmetricCryHandler;
 import openapi.sdk.common.handler.CryHandlerMap;
 import openapi.sdk.common.handler.SymmetricCryHandler;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * OpenApiClient构造器
  *
@@ -64,14 +76,14 @@ public class OpenApiClientBuilder {
     private String api;
 
     /**
-     * HTTP建立连接超时时间（单位秒）
+     * HTTP建立连接超时时间（单位毫秒）
      */
-    private int httpConnectionTimeout = ClientConstant.HTTP_CONNECTION_TIMEOUT;
+    private long httpConnectionTimeout = TimeUnit.SECONDS.toMillis(ClientConstant.HTTP_CONNECTION_TIMEOUT);
 
     /**
-     * HTTP数据传输超时时间（单位秒）
+     * HTTP数据传输超时时间（单位毫秒）
      */
-    private int httpReadTimeout = ClientConstant.HTTP_READ_TIMEOUT;
+    private long httpReadTimeout = TimeUnit.SECONDS.toMillis(ClientConstant.HTTP_READ_TIMEOUT);
 
     /**
      * HTTP请求代理域名
@@ -88,6 +100,81 @@ public class OpenApiClientBuilder {
      */
     private boolean enableCompress = false;
 
+    /**
+     * 对称密钥复用时间（单位秒）
+     */
+    private long symmetricKeyReuseTime = 0;
+
+    /**
+     * 对称密钥复用次数
+     */
+    private int symmetricKeyReuseCount = 0;
+
+    /**
+     * 对称密钥预生成池容量
+     */
+    private int symmetricKeyPoolSize = 0;
+
+    /**
+     * HMAC共享密钥（HMAC模式下使用）
+     */
+    private String hmacSecret;
+
+    /**
+     * HMAC算法（HMAC模式下使用）
+     */
+    private String hmacAlgo = HmacAlgo.HMAC_SHA256;
+
+    /**
+     * HTTP传输层
+     */
+    private OpenApiTransport transport = HutoolTransport.INSTANCE;
+
+    /**
+     * 异步调用的线程池
+     */
+    private Executor asyncExecutor;
+
+    /**
+     * 阻塞传输层执行异步调用时IO线程池的最大线程数
+     */
+    private int ioThreads = ClientConstant.IO_THREADS;
+
+    /**
+     * 阻塞传输层执行异步调用时IO线程池的等待队列容量
+     */
+    private int ioQueueSize = ClientConstant.IO_QUEUE_SIZE;
+
+    /**
+     * 负载均衡器
+     */
+    private LoadBalancer loadBalancer;
+
+    /**
+     * 对冲请求策略
+     */
+    private HedgePolicy hedgePolicy;
+
+    /**
+     * 调用保护（自适应并发限制及熔断）的配置
+     */
+    private GuardOptions guardOptions;
+
+    /**
+     * 自适应超时的配置
+     */
+    private AdaptiveTimeoutOptions adaptiveTimeoutOptions;
+
+    /**
+     * 二进制数据的传输格式
+     */
+    private int binaryFormat = Constant.BINARY_FORMAT_V1;
+
+    /**
+     * 分片传输的配置
+     */
+    private ChunkOptions chunkOptions;
+
     /**
      * 构造器
      *
@@ -182,7 +269,18 @@ public class OpenApiClientBuilder {
      * @return builder对象
      */
     public OpenApiClientBuilder httpConnectionTimeout(int httpConnectionTimeout) {
-        this.httpConnectionTimeout = httpConnectionTimeout;
+        this.httpConnectionTimeout = TimeUnit.SECONDS.toMillis(httpConnectionTimeout);
+        return this;
+    }
+
+    /**
+     * 设置HTTP建立连接超时时间（单位毫秒）
+     *
+     * @param httpConnectionTimeoutMillis 连接超时时间（单位毫秒）
+     * @return builder对象
+     */
+    public OpenApiClientBuilder httpConnectionTimeoutMillis(long httpConnectionTimeoutMillis) {
+        this.httpConnectionTimeout = httpConnectionTimeoutMillis;
         return this;
     }
 
@@ -193,7 +291,18 @@ public class OpenApiClientBuilder {
      * @return builder对象
      */
     public OpenApiClientBuilder httpReadTimeout(int httpReadTimeout) {
-        this.httpReadTimeout = httpReadTimeout;
+        this.httpReadTimeout = TimeUnit.SECONDS.toMillis(httpReadTimeout);
+        return this;
+    }
+
+    /**
+     * 设置HTTP数据传输超时时间（单位毫秒）
+     *
+     * @param httpReadTimeoutMillis HTTP数据传输超时时间（单位毫秒）
+     * @return builder对象
+     */
+    public OpenApiClientBuilder httpReadTimeoutMillis(long httpReadTimeoutMillis) {
+        this.httpReadTimeout = httpReadTimeoutMillis;
         return this;
     }
 
@@ -230,6 +339,215 @@ public class OpenApiClientBuilder {
         return this;
     }
 
+    /**
+     * 设置对称密钥复用时间（对称加密模式下使用）
+     * <p>
+     * 在复用时间内，多次调用复用同一个对称密钥及其加密后的值，省去生成密钥和公钥加密的开销；
+     * 与复用次数均为0（默认）时不复用
+     * </p>
+     *
+     * @param symmetricKeyReuseTime 复用时间（单位秒），0表示不限时间
+     * @return builder对象
+     */
+    public OpenApiClientBuilder symmetricKeyReuseTime(long symmetricKeyReuseTime) {
+        this.symmetricKeyReuseTime = symmetricKeyReuseTime;
+        return this;
+    }
+
+    /**
+     * 设置对称密钥复用次数（对称加密模式下使用）
+     *
+     * @param symmetricKeyReuseCount 复用次数，0表示不限次数
+     * @return builder对象
+     */
+    public OpenApiClientBuilder symmetricKeyReuseCount(int symmetricKeyReuseCount) {
+        this.symmetricKeyReuseCount = symmetricKeyReuseCount;
+        return this;
+    }
+
+    /**
+     * 设置对称密钥预生成池容量（对称加密模式下使用）
+     * <p>
+     * 大于0时由后台线程预先生成对称密钥并用远程系统公钥加密，调用时直接取用；0（默认）表示不启用
+     * </p>
+     *
+     * @param symmetricKeyPoolSize 预生成池容量
+     * @return builder对象
+     */
+    public OpenApiClientBuilder symmetricKeyPoolSize(int symmetricKeyPoolSize) {
+        this.symmetricKeyPoolSize = symmetricKeyPoolSize;
+        return this;
+    }
+
+    /**
+     * 设置HMAC共享密钥（HMAC模式下使用，需与服务端为本调用者配置的密钥一致）
+     *
+     * @param hmacSecret HMAC共享密钥
+     * @return builder对象
+     */
+    public OpenApiClientBuilder hmacSecret(String hmacSecret) {
+        this.hmacSecret = hmacSecret;
+        return this;
+    }
+
+    /**
+     * 设置HMAC算法（HMAC模式下使用，默认HmacSHA256）
+     *
+     * @param hmacAlgo HMAC算法
+     * @return builder对象
+     * @see HmacAlgo
+     */
+    public OpenApiClientBuilder hmacAlgo(String hmacAlgo) {
+        this.hmacAlgo = hmacAlgo;
+        return this;
+    }
+
+    /**
+     * 设置HTTP传输层（默认为{@link HutoolTransport}）
+     * <p>
+     * 高并发场景推荐使用{@link openapi.client.sdk.transport.PooledHttpTransport#getShared}，多个客户端共用一个连接池
+     * </p>
+     *
+     * @param transport HTTP传输层
+     * @return builder对象
+     */
+    public OpenApiClientBuilder transport(OpenApiTransport transport) {
+        this.transport = transport;
+        return this;
+    }
+
+    /**
+     * 设置异步调用（callOpenApiAsync）执行加解密、签名及反序列化的线程池
+     * <p>
+     * 不设置时使用所有客户端共用的默认线程池（线程数与CPU核数一致）；
+     * 传输层为阻塞实现（默认的HutoolTransport、PooledHttpTransport）时，等待响应在单独的有界IO线程池上进行（见{@link #ioThreads}），
+     * 不占用该线程池，但每个在途请求仍占用一个IO线程；只有非阻塞传输层（{@link openapi.client.sdk.transport.AsyncHttpTransport}，
+     * 即transportType: ASYNC）的异步调用才真正不占用线程等待响应，大量并发的异步调用应使用非阻塞传输层
+     * </p>
+     *
+     * @param asyncExecutor 异步调用的线程池
+     * @return builder对象
+     */
+    public OpenApiClientBuilder asyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    /**
+     * 设置阻塞传输层执行异步调用时IO线程池的最大线程数（默认64）
+     * <p>
+     * 同样配置的客户端共用一个IO线程池，在途的异步请求数超过最大线程数与等待队列容量之和时，
+     * 新的异步调用立即以{@link OpenApiClientException}失败，不会无限创建线程；非阻塞传输层不使用该线程池
+     * </p>
+     *
+     * @param ioThreads 最大线程数
+     * @return builder对象
+     */
+    public OpenApiClientBuilder ioThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+        return this;
+    }
+
+    /**
+     * 设置阻塞传输层执行异步调用时IO线程池的等待队列容量（默认256），0表示不排队，线程用满即拒绝
+     *
+     * @param ioQueueSize 等待队列容量
+     * @return builder对象
+     */
+    public OpenApiClientBuilder ioQueueSize(int ioQueueSize) {
+        this.ioQueueSize = ioQueueSize;
+        return this;
+    }
+
+    /**
+     * 设置负载均衡器（openapi服务有多个节点时使用）
+     * <p>
+     * 设置后每次调用由负载均衡器按响应时间及在途请求数选择节点，baseUrl不再生效（可为空）；
+     * 多个客户端共用同一负载均衡器时共享节点的选择状态
+     * </p>
+     *
+     * @param loadBalancer 负载均衡器
+     * @return builder对象
+     */
+    public OpenApiClientBuilder loadBalancer(LoadBalancer loadBalancer) {
+        this.loadBalancer = loadBalancer;
+        return this;
+    }
+
+    /**
+     * 设置对冲请求策略（仅用于幂等的方法）
+     * <p>
+     * 设置后主请求超过对冲延迟仍未返回时，向另一节点发送相同的请求，采用先成功的返回值；
+     * 需配合多节点的负载均衡器使用，推荐搭配可取消请求的{@link openapi.client.sdk.transport.AsyncHttpTransport}
+     * </p>
+     *
+     * @param hedgePolicy 对冲请求策略
+     * @return builder对象
+     */
+    public OpenApiClientBuilder hedgePolicy(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
+        return this;
+    }
+
+    /**
+     * 设置调用保护（自适应并发限制及熔断）的配置
+     * <p>
+     * 设置后按远程方法（接口名#方法名）自适应限制在途请求数并在失败率过高时熔断，超过限制或熔断中的调用立即抛出异常
+     * </p>
+     *
+     * @param guardOptions 调用保护的配置
+     * @return builder对象
+     */
+    public OpenApiClientBuilder guardOptions(GuardOptions guardOptions) {
+        this.guardOptions = guardOptions;
+        return this;
+    }
+
+    /**
+     * 设置自适应超时的配置
+     * <p>
+     * 设置后按远程方法统计响应时间，以百分位数×倍数作为数据传输超时时间（限制在上下限之间），
+     * 未配置上限时以{@link #httpReadTimeout}为上限
+     * </p>
+     *
+     * @param adaptiveTimeoutOptions 自适应超时的配置
+     * @return builder对象
+     */
+    public OpenApiClientBuilder adaptiveTimeoutOptions(AdaptiveTimeoutOptions adaptiveTimeoutOptions) {
+        this.adaptiveTimeoutOptions = adaptiveTimeoutOptions;
+        return this;
+    }
+
+    /**
+     * 设置二进制数据的传输格式
+     * <p>
+     * 默认为v1格式（最多255个文件）；设置为v2时请求体带文件长度表，文件数量不受255的限制，
+     * 并通过请求头要求服务端按v2格式返回二进制数据，需服务端支持v2格式
+     * </p>
+     *
+     * @param binaryFormat 传输格式，{@link Constant#BINARY_FORMAT_V1}或{@link Constant#BINARY_FORMAT_V2}
+     * @return builder对象
+     */
+    public OpenApiClientBuilder binaryFormat(int binaryFormat) {
+        this.binaryFormat = binaryFormat;
+        return this;
+    }
+
+    /**
+     * 设置分片传输的配置
+     * <p>
+     * 设置后超过分片大小的二进制参数先分片上传（多个分片并行，已确认接收的分片不再重传，中断后重新调用时续传），
+     * 超过分片大小的二进制返回值由服务端暂存后并行分片下载；需服务端支持分片传输，且分片请求使用服务端网关的加密模式
+     * </p>
+     *
+     * @param chunkOptions 分片传输的配置
+     * @return builder对象
+     */
+    public OpenApiClientBuilder chunkOptions(ChunkOptions chunkOptions) {
+        this.chunkOptions = chunkOptions;
+        return this;
+    }
+
     /**
      * 自定义非对称加密
      *
@@ -263,41 +581,73 @@ public class OpenApiClientBuilder {
         OpenApiClient client = new OpenApiClient(
                 baseUrl, selfPrivateKey, remotePublicKey, asymmetricCryAlgo,
                 retDecrypt, cryModeEnum, symmetricCryAlgo, callerId, api,
-                httpConnectionTimeout, httpReadTimeout, httpProxyHost, httpProxyPort, enableCompress);
+                httpConnectionTimeout, httpReadTimeout, httpProxyHost, httpProxyPort, enableCompress,
+                symmetricKeyReuseTime, symmetricKeyReuseCount, symmetricKeyPoolSize, hmacSecret, hmacAlgo, transport, asyncExecutor,
+                ioThreads, ioQueueSize, loadBalancer, hedgePolicy, guardOptions, adaptiveTimeoutOptions, binaryFormat, chunkOptions);
         return client;
     }
 
     private void validate() {
-        if (StrUtil.isBlank(baseUrl)) {
+        if (StrUtil.isBlank(baseUrl) && loadBalancer == null) {
             throw new OpenApiClientException("openapi基础路径不能为空");
         }
-        if (StrUtil.isBlank(selfPrivateKey)) {
-            throw new OpenApiClientException("本系统私钥不能为空");
+        if (cryModeEnum == null || cryModeEnum == CryModeEnum.UNKNOWN) {
+            throw new OpenApiClientException("加密模式不能为空或UNKNOWN");
         }
-        if (StrUtil.isBlank(remotePublicKey)) {
-            throw new OpenApiClientException("远程系统公钥不能为空");
+        if (cryModeEnum == CryModeEnum.HMAC) {
+            //HMAC模式下不进行非对称运算，无需配置公私钥
+            if (StrUtil.isBlank(hmacSecret)) {
+                throw new OpenApiClientException("HMAC共享密钥不能为空");
+            }
+            if (StrUtil.isBlank(hmacAlgo)) {
+                throw new OpenApiClientException("HMAC算法不能为空");
+            }
+        } else {
+            if (StrUtil.isBlank(selfPrivateKey)) {
+                throw new OpenApiClientException("本系统私钥不能为空");
+            }
+            if (StrUtil.isBlank(remotePublicKey)) {
+                throw new OpenApiClientException("远程系统公钥不能为空");
+            }
         }
         if (StrUtil.isBlank(callerId)) {
             throw new OpenApiClientException("调用者ID不能为空");
         }
-        if (cryModeEnum == null || cryModeEnum == CryModeEnum.UNKNOWN) {
-            throw new OpenApiClientException("加密模式不能为空或UNKNOWN");
-        }
-        if (httpConnectionTimeout <= 0 || httpReadTimeout <= 0) {
-            throw new OpenApiClientException("HTTP超时时间必须大于0秒");
+        if (httpConnectionTimeout <= 0 || httpReadTimeout <= 0
+                || httpConnectionTimeout > Integer.MAX_VALUE || httpReadTimeout > Integer.MAX_VALUE) {
+            throw new OpenApiClientException("HTTP超时时间必须大于0毫秒且不能超过Integer.MAX_VALUE毫秒");
         }
         if (CryHandlerMap.getAsymmetricCryHandler(asymmetricCryAlgo) == null) {
             throw new OpenApiClientException("找不到非对称加密处理器：" + asymmetricCryAlgo);
         }
-        if (cryModeEnum == CryModeEnum.SYMMETRIC_CRY
+        if ((cryModeEnum == CryModeEnum.SYMMETRIC_CRY || cryModeEnum == CryModeEnum.SESSION_CRY)
                 && CryHandlerMap.getSymmetricCryHandler(symmetricCryAlgo) == null) {
             throw new OpenApiClientException("找不到对称加密处理器：" + symmetricCryAlgo);
         }
+        if (symmetricKeyReuseTime < 0 || symmetricKeyReuseCount < 0) {
+            throw new OpenApiClientException("对称密钥复用时间及次数不能小于0");
+        }
+        if (ioThreads <= 0 || ioQueueSize < 0) {
+            throw new OpenApiClientException("IO线程池的最大线程数必须大于0，等待队列容量不能小于0");
+        }
+        if (symmetricKeyPoolSize < 0) {
+            throw new OpenApiClientException("对称密钥预生成池容量不能小于0");
+        }
+        if (binaryFormat != Constant.BINARY_FORMAT_V1 && binaryFormat != Constant.BINARY_FORMAT_V2) {
+            throw new OpenApiClientException("不支持的二进制数据传输格式：" + binaryFormat);
+        }
+        if (chunkOptions != null && (chunkOptions.getChunkSize() <= 0 || chunkOptions.getParallelism() <= 0
+                || chunkOptions.getMaxRetries() < 0)) {
+            throw new OpenApiClientException("分片大小及并行数必须大于0，重试次数不能小于0");
+        }
         if (StrUtil.isBlank(httpProxyHost) != (httpProxyPort == null)) {
             throw new OpenApiClientException("HTTP代理地址和端口必须同时配置");
         }
         if (httpProxyPort != null && (httpProxyPort <= 0 || httpProxyPort > 65535)) {
             throw new OpenApiClientException("HTTP代理端口必须在1到65535之间");
         }
+        if (transport == null) {
+            throw new OpenApiClientException("HTTP传输层不能为空");
+        }
     }
 }
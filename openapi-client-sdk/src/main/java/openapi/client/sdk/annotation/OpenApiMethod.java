@@ -1,6 +1,7 @@
 package openapi.client.sdk.annotation;
 
 import openapi.client.sdk.config.OpenApiClientConfig;
+import openapi.client.sdk.constant.ClientConstant;
 import openapi.sdk.common.enums.CryModeEnum;
 
 import java.lang.annotation.Documented;
@@ -89,6 +90,39 @@ public @interface OpenApiMethod {
      */
     int httpReadTimeout() default INHERIT_TIMEOUT;
 
+    /**
+     * HTTP 建立连接超时时间，单位为毫秒，配置后优先于 {@link #httpConnectionTimeout}。
+     * {@link #INHERIT_TIMEOUT} 表示不配置。
+     *
+     * @return HTTP 建立连接超时时间
+     */
+    long httpConnectionTimeoutMillis() default INHERIT_TIMEOUT;
+
+    /**
+     * HTTP 数据读取超时时间，单位为毫秒，配置后优先于 {@link #httpReadTimeout}。
+     * {@link #INHERIT_TIMEOUT} 表示不配置。
+     *
+     * @return HTTP 数据读取超时时间
+     */
+    long httpReadTimeoutMillis() default INHERIT_TIMEOUT;
+
+    /**
+     * 是否启用自适应超时。
+     * <p>
+     * 启用后按最近响应时间的百分位数×倍数（{@code adaptiveTimeoutPercentile}、{@code adaptiveTimeoutMultiplier}）
+     * 作为数据读取超时时间，并限制在{@code adaptiveTimeoutMin}与上限之间，未配置上限时以本方法的数据读取超时时间为上限；
+     * 当前生效的超时时间可通过 {@code AdaptiveTimeout.getAll()} 查看。
+     * </p>
+     * <ul>
+     *     <li>{@code "true"}：启用自适应超时</li>
+     *     <li>{@code "false"}：使用静态的超时时间</li>
+     *     <li>空字符串：继承 {@link OpenApiClientConfig} 的配置</li>
+     * </ul>
+     *
+     * @return 是否启用自适应超时
+     */
+    String adaptiveTimeout() default INHERIT_BOOLEAN;
+
     /**
      * HTTP 传输数据是否启用压缩。
      * <ul>
@@ -100,4 +134,71 @@ public @interface OpenApiMethod {
      * @return 是否启用压缩
      */
     String enableCompress() default INHERIT_BOOLEAN;
+
+    /**
+     * 是否合并并发的相同调用。
+     * <p>
+     * 启用后，参数相同（按{@code StrObjectConvert}序列化后比较）的调用在途时，
+     * 后到的调用不再发起远程请求，而是等待在途调用完成并共享其返回结果（包括异常），
+     * 适用于无副作用的查询方法；含二进制参数的调用不合并。
+     * 合并次数等指标可通过 {@code SingleFlight.getAll()} 查看。
+     * </p>
+     *
+     * @return 是否合并并发的相同调用
+     */
+    boolean coalesce() default false;
+
+    /**
+     * 响应缓存的有效期，单位为秒，大于0时启用响应缓存。
+     * <p>
+     * 缓存已解密的出参，key为接口名、方法名及序列化后的参数，每次命中时各自反序列化出独立的返回值；
+     * 仅适用于无副作用的查询方法，需引入caffeine依赖，含二进制参数的调用不缓存，不支持二进制返回值。
+     * 可通过 {@code ResponseCache} 使缓存失效及查看命中率等指标。
+     * </p>
+     *
+     * @return 响应缓存的有效期，0表示不缓存
+     */
+    long cacheTtl() default 0;
+
+    /**
+     * 响应缓存最多缓存的条目数（配置了{@link #cacheMaxBytes}时不生效）。
+     *
+     * @return 最多缓存的条目数
+     */
+    long cacheMaxEntries() default ClientConstant.CACHE_MAX_ENTRIES;
+
+    /**
+     * 响应缓存最多缓存的字节数（按返回值字符串估算），0表示按条目数限制。
+     *
+     * @return 最多缓存的字节数
+     */
+    long cacheMaxBytes() default 0;
+
+    /**
+     * 响应缓存写入后经过该时间（单位秒）再被访问时，在后台异步刷新（refresh-ahead），刷新完成前仍返回旧值；
+     * 必须小于{@link #cacheTtl}，0表示不刷新。
+     *
+     * @return 异步刷新时间
+     */
+    long cacheRefreshAfter() default 0;
+
+    /**
+     * 方法是否幂等，幂等的方法启用对冲请求（hedged request）。
+     * <p>
+     * 主请求超过{@link #hedgeDelay}仍未返回时，向另一节点发送相同的请求，采用先成功的返回值并取消另一个请求，
+     * 以降低慢节点、GC停顿造成的长尾延迟；对冲请求的额外负载受全局预算（{@code hedgeBudgetPercent}）限制，
+     * 需配置多个节点（{@code baseUrls}或服务发现）。对冲次数、胜出次数等指标可通过 {@code HedgePolicy.getAll()} 查看。
+     * 有副作用的方法不能启用。
+     * </p>
+     *
+     * @return 方法是否幂等
+     */
+    boolean idempotent() default false;
+
+    /**
+     * 对冲延迟，单位为毫秒，0表示取最近响应时间的百分位数（{@code hedgePercentile}，样本不足时不对冲）。
+     *
+     * @return 对冲延迟
+     */
+    long hedgeDelay() default 0;
 }
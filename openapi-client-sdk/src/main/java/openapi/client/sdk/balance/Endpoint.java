@@ -0,0 +1,204 @@
+package openapi.client.sdk.balance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * openapi服务节点及其调用统计
+ * <p>
+ * 记录在途请求数、响应时间的指数加权移动平均（peak EWMA：慢响应立即生效，快响应按时间衰减逐步生效），
+ * 以及连续失败次数与摘除状态，供{@link LoadBalancer}选择节点
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class Endpoint {
+
+    /**
+     * EWMA的衰减时间常数（纳秒），约10秒前的响应时间权重衰减为1/e
+     */
+    private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final String baseUrl;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder failureCount = new LongAdder();
+
+    /**
+     * 响应时间的EWMA（纳秒），0表示尚无样本
+     */
+    private double ewmaNanos;
+
+    private long lastSampleTime;
+
+    private int consecutiveFailures;
+
+    /**
+     * 连续被摘除的次数，用于计算退避的摘除时间
+     */
+    private int ejectCount;
+
+    /**
+     * 摘除截止时间（System.nanoTime），0表示未摘除
+     */
+    private volatile long ejectedUntil;
+
+    /**
+     * 恢复探测请求的截止时间，截止前不再发起新的探测
+     */
+    private long probeDeadline;
+
+    Endpoint(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * 获取节点的基础路径
+     *
+     * @return 基础路径，例如http://10.0.0.1:8080
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * 获取在途请求数
+     *
+     * @return 在途请求数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 获取响应时间的EWMA
+     *
+     * @return 响应时间（单位毫秒）
+     */
+    public synchronized double getEwmaMillis() {
+        return ewmaNanos / 1_000_000;
+    }
+
+    /**
+     * 获取请求总数
+     *
+     * @return 请求总数
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * 获取失败的请求数
+     *
+     * @return 失败的请求数
+     */
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * 判断节点当前是否被摘除
+     *
+     * @return 是否被摘除
+     */
+    public boolean isEjected() {
+        return ejectedUntil != 0;
+    }
+
+    /**
+     * 负载得分，越小越优先：响应时间EWMA×(在途请求数+1)
+     *
+     * @return 负载得分
+     */
+    synchronized double score() {
+        //尚无样本的节点按1纳秒计，优先获得流量以采集响应时间
+        return Math.max(ewmaNanos, 1) * (inFlight.get() + 1);
+    }
+
+    long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    void onStart() {
+        inFlight.incrementAndGet();
+        requestCount.increment();
+    }
+
+    synchronized void onCancel() {
+        inFlight.decrementAndGet();
+        //被取消的探测请求不影响摘除状态，允许再次探测
+        probeDeadline = 0;
+    }
+
+    /**
+     * 尝试发起恢复探测：摘除时间已到且没有进行中的探测
+     *
+     * @param now          当前时间（System.nanoTime）
+     * @param probeTimeout 探测请求的超时时间（纳秒），超时未完成的探测视为结束
+     * @return 是否可以发起探测
+     */
+    synchronized boolean tryProbe(long now, long probeTimeout) {
+        if (ejectedUntil == 0 || now - ejectedUntil < 0 || now - probeDeadline < 0) {
+            return false;
+        }
+        probeDeadline = now + probeTimeout;
+        return true;
+    }
+
+    /**
+     * 请求完成
+     *
+     * @param now              当前时间（System.nanoTime）
+     * @param latencyNanos     响应时间（纳秒）
+     * @param success          节点是否正常响应
+     * @param failureThreshold 连续失败多少次后摘除
+     * @param ejectTime        首次摘除时间（纳秒）
+     * @param maxEjectTime     最长摘除时间（纳秒）
+     * @return 节点是否因本次请求被摘除
+     */
+    synchronized boolean onComplete(long now, long latencyNanos, boolean success, int failureThreshold, long ejectTime, long maxEjectTime) {
+        inFlight.decrementAndGet();
+        updateEwma(now, latencyNanos);
+        if (success) {
+            consecutiveFailures = 0;
+            ejectCount = 0;
+            ejectedUntil = 0;
+            probeDeadline = 0;
+            return false;
+        }
+        failureCount.increment();
+        consecutiveFailures++;
+        //被摘除的节点探测失败，或连续失败达到阈值时摘除，摘除时间按连续摘除次数指数退避
+        if (ejectedUntil != 0 || consecutiveFailures >= failureThreshold) {
+            long time = ejectTime << Math.min(ejectCount, 20);
+            ejectCount++;
+            ejectedUntil = now + Math.min(time <= 0 ? maxEjectTime : time, maxEjectTime);
+            //避免与“未摘除”的0值冲突
+            ejectedUntil = ejectedUntil == 0 ? 1 : ejectedUntil;
+            probeDeadline = 0;
+            return true;
+        }
+        return false;
+    }
+
+    private void updateEwma(long now, long latencyNanos) {
+        if (ewmaNanos == 0 || latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+        } else {
+            double weight = Math.exp(-Math.max(now - lastSampleTime, 0) / DECAY_NANOS);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastSampleTime = now;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Endpoint{baseUrl=%s, ewma=%.1fms, inFlight=%d, requests=%d, failures=%d, ejected=%s}",
+                baseUrl, getEwmaMillis(), getInFlight(), getRequestCount(), getFailureCount(), isEjected());
+    }
+}
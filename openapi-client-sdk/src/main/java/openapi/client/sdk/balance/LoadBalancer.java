@@ -0,0 +1,287 @@
+package openapi.client.sdk.balance;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+import openapi.client.sdk.constant.ClientConstant;
+import openapi.sdk.common.exception.OpenApiClientException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 多节点的负载均衡器
+ * <p>
+ * 每次调用从多个openapi服务节点中选择一个：随机挑选两个可用节点（power of two choices），
+ * 取“响应时间EWMA×(在途请求数+1)”较小者；连续失败达到阈值的节点被摘除一段时间（被动异常检测），
+ * 摘除到期后放行单个探测请求，成功则恢复，失败则按指数退避继续摘除；所有节点均被摘除时退化为选择最早到期的节点。
+ * 节点列表可以是固定的，也可以由服务发现定期刷新（保留仍存在节点的统计数据）。
+ * 同一实例可被多个OpenApiClient共享，共享节点的选择状态
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Slf4j
+public class LoadBalancer {
+
+    /**
+     * 共享的负载均衡器，key: 节点配置
+     */
+    private static final Map<String, LoadBalancer> SHARED = new ConcurrentHashMap<>();
+
+    /**
+     * 服务发现，为null时节点列表固定
+     */
+    private final Supplier<List<String>> discovery;
+
+    private final long refreshInterval;
+
+    private final int failureThreshold;
+
+    private final long ejectTime;
+
+    private final long maxEjectTime;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile List<Endpoint> endpoints;
+
+    private volatile long nextRefreshTime;
+
+    /**
+     * 构造固定节点的负载均衡器（使用默认的异常检测配置）
+     *
+     * @param baseUrls 节点的基础路径
+     */
+    public LoadBalancer(List<String> baseUrls) {
+        this(baseUrls, ClientConstant.OUTLIER_FAILURE_THRESHOLD,
+                TimeUnit.SECONDS.toMillis(ClientConstant.OUTLIER_EJECT_TIME),
+                TimeUnit.SECONDS.toMillis(ClientConstant.OUTLIER_MAX_EJECT_TIME));
+    }
+
+    /**
+     * 构造固定节点的负载均衡器
+     *
+     * @param baseUrls         节点的基础路径
+     * @param failureThreshold 节点连续失败多少次后摘除
+     * @param ejectTime        首次摘除时间（单位毫秒）
+     * @param maxEjectTime     最长摘除时间（单位毫秒）
+     */
+    public LoadBalancer(List<String> baseUrls, int failureThreshold, long ejectTime, long maxEjectTime) {
+        this(null, baseUrls, 0, failureThreshold, ejectTime, maxEjectTime);
+    }
+
+    /**
+     * 构造由服务发现提供节点的负载均衡器
+     *
+     * @param discovery        服务发现，返回当前所有节点的基础路径
+     * @param refreshInterval  刷新节点列表的间隔（单位毫秒）
+     * @param failureThreshold 节点连续失败多少次后摘除
+     * @param ejectTime        首次摘除时间（单位毫秒）
+     * @param maxEjectTime     最长摘除时间（单位毫秒）
+     */
+    public LoadBalancer(Supplier<List<String>> discovery, long refreshInterval, int failureThreshold, long ejectTime, long maxEjectTime) {
+        this(Objects.requireNonNull(discovery, "服务发现不能为空"), discovery.get(), refreshInterval, failureThreshold, ejectTime, maxEjectTime);
+    }
+
+    private LoadBalancer(Supplier<List<String>> discovery, List<String> baseUrls, long refreshInterval,
+                         int failureThreshold, long ejectTime, long maxEjectTime) {
+        if (failureThreshold <= 0 || ejectTime <= 0 || maxEjectTime < ejectTime) {
+            throw new OpenApiClientException("节点摘除的失败次数、摘除时间必须大于0，且最长摘除时间不能小于摘除时间");
+        }
+        if (discovery != null && refreshInterval <= 0) {
+            throw new OpenApiClientException("服务发现的刷新间隔必须大于0");
+        }
+        this.discovery = discovery;
+        this.refreshInterval = TimeUnit.MILLISECONDS.toNanos(refreshInterval);
+        this.failureThreshold = failureThreshold;
+        this.ejectTime = TimeUnit.MILLISECONDS.toNanos(ejectTime);
+        this.maxEjectTime = TimeUnit.MILLISECONDS.toNanos(maxEjectTime);
+        this.endpoints = toEndpoints(baseUrls, Collections.emptyList());
+        if (this.endpoints.isEmpty()) {
+            throw new OpenApiClientException("openapi服务节点不能为空");
+        }
+        this.nextRefreshTime = System.nanoTime() + this.refreshInterval;
+    }
+
+    /**
+     * 获取共享的固定节点负载均衡器（相同配置返回同一实例）
+     *
+     * @param baseUrls         节点的基础路径
+     * @param failureThreshold 节点连续失败多少次后摘除
+     * @param ejectTime        首次摘除时间（单位毫秒）
+     * @param maxEjectTime     最长摘除时间（单位毫秒）
+     * @return 负载均衡器
+     */
+    public static LoadBalancer getShared(List<String> baseUrls, int failureThreshold, long ejectTime, long maxEjectTime) {
+        String key = StrUtil.format("{}|{}|{}|{}", baseUrls, failureThreshold, ejectTime, maxEjectTime);
+        return SHARED.computeIfAbsent(key, k -> new LoadBalancer(baseUrls, failureThreshold, ejectTime, maxEjectTime));
+    }
+
+    /**
+     * 获取共享的服务发现负载均衡器（相同名称及配置返回同一实例）
+     *
+     * @param name             服务发现的名称
+     * @param discovery        服务发现
+     * @param refreshInterval  刷新节点列表的间隔（单位毫秒）
+     * @param failureThreshold 节点连续失败多少次后摘除
+     * @param ejectTime        首次摘除时间（单位毫秒）
+     * @param maxEjectTime     最长摘除时间（单位毫秒）
+     * @return 负载均衡器
+     */
+    public static LoadBalancer getShared(String name, Supplier<List<String>> discovery, long refreshInterval,
+                                         int failureThreshold, long ejectTime, long maxEjectTime) {
+        String key = StrUtil.format("discovery:{}|{}|{}|{}|{}", name, refreshInterval, failureThreshold, ejectTime, maxEjectTime);
+        return SHARED.computeIfAbsent(key, k -> new LoadBalancer(discovery, refreshInterval, failureThreshold, ejectTime, maxEjectTime));
+    }
+
+    /**
+     * 为本次调用选择一个节点
+     *
+     * @return 节点
+     */
+    public Endpoint select() {
+        List<Endpoint> list = getEndpoints();
+        if (list.size() == 1) {
+            return list.get(0);
+        }
+        Endpoint endpoint = select(list, null);
+        if (endpoint == null) {
+            //全部被摘除时选择最早到期的节点，避免无节点可用
+            long now = System.nanoTime();
+            endpoint = list.stream().min(Comparator.comparingLong(e -> e.getEjectedUntil() - now)).get();
+        }
+        return endpoint;
+    }
+
+    /**
+     * 选择除指定节点外的另一个可用节点（用于对冲请求）
+     *
+     * @param exclude 排除的节点
+     * @return 节点，没有其它可用节点时返回null
+     */
+    public Endpoint selectOther(Endpoint exclude) {
+        return select(getEndpoints(), exclude);
+    }
+
+    private Endpoint select(List<Endpoint> list, Endpoint exclude) {
+        long now = System.nanoTime();
+        //摘除到期的节点放行一个探测请求
+        for (Endpoint endpoint : list) {
+            if (endpoint != exclude && endpoint.tryProbe(now, ejectTime)) {
+                log.info("openapi服务节点恢复探测：{}", endpoint.getBaseUrl());
+                return endpoint;
+            }
+        }
+        List<Endpoint> available = new ArrayList<>(list.size());
+        for (Endpoint endpoint : list) {
+            if (endpoint != exclude && !endpoint.isEjected()) {
+                available.add(endpoint);
+            }
+        }
+        if (available.size() <= 1) {
+            return available.isEmpty() ? null : available.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(available.size());
+        int j = random.nextInt(available.size() - 1);
+        if (j >= i) {
+            j++;
+        }
+        Endpoint a = available.get(i);
+        Endpoint b = available.get(j);
+        return a.score() <= b.score() ? a : b;
+    }
+
+    /**
+     * 请求开始发送到节点时调用
+     *
+     * @param endpoint 节点
+     */
+    public void onStart(Endpoint endpoint) {
+        endpoint.onStart();
+    }
+
+    /**
+     * 请求完成时调用，记录响应时间并进行异常检测
+     *
+     * @param endpoint     节点
+     * @param latencyNanos 响应时间（纳秒）
+     * @param success      节点是否正常响应（网络异常、5xx等视为失败）
+     */
+    public void onComplete(Endpoint endpoint, long latencyNanos, boolean success) {
+        boolean ejected = endpoint.onComplete(System.nanoTime(), latencyNanos, success, failureThreshold, ejectTime, maxEjectTime);
+        if (ejected) {
+            log.warn("openapi服务节点连续调用失败，暂时摘除：{}", endpoint);
+        }
+    }
+
+    /**
+     * 请求被取消时调用（如对冲请求中落败的一方），不计入响应时间及失败次数
+     *
+     * @param endpoint 节点
+     */
+    public void onCancel(Endpoint endpoint) {
+        endpoint.onCancel();
+    }
+
+    /**
+     * 获取当前所有节点
+     *
+     * @return 节点列表
+     */
+    public List<Endpoint> getEndpoints() {
+        if (discovery != null && System.nanoTime() - nextRefreshTime >= 0 && refreshing.compareAndSet(false, true)) {
+            refresh();
+        }
+        return endpoints;
+    }
+
+    /**
+     * 从服务发现刷新节点列表，刷新失败或返回为空时保留原节点列表
+     */
+    private void refresh() {
+        try {
+            List<String> baseUrls = discovery.get();
+            if (CollUtil.isEmpty(baseUrls)) {
+                log.warn("服务发现未返回openapi服务节点，保留原节点列表");
+                return;
+            }
+            List<Endpoint> newEndpoints = toEndpoints(baseUrls, endpoints);
+            if (!newEndpoints.isEmpty()) {
+                endpoints = newEndpoints;
+            }
+        } catch (Exception ex) {
+            log.warn("服务发现刷新openapi服务节点异常，保留原节点列表", ex);
+        } finally {
+            nextRefreshTime = System.nanoTime() + refreshInterval;
+            refreshing.set(false);
+        }
+    }
+
+    private static List<Endpoint> toEndpoints(List<String> baseUrls, List<Endpoint> existing) {
+        Map<String, Endpoint> existingMap = new HashMap<>();
+        for (Endpoint endpoint : existing) {
+            existingMap.put(endpoint.getBaseUrl(), endpoint);
+        }
+        Map<String, Endpoint> result = new LinkedHashMap<>();
+        if (baseUrls != null) {
+            for (String baseUrl : baseUrls) {
+                if (StrUtil.isNotBlank(baseUrl)) {
+                    String url = baseUrl.trim();
+                    result.computeIfAbsent(url, k -> existingMap.getOrDefault(k, new Endpoint(k)));
+                }
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(result.values()));
+    }
+
+    @Override
+    public String toString() {
+        return "LoadBalancer" + endpoints;
+    }
+}
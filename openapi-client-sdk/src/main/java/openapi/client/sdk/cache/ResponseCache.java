@@ -0,0 +1,346 @@
+package openapi.client.sdk.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import openapi.client.sdk.proxy.CallKey;
+import openapi.sdk.common.exception.OpenApiClientException;
+import openapi.sdk.common.model.OutParams;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 远程方法的响应缓存（客户端）
+ * <p>
+ * 缓存已解密、解压的出参，key为方法参数序列化后的字符串；
+ * 基于Caffeine实现，采用W-TinyLFU淘汰策略，可按条目数或按估算的字节数限制容量，
+ * 可选在过期前异步刷新（refresh-ahead），刷新期间仍返回旧值。
+ * 缓存由代理对象持有，未命中时由每次调用传入的加载函数调用远程方法（异步刷新时使用写入该条目时的加载函数）；
+ * 按名称（接口名#方法名）登记后可通过{@link #invalidate}等静态方法失效缓存、通过{@link #getAll}查看命中率，
+ * 同名的缓存配置必须一致。需引入caffeine依赖，仅适用于无副作用的查询方法
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Slf4j
+public class ResponseCache {
+
+    /**
+     * 已登记的响应缓存（用于查看指标及失效缓存），key: 接口名#方法名
+     */
+    private static final Map<String, ResponseCache> ALL = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private final long ttl;
+
+    private final long maxEntries;
+
+    private final long maxBytes;
+
+    private final long refreshAfter;
+
+    private final LoadingCache<Key, OutParams> cache;
+
+    /**
+     * 构造器
+     *
+     * @param name         名称（接口名#方法名）
+     * @param ttl          缓存有效期（单位秒）
+     * @param maxEntries   最多缓存的条目数（maxBytes大于0时不生效）
+     * @param maxBytes     最多缓存的字节数（按返回值字符串估算），0表示按条目数限制
+     * @param refreshAfter 写入后经过该时间（单位秒）再被访问时异步刷新，0表示不刷新
+     * @param executor     执行异步刷新的线程池，为null时使用ForkJoinPool.commonPool()
+     */
+    public ResponseCache(String name, long ttl, long maxEntries, long maxBytes, long refreshAfter, Executor executor) {
+        if (ttl <= 0) {
+            throw new OpenApiClientException("缓存有效期必须大于0秒");
+        }
+        if (maxEntries <= 0 || maxBytes < 0) {
+            throw new OpenApiClientException("缓存最大条目数必须大于0，最大字节数不能小于0");
+        }
+        if (refreshAfter < 0 || (refreshAfter > 0 && refreshAfter >= ttl)) {
+            throw new OpenApiClientException("缓存刷新时间不能小于0且必须小于缓存有效期");
+        }
+        this.name = name;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.refreshAfter = refreshAfter;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .recordStats();
+        if (maxBytes > 0) {
+            builder.maximumWeight(maxBytes).weigher((Key key, OutParams value) -> weigh(key, value));
+        } else {
+            builder.maximumSize(maxEntries);
+        }
+        if (refreshAfter > 0) {
+            builder.refreshAfterWrite(refreshAfter, TimeUnit.SECONDS);
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        //未命中时由调用方传入加载函数，此处只用于异步刷新
+        this.cache = builder.build(key -> key.loader.apply(key.args));
+    }
+
+    /**
+     * 创建远程方法的响应缓存并按名称登记，已登记同名缓存时返回已登记的缓存
+     *
+     * @param api          接口名
+     * @param method       方法名
+     * @param ttl          缓存有效期（单位秒）
+     * @param maxEntries   最多缓存的条目数
+     * @param maxBytes     最多缓存的字节数，0表示按条目数限制
+     * @param refreshAfter 异步刷新时间（单位秒），0表示不刷新
+     * @param executor     执行异步刷新的线程池
+     * @return 响应缓存
+     * @throws OpenApiClientException 已登记的同名缓存配置不同
+     */
+    public static ResponseCache register(String api, String method, long ttl, long maxEntries, long maxBytes, long refreshAfter,
+                                         Executor executor) {
+        return ALL.compute(getName(api, method), (name, registered) -> {
+            if (registered == null) {
+                return new ResponseCache(name, ttl, maxEntries, maxBytes, refreshAfter, executor);
+            }
+            if (registered.ttl != ttl || registered.maxEntries != maxEntries || registered.maxBytes != maxBytes
+                    || registered.refreshAfter != refreshAfter) {
+                throw new OpenApiClientException(String.format("%s的响应缓存配置冲突：已登记ttl=%d, maxEntries=%d, maxBytes=%d, " +
+                                "refreshAfter=%d，当前ttl=%d, maxEntries=%d, maxBytes=%d, refreshAfter=%d", name, registered.ttl,
+                        registered.maxEntries, registered.maxBytes, registered.refreshAfter, ttl, maxEntries, maxBytes, refreshAfter));
+            }
+            return registered;
+        });
+    }
+
+    /**
+     * 获取已登记的远程方法的响应缓存
+     *
+     * @param api    接口名
+     * @param method 方法名
+     * @return 响应缓存，未启用缓存时返回null
+     */
+    public static ResponseCache get(String api, String method) {
+        return ALL.get(getName(api, method));
+    }
+
+    /**
+     * 获取所有的响应缓存（可用于查看命中率等指标）
+     *
+     * @return key: 接口名#方法名，value: 响应缓存
+     */
+    public static Map<String, ResponseCache> getAll() {
+        return Collections.unmodifiableMap(ALL);
+    }
+
+    /**
+     * 使远程方法指定参数的缓存失效
+     *
+     * @param api    接口名
+     * @param method 方法名
+     * @param args   方法参数
+     */
+    public static void invalidate(String api, String method, Object... args) {
+        ResponseCache responseCache = get(api, method);
+        if (responseCache != null) {
+            responseCache.invalidate(CallKey.of(args));
+        }
+    }
+
+    /**
+     * 使远程方法的所有缓存失效
+     *
+     * @param api    接口名
+     * @param method 方法名
+     */
+    public static void invalidateMethod(String api, String method) {
+        ResponseCache responseCache = get(api, method);
+        if (responseCache != null) {
+            responseCache.invalidateAll();
+        }
+    }
+
+    /**
+     * 获取缓存的出参，未命中时调用远程方法并缓存（同一key并发未命中时只调用一次）
+     *
+     * @param key    调用的key
+     * @param args   方法参数
+     * @param loader 未命中或异步刷新时调用远程方法，入参为方法参数
+     * @return 出参
+     */
+    public OutParams get(String key, Object[] args, Function<Object[], OutParams> loader) {
+        return cache.get(new Key(key, args, loader), k -> loader.apply(args));
+    }
+
+    /**
+     * 获取缓存的出参
+     *
+     * @param key 调用的key
+     * @return 出参，未命中时返回null
+     */
+    public OutParams getIfPresent(String key) {
+        return cache.getIfPresent(new Key(key, null, null));
+    }
+
+    /**
+     * 缓存出参
+     *
+     * @param key       调用的key
+     * @param args      方法参数（异步刷新时使用）
+     * @param loader    异步刷新时调用远程方法，入参为方法参数
+     * @param outParams 出参
+     */
+    public void put(String key, Object[] args, Function<Object[], OutParams> loader, OutParams outParams) {
+        cache.put(new Key(key, args, loader), outParams);
+    }
+
+    /**
+     * 使指定key的缓存失效
+     *
+     * @param key 调用的key
+     */
+    public void invalidate(String key) {
+        if (key != null) {
+            cache.invalidate(new Key(key, null, null));
+        }
+    }
+
+    /**
+     * 使所有缓存失效
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 获取名称
+     *
+     * @return 接口名#方法名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取缓存的条目数（估算值）
+     *
+     * @return 缓存的条目数
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 获取缓存统计
+     *
+     * @return 缓存统计
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * 获取淘汰（包括过期）的条目数
+     *
+     * @return 淘汰的条目数
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * 获取命中率
+     *
+     * @return 命中率
+     */
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    /**
+     * 清理已过期的条目并执行待处理的维护任务（一般无需调用）
+     */
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private static String getName(String api, String method) {
+        return api + "#" + method;
+    }
+
+    /**
+     * 估算缓存条目占用的字节数（key与返回值字符串按每字符2字节计算）
+     *
+     * @param key   缓存的key
+     * @param value 出参
+     * @return 字节数
+     */
+    private static int weigh(Key key, OutParams value) {
+        long chars = (long) key.key.length() + (value.getData() == null ? 0 : value.getData().length());
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, chars * 2));
+    }
+
+    @Override
+    public String toString() {
+        CacheStats stats = cache.stats();
+        return String.format("ResponseCache{name=%s, ttl=%ds, maxEntries=%d, maxBytes=%d, refreshAfter=%ds, size=%d, " +
+                        "hit=%d, miss=%d, eviction=%d}",
+                name, ttl, maxEntries, maxBytes, refreshAfter, cache.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    /**
+     * 缓存的key（按调用的key比较，同时保存方法参数及加载函数用于异步刷新）
+     */
+    private static final class Key {
+
+        private final String key;
+
+        private final Object[] args;
+
+        private final Function<Object[], OutParams> loader;
+
+        private Key(String key, Object[] args, Function<Object[], OutParams> loader) {
+            this.key = Objects.requireNonNull(key);
+            this.args = args;
+            this.loader = loader;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Key && key.equals(((Key) o).key));
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+    }
+}
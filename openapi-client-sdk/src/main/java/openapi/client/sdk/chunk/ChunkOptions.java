@@ -0,0 +1,28 @@
+package openapi.client.sdk.chunk;
+
+import lombok.Data;
+import openapi.client.sdk.constant.ClientConstant;
+
+/**
+ * 分片传输的配置
+ *
+ * @author wanghuidong
+ */
+@Data
+public class ChunkOptions {
+
+    /**
+     * 分片大小（单位字节），超过该大小的二进制参数分片上传，超过该大小的二进制返回值分片下载（不能超过服务端接受的最大分片大小）
+     */
+    private long chunkSize = ClientConstant.CHUNK_SIZE;
+
+    /**
+     * 同时传输的分片数
+     */
+    private int parallelism = ClientConstant.CHUNK_PARALLELISM;
+
+    /**
+     * 单个分片传输失败时的重试次数
+     */
+    private int maxRetries = ClientConstant.CHUNK_MAX_RETRIES;
+}
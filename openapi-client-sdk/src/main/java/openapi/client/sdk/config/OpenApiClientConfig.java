@@ -3,12 +3,17 @@ package openapi.client.sdk.config;
 
 import lombok.Data;
 import openapi.client.sdk.constant.ClientConstant;
+import openapi.client.sdk.transport.TransportType;
+import openapi.sdk.common.constant.Constant;
 import openapi.sdk.common.enums.AsymmetricCryAlgo;
 import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.enums.HmacAlgo;
 import openapi.sdk.common.enums.SymmetricCryAlgo;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * 开放api客户端配置类，由引入者添加配置
  * <p>
@@ -30,8 +35,49 @@ import org.springframework.stereotype.Component;
  *       httpConnectionTimeout: 3
  *       httpReadTimeout: 5
  *       enableCompress: true
+ *       symmetricKeyReuseTime: 60
+ *       symmetricKeyReuseCount: 1000
+ *       symmetricKeyPoolSize: 32
+ *       binaryFormat: 2
+ *       hmacSecret: ${keys.local.hmacSecret}
+ *       hmacAlgo: HmacSHA256
  *       httpProxyHost: 127.0.0.1
  *       httpProxyPort: 8888
+ *       transportType: POOLED
+ *       poolMaxTotal: 200
+ *       poolMaxPerRoute: 50
+ *       poolIdleTimeout: 30
+ *       poolKeepAliveTime: 60
+ *       poolIoThreads: 0
+ *       asyncExecutor: openApiAsyncExecutor
+ *       ioThreads: 64
+ *       ioQueueSize: 256
+ *       baseUrls:
+ *         - http://10.0.0.1:8080
+ *         - http://10.0.0.2:8080
+ *       outlierFailureThreshold: 5
+ *       outlierEjectTime: 30
+ *       outlierMaxEjectTime: 300
+ *       hedgeBudgetPercent: 5
+ *       hedgePercentile: 95
+ *       limiterEnabled: true
+ *       limiterInitialLimit: 20
+ *       limiterMaxLimit: 200
+ *       breakerEnabled: true
+ *       breakerFailureRateThreshold: 50
+ *       breakerMinimumCalls: 20
+ *       breakerSlidingWindowSize: 100
+ *       breakerOpenTime: 30
+ *       breakerHalfOpenCalls: 3
+ *       adaptiveTimeoutEnabled: true
+ *       adaptiveTimeoutPercentile: 99
+ *       adaptiveTimeoutMultiplier: 2
+ *       adaptiveTimeoutMin: 100
+ *       adaptiveTimeoutMax: 6000
+ *       chunkEnabled: true
+ *       chunkSize: 8388608
+ *       chunkParallelism: 4
+ *       chunkMaxRetries: 3
  * </pre></blockquote>
  *
  * @author wanghuidong
@@ -49,6 +95,136 @@ public class OpenApiClientConfig {
      */
     private String baseUrl;
 
+    /**
+     * openapi服务多个节点的基础路径，配置后按响应时间及在途请求数负载均衡（baseUrl不再生效）
+     */
+    private List<String> baseUrls;
+
+    /**
+     * 服务发现（Supplier&lt;List&lt;String&gt;&gt;的bean名称，返回所有节点的基础路径），配置后baseUrls不再生效
+     */
+    private String endpointDiscovery;
+
+    /**
+     * 服务发现刷新节点列表的间隔（单位秒）
+     */
+    private long discoveryRefreshInterval = ClientConstant.DISCOVERY_REFRESH_INTERVAL;
+
+    /**
+     * 节点连续失败多少次后暂时摘除（网络异常、5xx等视为失败）
+     */
+    private int outlierFailureThreshold = ClientConstant.OUTLIER_FAILURE_THRESHOLD;
+
+    /**
+     * 节点首次摘除时间（单位秒），之后每次探测失败摘除时间加倍
+     */
+    private long outlierEjectTime = ClientConstant.OUTLIER_EJECT_TIME;
+
+    /**
+     * 节点最长摘除时间（单位秒）
+     */
+    private long outlierMaxEjectTime = ClientConstant.OUTLIER_MAX_EJECT_TIME;
+
+    /**
+     * 对冲请求最多占主请求的百分比（所有幂等方法共享）
+     */
+    private int hedgeBudgetPercent = ClientConstant.HEDGE_BUDGET_PERCENT;
+
+    /**
+     * 未配置对冲延迟时，取响应时间的该百分位数作为对冲延迟
+     */
+    private int hedgePercentile = ClientConstant.HEDGE_PERCENTILE;
+
+    /**
+     * 是否按远程方法启用自适应并发限制（在途请求数达到限制时快速失败）
+     */
+    private boolean limiterEnabled = false;
+
+    /**
+     * 自适应并发限制的初始值
+     */
+    private int limiterInitialLimit = ClientConstant.LIMITER_INITIAL_LIMIT;
+
+    /**
+     * 自适应并发限制的最大值
+     */
+    private int limiterMaxLimit = ClientConstant.LIMITER_MAX_LIMIT;
+
+    /**
+     * 是否按远程方法启用熔断（失败率过高时快速失败）
+     */
+    private boolean breakerEnabled = false;
+
+    /**
+     * 失败率达到该百分比时熔断
+     */
+    private int breakerFailureRateThreshold = ClientConstant.BREAKER_FAILURE_RATE_THRESHOLD;
+
+    /**
+     * 统计失败率的最少调用次数
+     */
+    private int breakerMinimumCalls = ClientConstant.BREAKER_MINIMUM_CALLS;
+
+    /**
+     * 统计失败率的滑动窗口大小（最近的调用次数）
+     */
+    private int breakerSlidingWindowSize = ClientConstant.BREAKER_SLIDING_WINDOW_SIZE;
+
+    /**
+     * 熔断持续时间（单位秒），到期后放行少量探测调用
+     */
+    private long breakerOpenTime = ClientConstant.BREAKER_OPEN_TIME;
+
+    /**
+     * 半开状态放行的探测调用数，全部成功则关闭熔断
+     */
+    private int breakerHalfOpenCalls = ClientConstant.BREAKER_HALF_OPEN_CALLS;
+
+    /**
+     * 是否启用自适应超时（按方法统计响应时间，以百分位数×倍数作为数据传输超时时间）
+     */
+    private boolean adaptiveTimeoutEnabled = false;
+
+    /**
+     * 自适应超时取响应时间的该百分位数
+     */
+    private double adaptiveTimeoutPercentile = ClientConstant.ADAPTIVE_TIMEOUT_PERCENTILE;
+
+    /**
+     * 自适应超时 = 响应时间百分位数 × 该倍数
+     */
+    private double adaptiveTimeoutMultiplier = ClientConstant.ADAPTIVE_TIMEOUT_MULTIPLIER;
+
+    /**
+     * 自适应超时的下限（单位毫秒）
+     */
+    private long adaptiveTimeoutMin = ClientConstant.ADAPTIVE_TIMEOUT_MIN;
+
+    /**
+     * 自适应超时的上限（单位毫秒），0表示以数据传输超时时间为上限
+     */
+    private long adaptiveTimeoutMax;
+
+    /**
+     * 是否启用分片传输（超过分片大小的二进制参数分片上传、二进制返回值分片下载，需服务端支持）
+     */
+    private boolean chunkEnabled = false;
+
+    /**
+     * 分片大小（单位字节）
+     */
+    private long chunkSize = ClientConstant.CHUNK_SIZE;
+
+    /**
+     * 同时传输的分片数
+     */
+    private int chunkParallelism = ClientConstant.CHUNK_PARALLELISM;
+
+    /**
+     * 单个分片传输失败时的重试次数
+     */
+    private int chunkMaxRetries = ClientConstant.CHUNK_MAX_RETRIES;
+
     /**
      * 本系统私钥
      */
@@ -94,6 +270,16 @@ public class OpenApiClientConfig {
      */
     private int httpReadTimeout = ClientConstant.HTTP_READ_TIMEOUT;
 
+    /**
+     * HTTP建立连接超时时间（单位毫秒），大于0时优先于httpConnectionTimeout
+     */
+    private long httpConnectionTimeoutMillis;
+
+    /**
+     * HTTP数据传输超时时间（单位毫秒），大于0时优先于httpReadTimeout
+     */
+    private long httpReadTimeoutMillis;
+
     /**
      * HTTP请求代理域名
      */
@@ -109,6 +295,92 @@ public class OpenApiClientConfig {
      */
     private boolean enableCompress = false;
 
+    /**
+     * 对称密钥复用时间（单位秒），0表示不限时间，与复用次数均为0时不复用
+     */
+    private long symmetricKeyReuseTime = 0;
+
+    /**
+     * 对称密钥复用次数，0表示不限次数
+     */
+    private int symmetricKeyReuseCount = 0;
+
+    /**
+     * 对称密钥预生成池容量，0表示不启用
+     */
+    private int symmetricKeyPoolSize = 0;
+
+    /**
+     * 二进制数据的传输格式，1（默认）或2，2表示带文件长度表的v2格式（需服务端支持）
+     */
+    private int binaryFormat = Constant.BINARY_FORMAT_V1;
+
+    /**
+     * HMAC共享密钥（HMAC模式下使用）
+     */
+    private String hmacSecret;
+
+    /**
+     * HMAC算法（HMAC模式下使用）
+     */
+    private String hmacAlgo = HmacAlgo.HMAC_SHA256;
+
+    /**
+     * HTTP传输层类型
+     */
+    private TransportType transportType = TransportType.HUTOOL;
+
+    /**
+     * HTTP连接池最大连接数（POOLED、ASYNC传输层使用）
+     */
+    private int poolMaxTotal = ClientConstant.POOL_MAX_TOTAL;
+
+    /**
+     * HTTP连接池每个目标主机的最大连接数（POOLED、ASYNC传输层使用）
+     */
+    private int poolMaxPerRoute = ClientConstant.POOL_MAX_PER_ROUTE;
+
+    /**
+     * HTTP连接池空闲连接超时时间（单位秒，POOLED、ASYNC传输层使用）
+     */
+    private long poolIdleTimeout = ClientConstant.POOL_IDLE_TIMEOUT;
+
+    /**
+     * HTTP长连接保持时间（单位秒，POOLED、ASYNC传输层使用）
+     */
+    private long poolKeepAliveTime = ClientConstant.POOL_KEEP_ALIVE_TIME;
+
+    /**
+     * socket收发缓冲区大小（单位字节，POOLED、ASYNC传输层使用），0表示使用系统默认值
+     */
+    private int poolSocketBufferSize = 0;
+
+    /**
+     * 非阻塞传输层的IO线程数（ASYNC传输层使用），0表示使用CPU核数
+     */
+    private int poolIoThreads = 0;
+
+    /**
+     * 自定义HTTP传输层（bean名称），配置后transportType不再生效
+     */
+    private String customTransport;
+
+    /**
+     * 异步调用的线程池（Executor的bean名称），为空时使用默认线程池
+     */
+    private String asyncExecutor;
+
+    /**
+     * 阻塞传输层（HUTOOL、POOLED）执行异步调用时IO线程池的最大线程数，超出线程数与等待队列容量时拒绝；
+     * 异步调用真正不占用线程等待响应需使用ASYNC传输层
+     */
+    private int ioThreads = ClientConstant.IO_THREADS;
+
+    /**
+     * 阻塞传输层执行异步调用时IO线程池的等待队列容量，0表示不排队
+     */
+    private int ioQueueSize = ClientConstant.IO_QUEUE_SIZE;
+
     /**
      * 自定义非对称加密处理器（bean名称）
      */
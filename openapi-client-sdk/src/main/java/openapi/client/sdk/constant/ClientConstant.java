@@ -22,5 +22,145 @@ public class ClientConstant {
      */
     public static final int HTTP_READ_TIMEOUT = 5;
 
+    /**
+     * HTTP连接池最大连接数
+     */
+    public static final int POOL_MAX_TOTAL = 200;
+
+    /**
+     * HTTP连接池每个目标主机的最大连接数
+     */
+    public static final int POOL_MAX_PER_ROUTE = 50;
+
+    /**
+     * HTTP连接池空闲连接超时时间（单位秒）
+     */
+    public static final long POOL_IDLE_TIMEOUT = 30;
+
+    /**
+     * HTTP长连接保持时间（单位秒）
+     */
+    public static final long POOL_KEEP_ALIVE_TIME = 60;
+
+    /**
+     * 阻塞传输层执行异步调用时IO线程池的最大线程数
+     */
+    public static final int IO_THREADS = 64;
+
+    /**
+     * 阻塞传输层执行异步调用时IO线程池的等待队列容量
+     */
+    public static final int IO_QUEUE_SIZE = 256;
+
+    /**
+     * 响应缓存默认最多缓存的条目数
+     */
+    public static final long CACHE_MAX_ENTRIES = 1000;
+
+    /**
+     * 服务发现刷新节点列表的间隔（单位秒）
+     */
+    public static final long DISCOVERY_REFRESH_INTERVAL = 30;
+
+    /**
+     * 节点连续失败多少次后暂时摘除
+     */
+    public static final int OUTLIER_FAILURE_THRESHOLD = 5;
+
+    /**
+     * 节点首次摘除时间（单位秒）
+     */
+    public static final long OUTLIER_EJECT_TIME = 30;
+
+    /**
+     * 节点最长摘除时间（单位秒）
+     */
+    public static final long OUTLIER_MAX_EJECT_TIME = 300;
+
+    /**
+     * 对冲请求最多占主请求的百分比
+     */
+    public static final int HEDGE_BUDGET_PERCENT = 5;
+
+    /**
+     * 对冲延迟默认取响应时间的百分位数
+     */
+    public static final int HEDGE_PERCENTILE = 95;
+
+    /**
+     * 自适应并发限制的初始值
+     */
+    public static final int LIMITER_INITIAL_LIMIT = 20;
+
+    /**
+     * 自适应并发限制的最小值
+     */
+    public static final int LIMITER_MIN_LIMIT = 1;
+
+    /**
+     * 自适应并发限制的最大值
+     */
+    public static final int LIMITER_MAX_LIMIT = 200;
+
+    /**
+     * 失败率达到该百分比时熔断
+     */
+    public static final int BREAKER_FAILURE_RATE_THRESHOLD = 50;
+
+    /**
+     * 统计失败率的最少调用次数
+     */
+    public static final int BREAKER_MINIMUM_CALLS = 20;
+
+    /**
+     * 统计失败率的滑动窗口大小
+     */
+    public static final int BREAKER_SLIDING_WINDOW_SIZE = 100;
+
+    /**
+     * 熔断持续时间（单位秒）
+     */
+    public static final long BREAKER_OPEN_TIME = 30;
+
+    /**
+     * 半开状态放行的探测调用数
+     */
+    public static final int BREAKER_HALF_OPEN_CALLS = 3;
+
+    /**
+     * 自适应超时取响应时间的百分位数
+     */
+    public static final double ADAPTIVE_TIMEOUT_PERCENTILE = 99;
+
+    /**
+     * 自适应超时 = 响应时间百分位数 × 该倍数
+     */
+    public static final double ADAPTIVE_TIMEOUT_MULTIPLIER = 2;
+
+    /**
+     * 自适应超时的下限（单位毫秒）
+     */
+    public static final long ADAPTIVE_TIMEOUT_MIN = 100;
+
+    /**
+     * 自适应超时统计响应时间的时间窗口（单位秒）
+     */
+    public static final long ADAPTIVE_TIMEOUT_WINDOW = 60;
+
+    /**
+     * 分片传输的默认分片大小（单位字节），超过该大小的二进制数据分片上传（下载）
+     */
+    public static final long CHUNK_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * 分片传输的默认并行数
+     */
+    public static final int CHUNK_PARALLELISM = 4;
+
+    /**
+     * 单个分片传输失败时的默认重试次数
+     */
+    public static final int CHUNK_MAX_RETRIES = 3;
+
 
 }
@@ -0,0 +1,114 @@
+package openapi.client.sdk.hedge;
+
+import openapi.sdk.common.exception.OpenApiClientException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 对冲请求的预算（令牌桶）
+ * <p>
+ * 每个主请求存入percent/100个令牌，每个对冲请求消耗1个令牌，令牌不足时不发送对冲请求，
+ * 因此对冲请求带来的额外负载长期不超过主请求的percent%；最多积累{@link #MAX_TOKENS}个令牌，允许少量突发。
+ * 同一百分比的预算在所有方法间共享
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class HedgeBudget {
+
+    /**
+     * 最多积累的令牌数
+     */
+    public static final int MAX_TOKENS = 10;
+
+    /**
+     * 一个令牌对应的计数单位（按千分之一令牌计数，避免浮点运算）
+     */
+    private static final long TOKEN = 1000;
+
+    /**
+     * 共享的预算，key: 百分比
+     */
+    private static final Map<Integer, HedgeBudget> SHARED = new ConcurrentHashMap<>();
+
+    private final int percent;
+
+    private final long deposit;
+
+    private final AtomicLong balance = new AtomicLong();
+
+    /**
+     * 构造器
+     *
+     * @param percent 对冲请求最多占主请求的百分比（1~100）
+     */
+    public HedgeBudget(int percent) {
+        if (percent <= 0 || percent > 100) {
+            throw new OpenApiClientException("对冲请求的预算百分比必须在1到100之间");
+        }
+        this.percent = percent;
+        this.deposit = TOKEN * percent / 100;
+    }
+
+    /**
+     * 获取共享的预算（相同百分比返回同一实例）
+     *
+     * @param percent 对冲请求最多占主请求的百分比
+     * @return 预算
+     */
+    public static HedgeBudget getShared(int percent) {
+        return SHARED.computeIfAbsent(percent, HedgeBudget::new);
+    }
+
+    /**
+     * 发送主请求时存入令牌
+     */
+    public void onRequest() {
+        long max = MAX_TOKENS * TOKEN;
+        if (balance.get() < max) {
+            balance.accumulateAndGet(deposit, (current, add) -> Math.min(current + add, max));
+        }
+    }
+
+    /**
+     * 尝试消耗一个令牌发送对冲请求
+     *
+     * @return 是否可以发送对冲请求
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 获取当前可用的令牌数
+     *
+     * @return 令牌数
+     */
+    public double getTokens() {
+        return (double) balance.get() / TOKEN;
+    }
+
+    /**
+     * 获取百分比
+     *
+     * @return 对冲请求最多占主请求的百分比
+     */
+    public int getPercent() {
+        return percent;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HedgeBudget{percent=%d%%, tokens=%.2f}", percent, getTokens());
+    }
+}
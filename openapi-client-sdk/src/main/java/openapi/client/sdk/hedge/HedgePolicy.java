@@ -0,0 +1,227 @@
+package openapi.client.sdk.hedge;
+
+import openapi.sdk.common.exception.OpenApiClientException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 幂等方法的对冲请求策略
+ * <p>
+ * 主请求超过对冲延迟仍未返回时，向另一节点发送相同的请求，采用先成功的返回值并取消另一个请求，以降低长尾延迟。
+ * 对冲延迟可以固定配置，也可以取最近主请求响应时间的百分位数（默认P95，样本不足时不对冲）；
+ * 对冲请求受{@link HedgeBudget}限制。各方法的策略可通过{@link #getAll}获取，用于查看对冲次数、对冲胜出次数等指标
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class HedgePolicy {
+
+    /**
+     * 计算百分位数保留的最近响应时间样本数
+     */
+    private static final int SAMPLE_SIZE = 1024;
+
+    /**
+     * 开始按百分位数对冲所需的最少样本数
+     */
+    private static final int MIN_SAMPLES = 32;
+
+    /**
+     * 每记录多少个样本重新计算一次百分位数
+     */
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    /**
+     * 所有的对冲策略，key: 名称（接口名#方法名(参数类型)）
+     */
+    private static final Map<String, HedgePolicy> ALL = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    /**
+     * 固定的对冲延迟（纳秒），0表示按百分位数计算
+     */
+    private final long fixedDelay;
+
+    private final int percentile;
+
+    private final HedgeBudget budget;
+
+    private final long[] samples = new long[SAMPLE_SIZE];
+
+    private long sampleCount;
+
+    /**
+     * 按百分位数计算的对冲延迟（纳秒），0表示样本不足
+     */
+    private volatile long percentileDelay;
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder hedgeCount = new LongAdder();
+
+    private final LongAdder hedgeWinCount = new LongAdder();
+
+    private final LongAdder budgetExhaustedCount = new LongAdder();
+
+    /**
+     * 构造器
+     *
+     * @param name       名称
+     * @param delay      对冲延迟（单位毫秒），0表示取响应时间的百分位数
+     * @param percentile 百分位数（1~99）
+     * @param budget     对冲预算
+     */
+    public HedgePolicy(String name, long delay, int percentile, HedgeBudget budget) {
+        if (delay < 0) {
+            throw new OpenApiClientException("对冲延迟不能小于0");
+        }
+        if (percentile <= 0 || percentile >= 100) {
+            throw new OpenApiClientException("对冲延迟的百分位数必须在1到99之间");
+        }
+        this.name = name;
+        this.fixedDelay = TimeUnit.MILLISECONDS.toNanos(delay);
+        this.percentile = percentile;
+        this.budget = budget;
+    }
+
+    /**
+     * 获取方法的对冲策略，不存在则创建（同一方法使用第一次创建时的配置）
+     *
+     * @param name       名称
+     * @param delay      对冲延迟（单位毫秒），0表示取响应时间的百分位数
+     * @param percentile 百分位数
+     * @param budget     对冲预算
+     * @return 对冲策略
+     */
+    public static HedgePolicy getOrCreate(String name, long delay, int percentile, HedgeBudget budget) {
+        return ALL.computeIfAbsent(name, key -> new HedgePolicy(key, delay, percentile, budget));
+    }
+
+    /**
+     * 获取所有的对冲策略
+     *
+     * @return key: 名称，value: 对冲策略
+     */
+    public static Map<String, HedgePolicy> getAll() {
+        return Collections.unmodifiableMap(ALL);
+    }
+
+    /**
+     * 发送主请求
+     */
+    public void onRequest() {
+        requestCount.increment();
+        budget.onRequest();
+    }
+
+    /**
+     * 获取当前的对冲延迟
+     *
+     * @return 对冲延迟（纳秒），0表示暂不对冲
+     */
+    public long getDelayNanos() {
+        return fixedDelay > 0 ? fixedDelay : percentileDelay;
+    }
+
+    /**
+     * 尝试发送对冲请求（消耗预算）
+     *
+     * @return 是否可以发送对冲请求
+     */
+    public boolean tryHedge() {
+        if (budget.tryAcquire()) {
+            hedgeCount.increment();
+            return true;
+        }
+        budgetExhaustedCount.increment();
+        return false;
+    }
+
+    /**
+     * 对冲请求先于主请求成功返回
+     */
+    public void onHedgeWin() {
+        hedgeWinCount.increment();
+    }
+
+    /**
+     * 记录主请求的响应时间（被取消的主请求记录取消时已耗费的时间）
+     *
+     * @param latencyNanos 响应时间（纳秒）
+     */
+    public void recordLatency(long latencyNanos) {
+        if (fixedDelay > 0) {
+            return;
+        }
+        long[] snapshot = null;
+        synchronized (samples) {
+            samples[(int) (sampleCount % SAMPLE_SIZE)] = latencyNanos;
+            sampleCount++;
+            if (sampleCount >= MIN_SAMPLES && (sampleCount == MIN_SAMPLES || sampleCount % RECOMPUTE_INTERVAL == 0)) {
+                snapshot = Arrays.copyOf(samples, (int) Math.min(sampleCount, SAMPLE_SIZE));
+            }
+        }
+        if (snapshot != null) {
+            Arrays.sort(snapshot);
+            int index = (int) Math.ceil(snapshot.length * percentile / 100.0) - 1;
+            percentileDelay = Math.max(snapshot[Math.max(index, 0)], 1);
+        }
+    }
+
+    /**
+     * 获取名称
+     *
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取主请求数
+     *
+     * @return 主请求数
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * 获取发送的对冲请求数
+     *
+     * @return 对冲请求数
+     */
+    public long getHedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    /**
+     * 获取对冲请求胜出（先于主请求成功返回）的次数
+     *
+     * @return 对冲胜出次数
+     */
+    public long getHedgeWinCount() {
+        return hedgeWinCount.sum();
+    }
+
+    /**
+     * 获取因预算不足未发送对冲请求的次数
+     *
+     * @return 预算不足的次数
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhaustedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HedgePolicy{name=%s, delay=%.1fms, requests=%d, hedges=%d, hedgeWins=%d, budgetExhausted=%d}",
+                name, getDelayNanos() / 1_000_000.0, getRequestCount(), getHedgeCount(), getHedgeWinCount(), getBudgetExhaustedCount());
+    }
+}
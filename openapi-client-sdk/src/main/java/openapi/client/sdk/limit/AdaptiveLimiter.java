@@ -0,0 +1,172 @@
+package openapi.client.sdk.limit;
+
+import openapi.sdk.common.exception.OpenApiClientException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应并发限制（梯度算法）
+ * <p>
+ * 以响应时间的长期均值与本次响应时间之比作为梯度（限制在0.5~1之间，容忍1.5倍的波动）：
+ * 响应时间未上升时并发限制按√limit增长，响应时间上升（服务端开始排队）时按梯度收缩，请求失败或超时时乘以0.9退避；
+ * 在途请求数未达到限制的一半时不增长（调用方自身并发不足，无法判断服务端容量）。
+ * 在途请求数达到限制时立即拒绝，不排队等待
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class AdaptiveLimiter {
+
+    /**
+     * 响应时间允许的波动倍数，未超过时认为服务端未排队
+     */
+    private static final double RTT_TOLERANCE = 1.5;
+
+    /**
+     * 新计算的限制所占的权重
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * 失败时的退避比例
+     */
+    private static final double BACKOFF_RATIO = 0.9;
+
+    /**
+     * 长期响应时间EWMA的样本窗口
+     */
+    private static final int LONG_WINDOW = 100;
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final CallGuardListener listener;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private volatile int limit;
+
+    private double estimatedLimit;
+
+    private double longRtt;
+
+    /**
+     * 构造器
+     *
+     * @param name         名称
+     * @param initialLimit 初始的并发限制
+     * @param minLimit     最小的并发限制
+     * @param maxLimit     最大的并发限制
+     * @param listener     并发限制变化的监听器
+     */
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, CallGuardListener listener) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new OpenApiClientException("并发限制必须满足0 < minLimit <= initialLimit <= maxLimit");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.listener = listener;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * 尝试获取一个并发许可
+     *
+     * @return 是否获取成功，在途请求数达到限制时返回false
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedCount.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 请求完成，释放许可并根据响应时间调整并发限制
+     *
+     * @param rttNanos 响应时间（纳秒）
+     * @param dropped  请求是否失败（网络异常、超时、5xx等）
+     */
+    public void onComplete(long rttNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        int oldLimit;
+        int newLimit;
+        synchronized (this) {
+            oldLimit = limit;
+            if (dropped) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+            } else {
+                double rtt = Math.max(rttNanos, 1);
+                longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * 2 / (LONG_WINDOW + 1);
+                //响应时间明显回落时，加快长期均值的回落，避免负载下降后长期均值偏高导致限制过度增长
+                if (longRtt / rtt > 2) {
+                    longRtt *= 0.95;
+                }
+                if (current < estimatedLimit / 2) {
+                    return;
+                }
+                double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / rtt));
+                double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+                estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+            }
+            newLimit = (int) estimatedLimit;
+            limit = newLimit;
+        }
+        if (newLimit != oldLimit && listener != null) {
+            listener.onLimitChange(name, oldLimit, newLimit);
+        }
+    }
+
+    /**
+     * 释放许可，不调整并发限制（如请求被取消）
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * 获取当前的并发限制
+     *
+     * @return 并发限制
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 获取在途请求数
+     *
+     * @return 在途请求数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 获取因超过并发限制被拒绝的请求数
+     *
+     * @return 被拒绝的请求数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdaptiveLimiter{limit=%d, inFlight=%d, rejected=%d}", getLimit(), getInFlight(), getRejectedCount());
+    }
+}
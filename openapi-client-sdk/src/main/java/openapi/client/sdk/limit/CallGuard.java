@@ -0,0 +1,212 @@
+package openapi.client.sdk.limit;
+
+import lombok.extern.slf4j.Slf4j;
+import openapi.sdk.common.exception.OpenApiClientException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 远程方法的调用保护：自适应并发限制 + 熔断
+ * <p>
+ * 同一远程方法（接口名#方法名）共用一个实例，每次HTTP请求前获取许可，
+ * 熔断中或在途请求数达到并发限制时立即抛出异常（快速失败），而不是让调用线程排队等待慢节点；
+ * 并发限制及熔断状态的变化会通知{@link #addListener}注册的监听器，当前状态可通过{@link #getAll}查看
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Slf4j
+public class CallGuard {
+
+    /**
+     * 所有的调用保护，key: 接口名#方法名
+     */
+    private static final Map<String, CallGuard> ALL = new ConcurrentHashMap<>();
+
+    /**
+     * 并发限制及熔断状态变化的监听器
+     */
+    private static final List<CallGuardListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * 将事件分发给所有监听器
+     */
+    private static final CallGuardListener DISPATCHER = new CallGuardListener() {
+        @Override
+        public void onLimitChange(String name, int oldLimit, int newLimit) {
+            log.debug("{}并发限制调整：{} -> {}", name, oldLimit, newLimit);
+            for (CallGuardListener listener : LISTENERS) {
+                try {
+                    listener.onLimitChange(name, oldLimit, newLimit);
+                } catch (Exception ex) {
+                    log.warn("调用保护监听器异常", ex);
+                }
+            }
+        }
+
+        @Override
+        public void onStateChange(String name, CircuitBreaker.State from, CircuitBreaker.State to) {
+            if (to == CircuitBreaker.State.OPEN) {
+                log.warn("{}调用失败率过高，熔断打开：{} -> {}", name, from, to);
+            } else {
+                log.info("{}熔断状态变化：{} -> {}", name, from, to);
+            }
+            for (CallGuardListener listener : LISTENERS) {
+                try {
+                    listener.onStateChange(name, from, to);
+                } catch (Exception ex) {
+                    log.warn("调用保护监听器异常", ex);
+                }
+            }
+        }
+    };
+
+    private final String name;
+
+    private final AdaptiveLimiter limiter;
+
+    private final CircuitBreaker breaker;
+
+    /**
+     * 构造器
+     *
+     * @param name    名称
+     * @param options 配置
+     */
+    public CallGuard(String name, GuardOptions options) {
+        this.name = name;
+        this.limiter = options.isLimiterEnabled() ? new AdaptiveLimiter(name, options.getInitialLimit(),
+                options.getMinLimit(), options.getMaxLimit(), DISPATCHER) : null;
+        this.breaker = options.isBreakerEnabled() ? new CircuitBreaker(name, options.getFailureRateThreshold(),
+                options.getMinimumCalls(), options.getSlidingWindowSize(), TimeUnit.SECONDS.toMillis(options.getOpenTime()),
+                options.getHalfOpenCalls(), DISPATCHER) : null;
+    }
+
+    /**
+     * 获取远程方法的调用保护，不存在则创建（同一远程方法使用第一次创建时的配置）
+     *
+     * @param api     接口名
+     * @param method  方法名
+     * @param options 配置
+     * @return 调用保护
+     */
+    public static CallGuard getOrCreate(String api, String method, GuardOptions options) {
+        return ALL.computeIfAbsent(api + "#" + method, name -> new CallGuard(name, options));
+    }
+
+    /**
+     * 获取所有的调用保护
+     *
+     * @return key: 接口名#方法名，value: 调用保护
+     */
+    public static Map<String, CallGuard> getAll() {
+        return Collections.unmodifiableMap(ALL);
+    }
+
+    /**
+     * 注册并发限制及熔断状态变化的监听器
+     *
+     * @param listener 监听器
+     */
+    public static void addListener(CallGuardListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * 移除监听器
+     *
+     * @param listener 监听器
+     */
+    public static void removeListener(CallGuardListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * 获取调用许可，熔断中或超过并发限制时快速失败
+     *
+     * @return 熔断器的许可，调用完成或取消时传回（未启用熔断时为{@link CircuitBreaker#NO_PERMIT}）
+     */
+    public long acquire() {
+        long permit = CircuitBreaker.NO_PERMIT;
+        if (breaker != null) {
+            permit = breaker.tryAcquire();
+            if (permit == CircuitBreaker.NO_PERMIT) {
+                throw new OpenApiClientException(name + "熔断中，快速失败");
+            }
+        }
+        if (limiter != null && !limiter.tryAcquire()) {
+            if (breaker != null) {
+                breaker.onCancel(permit);
+            }
+            throw new OpenApiClientException(name + "在途请求数已达到并发限制" + limiter.getLimit() + "，快速失败");
+        }
+        return permit;
+    }
+
+    /**
+     * 调用完成，释放许可并记录结果
+     *
+     * @param permit       {@link #acquire}返回的许可
+     * @param latencyNanos 响应时间（纳秒）
+     * @param success      调用是否成功（网络异常、超时、5xx等视为失败）
+     */
+    public void onComplete(long permit, long latencyNanos, boolean success) {
+        if (limiter != null) {
+            limiter.onComplete(latencyNanos, !success);
+        }
+        if (breaker != null) {
+            breaker.onComplete(permit, success);
+        }
+    }
+
+    /**
+     * 调用被取消，释放许可，不记录结果
+     *
+     * @param permit {@link #acquire}返回的许可
+     */
+    public void onCancel(long permit) {
+        if (limiter != null) {
+            limiter.release();
+        }
+        if (breaker != null) {
+            breaker.onCancel(permit);
+        }
+    }
+
+    /**
+     * 获取名称
+     *
+     * @return 接口名#方法名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取自适应并发限制
+     *
+     * @return 自适应并发限制，未启用时返回null
+     */
+    public AdaptiveLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * 获取熔断器
+     *
+     * @return 熔断器，未启用时返回null
+     */
+    public CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CallGuard{name=%s, limiter=%s, breaker=%s}", name, limiter, breaker);
+    }
+}
@@ -0,0 +1,32 @@
+package openapi.client.sdk.limit;
+
+/**
+ * 远程方法调用保护的事件监听器，可用于将并发限制及熔断状态的变化发布到监控系统
+ * <p>
+ * 回调在完成调用的线程上同步执行，实现应尽量轻量
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public interface CallGuardListener {
+
+    /**
+     * 并发限制变化
+     *
+     * @param name     名称（接口名#方法名）
+     * @param oldLimit 原并发限制
+     * @param newLimit 新并发限制
+     */
+    default void onLimitChange(String name, int oldLimit, int newLimit) {
+    }
+
+    /**
+     * 熔断状态变化
+     *
+     * @param name 名称（接口名#方法名）
+     * @param from 原状态
+     * @param to   新状态
+     */
+    default void onStateChange(String name, CircuitBreaker.State from, CircuitBreaker.State to) {
+    }
+}
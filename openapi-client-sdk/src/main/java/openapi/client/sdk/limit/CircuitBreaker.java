@@ -0,0 +1,253 @@
+package openapi.client.sdk.limit;
+
+import openapi.sdk.common.exception.OpenApiClientException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 熔断器
+ * <p>
+ * 关闭状态下统计最近slidingWindowSize次调用的失败率，调用次数达到minimumCalls且失败率达到阈值时打开熔断，
+ * 熔断期间的调用立即失败；熔断到期后进入半开状态，放行halfOpenCalls个探测调用，全部成功则关闭熔断，任一失败则重新打开。
+ * 每次状态切换时递增代数，{@link #tryAcquire}返回的许可记录放行时的代数，调用完成时只统计当前代数的许可，
+ * 状态切换前放行的调用（如半开期间才完成的慢调用）不会被当作探测结果，也不会计入新的滑动窗口
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class CircuitBreaker {
+
+    /**
+     * 熔断状态
+     */
+    public enum State {
+        /**
+         * 关闭（正常调用）
+         */
+        CLOSED,
+        /**
+         * 打开（快速失败）
+         */
+        OPEN,
+        /**
+         * 半开（放行少量探测调用）
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * 未获得许可（熔断中）
+     */
+    public static final long NO_PERMIT = -1;
+
+    private final String name;
+
+    private final int failureRateThreshold;
+
+    private final int minimumCalls;
+
+    private final long openTime;
+
+    private final int halfOpenCalls;
+
+    private final CallGuardListener listener;
+
+    /**
+     * 滑动窗口内各次调用是否失败
+     */
+    private final boolean[] window;
+
+    private int windowIndex;
+
+    private int windowCount;
+
+    private int windowFailures;
+
+    private volatile State state = State.CLOSED;
+
+    /**
+     * 状态代数，每次状态切换时递增
+     */
+    private volatile long generation;
+
+    private long openUntil;
+
+    private int halfOpenInFlight;
+
+    private int halfOpenSuccesses;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 构造器
+     *
+     * @param name                 名称
+     * @param failureRateThreshold 失败率达到该百分比时熔断
+     * @param minimumCalls         统计失败率的最少调用次数
+     * @param slidingWindowSize    统计失败率的滑动窗口大小
+     * @param openTime             熔断持续时间（单位毫秒）
+     * @param halfOpenCalls        半开状态放行的探测调用数
+     * @param listener             熔断状态变化的监听器
+     */
+    public CircuitBreaker(String name, int failureRateThreshold, int minimumCalls, int slidingWindowSize, long openTime,
+                          int halfOpenCalls, CallGuardListener listener) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new OpenApiClientException("熔断的失败率阈值必须在1到100之间");
+        }
+        if (minimumCalls <= 0 || slidingWindowSize < minimumCalls || openTime <= 0 || halfOpenCalls <= 0) {
+            throw new OpenApiClientException("熔断的最少调用次数、熔断时间、半开探测数必须大于0，且滑动窗口不能小于最少调用次数");
+        }
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.window = new boolean[slidingWindowSize];
+        this.openTime = TimeUnit.MILLISECONDS.toNanos(openTime);
+        this.halfOpenCalls = halfOpenCalls;
+        this.listener = listener;
+    }
+
+    /**
+     * 尝试放行一次调用
+     *
+     * @return 许可（放行时的状态代数），调用完成或取消时传回；熔断中返回{@link #NO_PERMIT}
+     */
+    public long tryAcquire() {
+        //先读代数再读状态：读取期间发生状态切换时得到的是旧代数，该许可的结果被忽略
+        long permit = generation;
+        if (state == State.CLOSED) {
+            return permit;
+        }
+        State from = null;
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openUntil >= 0) {
+                from = transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED) {
+                permit = generation;
+            } else if (state == State.HALF_OPEN && halfOpenInFlight + halfOpenSuccesses < halfOpenCalls) {
+                halfOpenInFlight++;
+                permit = generation;
+            } else {
+                permit = NO_PERMIT;
+            }
+        }
+        notify(from, State.HALF_OPEN);
+        if (permit == NO_PERMIT) {
+            rejectedCount.increment();
+        }
+        return permit;
+    }
+
+    /**
+     * 调用完成，许可不属于当前代数（放行后状态已切换）时忽略
+     *
+     * @param permit  {@link #tryAcquire}返回的许可
+     * @param success 调用是否成功（网络异常、超时、5xx等视为失败）
+     */
+    public void onComplete(long permit, boolean success) {
+        State from = null;
+        State to = null;
+        synchronized (this) {
+            if (permit != generation) {
+                return;
+            }
+            if (state == State.CLOSED) {
+                if (window[windowIndex] && windowCount == window.length) {
+                    windowFailures--;
+                }
+                window[windowIndex] = !success;
+                windowIndex = (windowIndex + 1) % window.length;
+                windowCount = Math.min(windowCount + 1, window.length);
+                if (!success) {
+                    windowFailures++;
+                }
+                if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+                    to = State.OPEN;
+                    from = transitionTo(to);
+                }
+            } else if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+                halfOpenInFlight--;
+                if (!success) {
+                    to = State.OPEN;
+                    from = transitionTo(to);
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    to = State.CLOSED;
+                    from = transitionTo(to);
+                }
+            }
+        }
+        notify(from, to);
+    }
+
+    /**
+     * 放行的调用未完成即被取消，不计入统计；许可不属于当前代数时忽略
+     *
+     * @param permit {@link #tryAcquire}返回的许可
+     */
+    public synchronized void onCancel(long permit) {
+        if (permit == generation && state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    /**
+     * 切换状态（调用方需持有锁）
+     *
+     * @param to 新状态
+     * @return 原状态
+     */
+    private State transitionTo(State to) {
+        State from = state;
+        state = to;
+        generation++;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        if (to == State.OPEN) {
+            openUntil = System.nanoTime() + openTime;
+        } else if (to == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+        return from;
+    }
+
+    private void notify(State from, State to) {
+        if (from != null && from != to && listener != null) {
+            listener.onStateChange(name, from, to);
+        }
+    }
+
+    /**
+     * 获取熔断状态
+     *
+     * @return 熔断状态
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 获取当前滑动窗口内的失败率
+     *
+     * @return 失败率（百分比）
+     */
+    public synchronized double getFailureRate() {
+        return windowCount == 0 ? 0 : windowFailures * 100.0 / windowCount;
+    }
+
+    /**
+     * 获取熔断期间被拒绝的调用数
+     *
+     * @return 被拒绝的调用数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CircuitBreaker{state=%s, failureRate=%.1f%%, rejected=%d}", getState(), getFailureRate(), getRejectedCount());
+    }
+}
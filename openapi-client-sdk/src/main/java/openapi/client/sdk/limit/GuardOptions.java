@@ -0,0 +1,63 @@
+package openapi.client.sdk.limit;
+
+import lombok.Data;
+import openapi.client.sdk.constant.ClientConstant;
+
+/**
+ * 远程方法调用保护（自适应并发限制及熔断）的配置
+ *
+ * @author wanghuidong
+ */
+@Data
+public class GuardOptions {
+
+    /**
+     * 是否启用自适应并发限制
+     */
+    private boolean limiterEnabled = true;
+
+    /**
+     * 初始的并发限制
+     */
+    private int initialLimit = ClientConstant.LIMITER_INITIAL_LIMIT;
+
+    /**
+     * 最小的并发限制
+     */
+    private int minLimit = ClientConstant.LIMITER_MIN_LIMIT;
+
+    /**
+     * 最大的并发限制
+     */
+    private int maxLimit = ClientConstant.LIMITER_MAX_LIMIT;
+
+    /**
+     * 是否启用熔断
+     */
+    private boolean breakerEnabled = true;
+
+    /**
+     * 失败率达到该百分比时熔断
+     */
+    private int failureRateThreshold = ClientConstant.BREAKER_FAILURE_RATE_THRESHOLD;
+
+    /**
+     * 统计失败率的最少调用次数
+     */
+    private int minimumCalls = ClientConstant.BREAKER_MINIMUM_CALLS;
+
+    /**
+     * 统计失败率的滑动窗口大小（最近的调用次数）
+     */
+    private int slidingWindowSize = ClientConstant.BREAKER_SLIDING_WINDOW_SIZE;
+
+    /**
+     * 熔断持续时间（单位秒），到期后进入半开状态
+     */
+    private long openTime = ClientConstant.BREAKER_OPEN_TIME;
+
+    /**
+     * 半开状态放行的探测调用数，全部成功则关闭熔断
+     */
+    private int halfOpenCalls = ClientConstant.BREAKER_HALF_OPEN_CALLS;
+}
@@ -0,0 +1,42 @@
+package openapi.client.sdk.proxy;
+
+import cn.hutool.core.util.StrUtil;
+import openapi.sdk.common.model.BinarySink;
+import openapi.sdk.common.util.BinaryUtil;
+import openapi.sdk.common.util.StrObjectConvert;
+
+/**
+ * 调用的key：方法参数按{@link StrObjectConvert}序列化后拼接而成，参数相同的调用key相同
+ * <p>
+ * 用于合并并发的相同调用及响应缓存
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public final class CallKey {
+
+    private CallKey() {
+    }
+
+    /**
+     * 获取调用的key
+     *
+     * @param args 方法参数
+     * @return 调用的key，含二进制参数或二进制返回值的接收目标时返回null（不合并、不缓存）
+     */
+    public static String of(Object[] args) {
+        if (args == null || args.length == 0) {
+            return StrUtil.EMPTY;
+        }
+        StringBuilder key = new StringBuilder();
+        for (Object arg : args) {
+            if (BinaryUtil.isBinaryParam(arg) || arg instanceof BinarySink) {
+                return null;
+            }
+            String argStr = arg == null ? null : StrObjectConvert.objToStr(arg, arg.getClass());
+            //以长度作为分隔，避免不同参数拼接后相同
+            key.append(argStr == null ? -1 : argStr.length()).append(':').append(argStr).append(';');
+        }
+        return key.toString();
+    }
+}
@@ -1,11 +1,22 @@
 package openapi.client.sdk.proxy;
 
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import lombok.extern.slf4j.Slf4j;
 import openapi.client.sdk.OpenApiClient;
 import openapi.client.sdk.OpenApiClientBuilder;
 import openapi.client.sdk.config.OpenApiClientConfig;
 import openapi.client.sdk.annotation.OpenApiRef;
+import openapi.client.sdk.balance.LoadBalancer;
+import openapi.client.sdk.chunk.ChunkOptions;
+import openapi.client.sdk.limit.GuardOptions;
+import openapi.client.sdk.timeout.AdaptiveTimeoutOptions;
+import openapi.client.sdk.transport.AsyncHttpTransport;
+import openapi.client.sdk.transport.HutoolTransport;
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.client.sdk.transport.PooledHttpTransport;
+import openapi.client.sdk.transport.TransportType;
+import openapi.sdk.common.enums.CryModeEnum;
 import openapi.sdk.common.exception.OpenApiClientException;
 import openapi.sdk.common.handler.AsymmetricCryHandler;
 import openapi.sdk.common.handler.SymmetricCryHandler;
@@ -14,6 +25,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 
 import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * OpenApiRef代理对象工厂，用于创建OpenApiRef所标注接口的代理对象
@@ -62,22 +77,45 @@ public class OpenApiRefProxyFactoryBean<T> implements FactoryBean<T> {
         if (StrUtil.isBlank(api)) {
             throw new OpenApiClientException(interClass.getName() + "api名称不能为空");
         }
+        //同样配置的连接池传输层在所有代理对象及方法级客户端间共享
+        OpenApiTransport transport = getTransport();
+        Executor asyncExecutor = getAsyncExecutor(config.getAsyncExecutor());
+        //多节点时负载均衡器在所有代理对象及方法级客户端间共享
+        LoadBalancer loadBalancer = getLoadBalancer();
+        AdaptiveTimeoutOptions adaptiveTimeoutOptions = getAdaptiveTimeoutOptions();
         OpenApiClient apiClient = new OpenApiClientBuilder(config.getBaseUrl(), config.getSelfPrivateKey(), config.getRemotePublicKey(), config.getCallerId(), api)
                 .asymmetricCry(config.getAsymmetricCryAlgo())
                 .retDecrypt(config.isRetDecrypt())
                 .cryModeEnum(config.getCryModeEnum())
                 .symmetricCry(config.getSymmetricCryAlgo())
-                .httpConnectionTimeout(config.getHttpConnectionTimeout())
-                .httpReadTimeout(config.getHttpReadTimeout())
+                .httpConnectionTimeoutMillis(config.getHttpConnectionTimeoutMillis() > 0 ? config.getHttpConnectionTimeoutMillis()
+                        : TimeUnit.SECONDS.toMillis(config.getHttpConnectionTimeout()))
+                .httpReadTimeoutMillis(config.getHttpReadTimeoutMillis() > 0 ? config.getHttpReadTimeoutMillis()
+                        : TimeUnit.SECONDS.toMillis(config.getHttpReadTimeout()))
                 .httpProxyHost(config.getHttpProxyHost())
                 .httpProxyPort(config.getHttpProxyPort())
                 .enableCompress(config.isEnableCompress())
+                .symmetricKeyReuseTime(config.getSymmetricKeyReuseTime())
+                .symmetricKeyReuseCount(config.getSymmetricKeyReuseCount())
+                .symmetricKeyPoolSize(config.getSymmetricKeyPoolSize())
+                .binaryFormat(config.getBinaryFormat())
+                .hmacSecret(config.getHmacSecret())
+                .hmacAlgo(config.getHmacAlgo())
+                .transport(transport)
+                .asyncExecutor(asyncExecutor)
+                .ioThreads(config.getIoThreads())
+                .ioQueueSize(config.getIoQueueSize())
+                .loadBalancer(loadBalancer)
+                .guardOptions(getGuardOptions())
+                .adaptiveTimeoutOptions(config.isAdaptiveTimeoutEnabled() ? adaptiveTimeoutOptions : null)
+                .chunkOptions(config.isChunkEnabled() ? getChunkOptions() : null)
                 .customAsymmetricCryHandler(getAsymmetricCryHandler(config.getCustomAsymmetricCryHandler()))
                 .customSymmetricCryHandler(getSymmetricCryHandler(config.getCustomSymmetricCryHandler()))
                 .build();
 
         //创建OpenApiRef代理调用处理器对象
-        OpenApiRefProxyInvocationHandler invocationHandler = new OpenApiRefProxyInvocationHandler(apiClient, config);
+        OpenApiRefProxyInvocationHandler invocationHandler = new OpenApiRefProxyInvocationHandler(apiClient, config, transport, asyncExecutor,
+                apiClient.getLoadBalancer(), apiClient.getGuardOptions(), adaptiveTimeoutOptions);
 
         //动态创建OpenApiRef接口的代理对象
         return (T) Proxy.newProxyInstance(interClass.getClassLoader(), new Class[]{interClass}, invocationHandler);
@@ -98,20 +136,113 @@ public class OpenApiRefProxyFactoryBean<T> implements FactoryBean<T> {
      * 检查配置
      */
     private void checkConfig() {
-        if (StrUtil.isBlank(config.getBaseUrl())) {
+        if (StrUtil.isBlank(config.getBaseUrl()) && CollUtil.isEmpty(config.getBaseUrls())
+                && StrUtil.isBlank(config.getEndpointDiscovery())) {
             throw new OpenApiClientException("openapi基础路径未配置");
         }
-        if (StrUtil.isBlank(config.getSelfPrivateKey())) {
-            throw new OpenApiClientException("本系统私钥未配置");
-        }
-        if (StrUtil.isBlank(config.getRemotePublicKey())) {
-            throw new OpenApiClientException("远程系统的公钥未配置");
+        if (config.getCryModeEnum() == CryModeEnum.HMAC) {
+            //HMAC模式下不进行非对称运算，无需配置公私钥
+            if (StrUtil.isBlank(config.getHmacSecret())) {
+                throw new OpenApiClientException("HMAC共享密钥未配置");
+            }
+        } else {
+            if (StrUtil.isBlank(config.getSelfPrivateKey())) {
+                throw new OpenApiClientException("本系统私钥未配置");
+            }
+            if (StrUtil.isBlank(config.getRemotePublicKey())) {
+                throw new OpenApiClientException("远程系统的公钥未配置");
+            }
         }
         if (StrUtil.isBlank(config.getCallerId())) {
             throw new OpenApiClientException("调用者ID未配置");
         }
     }
 
+    private OpenApiTransport getTransport() {
+        if (StrUtil.isNotBlank(config.getCustomTransport())) {
+            try {
+                return context.getBean(config.getCustomTransport(), OpenApiTransport.class);
+            } catch (Exception ex) {
+                throw new OpenApiClientException("找不到自定义的OpenApiTransport", ex);
+            }
+        }
+        if (config.getTransportType() == TransportType.POOLED) {
+            return PooledHttpTransport.getShared(config.getPoolMaxTotal(), config.getPoolMaxPerRoute(),
+                    config.getPoolIdleTimeout(), config.getPoolKeepAliveTime(), config.getPoolSocketBufferSize());
+        }
+        if (config.getTransportType() == TransportType.ASYNC) {
+            return AsyncHttpTransport.getShared(config.getPoolMaxTotal(), config.getPoolMaxPerRoute(),
+                    config.getPoolIdleTimeout(), config.getPoolKeepAliveTime(), config.getPoolSocketBufferSize(), config.getPoolIoThreads());
+        }
+        return HutoolTransport.INSTANCE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private LoadBalancer getLoadBalancer() {
+        long ejectTime = TimeUnit.SECONDS.toMillis(config.getOutlierEjectTime());
+        long maxEjectTime = TimeUnit.SECONDS.toMillis(config.getOutlierMaxEjectTime());
+        if (StrUtil.isNotBlank(config.getEndpointDiscovery())) {
+            Supplier<List<String>> discovery;
+            try {
+                discovery = context.getBean(config.getEndpointDiscovery(), Supplier.class);
+            } catch (Exception ex) {
+                throw new OpenApiClientException("找不到openapi服务节点的服务发现", ex);
+            }
+            return LoadBalancer.getShared(config.getEndpointDiscovery(), discovery,
+                    TimeUnit.SECONDS.toMillis(config.getDiscoveryRefreshInterval()),
+                    config.getOutlierFailureThreshold(), ejectTime, maxEjectTime);
+        }
+        if (CollUtil.isNotEmpty(config.getBaseUrls())) {
+            return LoadBalancer.getShared(config.getBaseUrls(), config.getOutlierFailureThreshold(), ejectTime, maxEjectTime);
+        }
+        return null;
+    }
+
+    private GuardOptions getGuardOptions() {
+        if (!config.isLimiterEnabled() && !config.isBreakerEnabled()) {
+            return null;
+        }
+        GuardOptions options = new GuardOptions();
+        options.setLimiterEnabled(config.isLimiterEnabled());
+        options.setInitialLimit(config.getLimiterInitialLimit());
+        options.setMaxLimit(config.getLimiterMaxLimit());
+        options.setBreakerEnabled(config.isBreakerEnabled());
+        options.setFailureRateThreshold(config.getBreakerFailureRateThreshold());
+        options.setMinimumCalls(config.getBreakerMinimumCalls());
+        options.setSlidingWindowSize(config.getBreakerSlidingWindowSize());
+        options.setOpenTime(config.getBreakerOpenTime());
+        options.setHalfOpenCalls(config.getBreakerHalfOpenCalls());
+        return options;
+    }
+
+    private AdaptiveTimeoutOptions getAdaptiveTimeoutOptions() {
+        AdaptiveTimeoutOptions options = new AdaptiveTimeoutOptions();
+        options.setPercentile(config.getAdaptiveTimeoutPercentile());
+        options.setMultiplier(config.getAdaptiveTimeoutMultiplier());
+        options.setMinTimeout(config.getAdaptiveTimeoutMin());
+        options.setMaxTimeout(config.getAdaptiveTimeoutMax());
+        return options;
+    }
+
+    private ChunkOptions getChunkOptions() {
+        ChunkOptions options = new ChunkOptions();
+        options.setChunkSize(config.getChunkSize());
+        options.setParallelism(config.getChunkParallelism());
+        options.setMaxRetries(config.getChunkMaxRetries());
+        return options;
+    }
+
+    private Executor getAsyncExecutor(String executorBeanName) {
+        if (StrUtil.isBlank(executorBeanName)) {
+            return null;
+        }
+        try {
+            return context.getBean(executorBeanName, Executor.class);
+        } catch (Exception ex) {
+            throw new OpenApiClientException("找不到异步调用的线程池", ex);
+        }
+    }
+
     private AsymmetricCryHandler getAsymmetricCryHandler(String handlerBeanName) {
         if (StrUtil.isBlank(handlerBeanName)) {
             return null;
@@ -1,23 +1,40 @@
 package openapi.client.sdk.proxy;
 
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.core.util.TypeUtil;
 import lombok.extern.slf4j.Slf4j;
 import openapi.client.sdk.OpenApiClient;
 import openapi.client.sdk.OpenApiClientBuilder;
 import openapi.client.sdk.config.OpenApiClientConfig;
 import openapi.client.sdk.annotation.OpenApiMethod;
 import openapi.client.sdk.annotation.OpenApiRef;
+import openapi.client.sdk.balance.LoadBalancer;
+import openapi.client.sdk.limit.GuardOptions;
+import openapi.client.sdk.timeout.AdaptiveTimeoutOptions;
+import openapi.client.sdk.cache.ResponseCache;
+import openapi.client.sdk.hedge.HedgeBudget;
+import openapi.client.sdk.hedge.HedgePolicy;
+import openapi.client.sdk.transport.OpenApiTransport;
 import openapi.sdk.common.enums.CryModeEnum;
 import openapi.sdk.common.exception.OpenApiClientException;
 import openapi.sdk.common.model.Binary;
+import openapi.sdk.common.model.BinarySink;
+import openapi.sdk.common.model.FileBinary;
 import openapi.sdk.common.model.OutParams;
+import openapi.sdk.common.model.StreamBinary;
 import openapi.sdk.common.util.StrObjectConvert;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * OpenApiRef代理对象调用处理器
@@ -38,20 +55,67 @@ public class OpenApiRefProxyInvocationHandler implements InvocationHandler {
      */
     private final OpenApiClientConfig config;
 
+    /**
+     * HTTP传输层（与默认客户端共用）
+     */
+    private final OpenApiTransport transport;
+
+    /**
+     * 异步调用的线程池（与默认客户端共用）
+     */
+    private final Executor asyncExecutor;
+
+    /**
+     * 负载均衡器（与默认客户端共用，共享节点的选择状态）
+     */
+    private final LoadBalancer loadBalancer;
+
+    /**
+     * 调用保护（自适应并发限制及熔断）的配置（与默认客户端共用，同一远程方法共享限制及熔断状态）
+     */
+    private final GuardOptions guardOptions;
+
+    /**
+     * 自适应超时的配置（启用自适应超时的方法使用）
+     */
+    private final AdaptiveTimeoutOptions adaptiveTimeoutOptions;
+
     /**
      * 方法级配置对应的客户端缓存，避免每次调用重复构建客户端。
      */
     private final Map<Method, OpenApiClient> methodClientCache = new ConcurrentHashMap<>();
 
+    /**
+     * 方法对应的合并调用实例（启用coalesce的方法使用）
+     */
+    private final Map<Method, SingleFlight> singleFlights = new ConcurrentHashMap<>();
+
+    /**
+     * 方法对应的响应缓存（启用cacheTtl的方法使用）
+     */
+    private final Map<Method, ResponseCache> responseCaches = new ConcurrentHashMap<>();
+
     /**
      * 构造函数
      *
-     * @param openApiClient openapi客户端
-     * @param config        开放api客户端配置
+     * @param openApiClient          openapi客户端
+     * @param config                 开放api客户端配置
+     * @param transport              HTTP传输层
+     * @param asyncExecutor          异步调用的线程池
+     * @param loadBalancer           负载均衡器
+     * @param guardOptions           调用保护的配置，为null时不启用
+     * @param adaptiveTimeoutOptions 自适应超时的配置
      */
-    public OpenApiRefProxyInvocationHandler(OpenApiClient openApiClient, OpenApiClientConfig config) {
+    public OpenApiRefProxyInvocationHandler(OpenApiClient openApiClient, OpenApiClientConfig config,
+                                            OpenApiTransport transport, Executor asyncExecutor, LoadBalancer loadBalancer,
+                                            GuardOptions guardOptions, AdaptiveTimeoutOptions adaptiveTimeoutOptions) {
         this.openApiClient = openApiClient;
         this.config = config;
+        this.transport = transport;
+        this.asyncExecutor = asyncExecutor;
+        this.loadBalancer = loadBalancer;
+        this.guardOptions = guardOptions;
+        this.adaptiveTimeoutOptions = adaptiveTimeoutOptions;
     }
 
     /**
@@ -81,21 +145,50 @@ public class OpenApiRefProxyInvocationHandler implements InvocationHandler {
                 if (configDif) {
                     apiClient = methodClientCache.computeIfAbsent(method, key -> buildMethodClient(key, openApiMethod));
                 }
-                //调用远程openapi
-                OutParams outParams = apiClient.callOpenApi(methodName, args);
-                Class<?> returnClass = method.getReturnType();
-                if (OutParams.isSuccess(outParams)) {
-                    Type returnType = method.getGenericReturnType();
-                    Object obj = StrObjectConvert.strToObj(outParams.getData(), returnType);
-                    if (Binary.class.isAssignableFrom(returnClass)) {
-                        //二进制类型则填充二进制数据
-                        Binary binary = (Binary) obj;
-                        binary.setData(outParams.getBinaryData());
+                OpenApiClient client = apiClient;
+                //返回流式文件的方法未指定接收目标时，返回值写入临时文件
+                Type resultType = isAsync(method.getReturnType()) ? getAsyncResultType(method) : method.getGenericReturnType();
+                BinarySink sink = getBinarySink(args);
+                if (sink == null && isStreamBinary(resultType)) {
+                    sink = BinarySink.tempFile();
+                    args = args == null ? new Object[]{sink} : appendArg(args, sink);
+                }
+                BinarySink binarySink = sink;
+                Object[] callArgs = args;
+                //启用合并或缓存时，按序列化后的参数确定调用的key（含二进制参数时为null，不合并、不缓存）
+                boolean cacheEnabled = openApiMethod.cacheTtl() > 0;
+                String callKey = openApiMethod.coalesce() || cacheEnabled ? CallKey.of(callArgs) : null;
+                ResponseCache responseCache = cacheEnabled && callKey != null ? getResponseCache(method, openApiMethod, methodName) : null;
+                Function<Object[], OutParams> loader = loadArgs -> client.callOpenApi(methodName, loadArgs);
+                boolean coalesce = openApiMethod.coalesce() && callKey != null;
+                if (isAsync(method.getReturnType())) {
+                    //返回CompletableFuture的方法异步调用远程openapi，返回值在异步线程池上转换
+                    OutParams cached = responseCache == null ? null : responseCache.getIfPresent(callKey);
+                    if (cached != null) {
+                        return CompletableFuture.completedFuture(toResult(cached, resultType, null));
+                    }
+                    //启用合并时，参数相同的并发调用共享一次远程调用的出参，各自转换出独立的返回值
+                    CompletableFuture<OutParams> future = coalesce
+                            ? getSingleFlight(method).executeAsync(callKey, () -> client.callOpenApiAsync(methodName, callArgs))
+                            : client.callOpenApiAsync(methodName, callArgs);
+                    if (responseCache != null) {
+                        future = future.thenApply(outParams -> {
+                            responseCache.put(callKey, callArgs, loader, outParams);
+                            return outParams;
+                        });
                     }
-                    return obj;
+                    return future.thenApply(outParams -> toResult(outParams, resultType, binarySink));
+                }
+                //调用远程openapi（缓存未命中时，同一key的并发调用只加载一次）
+                OutParams outParams;
+                if (responseCache != null) {
+                    outParams = responseCache.get(callKey, callArgs, loader);
+                } else if (coalesce) {
+                    outParams = getSingleFlight(method).execute(callKey, () -> client.callOpenApi(methodName, callArgs));
                 } else {
-                    throw new OpenApiClientException("返回失败：" + outParams.getMessage());
+                    outParams = client.callOpenApi(methodName, callArgs);
                 }
+                return toResult(outParams, resultType, binarySink);
             } else {
                 log.warn("{}非OpenApiMethod,不进行代理", method.getName());
             }
@@ -103,6 +196,170 @@ public class OpenApiRefProxyInvocationHandler implements InvocationHandler {
         return null;
     }
 
+    /**
+     * 获取方法的响应缓存（按接口名#方法名登记，同名缓存的配置必须一致）
+     *
+     * @param method        方法
+     * @param openApiMethod API方法注解
+     * @param methodName    远程方法名
+     * @return 响应缓存
+     */
+    private ResponseCache getResponseCache(Method method, OpenApiMethod openApiMethod, String methodName) {
+        return responseCaches.computeIfAbsent(method, key -> {
+            Type resultType = isAsync(key.getReturnType()) ? getAsyncResultType(key) : key.getGenericReturnType();
+            Class<?> resultClass = TypeUtil.getClass(resultType);
+            if (resultClass != null && Binary.class.isAssignableFrom(resultClass)) {
+                throw new OpenApiClientException("二进制类型的返回值不支持响应缓存：" + key.getName());
+            }
+            String api = key.getDeclaringClass().getAnnotation(OpenApiRef.class).value();
+            try {
+                return ResponseCache.register(api, methodName, openApiMethod.cacheTtl(), openApiMethod.cacheMaxEntries(),
+                        openApiMethod.cacheMaxBytes(), openApiMethod.cacheRefreshAfter(), asyncExecutor);
+            } catch (NoClassDefFoundError ex) {
+                throw new OpenApiClientException("启用响应缓存需引入caffeine依赖", ex);
+            }
+        });
+    }
+
+    /**
+     * 获取方法的合并调用实例
+     *
+     * @param method 方法
+     * @return 合并调用实例
+     */
+    private SingleFlight getSingleFlight(Method method) {
+        return singleFlights.computeIfAbsent(method, key -> SingleFlight.get(getQualifiedName(key)));
+    }
+
+    /**
+     * 获取方法的对冲请求策略
+     *
+     * @param method        方法
+     * @param openApiMethod API方法注解
+     * @return 对冲请求策略
+     */
+    private HedgePolicy getHedgePolicy(Method method, OpenApiMethod openApiMethod) {
+        return HedgePolicy.getOrCreate(getQualifiedName(method), openApiMethod.hedgeDelay(), config.getHedgePercentile(),
+                HedgeBudget.getShared(config.getHedgeBudgetPercent()));
+    }
+
+    /**
+     * 获取方法的全名：接口名#方法名(参数类型)
+     *
+     * @param method 方法
+     * @return 方法的全名
+     */
+    private String getQualifiedName(Method method) {
+        StringBuilder name = new StringBuilder(method.getDeclaringClass().getName()).append('#').append(method.getName()).append('(');
+        Class<?>[] paramTypes = method.getParameterTypes();
+        for (int i = 0; i < paramTypes.length; i++) {
+            name.append(i > 0 ? "," : "").append(paramTypes[i].getSimpleName());
+        }
+        return name.append(')').toString();
+    }
+
+    /**
+     * 将出参转换为方法的返回值
+     *
+     * @param outParams  出参
+     * @param returnType 返回值类型
+     * @param sink       二进制返回值的接收目标，为null时二进制数据在出参中
+     * @return 返回值
+     */
+    private Object toResult(OutParams outParams, Type returnType, BinarySink sink) {
+        if (OutParams.isSuccess(outParams)) {
+            if (sink != null && isStreamBinary(returnType)) {
+                //二进制数据已写入文件，返回基于该文件的流式文件
+                FileBinary fileBinary = (FileBinary) StrObjectConvert.strToObj(outParams.getData(), FileBinary.class);
+                if (sink.getPath() == null) {
+                    throw new OpenApiClientException("接收目标为输出流时返回值不能为StreamBinary");
+                }
+                StreamBinary binary = StreamBinary.of(sink.getPath());
+                binary.setFileName(fileBinary.getFileName());
+                binary.setFileType(fileBinary.getFileType());
+                return binary;
+            }
+            Object obj = StrObjectConvert.strToObj(outParams.getData(), returnType);
+            Class<?> returnClass = TypeUtil.getClass(returnType);
+            if (returnClass != null && Binary.class.isAssignableFrom(returnClass) && sink == null) {
+                //二进制类型则填充二进制数据（已写入接收目标的只保留长度等信息）
+                Binary binary = (Binary) obj;
+                binary.setData(outParams.getBinaryData());
+            }
+            return obj;
+        } else {
+            throw new OpenApiClientException("返回失败：" + outParams.getMessage());
+        }
+    }
+
+    /**
+     * 获取方法参数中二进制返回值的接收目标
+     *
+     * @param args 方法参数
+     * @return 接收目标，不存在时返回null
+     */
+    private BinarySink getBinarySink(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof BinarySink) {
+                    return (BinarySink) arg;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在方法参数末尾追加参数
+     *
+     * @param args 方法参数
+     * @param arg  追加的参数
+     * @return 新的方法参数
+     */
+    private Object[] appendArg(Object[] args, Object arg) {
+        Object[] newArgs = Arrays.copyOf(args, args.length + 1);
+        newArgs[args.length] = arg;
+        return newArgs;
+    }
+
+    /**
+     * 判断返回值是否为流式文件
+     *
+     * @param resultType 返回值类型
+     * @return 是否为流式文件
+     */
+    private boolean isStreamBinary(Type resultType) {
+        Class<?> resultClass = TypeUtil.getClass(resultType);
+        return resultClass != null && StreamBinary.class.isAssignableFrom(resultClass);
+    }
+
+    /**
+     * 判断是否为异步方法（返回值为CompletableFuture、CompletionStage或Future）
+     *
+     * @param returnClass 返回值类型
+     * @return 是否为异步方法
+     */
+    private boolean isAsync(Class<?> returnClass) {
+        return returnClass != Object.class && returnClass.isAssignableFrom(CompletableFuture.class);
+    }
+
+    /**
+     * 获取异步方法的结果类型，例如CompletableFuture&lt;User&gt;的User
+     *
+     * @param method 异步方法
+     * @return 结果类型，未声明泛型参数时为String
+     */
+    private Type getAsyncResultType(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (returnType instanceof ParameterizedType) {
+            Type resultType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+            if (TypeUtil.getClass(resultType) != null) {
+                return resultType;
+            }
+        }
+        return String.class;
+    }
+
     private OpenApiClient buildMethodClient(Method method, OpenApiMethod openApiMethod) {
         String api = method.getDeclaringClass().getAnnotation(OpenApiRef.class).value();
         return new OpenApiClientBuilder(config.getBaseUrl(), config.getSelfPrivateKey(), config.getRemotePublicKey(), config.getCallerId(), api)
@@ -110,11 +367,26 @@ public class OpenApiRefProxyInvocationHandler implements InvocationHandler {
                 .retDecrypt(this.retDecrypt(openApiMethod))
                 .cryModeEnum(this.getCryModeEnum(openApiMethod))
                 .symmetricCry(config.getSymmetricCryAlgo())
-                .httpConnectionTimeout(this.httpConnectionTimeout(openApiMethod))
-                .httpReadTimeout(this.httpReadTimeout(openApiMethod))
+                .httpConnectionTimeoutMillis(this.httpConnectionTimeout(openApiMethod))
+                .httpReadTimeoutMillis(this.httpReadTimeout(openApiMethod))
                 .httpProxyHost(config.getHttpProxyHost())
                 .httpProxyPort(config.getHttpProxyPort())
                 .enableCompress(this.enableCompress(openApiMethod))
+                .symmetricKeyReuseTime(config.getSymmetricKeyReuseTime())
+                .symmetricKeyReuseCount(config.getSymmetricKeyReuseCount())
+                .symmetricKeyPoolSize(config.getSymmetricKeyPoolSize())
+                .binaryFormat(config.getBinaryFormat())
+                .hmacSecret(config.getHmacSecret())
+                .hmacAlgo(config.getHmacAlgo())
+                .transport(transport)
+                .asyncExecutor(asyncExecutor)
+                .ioThreads(config.getIoThreads())
+                .ioQueueSize(config.getIoQueueSize())
+                .loadBalancer(loadBalancer)
+                .guardOptions(guardOptions)
+                .adaptiveTimeoutOptions(this.adaptiveTimeout(openApiMethod) ? adaptiveTimeoutOptions : null)
+                .chunkOptions(openApiClient.getChunkOptions())
+                .hedgePolicy(openApiMethod.idempotent() ? getHedgePolicy(method, openApiMethod) : null)
                 .build();
     }
 
@@ -133,19 +405,24 @@ public class OpenApiRefProxyInvocationHandler implements InvocationHandler {
         if (cryModeDif) {
             return true;
         }
-        boolean httpConnectionTimeoutDif = openApiMethod.httpConnectionTimeout() != -1 && openApiMethod.httpConnectionTimeout() != config.getHttpConnectionTimeout();
+        boolean httpConnectionTimeoutDif = this.httpConnectionTimeout(openApiMethod) != this.defaultTimeout(config.getHttpConnectionTimeoutMillis(), config.getHttpConnectionTimeout());
         if (httpConnectionTimeoutDif) {
             return true;
         }
-        boolean httpReadTimeoutDif = openApiMethod.httpReadTimeout() != -1 && openApiMethod.httpReadTimeout() != config.getHttpReadTimeout();
+        boolean httpReadTimeoutDif = this.httpReadTimeout(openApiMethod) != this.defaultTimeout(config.getHttpReadTimeoutMillis(), config.getHttpReadTimeout());
         if (httpReadTimeoutDif) {
             return true;
         }
+        boolean adaptiveTimeoutDif = this.adaptiveTimeout(openApiMethod) != config.isAdaptiveTimeoutEnabled();
+        if (adaptiveTimeoutDif) {
+            return true;
+        }
         boolean enableCompressDif = StrUtil.isNotBlank(openApiMethod.enableCompress()) && Boolean.parseBoolean(openApiMethod.enableCompress()) != config.isEnableCompress();
         if (enableCompressDif) {
             return true;
         }
-        return false;
+        //幂等方法使用带对冲请求策略的客户端
+        return openApiMethod.idempotent();
     }
 
     /**
@@ -180,12 +457,14 @@ public class OpenApiRefProxyInvocationHandler implements InvocationHandler {
      * 获取HTTP连接超时时间
      *
      * @param openApiMethod API方法注解
-     * @return HTTP连接超时时间
+     * @return HTTP连接超时时间（单位毫秒）
      */
-    private int httpConnectionTimeout(OpenApiMethod openApiMethod) {
-        int timeout = config.getHttpConnectionTimeout();
-        if (openApiMethod.httpConnectionTimeout() != -1) {
-            timeout = openApiMethod.httpConnectionTimeout();
+    private long httpConnectionTimeout(OpenApiMethod openApiMethod) {
+        long timeout = this.defaultTimeout(config.getHttpConnectionTimeoutMillis(), config.getHttpConnectionTimeout());
+        if (openApiMethod.httpConnectionTimeoutMillis() != OpenApiMethod.INHERIT_TIMEOUT) {
+            timeout = openApiMethod.httpConnectionTimeoutMillis();
+        } else if (openApiMethod.httpConnectionTimeout() != OpenApiMethod.INHERIT_TIMEOUT) {
+            timeout = TimeUnit.SECONDS.toMillis(openApiMethod.httpConnectionTimeout());
         }
         return timeout;
     }
@@ -194,16 +473,43 @@ public class OpenApiRefProxyInvocationHandler implements InvocationHandler {
      * 获取HTTP数据传输超时时间
      *
      * @param openApiMethod API方法注解
-     * @return HTTP数据传输超时时间
+     * @return HTTP数据传输超时时间（单位毫秒）
      */
-    private int httpReadTimeout(OpenApiMethod openApiMethod) {
-        int timeout = config.getHttpReadTimeout();
-        if (openApiMethod.httpReadTimeout() != -1) {
-            timeout = openApiMethod.httpReadTimeout();
+    private long httpReadTimeout(OpenApiMethod openApiMethod) {
+        long timeout = this.defaultTimeout(config.getHttpReadTimeoutMillis(), config.getHttpReadTimeout());
+        if (openApiMethod.httpReadTimeoutMillis() != OpenApiMethod.INHERIT_TIMEOUT) {
+            timeout = openApiMethod.httpReadTimeoutMillis();
+        } else if (openApiMethod.httpReadTimeout() != OpenApiMethod.INHERIT_TIMEOUT) {
+            timeout = TimeUnit.SECONDS.toMillis(openApiMethod.httpReadTimeout());
         }
         return timeout;
     }
 
+    /**
+     * 获取全局配置的超时时间
+     *
+     * @param timeoutMillis 毫秒级的超时时间，大于0时优先
+     * @param timeout       秒级的超时时间
+     * @return 超时时间（单位毫秒）
+     */
+    private long defaultTimeout(long timeoutMillis, int timeout) {
+        return timeoutMillis > 0 ? timeoutMillis : TimeUnit.SECONDS.toMillis(timeout);
+    }
+
+    /**
+     * 获取是否启用自适应超时
+     *
+     * @param openApiMethod API方法注解
+     * @return 是否启用自适应超时
+     */
+    private boolean adaptiveTimeout(OpenApiMethod openApiMethod) {
+        boolean adaptiveTimeout = config.isAdaptiveTimeoutEnabled();
+        if (StrUtil.isNotBlank(openApiMethod.adaptiveTimeout())) {
+            adaptiveTimeout = parseBoolean(openApiMethod.adaptiveTimeout(), "adaptiveTimeout");
+        }
+        return adaptiveTimeout;
+    }
+
     /**
      * 获取HTTP传输的数据是否启用压缩
      *
@@ -233,6 +539,27 @@ public class OpenApiRefProxyInvocationHandler implements InvocationHandler {
                 && openApiMethod.httpReadTimeout() <= 0) {
             throw new OpenApiClientException("httpReadTimeout必须大于0秒");
         }
+        if (openApiMethod.httpConnectionTimeoutMillis() != OpenApiMethod.INHERIT_TIMEOUT
+                && openApiMethod.httpConnectionTimeoutMillis() <= 0) {
+            throw new OpenApiClientException("httpConnectionTimeoutMillis必须大于0毫秒");
+        }
+        if (openApiMethod.httpReadTimeoutMillis() != OpenApiMethod.INHERIT_TIMEOUT
+                && openApiMethod.httpReadTimeoutMillis() <= 0) {
+            throw new OpenApiClientException("httpReadTimeoutMillis必须大于0毫秒");
+        }
+        if (StrUtil.isNotBlank(openApiMethod.adaptiveTimeout())) {
+            parseBoolean(openApiMethod.adaptiveTimeout(), "adaptiveTimeout");
+        }
+        if (openApiMethod.cacheTtl() < 0 || openApiMethod.cacheRefreshAfter() < 0
+                || (openApiMethod.cacheRefreshAfter() > 0 && openApiMethod.cacheRefreshAfter() >= openApiMethod.cacheTtl())) {
+            throw new OpenApiClientException("cacheTtl不能小于0，cacheRefreshAfter必须小于cacheTtl");
+        }
+        if (openApiMethod.cacheMaxEntries() <= 0 || openApiMethod.cacheMaxBytes() < 0) {
+            throw new OpenApiClientException("cacheMaxEntries必须大于0，cacheMaxBytes不能小于0");
+        }
+        if (openApiMethod.hedgeDelay() < 0) {
+            throw new OpenApiClientException("hedgeDelay不能小于0");
+        }
     }
 
     private boolean parseBoolean(String value, String propertyName) {
@@ -0,0 +1,191 @@
+package openapi.client.sdk.proxy;
+
+import openapi.sdk.common.exception.OpenApiClientException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 合并并发的相同调用（single-flight）
+ * <p>
+ * 同一key的调用在途时，后到的调用不再发起远程请求，而是等待在途调用完成并共享其结果（包括异常）；
+ * 在途调用完成后key即被移除，之后的调用重新发起请求，因此不会返回过期的结果。
+ * 各方法的实例可通过{@link #getAll}获取，用于查看合并次数等指标
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class SingleFlight {
+
+    /**
+     * 所有的实例，key: 名称（接口名#方法名(参数类型)）
+     */
+    private static final Map<String, SingleFlight> ALL = new ConcurrentHashMap<>();
+
+    /**
+     * 在途的调用，key: 调用的key（序列化后的参数）
+     */
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    /**
+     * 实际发起的调用次数
+     */
+    private final LongAdder executedCount = new LongAdder();
+
+    /**
+     * 被合并（未发起远程请求）的调用次数
+     */
+    private final LongAdder coalescedCount = new LongAdder();
+
+    private SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 获取指定名称的实例（不存在则创建）
+     *
+     * @param name 名称
+     * @return 实例
+     */
+    public static SingleFlight get(String name) {
+        return ALL.computeIfAbsent(name, SingleFlight::new);
+    }
+
+    /**
+     * 获取所有的实例
+     *
+     * @return key: 名称，value: 实例
+     */
+    public static Map<String, SingleFlight> getAll() {
+        return Collections.unmodifiableMap(ALL);
+    }
+
+    /**
+     * 执行调用，相同key的调用在途时等待并共享其结果
+     *
+     * @param key  调用的key
+     * @param call 调用
+     * @param <T>  返回值类型
+     * @return 返回值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCount.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException ex) {
+                throw unwrap(ex);
+            }
+        }
+        executedCount.increment();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(ex);
+            throw ex;
+        }
+        inFlight.remove(key, future);
+        future.complete(result);
+        return result;
+    }
+
+    /**
+     * 异步执行调用，相同key的调用在途时共享其结果
+     *
+     * @param key  调用的key
+     * @param call 异步调用
+     * @param <T>  返回值类型
+     * @return 返回值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String key, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCount.increment();
+            //返回新的future，避免某个调用方取消时影响其它调用方
+            return (CompletableFuture<T>) existing.thenApply(result -> result);
+        }
+        executedCount.increment();
+        try {
+            call.get().whenComplete((result, ex) -> {
+                inFlight.remove(key, future);
+                if (ex != null) {
+                    future.completeExceptionally(ex);
+                } else {
+                    future.complete(result);
+                }
+            });
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(ex);
+            throw ex;
+        }
+        return (CompletableFuture<T>) future.thenApply(result -> result);
+    }
+
+    private RuntimeException unwrap(CompletionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new OpenApiClientException("调用异常", cause);
+    }
+
+    /**
+     * 获取名称
+     *
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取实际发起的调用次数
+     *
+     * @return 实际发起的调用次数
+     */
+    public long getExecutedCount() {
+        return executedCount.sum();
+    }
+
+    /**
+     * 获取被合并（共享在途调用结果）的调用次数
+     *
+     * @return 被合并的调用次数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * 获取当前在途的调用数
+     *
+     * @return 在途的调用数
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SingleFlight{name=%s, executed=%d, coalesced=%d, inFlight=%d}",
+                name, getExecutedCount(), getCoalescedCount(), getInFlightCount());
+    }
+}
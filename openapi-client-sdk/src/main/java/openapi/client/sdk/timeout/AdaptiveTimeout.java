@@ -0,0 +1,192 @@
+package openapi.client.sdk.timeout;
+
+import openapi.client.sdk.constant.ClientConstant;
+import openapi.sdk.common.exception.OpenApiClientException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 远程方法的自适应超时
+ * <p>
+ * 用流式直方图统计远程方法最近的响应时间，以百分位数×倍数作为HTTP数据传输超时时间，并限制在[下限, 上限]之间；
+ * 样本不足时使用上限。超时的请求按超时时间记入直方图（实际响应时间不低于该值），连续超时会使超时时间逐步放宽到上限。
+ * 各方法当前生效的超时时间可通过{@link #getAll}查看
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class AdaptiveTimeout {
+
+    /**
+     * 开始按百分位数计算超时时间所需的最少样本数
+     */
+    private static final int MIN_SAMPLES = 32;
+
+    /**
+     * 每记录多少个样本重新计算一次超时时间
+     */
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    /**
+     * 所有的自适应超时，key: 接口名#方法名
+     */
+    private static final Map<String, AdaptiveTimeout> ALL = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private final double percentile;
+
+    private final double multiplier;
+
+    private final long minTimeout;
+
+    private final long maxTimeout;
+
+    private final LatencyHistogram histogram = new LatencyHistogram(TimeUnit.SECONDS.toMillis(ClientConstant.ADAPTIVE_TIMEOUT_WINDOW));
+
+    private final LongAdder sampleCount = new LongAdder();
+
+    private final LongAdder timeoutCount = new LongAdder();
+
+    /**
+     * 按百分位数计算的超时时间（单位毫秒，未限制上下限），0表示样本不足
+     */
+    private volatile long computedTimeout;
+
+    /**
+     * 最近一次生效的超时时间（单位毫秒）
+     */
+    private volatile long readTimeout;
+
+    /**
+     * 构造器
+     *
+     * @param name    名称
+     * @param options 配置
+     */
+    public AdaptiveTimeout(String name, AdaptiveTimeoutOptions options) {
+        if (options.getPercentile() <= 0 || options.getPercentile() >= 100 || options.getMultiplier() < 1) {
+            throw new OpenApiClientException("自适应超时的百分位数必须在0到100之间，倍数不能小于1");
+        }
+        if (options.getMinTimeout() <= 0 || (options.getMaxTimeout() > 0 && options.getMaxTimeout() < options.getMinTimeout())) {
+            throw new OpenApiClientException("自适应超时的下限必须大于0且不能大于上限");
+        }
+        this.name = name;
+        this.percentile = options.getPercentile();
+        this.multiplier = options.getMultiplier();
+        this.minTimeout = options.getMinTimeout();
+        this.maxTimeout = options.getMaxTimeout();
+    }
+
+    /**
+     * 获取远程方法的自适应超时，不存在则创建（同一远程方法使用第一次创建时的配置）
+     *
+     * @param api     接口名
+     * @param method  方法名
+     * @param options 配置
+     * @return 自适应超时
+     */
+    public static AdaptiveTimeout getOrCreate(String api, String method, AdaptiveTimeoutOptions options) {
+        return ALL.computeIfAbsent(api + "#" + method, name -> new AdaptiveTimeout(name, options));
+    }
+
+    /**
+     * 获取所有的自适应超时
+     *
+     * @return key: 接口名#方法名，value: 自适应超时
+     */
+    public static Map<String, AdaptiveTimeout> getAll() {
+        return Collections.unmodifiableMap(ALL);
+    }
+
+    /**
+     * 获取本次请求的数据传输超时时间
+     *
+     * @param staticTimeout 静态配置的数据传输超时时间（单位毫秒），未配置上限时作为上限
+     * @return 超时时间（单位毫秒）
+     */
+    public long getReadTimeout(long staticTimeout) {
+        long upper = maxTimeout > 0 ? maxTimeout : Math.max(staticTimeout, minTimeout);
+        long computed = computedTimeout;
+        long timeout = computed == 0 ? upper : Math.max(minTimeout, Math.min(upper, computed));
+        readTimeout = timeout;
+        return timeout;
+    }
+
+    /**
+     * 记录一次请求的响应时间
+     *
+     * @param latencyNanos 响应时间（纳秒）
+     * @param success      请求是否正常完成
+     * @param timeout      本次请求的数据传输超时时间（单位毫秒）
+     */
+    public void record(long latencyNanos, boolean success, long timeout) {
+        if (!success) {
+            //快速失败（如连接被拒绝）的响应时间不代表服务端处理耗时，只记录超时的请求
+            if (latencyNanos < TimeUnit.MILLISECONDS.toNanos(timeout)) {
+                return;
+            }
+            timeoutCount.increment();
+        }
+        histogram.record(latencyNanos);
+        sampleCount.increment();
+        if (sampleCount.sum() % RECOMPUTE_INTERVAL == 0 || computedTimeout == 0) {
+            recompute();
+        }
+    }
+
+    private void recompute() {
+        if (histogram.getCount() < MIN_SAMPLES) {
+            computedTimeout = 0;
+            return;
+        }
+        double latencyMillis = histogram.getPercentile(percentile) / 1e6;
+        computedTimeout = Math.max(1, (long) Math.ceil(latencyMillis * multiplier));
+    }
+
+    /**
+     * 获取最近一次生效的数据传输超时时间
+     *
+     * @return 超时时间（单位毫秒），尚未调用时返回0
+     */
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * 获取最近窗口内响应时间的百分位数
+     *
+     * @return 响应时间（单位毫秒）
+     */
+    public double getLatencyPercentile() {
+        return histogram.getPercentile(percentile) / 1e6;
+    }
+
+    /**
+     * 获取记录的样本数
+     *
+     * @return 样本数
+     */
+    public long getSampleCount() {
+        return sampleCount.sum();
+    }
+
+    /**
+     * 获取按超时记录的请求数
+     *
+     * @return 超时的请求数
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdaptiveTimeout{name=%s, readTimeout=%dms, p%s=%.1fms, samples=%d, timeouts=%d}",
+                name, getReadTimeout(), percentile, getLatencyPercentile(), getSampleCount(), getTimeoutCount());
+    }
+}
@@ -0,0 +1,33 @@
+package openapi.client.sdk.timeout;
+
+import lombok.Data;
+import openapi.client.sdk.constant.ClientConstant;
+
+/**
+ * 自适应超时的配置
+ *
+ * @author wanghuidong
+ */
+@Data
+public class AdaptiveTimeoutOptions {
+
+    /**
+     * 取响应时间的该百分位数计算超时时间
+     */
+    private double percentile = ClientConstant.ADAPTIVE_TIMEOUT_PERCENTILE;
+
+    /**
+     * 超时时间 = 响应时间百分位数 × 该倍数
+     */
+    private double multiplier = ClientConstant.ADAPTIVE_TIMEOUT_MULTIPLIER;
+
+    /**
+     * 超时时间的下限（单位毫秒）
+     */
+    private long minTimeout = ClientConstant.ADAPTIVE_TIMEOUT_MIN;
+
+    /**
+     * 超时时间的上限（单位毫秒），0表示以静态配置的数据传输超时时间为上限
+     */
+    private long maxTimeout;
+}
@@ -0,0 +1,154 @@
+package openapi.client.sdk.timeout;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 流式响应时间直方图
+ * <p>
+ * 以微秒为单位按对数分桶（每个2的幂区间再分8个子桶，相对误差不超过12.5%），记录开销为一次原子自增，内存占用固定；
+ * 使用两个时间窗口轮换，百分位数只统计最近一到两个窗口内的样本，使结果能跟随服务端响应时间的变化
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每个2的幂区间的子桶数（2^SUB_BITS）
+     */
+    private static final int SUB_BITS = 3;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private static final int BUCKET_COUNT = 64 * SUB_COUNT;
+
+    private final long windowNanos;
+
+    private final AtomicLongArray[] windows = {new AtomicLongArray(BUCKET_COUNT), new AtomicLongArray(BUCKET_COUNT)};
+
+    private volatile int current;
+
+    private volatile long windowStart = System.nanoTime();
+
+    /**
+     * 构造器
+     *
+     * @param window 时间窗口（单位毫秒）
+     */
+    public LatencyHistogram(long window) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(window);
+    }
+
+    /**
+     * 记录一个响应时间
+     *
+     * @param latencyNanos 响应时间（纳秒）
+     */
+    public void record(long latencyNanos) {
+        long now = System.nanoTime();
+        if (now - windowStart >= windowNanos) {
+            rotate(now);
+        }
+        windows[current].incrementAndGet(index(Math.max(TimeUnit.NANOSECONDS.toMicros(latencyNanos), 0)));
+    }
+
+    /**
+     * 获取最近窗口内的样本数
+     *
+     * @return 样本数
+     */
+    public long getCount() {
+        long count = 0;
+        for (AtomicLongArray window : windows) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                count += window.get(i);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获取最近窗口内响应时间的百分位数
+     *
+     * @param percentile 百分位数（0~100）
+     * @return 响应时间（纳秒，取所在桶的上界），无样本时返回0
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (AtomicLongArray window : windows) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long count = window.get(i);
+                counts[i] += count;
+                total += count;
+            }
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return TimeUnit.MICROSECONDS.toNanos(upperBound(i));
+            }
+        }
+        return TimeUnit.MICROSECONDS.toNanos(upperBound(BUCKET_COUNT - 1));
+    }
+
+    /**
+     * 轮换时间窗口：清空较早的窗口作为当前窗口，超过两个窗口未记录时全部清空
+     *
+     * @param now 当前时间（纳秒）
+     */
+    private synchronized void rotate(long now) {
+        if (now - windowStart < windowNanos) {
+            return;
+        }
+        int next = current ^ 1;
+        clear(windows[next]);
+        if (now - windowStart >= windowNanos * 2) {
+            clear(windows[current]);
+        }
+        current = next;
+        windowStart = now;
+    }
+
+    private static void clear(AtomicLongArray window) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            window.set(i, 0);
+        }
+    }
+
+    /**
+     * 计算响应时间所在的桶
+     *
+     * @param micros 响应时间（微秒）
+     * @return 桶的下标
+     */
+    static int index(long micros) {
+        if (micros < SUB_COUNT) {
+            return (int) micros;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (msb - SUB_BITS)) & (SUB_COUNT - 1);
+        return (msb - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * 计算桶的上界
+     *
+     * @param index 桶的下标
+     * @return 桶内最大的响应时间（微秒）
+     */
+    static long upperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lower = (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,400 @@
+package openapi.client.sdk.transport;
+
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.thread.NamedThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import openapi.sdk.common.exception.OpenApiClientException;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.entity.ContentType;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.client.methods.ZeroCopyConsumer;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于Apache HttpAsyncClient的非阻塞传输层
+ * <p>
+ * 少量IO线程通过NIO复用所有连接，等待响应期间不占用任何线程，适合大量并发的异步调用；
+ * 连接按目标主机池化并保持长连接，后台守护线程定期清理空闲超时及已过期的连接。
+ * 需引入httpasyncclient依赖，同样配置的实例可通过{@link #getShared}在所有客户端间共享。
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Slf4j
+public class AsyncHttpTransport implements OpenApiTransport, Closeable {
+
+    /**
+     * 共享的传输层实例，key: 最大连接数:单路由最大连接数:空闲超时:长连接保持时间:socket缓冲区大小:IO线程数
+     */
+    private static final Map<String, AsyncHttpTransport> SHARED = new ConcurrentHashMap<>();
+
+    /**
+     * 清理空闲连接的后台线程（守护线程，所有实例共用）
+     */
+    private static final ScheduledExecutorService EVICTOR = new ScheduledThreadPoolExecutor(1,
+            new NamedThreadFactory("openapi-async-evictor-", true));
+
+    private final PoolingNHttpClientConnectionManager connectionManager;
+
+    private final CloseableHttpAsyncClient httpClient;
+
+    private final ScheduledFuture<?> evictTask;
+
+    private final int maxTotal;
+
+    private final int maxPerRoute;
+
+    private final long idleTimeout;
+
+    private final long keepAliveTime;
+
+    private final int socketBufferSize;
+
+    private final int ioThreads;
+
+    /**
+     * 构造器
+     *
+     * @param maxTotal         连接池最大连接数
+     * @param maxPerRoute      每个目标主机的最大连接数
+     * @param idleTimeout      空闲连接超时时间（单位秒），超时后被后台线程关闭
+     * @param keepAliveTime    长连接保持时间（单位秒），服务端通过Keep-Alive响应头指定更短时间时以服务端为准
+     * @param socketBufferSize socket收发缓冲区大小（单位字节），0表示使用系统默认值
+     * @param ioThreads        IO线程数，0表示使用CPU核数
+     */
+    public AsyncHttpTransport(int maxTotal, int maxPerRoute, long idleTimeout, long keepAliveTime, int socketBufferSize, int ioThreads) {
+        if (maxTotal <= 0 || maxPerRoute <= 0) {
+            throw new OpenApiClientException("连接池最大连接数必须大于0");
+        }
+        if (idleTimeout <= 0 || keepAliveTime <= 0) {
+            throw new OpenApiClientException("连接空闲超时时间及长连接保持时间必须大于0秒");
+        }
+        if (socketBufferSize < 0 || ioThreads < 0) {
+            throw new OpenApiClientException("socket缓冲区大小及IO线程数不能小于0");
+        }
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = maxPerRoute;
+        this.idleTimeout = idleTimeout;
+        this.keepAliveTime = keepAliveTime;
+        this.socketBufferSize = socketBufferSize;
+        this.ioThreads = ioThreads == 0 ? Runtime.getRuntime().availableProcessors() : ioThreads;
+
+        IOReactorConfig.Builder reactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(this.ioThreads)
+                .setTcpNoDelay(true)
+                .setSoKeepAlive(true);
+        if (socketBufferSize > 0) {
+            reactorConfig.setRcvBufSize(socketBufferSize).setSndBufSize(socketBufferSize);
+        }
+        try {
+            this.connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(reactorConfig.build(),
+                    new NamedThreadFactory("openapi-async-io-", true)));
+        } catch (IOReactorException ex) {
+            throw new OpenApiClientException("创建HTTP IO线程失败", ex);
+        }
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        if (socketBufferSize > 0) {
+            connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom().setBufferSize(socketBufferSize).build());
+        }
+
+        this.httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(HttpComponentsSupport.keepAliveStrategy(keepAliveTime))
+                .disableCookieManagement()
+                //IO线程均为守护线程，不阻止JVM退出
+                .setThreadFactory(new NamedThreadFactory("openapi-async-reactor-", true))
+                .build();
+        httpClient.start();
+        this.evictTask = EVICTOR.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.SECONDS);
+        }, idleTimeout, idleTimeout, TimeUnit.SECONDS);
+        log.info("AsyncHttpTransport init succeed. {}", this);
+    }
+
+    /**
+     * 获取共享的传输层（同样的配置共用一个连接池及IO线程）
+     *
+     * @param maxTotal         连接池最大连接数
+     * @param maxPerRoute      每个目标主机的最大连接数
+     * @param idleTimeout      空闲连接超时时间（单位秒）
+     * @param keepAliveTime    长连接保持时间（单位秒）
+     * @param socketBufferSize socket收发缓冲区大小（单位字节），0表示使用系统默认值
+     * @param ioThreads        IO线程数，0表示使用CPU核数
+     * @return 传输层
+     */
+    public static AsyncHttpTransport getShared(int maxTotal, int maxPerRoute, long idleTimeout, long keepAliveTime,
+                                               int socketBufferSize, int ioThreads) {
+        String key = maxTotal + ":" + maxPerRoute + ":" + idleTimeout + ":" + keepAliveTime + ":" + socketBufferSize + ":" + ioThreads;
+        return SHARED.computeIfAbsent(key, k -> new AsyncHttpTransport(maxTotal, maxPerRoute, idleTimeout, keepAliveTime, socketBufferSize, ioThreads));
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        try {
+            if (request.getBodyReader() != null) {
+                //在调用线程上读取暂存的响应体
+                return executeSpooled(request).thenApply(spooled -> readSpooled(spooled, request)).join();
+            }
+            return executeAsync(request, null).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 异步执行一次HTTP POST请求，响应在IO线程上完成，不占用executor的线程
+     * <p>
+     * 流式请求体由IO线程边读边发送（读取文件及压缩、加密在IO线程上进行）；
+     * 设置了响应体读取器时，IO线程将响应体暂存到临时文件，再在executor上交给读取器，避免耗时的读取占用IO线程
+     * </p>
+     *
+     * @param request  请求
+     * @param executor 执行响应体读取器的线程池（仅设置了响应体读取器时使用）
+     * @return 响应（响应体已完整读取）
+     */
+    @Override
+    public boolean isBlocking() {
+        return false;
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        if (request.getBodyReader() != null && executor != null) {
+            CompletableFuture<Spooled> spooled = executeSpooled(request);
+            CompletableFuture<TransportResponse> future = spooled.thenApplyAsync(result -> readSpooled(result, request), executor);
+            future.whenComplete((response, ex) -> {
+                if (future.isCancelled()) {
+                    spooled.cancel(false);
+                }
+            });
+            //取消后不再读取，删除暂存的响应体
+            spooled.thenAccept(result -> {
+                if (future.isCancelled()) {
+                    result.file.delete();
+                }
+            });
+            return future;
+        }
+        CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+        Future<HttpResponse> httpFuture = httpClient.execute(HttpComponentsSupport.buildPost(request), new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse httpResponse) {
+                try {
+                    future.complete(HttpComponentsSupport.toResponse(httpResponse, request.getBodyReader()));
+                } catch (IOException ex) {
+                    future.completeExceptionally(new IORuntimeException(ex));
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                //与默认传输层保持一致的异常类型
+                future.completeExceptionally(ex instanceof IOException ? new IORuntimeException(ex) : ex);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+        //调用方取消时中止请求
+        future.whenComplete((response, ex) -> {
+            if (future.isCancelled()) {
+                httpFuture.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 执行HTTP请求，响应体由IO线程零拷贝写入临时文件
+     *
+     * @param request 请求
+     * @return 响应及暂存响应体的临时文件
+     */
+    private CompletableFuture<Spooled> executeSpooled(TransportRequest request) {
+        File file;
+        ZeroCopyConsumer<HttpResponse> consumer;
+        try {
+            file = Files.createTempFile("openapi-", ".response").toFile();
+            consumer = new ZeroCopyConsumer<HttpResponse>(file) {
+                @Override
+                protected HttpResponse process(HttpResponse httpResponse, File file, ContentType contentType) {
+                    return httpResponse;
+                }
+            };
+        } catch (IOException ex) {
+            throw new IORuntimeException(ex);
+        }
+        HttpPost post = HttpComponentsSupport.buildPost(request);
+        CompletableFuture<Spooled> future = new CompletableFuture<>();
+        Future<HttpResponse> httpFuture = httpClient.execute(HttpAsyncMethods.create(post), consumer, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse httpResponse) {
+                future.complete(new Spooled(httpResponse, file));
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                file.delete();
+                future.completeExceptionally(ex instanceof IOException ? new IORuntimeException(ex) : ex);
+            }
+
+            @Override
+            public void cancelled() {
+                file.delete();
+                future.cancel(false);
+            }
+        });
+        future.whenComplete((response, ex) -> {
+            if (future.isCancelled()) {
+                httpFuture.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 将暂存的响应体交给读取器，完成后删除临时文件
+     *
+     * @param spooled 响应及暂存响应体的临时文件
+     * @param request 请求
+     * @return 响应
+     */
+    private TransportResponse readSpooled(Spooled spooled, TransportRequest request) {
+        try {
+            return HttpComponentsSupport.toResponse(spooled.httpResponse, request.getBodyReader());
+        } catch (IOException ex) {
+            throw new IORuntimeException(ex);
+        } finally {
+            spooled.file.delete();
+        }
+    }
+
+    /**
+     * 获取已租借（正在使用）的连接数
+     *
+     * @return 已租借的连接数
+     */
+    public int getLeasedCount() {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+    /**
+     * 获取等待连接的请求数
+     *
+     * @return 等待连接的请求数
+     */
+    public int getPendingCount() {
+        return connectionManager.getTotalStats().getPending();
+    }
+
+    /**
+     * 获取空闲可用的连接数
+     *
+     * @return 空闲可用的连接数
+     */
+    public int getAvailableCount() {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    /**
+     * 获取连接池最大连接数
+     *
+     * @return 最大连接数
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * 获取每个目标主机的最大连接数
+     *
+     * @return 每个目标主机的最大连接数
+     */
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /**
+     * 获取各目标主机的连接池统计
+     *
+     * @return key: 目标主机（例如http://localhost:8080），value: 连接池统计
+     */
+    public Map<String, PoolStats> getRouteStats() {
+        Map<String, PoolStats> stats = new LinkedHashMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            stats.put(route.getTargetHost().toURI(), connectionManager.getStats(route));
+        }
+        return stats;
+    }
+
+    /**
+     * 关闭连接池及IO线程（共享实例由所有客户端共用，一般无需关闭）
+     */
+    @Override
+    public void close() {
+        SHARED.values().remove(this);
+        evictTask.cancel(false);
+        try {
+            httpClient.close();
+        } catch (IOException ex) {
+            log.warn("关闭HTTP连接池异常", ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return String.format("AsyncHttpTransport{maxTotal=%d, maxPerRoute=%d, idleTimeout=%ds, keepAliveTime=%ds, socketBufferSize=%d, " +
+                        "ioThreads=%d, leased=%d, pending=%d, available=%d}",
+                maxTotal, maxPerRoute, idleTimeout, keepAliveTime, socketBufferSize,
+                ioThreads, stats.getLeased(), stats.getPending(), stats.getAvailable());
+    }
+
+    /**
+     * 响应及暂存响应体的临时文件
+     */
+    private static class Spooled {
+
+        private final HttpResponse httpResponse;
+
+        private final File file;
+
+        Spooled(HttpResponse httpResponse, File file) {
+            this.httpResponse = httpResponse;
+            this.file = file;
+        }
+    }
+}
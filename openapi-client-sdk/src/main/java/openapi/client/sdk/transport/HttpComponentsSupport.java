@@ -0,0 +1,151 @@
+package openapi.client.sdk.transport;
+
+import cn.hutool.core.util.StrUtil;
+import openapi.sdk.common.model.StreamBody;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于Apache HttpComponents的传输层（同步连接池、异步非阻塞）共用的请求、响应转换
+ *
+ * @author wanghuidong
+ */
+final class HttpComponentsSupport {
+
+    private HttpComponentsSupport() {
+    }
+
+    /**
+     * 构造HTTP POST请求
+     *
+     * @param request 传输层请求
+     * @return HTTP POST请求
+     */
+    static HttpPost buildPost(TransportRequest request) {
+        HttpPost post = new HttpPost(request.getUrl());
+        RequestConfig.Builder config = RequestConfig.custom()
+                .setConnectTimeout(request.getConnectTimeout())
+                .setSocketTimeout(request.getReadTimeout())
+                //从连接池获取连接的等待时间与建立连接超时时间一致
+                .setConnectionRequestTimeout(request.getConnectTimeout());
+        //设置http代理
+        if (StrUtil.isNotBlank(request.getProxyHost()) && request.getProxyPort() != null) {
+            config.setProxy(new HttpHost(request.getProxyHost(), request.getProxyPort()));
+        }
+        post.setConfig(config.build());
+        if (request.getHeaders() != null) {
+            request.getHeaders().forEach((name, value) -> {
+                if (value != null) {
+                    post.setHeader(name, value);
+                }
+            });
+        }
+        post.setHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_OCTET_STREAM.getMimeType());
+        if (request.getBodyStream() != null) {
+            post.setEntity(new StreamBodyEntity(request.getBodyStream()));
+        } else {
+            byte[] body = request.getBody() == null ? new byte[0] : request.getBody();
+            post.setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_OCTET_STREAM));
+        }
+        return post;
+    }
+
+    /**
+     * 读取HTTP响应（包括完整的响应体）
+     *
+     * @param httpResponse HTTP响应
+     * @param bodyReader   响应体读取器，不为null时响应体以流的形式交给读取器
+     * @return 传输层响应
+     * @throws IOException 读取响应体异常
+     */
+    static TransportResponse toResponse(HttpResponse httpResponse, ResponseBodyReader bodyReader) throws IOException {
+        TransportResponse response = new TransportResponse();
+        response.setStatus(httpResponse.getStatusLine().getStatusCode());
+        for (Header header : httpResponse.getAllHeaders()) {
+            response.addHeader(header.getName(), header.getValue());
+        }
+        HttpEntity entity = httpResponse.getEntity();
+        if (entity != null && bodyReader != null) {
+            try (InputStream in = entity.getContent()) {
+                bodyReader.read(response, in);
+            }
+        } else {
+            response.setBody(entity == null ? null : EntityUtils.toByteArray(entity));
+        }
+        return response;
+    }
+
+    /**
+     * 长连接保持策略：服务端通过Keep-Alive响应头指定更短时间时以服务端为准
+     *
+     * @param keepAliveTime 长连接保持时间（单位秒）
+     * @return 长连接保持策略
+     */
+    static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAliveTime) {
+        long keepAliveMillis = TimeUnit.SECONDS.toMillis(keepAliveTime);
+        return (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? Math.min(duration, keepAliveMillis) : keepAliveMillis;
+        };
+    }
+
+    /**
+     * 流式请求体，长度未知时使用分块传输
+     */
+    private static class StreamBodyEntity extends AbstractHttpEntity {
+
+        private final StreamBody body;
+
+        StreamBodyEntity(StreamBody body) {
+            this.body = body;
+            setContentType(ContentType.APPLICATION_OCTET_STREAM.toString());
+            setChunked(body.getLength() < 0);
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return body.isRepeatable();
+        }
+
+        @Override
+        public long getContentLength() {
+            return body.getLength();
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return body.open();
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            byte[] buffer = new byte[8192];
+            try (InputStream in = body.open()) {
+                for (int n; (n = in.read(buffer)) >= 0; ) {
+                    out.write(buffer, 0, n);
+                }
+            }
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package openapi.client.sdk.transport;
+
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.ContentType;
+import cn.hutool.http.Header;
+import cn.hutool.http.HttpConnection;
+import cn.hutool.http.HttpRequest;
+import cn.hutool.http.HttpResponse;
+import cn.hutool.http.Method;
+import openapi.sdk.common.model.StreamBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于hutool HttpRequest的传输层（默认实现）
+ * <p>
+ * 每次调用新建一个请求，连接的复用由JDK的HttpURLConnection自行管理；无状态，可在多个客户端间共享
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class HutoolTransport implements OpenApiTransport {
+
+    /**
+     * 共享实例
+     */
+    public static final HutoolTransport INSTANCE = new HutoolTransport();
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        if (request.getBodyStream() != null) {
+            return executeStream(request);
+        }
+        //构造http请求对象
+        HttpRequest httpRequest = HttpRequest.post(request.getUrl())
+                .setConnectionTimeout(request.getConnectTimeout())
+                .setReadTimeout(request.getReadTimeout())
+                .addHeaders(request.getHeaders())
+                .header(Header.ACCEPT, ContentType.OCTET_STREAM.getValue())
+                .contentType(ContentType.OCTET_STREAM.getValue())
+                .body(request.getBody());
+        //设置http代理
+        if (StrUtil.isNotBlank(request.getProxyHost()) && request.getProxyPort() != null) {
+            httpRequest.setHttpProxy(request.getProxyHost(), request.getProxyPort());
+        }
+        //执行http请求（设置了响应体读取器时不预先读取响应体）
+        HttpResponse httpResponse = null;
+        try {
+            httpResponse = request.getBodyReader() == null ? httpRequest.execute() : httpRequest.executeAsync();
+            TransportResponse response = new TransportResponse();
+            response.setStatus(httpResponse.getStatus());
+            for (Map.Entry<String, List<String>> entry : httpResponse.headers().entrySet()) {
+                if (entry.getValue() != null && !entry.getValue().isEmpty()) {
+                    response.addHeader(entry.getKey(), entry.getValue().get(0));
+                }
+            }
+            if (request.getBodyReader() == null) {
+                response.setBody(httpResponse.bodyBytes());
+            } else {
+                try (InputStream in = httpResponse.bodyStream()) {
+                    request.getBodyReader().read(response, in);
+                }
+            }
+            return response;
+        } catch (IOException ex) {
+            throw new IORuntimeException(ex);
+        } finally {
+            if (httpResponse != null) {
+                httpResponse.close();
+            }
+        }
+    }
+
+    /**
+     * 发送流式请求体（HttpRequest只支持字节数组请求体，故直接使用连接边读边写，长度已知时使用固定长度模式，否则分块传输）
+     *
+     * @param request 请求
+     * @return 响应
+     */
+    private TransportResponse executeStream(TransportRequest request) {
+        StreamBody body = request.getBodyStream();
+        Proxy proxy = null;
+        if (StrUtil.isNotBlank(request.getProxyHost()) && request.getProxyPort() != null) {
+            proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(request.getProxyHost(), request.getProxyPort()));
+        }
+        HttpConnection connection = HttpConnection.create(request.getUrl(), proxy)
+                .setMethod(Method.POST)
+                .setConnectTimeout(request.getConnectTimeout())
+                .setReadTimeout(request.getReadTimeout());
+        try {
+            request.getHeaders().forEach((name, value) -> {
+                if (value != null) {
+                    connection.header(name, value, true);
+                }
+            });
+            connection.header(Header.ACCEPT, ContentType.OCTET_STREAM.getValue(), true);
+            connection.header(Header.CONTENT_TYPE, ContentType.OCTET_STREAM.getValue(), true);
+            HttpURLConnection conn = connection.getHttpURLConnection();
+            if (body.getLength() >= 0) {
+                conn.setFixedLengthStreamingMode(body.getLength());
+            } else {
+                conn.setChunkedStreamingMode(0);
+            }
+            byte[] buffer = new byte[8192];
+            try (InputStream in = body.open(); OutputStream out = connection.getOutputStream()) {
+                for (int n; (n = in.read(buffer)) >= 0; ) {
+                    out.write(buffer, 0, n);
+                }
+            }
+            TransportResponse response = new TransportResponse();
+            response.setStatus(connection.responseCode());
+            for (Map.Entry<String, List<String>> entry : connection.headers().entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                    response.addHeader(entry.getKey(), entry.getValue().get(0));
+                }
+            }
+            InputStream in = response.getStatus() < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() : connection.getErrorStream();
+            if (in == null) {
+                return response;
+            }
+            try (InputStream responseBody = in) {
+                if (request.getBodyReader() == null) {
+                    response.setBody(IoUtil.readBytes(responseBody, false));
+                } else {
+                    request.getBodyReader().read(response, responseBody);
+                }
+            }
+            return response;
+        } catch (IOException ex) {
+            throw new IORuntimeException(ex);
+        } finally {
+            connection.disconnectQuietly();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HutoolTransport";
+    }
+}
@@ -0,0 +1,53 @@
+package openapi.client.sdk.transport;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * openapi的HTTP传输层，负责将加密、签名后的请求发送到服务端并读取完整的响应
+ * <p>
+ * 默认实现为{@link HutoolTransport}（每次调用基于HttpURLConnection新建请求），
+ * 高并发场景可使用{@link PooledHttpTransport}复用长连接，异步调用可使用非阻塞的{@link AsyncHttpTransport}，
+ * 也可以自定义实现对接其它HTTP客户端。
+ * 实现类需支持多线程并发调用，同一个实例可被多个OpenApiClient共享
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public interface OpenApiTransport {
+
+    /**
+     * 执行一次HTTP POST请求
+     *
+     * @param request 请求
+     * @return 响应（响应体已完整读取）
+     */
+    TransportResponse execute(TransportRequest request);
+
+    /**
+     * 异步执行一次HTTP POST请求
+     * <p>
+     * 默认在executor上执行同步的{@link #execute}，等待响应期间会占用executor的一个线程；
+     * 非阻塞的实现应重写此方法（同时重写{@link #isBlocking()}返回false），在IO线程上完成响应
+     * </p>
+     *
+     * @param request  请求
+     * @param executor 执行同步请求的线程池（阻塞实现由调用方传入按IO等待设计的线程池）
+     * @return 响应（响应体已完整读取）
+     */
+    default CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> execute(request), executor);
+    }
+
+    /**
+     * 异步执行时是否阻塞等待响应
+     * <p>
+     * 阻塞实现的异步调用在专用于IO等待的线程池上执行，不占用执行加解密、反序列化的线程池
+     * </p>
+     *
+     * @return 是否阻塞（默认true）
+     */
+    default boolean isBlocking() {
+        return true;
+    }
+}
@@ -0,0 +1,214 @@
+package openapi.client.sdk.transport;
+
+import cn.hutool.core.io.IORuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import openapi.sdk.common.exception.OpenApiClientException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于Apache HttpClient连接池的传输层
+ * <p>
+ * 连接按目标主机（路由）池化并保持长连接，避免每次调用重新建立TCP/TLS连接及TIME_WAIT堆积；
+ * 后台守护线程定期清理空闲超时及已过期的连接，连接空闲超过2秒后再次使用前会先检查是否已被服务端关闭。
+ * 需引入httpclient依赖，同样配置的实例可通过{@link #getShared}在所有客户端间共享。
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Slf4j
+public class PooledHttpTransport implements OpenApiTransport, Closeable {
+
+    /**
+     * 共享的传输层实例，key: 最大连接数:单路由最大连接数:空闲超时:长连接保持时间:socket缓冲区大小
+     */
+    private static final Map<String, PooledHttpTransport> SHARED = new ConcurrentHashMap<>();
+
+    /**
+     * 连接空闲超过该时间（单位毫秒）后，再次使用前检查连接是否可用
+     */
+    private static final int VALIDATE_AFTER_INACTIVITY = 2000;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final CloseableHttpClient httpClient;
+
+    private final int maxTotal;
+
+    private final int maxPerRoute;
+
+    private final long idleTimeout;
+
+    private final long keepAliveTime;
+
+    private final int socketBufferSize;
+
+    /**
+     * 构造器
+     *
+     * @param maxTotal         连接池最大连接数
+     * @param maxPerRoute      每个目标主机的最大连接数
+     * @param idleTimeout      空闲连接超时时间（单位秒），超时后被后台线程关闭
+     * @param keepAliveTime    长连接保持时间（单位秒），服务端通过Keep-Alive响应头指定更短时间时以服务端为准
+     * @param socketBufferSize socket收发缓冲区大小（单位字节），0表示使用系统默认值
+     */
+    public PooledHttpTransport(int maxTotal, int maxPerRoute, long idleTimeout, long keepAliveTime, int socketBufferSize) {
+        if (maxTotal <= 0 || maxPerRoute <= 0) {
+            throw new OpenApiClientException("连接池最大连接数必须大于0");
+        }
+        if (idleTimeout <= 0 || keepAliveTime <= 0) {
+            throw new OpenApiClientException("连接空闲超时时间及长连接保持时间必须大于0秒");
+        }
+        if (socketBufferSize < 0) {
+            throw new OpenApiClientException("socket缓冲区大小不能小于0");
+        }
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = maxPerRoute;
+        this.idleTimeout = idleTimeout;
+        this.keepAliveTime = keepAliveTime;
+        this.socketBufferSize = socketBufferSize;
+
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY);
+        SocketConfig.Builder socketConfig = SocketConfig.custom().setTcpNoDelay(true).setSoKeepAlive(true);
+        if (socketBufferSize > 0) {
+            socketConfig.setRcvBufSize(socketBufferSize).setSndBufSize(socketBufferSize);
+            connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom().setBufferSize(socketBufferSize).build());
+        }
+        connectionManager.setDefaultSocketConfig(socketConfig.build());
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(HttpComponentsSupport.keepAliveStrategy(keepAliveTime))
+                .evictIdleConnections(idleTimeout, TimeUnit.SECONDS)
+                .evictExpiredConnections()
+                //请求体、响应体均为加密后的数据，压缩无收益
+                .disableContentCompression()
+                .disableCookieManagement()
+                .build();
+        log.info("PooledHttpTransport init succeed. {}", this);
+    }
+
+    /**
+     * 获取共享的传输层（同样的配置共用一个连接池）
+     *
+     * @param maxTotal         连接池最大连接数
+     * @param maxPerRoute      每个目标主机的最大连接数
+     * @param idleTimeout      空闲连接超时时间（单位秒）
+     * @param keepAliveTime    长连接保持时间（单位秒）
+     * @param socketBufferSize socket收发缓冲区大小（单位字节），0表示使用系统默认值
+     * @return 传输层
+     */
+    public static PooledHttpTransport getShared(int maxTotal, int maxPerRoute, long idleTimeout, long keepAliveTime, int socketBufferSize) {
+        String key = maxTotal + ":" + maxPerRoute + ":" + idleTimeout + ":" + keepAliveTime + ":" + socketBufferSize;
+        return SHARED.computeIfAbsent(key, k -> new PooledHttpTransport(maxTotal, maxPerRoute, idleTimeout, keepAliveTime, socketBufferSize));
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        HttpPost post = HttpComponentsSupport.buildPost(request);
+        //读取完整的响应体后关闭响应，连接归还连接池
+        try (CloseableHttpResponse httpResponse = httpClient.execute(post)) {
+            return HttpComponentsSupport.toResponse(httpResponse, request.getBodyReader());
+        } catch (IOException ex) {
+            //与默认传输层保持一致的异常类型
+            throw new IORuntimeException(ex);
+        }
+    }
+
+    /**
+     * 获取已租借（正在使用）的连接数
+     *
+     * @return 已租借的连接数
+     */
+    public int getLeasedCount() {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+    /**
+     * 获取等待连接的请求数
+     *
+     * @return 等待连接的请求数
+     */
+    public int getPendingCount() {
+        return connectionManager.getTotalStats().getPending();
+    }
+
+    /**
+     * 获取空闲可用的连接数
+     *
+     * @return 空闲可用的连接数
+     */
+    public int getAvailableCount() {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    /**
+     * 获取连接池最大连接数
+     *
+     * @return 最大连接数
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * 获取每个目标主机的最大连接数
+     *
+     * @return 每个目标主机的最大连接数
+     */
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /**
+     * 获取各目标主机的连接池统计
+     *
+     * @return key: 目标主机（例如http://localhost:8080），value: 连接池统计
+     */
+    public Map<String, PoolStats> getRouteStats() {
+        Map<String, PoolStats> stats = new LinkedHashMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            stats.put(route.getTargetHost().toURI(), connectionManager.getStats(route));
+        }
+        return stats;
+    }
+
+    /**
+     * 关闭连接池（共享实例由所有客户端共用，一般无需关闭）
+     */
+    @Override
+    public void close() {
+        SHARED.values().remove(this);
+        try {
+            httpClient.close();
+        } catch (IOException ex) {
+            log.warn("关闭HTTP连接池异常", ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return String.format("PooledHttpTransport{maxTotal=%d, maxPerRoute=%d, idleTimeout=%ds, keepAliveTime=%ds, socketBufferSize=%d, " +
+                        "leased=%d, pending=%d, available=%d}",
+                maxTotal, maxPerRoute, idleTimeout, keepAliveTime, socketBufferSize,
+                stats.getLeased(), stats.getPending(), stats.getAvailable());
+    }
+}
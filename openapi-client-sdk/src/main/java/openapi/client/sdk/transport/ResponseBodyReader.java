@@ -0,0 +1,25 @@
+package openapi.client.sdk.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 响应体读取器（用于流式接收响应体）
+ * <p>
+ * 请求设置了读取器时，传输层收到状态码及响应头后将响应体以输入流的形式交给读取器，不再读取为字节数组；
+ * 读取器可自行处理响应体，或读取为字节数组后设置到响应中
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public interface ResponseBodyReader {
+
+    /**
+     * 读取响应体
+     *
+     * @param response 响应（状态码及响应头已设置）
+     * @param body     响应体的输入流（由传输层关闭）
+     * @throws IOException 读取异常
+     */
+    void read(TransportResponse response, InputStream body) throws IOException;
+}
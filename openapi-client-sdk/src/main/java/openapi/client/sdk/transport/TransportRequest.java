@@ -0,0 +1,60 @@
+package openapi.client.sdk.transport;
+
+import lombok.Data;
+import openapi.sdk.common.model.StreamBody;
+
+import java.util.Map;
+
+/**
+ * 传输层请求
+ *
+ * @author wanghuidong
+ */
+@Data
+public class TransportRequest {
+
+    /**
+     * 请求地址
+     */
+    private String url;
+
+    /**
+     * 请求头
+     */
+    private Map<String, String> headers;
+
+    /**
+     * 请求体
+     */
+    private byte[] body;
+
+    /**
+     * 流式请求体（不为null时代替body，发送时边读边写入）
+     */
+    private StreamBody bodyStream;
+
+    /**
+     * 响应体读取器（不为null时响应体以流的形式交给读取器，不再读取为字节数组）
+     */
+    private ResponseBodyReader bodyReader;
+
+    /**
+     * 建立连接超时时间（单位毫秒）
+     */
+    private int connectTimeout;
+
+    /**
+     * 数据传输超时时间（单位毫秒）
+     */
+    private int readTimeout;
+
+    /**
+     * HTTP请求代理域名
+     */
+    private String proxyHost;
+
+    /**
+     * HTTP请求代理端口
+     */
+    private Integer proxyPort;
+}
@@ -0,0 +1,52 @@
+package openapi.client.sdk.transport;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 传输层响应
+ *
+ * @author wanghuidong
+ */
+@Data
+public class TransportResponse {
+
+    /**
+     * HTTP状态码
+     */
+    private int status;
+
+    /**
+     * 响应头（名称不区分大小写，同名响应头只保留第一个值）
+     */
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * 响应体
+     */
+    private byte[] body;
+
+    /**
+     * 添加响应头（已存在的同名响应头不覆盖）
+     *
+     * @param name  名称
+     * @param value 值
+     */
+    public void addHeader(String name, String value) {
+        if (name != null && value != null) {
+            headers.putIfAbsent(name, value);
+        }
+    }
+
+    /**
+     * 获取响应头
+     *
+     * @param name 名称（不区分大小写）
+     * @return 值
+     */
+    public String header(String name) {
+        return headers.get(name);
+    }
+}
@@ -0,0 +1,24 @@
+package openapi.client.sdk.transport;
+
+/**
+ * HTTP传输层类型
+ *
+ * @author wanghuidong
+ */
+public enum TransportType {
+
+    /**
+     * 基于hutool HttpRequest，每次调用新建请求（默认）
+     */
+    HUTOOL,
+
+    /**
+     * 基于Apache HttpClient连接池，长连接复用（需引入httpclient依赖）
+     */
+    POOLED,
+
+    /**
+     * 基于Apache HttpAsyncClient的非阻塞长连接池，适合大量并发的异步调用（需引入httpasyncclient依赖）
+     */
+    ASYNC
+}
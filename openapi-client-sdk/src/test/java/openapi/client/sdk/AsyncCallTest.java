@@ -0,0 +1,128 @@
+package openapi.client.sdk;
+
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.client.sdk.transport.TransportRequest;
+import openapi.client.sdk.transport.TransportResponse;
+import openapi.sdk.common.constant.ErrorCode;
+import openapi.sdk.common.constant.Header;
+import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.enums.DataType;
+import openapi.sdk.common.exception.OpenApiClientException;
+import openapi.sdk.common.model.OutParams;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncCallTest {
+
+    @Test
+    public void blockingTransportShouldNotOccupyAsyncExecutor() {
+        int calls = 4;
+        BlockingTransport transport = new BlockingTransport(calls);
+        ExecutorService asyncExecutor = Executors.newSingleThreadExecutor();
+        try {
+            OpenApiClient client = new OpenApiClientBuilder("http://node1", null, null, "caller", "AsyncCallTest")
+                    .cryModeEnum(CryModeEnum.HMAC)
+                    .hmacSecret("hmac-secret")
+                    .retDecrypt(false)
+                    .transport(transport)
+                    .asyncExecutor(asyncExecutor)
+                    .build();
+            //异步线程池只有一个线程，所有请求同时等待响应时才返回，等待响应若占用异步线程池则无法完成
+            List<CompletableFuture<OutParams>> futures = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                futures.add(client.callOpenApiAsync("hello", i));
+            }
+            for (CompletableFuture<OutParams> future : futures) {
+                Assert.assertTrue(OutParams.isSuccess(future.join()));
+            }
+            Assert.assertTrue(transport.threadName.startsWith("openapi-io-"));
+        } finally {
+            asyncExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void fullIoPoolShouldRejectInsteadOfGrowing() throws InterruptedException {
+        int calls = 2;
+        BlockingTransport transport = new BlockingTransport(calls + 1);
+        OpenApiClient client = new OpenApiClientBuilder("http://node1", null, null, "caller", "AsyncCallTest")
+                .cryModeEnum(CryModeEnum.HMAC)
+                .hmacSecret("hmac-secret")
+                .retDecrypt(false)
+                .transport(transport)
+                .ioThreads(calls)
+                .ioQueueSize(0)
+                .build();
+        List<CompletableFuture<OutParams>> futures = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            futures.add(client.callOpenApiAsync("hello", i));
+        }
+        while (transport.arrived.getCount() > 1) {
+            Thread.sleep(10);
+        }
+        //IO线程已全部用于等待响应且不排队，后续的异步调用立即失败
+        try {
+            client.callOpenApiAsync("hello", calls).join();
+            Assert.fail("IO线程池已满时应拒绝");
+        } catch (CompletionException ex) {
+            Assert.assertTrue(ex.getCause() instanceof OpenApiClientException);
+            Assert.assertTrue(ex.getCause().getMessage().contains("IO线程池已满"));
+        }
+        transport.release();
+        for (CompletableFuture<OutParams> future : futures) {
+            Assert.assertTrue(OutParams.isSuccess(future.join()));
+        }
+    }
+
+    /**
+     * 等待指定数量的请求同时到达后才返回响应的阻塞传输层
+     */
+    private static class BlockingTransport implements OpenApiTransport {
+
+        private final CountDownLatch arrived;
+
+        private volatile String threadName;
+
+        BlockingTransport(int calls) {
+            this.arrived = new CountDownLatch(calls);
+        }
+
+        /**
+         * 不再等待其它请求到达
+         */
+        void release() {
+            while (arrived.getCount() > 0) {
+                arrived.countDown();
+            }
+        }
+
+        @Override
+        public TransportResponse execute(TransportRequest request) {
+            threadName = Thread.currentThread().getName();
+            arrived.countDown();
+            try {
+                if (!arrived.await(5, TimeUnit.SECONDS)) {
+                    throw new OpenApiClientException("请求未能同时等待响应");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new OpenApiClientException("等待被中断");
+            }
+            TransportResponse response = new TransportResponse();
+            response.setStatus(200);
+            response.addHeader(Header.Response.CODE, String.valueOf(ErrorCode.SUCCESS));
+            response.addHeader(Header.Response.DATA_TYPE, DataType.TEXT.name());
+            response.setBody(new byte[0]);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package openapi.client.sdk;
+
+import cn.hutool.core.util.RandomUtil;
+import cn.hutool.json.JSONUtil;
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.client.sdk.transport.TransportRequest;
+import openapi.client.sdk.transport.TransportResponse;
+import openapi.sdk.common.constant.ErrorCode;
+import openapi.sdk.common.constant.Header;
+import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.enums.DataType;
+import openapi.sdk.common.model.BinarySink;
+import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.model.OutParams;
+import openapi.sdk.common.util.BinaryUtil;
+import openapi.sdk.common.util.PipelineUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class BinarySinkTest {
+
+    private final byte[] data = RandomUtil.randomBytes(300_000);
+
+    @Test
+    public void binaryShouldBeWrittenToPath() throws IOException {
+        Path file = Files.createTempFile("BinarySinkTest", ".bin");
+        try {
+            for (boolean useReader : new boolean[]{true, false}) {
+                Files.delete(file);
+                OutParams outParams = client(useReader).callOpenApi("download", 7, BinarySink.of(file));
+                assertMetadata(outParams);
+                Assert.assertArrayEquals(data, Files.readAllBytes(file));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void binaryShouldBeWrittenToOutputStream() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OutParams outParams = client(true).callOpenApiAsync("download", 7, BinarySink.of(out)).join();
+        assertMetadata(outParams);
+        Assert.assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    public void tempFileShouldBeCreatedOnReceive() throws IOException {
+        BinarySink sink = BinarySink.tempFile();
+        Assert.assertNull(sink.getPath());
+        client(true).callOpenApi("download", 7, sink);
+        try {
+            Assert.assertArrayEquals(data, Files.readAllBytes(sink.getPath()));
+        } finally {
+            Files.delete(sink.getPath());
+        }
+    }
+
+    private void assertMetadata(OutParams outParams) {
+        Assert.assertNull(outParams.getBinaryData());
+        FileBinary binary = JSONUtil.toBean(outParams.getData(), FileBinary.class);
+        Assert.assertEquals("report.bin", binary.getFileName());
+        Assert.assertEquals(data.length, binary.getLength());
+    }
+
+    private OpenApiClient client(boolean useReader) {
+        return new OpenApiClientBuilder("http://node1", null, null, "caller", "BinarySinkTest")
+                .cryModeEnum(CryModeEnum.HMAC)
+                .hmacSecret("hmac-secret")
+                .enableCompress(true)
+                .retDecrypt(false)
+                .transport(new BinaryTransport(useReader))
+                .build();
+    }
+
+    /**
+     * 返回压缩后的二进制响应，接收目标不发送给服务端
+     */
+    private class BinaryTransport implements OpenApiTransport {
+
+        private final boolean useReader;
+
+        BinaryTransport(boolean useReader) {
+            this.useReader = useReader;
+        }
+
+        @Override
+        public TransportResponse execute(TransportRequest request) {
+            Assert.assertEquals("7", new String(PipelineUtil.open(request.getBody(), true, null, null, null)));
+            Assert.assertNotNull(request.getBodyReader());
+            FileBinary binary = new FileBinary();
+            binary.setFileName("report.bin");
+            binary.setData(data);
+            byte[] body = PipelineUtil.seal(BinaryUtil.buildSingleBinaryBytes(binary, BinaryUtil.getBinaryString(binary)),
+                    true, null, null, null, null);
+            TransportResponse response = new TransportResponse();
+            response.setStatus(200);
+            response.addHeader(Header.Response.CODE, String.valueOf(ErrorCode.SUCCESS));
+            response.addHeader(Header.Response.DATA_TYPE, DataType.BINARY.name());
+            if (useReader) {
+                try {
+                    request.getBodyReader().read(response, new ByteArrayInputStream(body));
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            } else {
+                //未调用读取器的传输层
+                response.setBody(body);
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package openapi.client.sdk;
+
+import cn.hutool.core.util.RandomUtil;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import openapi.client.sdk.chunk.ChunkOptions;
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.client.sdk.transport.TransportRequest;
+import openapi.client.sdk.transport.TransportResponse;
+import openapi.sdk.common.constant.Constant;
+import openapi.sdk.common.constant.ErrorCode;
+import openapi.sdk.common.constant.Header;
+import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.enums.DataType;
+import openapi.sdk.common.exception.OpenApiClientException;
+import openapi.sdk.common.model.BinaryFrame;
+import openapi.sdk.common.model.ChunkParam;
+import openapi.sdk.common.model.ChunkStatus;
+import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.model.OutParams;
+import openapi.sdk.common.util.BinaryUtil;
+import openapi.sdk.common.util.PipelineUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ChunkTransferTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Test
+    public void uploadShouldResumeFromReceivedChunks() {
+        byte[] data = RandomUtil.randomBytes(CHUNK_SIZE * 9 + 500);
+        ChunkServer server = new ChunkServer();
+        OpenApiClient client = newClient(server, 0);
+
+        //第3个分片上传失败（不重试），已上传的分片保留在服务端
+        server.failIndex = 2;
+        try {
+            client.callOpenApi("upload", newBinary(data));
+            Assert.fail("分片上传失败时应抛出异常");
+        } catch (OpenApiClientException ignored) {
+            //预期的异常
+        }
+        Assert.assertNull(server.mainParam);
+        int uploadedBeforeResume = server.uploads.get();
+
+        //重新调用时只上传剩余的分片
+        server.failIndex = -1;
+        FileBinary binary = newBinary(data);
+        client.callOpenApi("upload", binary);
+        Assert.assertEquals(10, server.uploads.get() - server.failures.get());
+        Assert.assertTrue(server.uploads.get() - uploadedBeforeResume < 10);
+        Assert.assertNull("调用后不保留分片传输ID", binary.getTransferId());
+
+        //主请求只携带分片传输ID及长度，数据不在请求体中
+        JSONObject param = JSONUtil.parseObj(server.mainParam);
+        String transferId = param.getStr("transferId");
+        Assert.assertEquals(data.length, param.getLong("length").longValue());
+        Assert.assertEquals(0, server.mainBinaryCount);
+        Assert.assertArrayEquals(data, server.assemble(transferId));
+    }
+
+    @Test
+    public void callsWithSameDataShouldUseSeparateTransfers() {
+        byte[] data = RandomUtil.randomBytes(CHUNK_SIZE * 3 + 1);
+        ChunkServer server = new ChunkServer();
+        OpenApiClient client = newClient(server, 0);
+
+        client.callOpenApi("upload", newBinary(data));
+        String first = JSONUtil.parseObj(server.mainParam).getStr("transferId");
+        client.callOpenApi("upload", newBinary(data));
+        String second = JSONUtil.parseObj(server.mainParam).getStr("transferId");
+        //成功的调用不保留分片传输，相同数据的调用各自上传，服务端删除其中一个时不影响另一个
+        Assert.assertNotEquals(first, second);
+        Assert.assertEquals(8, server.uploads.get());
+
+        //失败的调用保留的分片传输只交给之后的一次调用
+        server.failIndex = 3;
+        try {
+            client.callOpenApi("upload", newBinary(data));
+            Assert.fail("分片上传失败时应抛出异常");
+        } catch (OpenApiClientException ignored) {
+            //预期的异常
+        }
+        server.failIndex = -1;
+        client.callOpenApi("upload", newBinary(data));
+        String resumed = JSONUtil.parseObj(server.mainParam).getStr("transferId");
+        client.callOpenApi("upload", newBinary(data));
+        Assert.assertNotEquals(resumed, JSONUtil.parseObj(server.mainParam).getStr("transferId"));
+        Assert.assertArrayEquals(data, server.assemble(resumed));
+    }
+
+    @Test
+    public void downloadShouldFetchChunksInParallel() {
+        byte[] data = RandomUtil.randomBytes(CHUNK_SIZE * 7 + 1);
+        ChunkServer server = new ChunkServer();
+        server.staged = data;
+        OpenApiClient client = newClient(server, 1);
+
+        //第2个分片首次下载失败后重试
+        server.failIndex = 1;
+        OutParams outParams = client.callOpenApi("download");
+        Assert.assertEquals(String.valueOf(CHUNK_SIZE), server.chunkSizeHeader);
+        Assert.assertEquals(DataType.BINARY, outParams.getDataType());
+        Assert.assertArrayEquals(data, outParams.getBinaryData());
+        Assert.assertNull(JSONUtil.parseObj(outParams.getData()).getStr("transferId"));
+        Assert.assertEquals("staged.bin", JSONUtil.parseObj(outParams.getData()).getStr("fileName"));
+        Assert.assertEquals(1, server.failures.get());
+        Assert.assertTrue(server.released);
+    }
+
+    private OpenApiClient newClient(ChunkServer server, int maxRetries) {
+        ChunkOptions options = new ChunkOptions();
+        options.setChunkSize(CHUNK_SIZE);
+        options.setParallelism(3);
+        options.setMaxRetries(maxRetries);
+        return new OpenApiClientBuilder("http://node1", null, null, "caller", "ChunkTransferTest")
+                .cryModeEnum(CryModeEnum.HMAC)
+                .hmacSecret("hmac-secret")
+                .retDecrypt(false)
+                .chunkOptions(options)
+                .transport(server)
+                .build();
+    }
+
+    private FileBinary newBinary(byte[] data) {
+        FileBinary binary = new FileBinary();
+        binary.setFileName("upload.bin");
+        binary.setData(data);
+        return binary;
+    }
+
+    /**
+     * 模拟服务端的分片传输接口
+     */
+    private static class ChunkServer implements OpenApiTransport {
+
+        private final Map<String, Map<Integer, byte[]>> chunks = new ConcurrentHashMap<>();
+
+        private final AtomicInteger uploads = new AtomicInteger();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private volatile int failIndex = -1;
+
+        private volatile byte[] staged;
+
+        private volatile boolean released;
+
+        private volatile String mainParam;
+
+        private volatile int mainBinaryCount;
+
+        private volatile String chunkSizeHeader;
+
+        @Override
+        public TransportResponse execute(TransportRequest request) {
+            Map<String, String> headers = request.getHeaders();
+            byte[] body = PipelineUtil.open(request.getBody(), false, null, null, null);
+            if (!request.getUrl().endsWith(Constant.CHUNK_PATH)) {
+                chunkSizeHeader = headers.get(Header.Request.CHUNK_SIZE);
+                if (staged != null) {
+                    FileBinary binary = new FileBinary();
+                    binary.setFileName("staged.bin");
+                    binary.setLength(staged.length);
+                    binary.setTransferId("t1");
+                    return response(DataType.CHUNKED, JSONUtil.toJsonStr(binary).getBytes(StandardCharsets.UTF_8));
+                }
+                BinaryFrame frame = BinaryUtil.parseFrame(body);
+                mainParam = frame.getParamStr();
+                mainBinaryCount = frame.getBinaryCount();
+                return response(DataType.TEXT, new byte[0]);
+            }
+            String method = headers.get(Header.Request.METHOD);
+            BinaryFrame frame = Constant.CHUNK_METHOD_UPLOAD.equals(method) ? BinaryUtil.parseFrame(body) : null;
+            ChunkParam param = JSONUtil.toBean(frame == null ? new String(body, StandardCharsets.UTF_8) : frame.getParamStr(), ChunkParam.class);
+            Map<Integer, byte[]> received = chunks.computeIfAbsent(param.getTransferId(), key -> new ConcurrentHashMap<>());
+            switch (method) {
+                case Constant.CHUNK_METHOD_STATUS:
+                    ChunkStatus status = new ChunkStatus();
+                    status.setTransferId(param.getTransferId());
+                    status.setReceived(new ArrayList<>(received.keySet()));
+                    return response(DataType.TEXT, JSONUtil.toJsonStr(status).getBytes(StandardCharsets.UTF_8));
+                case Constant.CHUNK_METHOD_UPLOAD:
+                    uploads.incrementAndGet();
+                    if (param.getIndex() == failIndex) {
+                        failures.incrementAndGet();
+                        return error();
+                    }
+                    received.put(param.getIndex(), frame.getBinaryDataBytes(0));
+                    return response(DataType.TEXT, new byte[0]);
+                case Constant.CHUNK_METHOD_DOWNLOAD:
+                    if (param.getIndex() == failIndex && failures.compareAndSet(0, 1)) {
+                        return error();
+                    }
+                    int offset = (int) (param.getIndex() * param.getChunkSize());
+                    FileBinary chunk = new FileBinary();
+                    chunk.setData(Arrays.copyOfRange(staged, offset, (int) Math.min(staged.length, offset + param.getChunkSize())));
+                    String paramStr = JSONUtil.toJsonStr(param);
+                    return response(DataType.BINARY, BinaryUtil.buildSingleBinaryBytes(chunk, paramStr));
+                default:
+                    released = true;
+                    return response(DataType.TEXT, new byte[0]);
+            }
+        }
+
+        private byte[] assemble(String transferId) {
+            Map<Integer, byte[]> received = chunks.get(transferId);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            List<Integer> indexes = new ArrayList<>(received.keySet());
+            indexes.sort(null);
+            for (Integer index : indexes) {
+                out.write(received.get(index), 0, received.get(index).length);
+            }
+            return out.toByteArray();
+        }
+
+        private TransportResponse response(DataType dataType, byte[] body) {
+            TransportResponse response = new TransportResponse();
+            response.setStatus(200);
+            response.addHeader(Header.Response.CODE, String.valueOf(ErrorCode.SUCCESS));
+            response.addHeader(Header.Response.DATA_TYPE, dataType.name());
+            response.setBody(body);
+            return response;
+        }
+
+        private TransportResponse error() {
+            TransportResponse response = new TransportResponse();
+            response.setStatus(200);
+            response.addHeader(Header.Response.CODE, String.valueOf(ErrorCode.FAILED));
+            response.addHeader(Header.Response.DATA_TYPE, DataType.TEXT.name());
+            response.setBody(new byte[0]);
+            return response;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package openapi.client.sdk;
 
+import openapi.sdk.common.enums.CryModeEnum;
 import openapi.sdk.common.exception.OpenApiClientException;
 import org.junit.Assert;
 import org.junit.Test;
@@ -24,4 +25,30 @@ public class OpenApiClientBuilderTest {
         Assert.assertFalse(text.contains("public-secret"));
         Assert.assertTrue(text.contains("******"));
     }
+
+    @Test
+    public void hmacModeShouldNotRequireKeys() {
+        OpenApiClient client = new OpenApiClientBuilder("http://localhost", null, null, "caller", "api")
+                .cryModeEnum(CryModeEnum.HMAC)
+                .hmacSecret("hmac-secret")
+                .build();
+        Assert.assertFalse(client.toString().contains("hmac-secret"));
+    }
+
+    @Test(expected = OpenApiClientException.class)
+    public void hmacModeRequiresSecret() {
+        new OpenApiClientBuilder("http://localhost", null, null, "caller", "api")
+                .cryModeEnum(CryModeEnum.HMAC)
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void deprecatedConstructorShouldConvertSecondsToMillis() {
+        OpenApiClient client = new OpenApiClient("http://localhost", "private", "public", "RSA", false,
+                CryModeEnum.SYMMETRIC_CRY, "AES", "caller", "api", 3, 5, null, null, false);
+        String text = client.toString();
+        Assert.assertTrue(text.contains("httpConnectionTimeout:3000ms"));
+        Assert.assertTrue(text.contains("httpReadTimeout:5000ms"));
+    }
 }
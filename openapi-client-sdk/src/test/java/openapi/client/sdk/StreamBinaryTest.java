@@ -0,0 +1,99 @@
+package openapi.client.sdk;
+
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.RandomUtil;
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.client.sdk.transport.TransportRequest;
+import openapi.client.sdk.transport.TransportResponse;
+import openapi.sdk.common.constant.ErrorCode;
+import openapi.sdk.common.constant.Header;
+import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.enums.DataType;
+import openapi.sdk.common.enums.HmacAlgo;
+import openapi.sdk.common.model.Binary;
+import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.model.StreamBinary;
+import openapi.sdk.common.util.BinaryUtil;
+import openapi.sdk.common.util.HmacUtil;
+import openapi.sdk.common.util.PipelineUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+public class StreamBinaryTest {
+
+    @Test
+    public void streamBinaryShouldBeSentAsFileBinaryFrame() throws IOException {
+        byte[] data = RandomUtil.randomBytes(100_000);
+        Path file = Files.createTempFile("StreamBinaryTest", ".bin");
+        try {
+            Files.write(file, data);
+            //不压缩：读取两遍（先签名后发送）
+            assertSameAsFileBinary(false, StreamBinary.of(file), data, file.getFileName().toString());
+            //压缩：写入临时文件的同时签名
+            assertSameAsFileBinary(true, StreamBinary.of(file), data, file.getFileName().toString());
+        } finally {
+            Files.delete(file);
+        }
+        //输入流只能读取一次
+        assertSameAsFileBinary(false, StreamBinary.of(new ByteArrayInputStream(data), data.length), data, null);
+    }
+
+    private void assertSameAsFileBinary(boolean compress, StreamBinary binary, byte[] data, String fileName) throws IOException {
+        CapturingTransport transport = new CapturingTransport();
+        OpenApiClient client = new OpenApiClientBuilder("http://node1", null, null, "caller", "StreamBinaryTest")
+                .cryModeEnum(CryModeEnum.HMAC)
+                .hmacSecret("hmac-secret")
+                .enableCompress(compress)
+                .retDecrypt(false)
+                .transport(transport)
+                .build();
+        client.callOpenApi("upload", binary);
+
+        FileBinary expected = new FileBinary();
+        expected.setFileName(fileName);
+        expected.setData(data);
+        String paramStr = BinaryUtil.getBinaryString(expected);
+        byte[] expectedBody = BinaryUtil.buildMultiBinaryBytes(Collections.singletonList((Binary) expected), paramStr);
+        Assert.assertArrayEquals(expectedBody, PipelineUtil.open(transport.body, compress, null, null, null));
+
+        TransportRequest request = transport.request;
+        String uuid = request.getHeaders().get(Header.Request.UUID);
+        Assert.assertTrue(HmacUtil.verify(HmacAlgo.HMAC_SHA256, HmacUtil.bytes("hmac-secret"), request.getHeaders().get(Header.Request.SIGN),
+                transport.body, HmacUtil.bytes(uuid), HmacUtil.bytes("StreamBinaryTest"), HmacUtil.bytes("upload")));
+        Assert.assertEquals(transport.body.length, request.getBodyStream().getLength());
+    }
+
+    /**
+     * 读取流式请求体并返回成功
+     */
+    private static class CapturingTransport implements OpenApiTransport {
+
+        private TransportRequest request;
+
+        private byte[] body;
+
+        @Override
+        public TransportResponse execute(TransportRequest request) {
+            Assert.assertNotNull(request.getBodyStream());
+            this.request = request;
+            try (InputStream in = request.getBodyStream().open()) {
+                this.body = IoUtil.readBytes(in, false);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            TransportResponse response = new TransportResponse();
+            response.setStatus(200);
+            response.addHeader(Header.Response.CODE, String.valueOf(ErrorCode.SUCCESS));
+            response.addHeader(Header.Response.DATA_TYPE, DataType.TEXT.name());
+            response.setBody(new byte[0]);
+            return response;
+        }
+    }
+}
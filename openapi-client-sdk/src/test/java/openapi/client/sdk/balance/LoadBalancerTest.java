@@ -0,0 +1,116 @@
+package openapi.client.sdk.balance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class LoadBalancerTest {
+
+    private static final String FAST = "http://fast:8080";
+
+    private static final String SLOW = "http://slow:8080";
+
+    @Test
+    public void shouldPreferLowerLatencyEndpoint() {
+        LoadBalancer loadBalancer = new LoadBalancer(Arrays.asList(FAST, SLOW));
+        for (Endpoint endpoint : loadBalancer.getEndpoints()) {
+            long latency = FAST.equals(endpoint.getBaseUrl()) ? millis(5) : millis(100);
+            loadBalancer.onStart(endpoint);
+            loadBalancer.onComplete(endpoint, latency, true);
+        }
+        int fastCount = 0;
+        for (int i = 0; i < 100; i++) {
+            if (FAST.equals(loadBalancer.select().getBaseUrl())) {
+                fastCount++;
+            }
+        }
+        //两个节点时每次都比较两者，总是选择响应快的节点
+        Assert.assertEquals(100, fastCount);
+    }
+
+    @Test
+    public void shouldEjectFailingEndpointAndRecoverAfterProbe() throws Exception {
+        LoadBalancer loadBalancer = new LoadBalancer(Arrays.asList(FAST, SLOW), 3, 200, 1000);
+        Endpoint slow = find(loadBalancer, SLOW);
+        for (int i = 0; i < 3; i++) {
+            loadBalancer.onStart(slow);
+            loadBalancer.onComplete(slow, millis(1), false);
+        }
+        Assert.assertTrue(slow.isEjected());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(FAST, loadBalancer.select().getBaseUrl());
+        }
+
+        //摘除到期后只放行一个探测请求（探测未完成时，探测超时前不再放行）
+        Thread.sleep(300);
+        Assert.assertSame(slow, loadBalancer.select());
+        Assert.assertEquals(FAST, loadBalancer.select().getBaseUrl());
+        loadBalancer.onStart(slow);
+        loadBalancer.onComplete(slow, millis(1), true);
+        Assert.assertFalse(slow.isEjected());
+    }
+
+    @Test
+    public void failedProbeShouldBackOff() throws Exception {
+        LoadBalancer loadBalancer = new LoadBalancer(Arrays.asList(FAST, SLOW), 1, 200, 1000);
+        Endpoint slow = find(loadBalancer, SLOW);
+        loadBalancer.onStart(slow);
+        loadBalancer.onComplete(slow, millis(1), false);
+        Thread.sleep(300);
+        Assert.assertSame(slow, loadBalancer.select());
+        loadBalancer.onStart(slow);
+        loadBalancer.onComplete(slow, millis(1), false);
+        //第二次摘除时间加倍为400ms
+        Thread.sleep(200);
+        Assert.assertEquals(FAST, loadBalancer.select().getBaseUrl());
+        Assert.assertTrue(slow.isEjected());
+    }
+
+    @Test
+    public void shouldFailOpenWhenAllEndpointsEjected() {
+        LoadBalancer loadBalancer = new LoadBalancer(Arrays.asList(FAST, SLOW), 1, 60_000, 60_000);
+        for (Endpoint endpoint : loadBalancer.getEndpoints()) {
+            loadBalancer.onStart(endpoint);
+            loadBalancer.onComplete(endpoint, millis(1), false);
+        }
+        Assert.assertNotNull(loadBalancer.select());
+    }
+
+    @Test
+    public void discoveryRefreshShouldKeepStatsOfRetainedEndpoints() throws Exception {
+        AtomicReference<List<String>> urls = new AtomicReference<>(Arrays.asList(FAST, SLOW));
+        LoadBalancer loadBalancer = new LoadBalancer(urls::get, 20, 5, 1000, 1000);
+        Endpoint fast = find(loadBalancer, FAST);
+        loadBalancer.onStart(fast);
+        loadBalancer.onComplete(fast, millis(5), true);
+
+        String added = "http://new:8080";
+        urls.set(Arrays.asList(FAST, added));
+        Thread.sleep(40);
+        List<String> baseUrls = new ArrayList<>();
+        for (Endpoint endpoint : loadBalancer.getEndpoints()) {
+            baseUrls.add(endpoint.getBaseUrl());
+        }
+        Assert.assertEquals(Arrays.asList(FAST, added), baseUrls);
+        Assert.assertSame(fast, find(loadBalancer, FAST));
+        Assert.assertEquals(1, fast.getRequestCount());
+
+        //服务发现返回为空时保留原节点列表
+        urls.set(new ArrayList<>());
+        Thread.sleep(40);
+        Assert.assertEquals(2, loadBalancer.getEndpoints().size());
+    }
+
+    private static Endpoint find(LoadBalancer loadBalancer, String baseUrl) {
+        return loadBalancer.getEndpoints().stream().filter(e -> e.getBaseUrl().equals(baseUrl)).findFirst().get();
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
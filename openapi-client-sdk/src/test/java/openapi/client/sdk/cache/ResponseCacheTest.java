@@ -0,0 +1,91 @@
+package openapi.client.sdk.cache;
+
+import openapi.client.sdk.proxy.CallKey;
+import openapi.sdk.common.exception.OpenApiClientException;
+import openapi.sdk.common.model.OutParams;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class ResponseCacheTest {
+
+    @Test
+    public void cacheShouldLoadOnceAndSupportInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Object[], OutParams> loader = args -> OutParams.success("user-" + args[0] + "-" + loads.incrementAndGet());
+        ResponseCache cache = ResponseCache.register("userApi", "getUserById", 60, 100, 0, 0, null);
+        Object[] args = {1L};
+        String key = CallKey.of(args);
+        Assert.assertEquals("user-1-1", cache.get(key, args, loader).getData());
+        Assert.assertEquals("user-1-1", cache.get(key, args, loader).getData());
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertSame(cache, ResponseCache.get("userApi", "getUserById"));
+
+        //按参数使缓存失效后重新加载
+        ResponseCache.invalidate("userApi", "getUserById", 1L);
+        Assert.assertNull(cache.getIfPresent(key));
+        Assert.assertEquals("user-1-2", cache.get(key, args, loader).getData());
+
+        cache.put(CallKey.of(new Object[]{2L}), new Object[]{2L}, loader, OutParams.success("user-2"));
+        Assert.assertEquals("user-2", cache.getIfPresent(CallKey.of(new Object[]{2L})).getData());
+        ResponseCache.invalidateMethod("userApi", "getUserById");
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void loaderShouldBePassedPerCall() {
+        ResponseCache cache = ResponseCache.register("userApi", "getUserByName", 60, 100, 0, 0, null);
+        Object[] args = {"tom"};
+        String key = CallKey.of(args);
+        Assert.assertEquals("client1", cache.get(key, args, a -> OutParams.success("client1")).getData());
+        cache.invalidate(key);
+        //未命中时使用本次调用传入的加载函数，而不是第一次创建缓存时的加载函数
+        Assert.assertEquals("client2", cache.get(key, args, a -> OutParams.success("client2")).getData());
+    }
+
+    @Test
+    public void conflictingConfigShouldBeRejected() {
+        ResponseCache cache = ResponseCache.register("userApi", "listRoles", 60, 100, 0, 0, null);
+        //配置一致时返回已登记的缓存
+        Assert.assertSame(cache, ResponseCache.register("userApi", "listRoles", 60, 100, 0, 0, Runnable::run));
+        try {
+            ResponseCache.register("userApi", "listRoles", 30, 100, 0, 0, null);
+            Assert.fail("同名缓存的配置不同时应拒绝");
+        } catch (OpenApiClientException ex) {
+            Assert.assertTrue(ex.getMessage().contains("配置冲突"));
+        }
+        Assert.assertSame(cache, ResponseCache.get("userApi", "listRoles"));
+    }
+
+    @Test
+    public void maxBytesShouldEvictEntries() {
+        ResponseCache cache = new ResponseCache("userApi#listUsers", 60, 100, 1000, 0, Runnable::run);
+        for (long i = 0; i < 20; i++) {
+            Object[] args = {i};
+            cache.get(CallKey.of(args), args, a -> OutParams.success(String.valueOf(new char[200])));
+        }
+        cache.cleanUp();
+        //每个条目约400字节，最多保留2个
+        Assert.assertTrue(cache.size() <= 2);
+        Assert.assertTrue(cache.getEvictionCount() >= 18);
+    }
+
+    @Test
+    public void refreshShouldReturnStaleValueAndReloadInBackground() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Object[], OutParams> loader = args -> OutParams.success("config-" + loads.incrementAndGet());
+        ResponseCache cache = new ResponseCache("configApi#getConfig", 60, 100, 0, 1, Runnable::run);
+        Object[] args = {"k"};
+        String key = CallKey.of(args);
+        Assert.assertEquals("config-1", cache.get(key, args, loader).getData());
+        Thread.sleep(1100);
+        //超过刷新时间后的访问仍返回旧值，同时触发刷新（此处刷新线程池为调用线程）
+        Assert.assertEquals("config-1", cache.get(key, args, loader).getData());
+        Assert.assertEquals("config-2", cache.get(key, args, loader).getData());
+        Assert.assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,107 @@
+package openapi.client.sdk.hedge;
+
+import openapi.client.sdk.OpenApiClient;
+import openapi.client.sdk.OpenApiClientBuilder;
+import openapi.client.sdk.balance.Endpoint;
+import openapi.client.sdk.balance.LoadBalancer;
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.client.sdk.transport.TransportRequest;
+import openapi.client.sdk.transport.TransportResponse;
+import openapi.sdk.common.constant.Header;
+import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.enums.DataType;
+import openapi.sdk.common.model.OutParams;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public class HedgePolicyTest {
+
+    @Test
+    public void budgetShouldLimitHedgesToPercentOfRequests() {
+        HedgeBudget budget = new HedgeBudget(5);
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(budget.tryAcquire());
+        }
+        Assert.assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void delayShouldFollowLatencyPercentile() {
+        HedgePolicy policy = new HedgePolicy("HedgePolicyTest#percentile", 0, 95, new HedgeBudget(5));
+        Assert.assertEquals(0, policy.getDelayNanos());
+        for (int i = 1; i <= 128; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(i % 100 + 1));
+        }
+        long delayMillis = TimeUnit.NANOSECONDS.toMillis(policy.getDelayNanos());
+        Assert.assertTrue("delay=" + delayMillis, delayMillis >= 90 && delayMillis <= 100);
+    }
+
+    @Test
+    public void hedgeShouldWinOverStuckPrimaryAndCancelIt() {
+        StuckNode1Transport transport = new StuckNode1Transport();
+        HedgePolicy policy = new HedgePolicy("HedgePolicyTest#hedge", 50, 95, new HedgeBudget(100));
+        //node2的响应时间较长，主请求总是发往node1
+        LoadBalancer loadBalancer = new LoadBalancer(Arrays.asList("http://node1", "http://node2"));
+        Endpoint node2 = loadBalancer.getEndpoints().get(1);
+        loadBalancer.onStart(node2);
+        loadBalancer.onComplete(node2, TimeUnit.SECONDS.toNanos(1), true);
+        OpenApiClient client = new OpenApiClientBuilder(null, null, null, "caller", "userApi")
+                .cryModeEnum(CryModeEnum.HMAC)
+                .hmacSecret("hmac-secret")
+                .retDecrypt(false)
+                .transport(transport)
+                .loadBalancer(loadBalancer)
+                .hedgePolicy(policy)
+                .build();
+
+        OutParams outParams = client.callOpenApi("getUserById", 10001);
+        Assert.assertEquals("ok", outParams.getData());
+        Assert.assertEquals(1, policy.getHedgeCount());
+        Assert.assertEquals(1, policy.getHedgeWinCount());
+        Assert.assertTrue(transport.stuck.isCancelled());
+        //两个请求发往不同的节点（冷启动时主请求的加密可能晚于对冲请求到达传输层）
+        Assert.assertEquals(new HashSet<>(Arrays.asList("http://node1/openapi/call", "http://node2/openapi/call")),
+                new HashSet<>(transport.urls));
+    }
+
+    /**
+     * 发往node1的请求一直不返回，发往其它节点的请求立即成功
+     */
+    private static class StuckNode1Transport implements OpenApiTransport {
+
+        private final CompletableFuture<TransportResponse> stuck = new CompletableFuture<>();
+
+        private final List<String> urls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public TransportResponse execute(TransportRequest request) {
+            return executeAsync(request, Runnable::run).join();
+        }
+
+        @Override
+        public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+            urls.add(request.getUrl());
+            if (request.getUrl().startsWith("http://node1")) {
+                return stuck;
+            }
+            TransportResponse response = new TransportResponse();
+            response.setStatus(200);
+            response.addHeader(Header.Response.CODE, "200");
+            response.addHeader(Header.Response.DATA_TYPE, DataType.TEXT.name());
+            response.setBody("ok".getBytes(StandardCharsets.UTF_8));
+            return CompletableFuture.completedFuture(response);
+        }
+    }
+}
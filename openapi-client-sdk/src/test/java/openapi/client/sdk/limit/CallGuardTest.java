@@ -0,0 +1,169 @@
+package openapi.client.sdk.limit;
+
+import openapi.client.sdk.OpenApiClient;
+import openapi.client.sdk.OpenApiClientBuilder;
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.client.sdk.transport.TransportRequest;
+import openapi.client.sdk.transport.TransportResponse;
+import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.exception.OpenApiClientException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CallGuardTest {
+
+    @Test
+    public void limiterShouldRejectAtLimitAndBackOffOnDrops() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("CallGuardTest#limiter", 10, 1, 100, null);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(limiter.tryAcquire());
+        }
+        Assert.assertFalse(limiter.tryAcquire());
+        Assert.assertEquals(1, limiter.getRejectedCount());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onComplete(TimeUnit.MILLISECONDS.toNanos(10), true);
+        }
+        Assert.assertEquals(0, limiter.getInFlight());
+        //每次失败乘以0.9：10 * 0.9^10 ≈ 3.5
+        Assert.assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    public void limiterShouldGrowWhileLatencyIsStable() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("CallGuardTest#grow", 10, 1, 100, null);
+        for (int round = 0; round < 20; round++) {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                limiter.tryAcquire();
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.onComplete(TimeUnit.MILLISECONDS.toNanos(10), false);
+            }
+        }
+        Assert.assertTrue("limit=" + limiter.getLimit(), limiter.getLimit() > 10);
+    }
+
+    @Test
+    public void breakerShouldOpenThenCloseAfterHalfOpenProbes() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        CallGuardListener listener = new CallGuardListener() {
+            @Override
+            public void onStateChange(String name, CircuitBreaker.State from, CircuitBreaker.State to) {
+                events.add(from + "->" + to);
+            }
+        };
+        CircuitBreaker breaker = new CircuitBreaker("CallGuardTest#breaker", 50, 10, 20, 50, 2, listener);
+        for (int i = 0; i < 10; i++) {
+            long permit = breaker.tryAcquire();
+            Assert.assertNotEquals(CircuitBreaker.NO_PERMIT, permit);
+            breaker.onComplete(permit, i % 2 == 0);
+        }
+        Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Assert.assertEquals(CircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+
+        Thread.sleep(80);
+        long probe1 = breaker.tryAcquire();
+        long probe2 = breaker.tryAcquire();
+        Assert.assertNotEquals(CircuitBreaker.NO_PERMIT, probe1);
+        Assert.assertNotEquals(CircuitBreaker.NO_PERMIT, probe2);
+        //半开状态只放行2个探测调用
+        Assert.assertEquals(CircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+        breaker.onComplete(probe1, true);
+        breaker.onComplete(probe2, true);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        Assert.assertEquals(2, breaker.getRejectedCount());
+        Assert.assertEquals("[CLOSED->OPEN, OPEN->HALF_OPEN, HALF_OPEN->CLOSED]", events.toString());
+    }
+
+    @Test
+    public void staleCompletionShouldBeIgnored() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("CallGuardTest#stale", 50, 2, 2, 50, 1, null);
+        //熔断打开前放行的慢调用
+        long slow1 = breaker.tryAcquire();
+        long slow2 = breaker.tryAcquire();
+        long slow3 = breaker.tryAcquire();
+        for (int i = 0; i < 2; i++) {
+            breaker.onComplete(breaker.tryAcquire(), false);
+        }
+        Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(80);
+        long probe = breaker.tryAcquire();
+        Assert.assertNotEquals(CircuitBreaker.NO_PERMIT, probe);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        //慢调用在半开期间才完成，不能当作探测结果关闭或重新打开熔断，也不能释放探测名额
+        breaker.onComplete(slow1, true);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onComplete(slow2, false);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onCancel(slow3);
+        Assert.assertEquals(CircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+
+        breaker.onComplete(probe, true);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        //探测调用在关闭后重复完成，不计入新的滑动窗口
+        breaker.onComplete(probe, false);
+        Assert.assertEquals(0, breaker.getFailureRate(), 0);
+    }
+
+    @Test
+    public void clientShouldFailFastWhenBreakerIsOpen() {
+        FailingTransport transport = new FailingTransport();
+        GuardOptions options = new GuardOptions();
+        options.setLimiterEnabled(false);
+        options.setMinimumCalls(3);
+        options.setSlidingWindowSize(3);
+        OpenApiClient client = new OpenApiClientBuilder("http://node1", null, null, "caller", "CallGuardTest")
+                .cryModeEnum(CryModeEnum.HMAC)
+                .hmacSecret("hmac-secret")
+                .retDecrypt(false)
+                .transport(transport)
+                .guardOptions(options)
+                .build();
+        for (int i = 0; i < 3; i++) {
+            try {
+                client.callOpenApi("getUserById", 10001);
+                Assert.fail();
+            } catch (RuntimeException ex) {
+                Assert.assertTrue(ex.getMessage().contains("boom"));
+            }
+        }
+        try {
+            client.callOpenApi("getUserById", 10001);
+            Assert.fail();
+        } catch (OpenApiClientException ex) {
+            Assert.assertTrue(ex.getMessage().contains("熔断"));
+        }
+        //熔断后不再发出HTTP请求
+        Assert.assertEquals(3, transport.count.get());
+        Assert.assertEquals(CircuitBreaker.State.OPEN,
+                CallGuard.getAll().get("CallGuardTest#getUserById").getBreaker().getState());
+    }
+
+    /**
+     * 所有请求都抛出网络异常
+     */
+    private static class FailingTransport implements OpenApiTransport {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public TransportResponse execute(TransportRequest request) {
+            count.incrementAndGet();
+            throw new OpenApiClientException("boom");
+        }
+
+        @Override
+        public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+            return CompletableFuture.supplyAsync(() -> execute(request), executor);
+        }
+    }
+}
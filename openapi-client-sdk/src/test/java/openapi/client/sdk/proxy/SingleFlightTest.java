@@ -0,0 +1,86 @@
+package openapi.client.sdk.proxy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest {
+
+    @Test
+    public void concurrentCallsShouldShareOneExecution() throws Exception {
+        SingleFlight singleFlight = SingleFlight.get("SingleFlightTest#sync");
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> singleFlight.execute("1", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "user-1";
+                })));
+            }
+            //等待其它调用均已合并到在途调用上
+            long deadline = System.currentTimeMillis() + 5000;
+            while (singleFlight.getCoalescedCount() < 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<String> future : futures) {
+                Assert.assertEquals("user-1", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, executions.get());
+        Assert.assertEquals(1, singleFlight.getExecutedCount());
+        Assert.assertEquals(7, singleFlight.getCoalescedCount());
+        Assert.assertEquals(0, singleFlight.getInFlightCount());
+
+        //在途调用完成后重新发起调用
+        Assert.assertEquals("user-2", singleFlight.execute("1", () -> "user-2"));
+        Assert.assertEquals(2, singleFlight.getExecutedCount());
+        Assert.assertSame(singleFlight, SingleFlight.getAll().get("SingleFlightTest#sync"));
+    }
+
+    @Test
+    public void asyncCallsShouldShareResultAndFailure() {
+        SingleFlight singleFlight = SingleFlight.get("SingleFlightTest#async");
+        CompletableFuture<String> remote = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.executeAsync("1", () -> remote);
+        CompletableFuture<String> second = singleFlight.executeAsync("1", () -> CompletableFuture.completedFuture("other"));
+        CompletableFuture<String> otherKey = singleFlight.executeAsync("2", () -> CompletableFuture.completedFuture("user-2"));
+        //一个调用方取消不影响其它调用方
+        second.cancel(true);
+        remote.complete("user-1");
+        Assert.assertEquals("user-1", first.join());
+        Assert.assertEquals("user-2", otherKey.join());
+        Assert.assertEquals(1, singleFlight.getCoalescedCount());
+
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        CompletableFuture<String> third = singleFlight.executeAsync("1", () -> failed);
+        CompletableFuture<String> fourth = singleFlight.executeAsync("1", () -> failed);
+        failed.completeExceptionally(new IllegalStateException("boom"));
+        Assert.assertTrue(third.isCompletedExceptionally());
+        Assert.assertTrue(fourth.isCompletedExceptionally());
+        Assert.assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package openapi.client.sdk.timeout;
+
+import openapi.client.sdk.OpenApiClient;
+import openapi.client.sdk.OpenApiClientBuilder;
+import openapi.client.sdk.transport.OpenApiTransport;
+import openapi.client.sdk.transport.TransportRequest;
+import openapi.client.sdk.transport.TransportResponse;
+import openapi.sdk.common.constant.Header;
+import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.enums.DataType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveTimeoutTest {
+
+    @Test
+    public void histogramPercentileShouldBeWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram(TimeUnit.MINUTES.toMillis(1));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        Assert.assertEquals(1000, histogram.getCount());
+        double p50 = histogram.getPercentile(50) / 1e6;
+        double p99 = histogram.getPercentile(99) / 1e6;
+        Assert.assertTrue("p50=" + p50, p50 >= 500 && p50 <= 500 * 1.125);
+        Assert.assertTrue("p99=" + p99, p99 >= 990 && p99 <= 990 * 1.125);
+        for (long micros = 0; micros < 100000; micros += 7) {
+            int index = LatencyHistogram.index(micros);
+            Assert.assertTrue(micros <= LatencyHistogram.upperBound(index));
+            Assert.assertTrue(index == 0 || micros > LatencyHistogram.upperBound(index - 1));
+        }
+    }
+
+    @Test
+    public void timeoutShouldFollowLatencyWithinBounds() {
+        AdaptiveTimeoutOptions options = new AdaptiveTimeoutOptions();
+        options.setMinTimeout(10);
+        AdaptiveTimeout timeout = new AdaptiveTimeout("AdaptiveTimeoutTest#bounds", options);
+        //样本不足时使用静态的超时时间
+        Assert.assertEquals(5000, timeout.getReadTimeout(5000));
+        for (int i = 0; i < 64; i++) {
+            timeout.record(TimeUnit.MILLISECONDS.toNanos(20), true, 5000);
+        }
+        long readTimeout = timeout.getReadTimeout(5000);
+        Assert.assertTrue("readTimeout=" + readTimeout, readTimeout >= 40 && readTimeout <= 46);
+        Assert.assertEquals(readTimeout, timeout.getReadTimeout());
+        //不超过上限
+        Assert.assertEquals(30, timeout.getReadTimeout(30));
+
+        //快速失败不记录，超时的请求按超时时间记录，使超时时间放宽
+        timeout.record(TimeUnit.MILLISECONDS.toNanos(1), false, readTimeout);
+        Assert.assertEquals(64, timeout.getSampleCount());
+        for (int i = 0; i < 16; i++) {
+            timeout.record(TimeUnit.MILLISECONDS.toNanos(readTimeout), false, readTimeout);
+        }
+        Assert.assertEquals(16, timeout.getTimeoutCount());
+        Assert.assertTrue(timeout.getReadTimeout(5000) > readTimeout);
+    }
+
+    @Test
+    public void clientShouldSendAdaptiveReadTimeout() {
+        RecordingTransport transport = new RecordingTransport();
+        AdaptiveTimeoutOptions options = new AdaptiveTimeoutOptions();
+        options.setMinTimeout(200);
+        OpenApiClient client = new OpenApiClientBuilder("http://node1", null, null, "caller", "AdaptiveTimeoutTest")
+                .cryModeEnum(CryModeEnum.HMAC)
+                .hmacSecret("hmac-secret")
+                .retDecrypt(false)
+                .httpConnectionTimeoutMillis(1500)
+                .httpReadTimeoutMillis(4500)
+                .transport(transport)
+                .adaptiveTimeoutOptions(options)
+                .build();
+        client.callOpenApi("getUserById", 10001);
+        Assert.assertEquals(1500, transport.last.getConnectTimeout());
+        Assert.assertEquals(4500, transport.last.getReadTimeout());
+        for (int i = 0; i < 64; i++) {
+            client.callOpenApi("getUserById", 10001);
+        }
+        //本地调用的响应时间远小于下限，超时时间收敛到下限
+        Assert.assertEquals(200, transport.last.getReadTimeout());
+        Assert.assertEquals(200, client.getReadTimeout("getUserById"));
+    }
+
+    /**
+     * 记录最近一次请求，立即返回成功
+     */
+    private static class RecordingTransport implements OpenApiTransport {
+
+        private volatile TransportRequest last;
+
+        @Override
+        public TransportResponse execute(TransportRequest request) {
+            last = request;
+            TransportResponse response = new TransportResponse();
+            response.setStatus(200);
+            response.addHeader(Header.Response.CODE, "200");
+            response.addHeader(Header.Response.DATA_TYPE, DataType.TEXT.name());
+            response.setBody("ok".getBytes(StandardCharsets.UTF_8));
+            return response;
+        }
+
+        @Override
+        public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+            return CompletableFuture.completedFuture(execute(request));
+        }
+    }
+}
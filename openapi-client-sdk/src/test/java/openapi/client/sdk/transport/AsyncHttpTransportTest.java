@@ -0,0 +1,92 @@
+package openapi.client.sdk.transport;
+
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.io.IoUtil;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+
+public class AsyncHttpTransportTest {
+
+    private HttpServer server;
+
+    private String url;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/echo", exchange -> {
+            byte[] body = IoUtil.readBytes(exchange.getRequestBody());
+            exchange.getResponseHeaders().add("openapi-uuid", exchange.getRequestHeaders().getFirst("openapi-uuid"));
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/echo";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void concurrentRequestsShouldShareFewConnections() {
+        AsyncHttpTransport transport = new AsyncHttpTransport(10, 4, 30, 60, 0, 1);
+        try {
+            List<CompletableFuture<TransportResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(transport.executeAsync(request(url, "uuid-" + i), null));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                TransportResponse response = futures.get(i).join();
+                Assert.assertEquals(200, response.getStatus());
+                Assert.assertEquals("uuid-" + i, response.header("openapi-uuid"));
+                Assert.assertEquals("body", new String(response.getBody(), StandardCharsets.UTF_8));
+            }
+            Assert.assertEquals(0, transport.getLeasedCount());
+            Assert.assertTrue(transport.getAvailableCount() <= 4);
+            Assert.assertEquals(200, transport.execute(request(url, "sync")).getStatus());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void connectFailureShouldCompleteExceptionally() {
+        AsyncHttpTransport transport = AsyncHttpTransport.getShared(10, 4, 30, 60, 0, 1);
+        server.stop(0);
+        try {
+            transport.executeAsync(request(url, "uuid"), null).join();
+            Assert.fail("连接失败时应抛出异常");
+        } catch (CompletionException ex) {
+            Assert.assertTrue(ex.getCause() instanceof IORuntimeException);
+        }
+        Assert.assertSame(transport, AsyncHttpTransport.getShared(10, 4, 30, 60, 0, 1));
+    }
+
+    private TransportRequest request(String url, String uuid) {
+        TransportRequest request = new TransportRequest();
+        request.setUrl(url);
+        request.setHeaders(Collections.singletonMap("openapi-uuid", uuid));
+        request.setBody("body".getBytes(StandardCharsets.UTF_8));
+        request.setConnectTimeout(3000);
+        request.setReadTimeout(5000);
+        return request;
+    }
+}
@@ -0,0 +1,160 @@
+package openapi.client.sdk.transport;
+
+import cn.hutool.core.io.IoUtil;
+import com.sun.net.httpserver.HttpServer;
+import openapi.sdk.common.model.StreamBody;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class PooledHttpTransportTest {
+
+    private HttpServer server;
+
+    private String url;
+
+    /**
+     * 服务端看到的客户端连接（远程端口）
+     */
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/echo", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = IoUtil.readBytes(exchange.getRequestBody());
+            exchange.getResponseHeaders().add("openapi-uuid", exchange.getRequestHeaders().getFirst("openapi-uuid"));
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/echo";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void pooledTransportShouldReuseConnections() {
+        PooledHttpTransport transport = new PooledHttpTransport(10, 5, 30, 60, 0);
+        try {
+            for (int i = 0; i < 20; i++) {
+                TransportResponse response = transport.execute(request("uuid-" + i));
+                Assert.assertEquals(200, response.getStatus());
+                Assert.assertEquals("uuid-" + i, response.header("OPENAPI-UUID"));
+                Assert.assertEquals("body", new String(response.getBody(), StandardCharsets.UTF_8));
+            }
+            Assert.assertEquals(1, clientPorts.size());
+            Assert.assertEquals(0, transport.getLeasedCount());
+            Assert.assertEquals(1, transport.getAvailableCount());
+            Assert.assertEquals(1, transport.getRouteStats().size());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void transportsShouldReturnSameResponse() {
+        TransportResponse pooled = PooledHttpTransport.getShared(10, 5, 30, 60, 0).execute(request("uuid"));
+        TransportResponse hutool = HutoolTransport.INSTANCE.execute(request("uuid"));
+        Assert.assertEquals(hutool.getStatus(), pooled.getStatus());
+        Assert.assertEquals(hutool.header("openapi-uuid"), pooled.header("openapi-uuid"));
+        Assert.assertArrayEquals(hutool.getBody(), pooled.getBody());
+        Assert.assertSame(PooledHttpTransport.getShared(10, 5, 30, 60, 0), PooledHttpTransport.getShared(10, 5, 30, 60, 0));
+    }
+
+    @Test
+    public void transportsShouldSendStreamBody() {
+        byte[] data = new byte[200_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        OpenApiTransport[] transports = {HutoolTransport.INSTANCE, PooledHttpTransport.getShared(10, 5, 30, 60, 0),
+                AsyncHttpTransport.getShared(10, 4, 30, 60, 0, 1)};
+        for (OpenApiTransport transport : transports) {
+            //长度已知时固定长度发送，未知时分块传输
+            for (long length : new long[]{data.length, -1}) {
+                TransportRequest request = request("uuid");
+                request.setBody(null);
+                request.setBodyStream(new StreamBody() {
+                    @Override
+                    public long getLength() {
+                        return length;
+                    }
+
+                    @Override
+                    public InputStream open() {
+                        return new ByteArrayInputStream(data);
+                    }
+
+                    @Override
+                    public boolean isRepeatable() {
+                        return true;
+                    }
+                });
+                TransportResponse response = transport.execute(request);
+                Assert.assertEquals(transport + ":" + length, 200, response.getStatus());
+                Assert.assertArrayEquals(transport + ":" + length, data, response.getBody());
+            }
+        }
+    }
+
+    @Test
+    public void transportsShouldPassBodyToReader() throws Exception {
+        byte[] data = new byte[200_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 7);
+        }
+        OpenApiTransport[] transports = {HutoolTransport.INSTANCE, PooledHttpTransport.getShared(10, 5, 30, 60, 0),
+                AsyncHttpTransport.getShared(10, 4, 30, 60, 0, 1)};
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (OpenApiTransport transport : transports) {
+                for (boolean async : new boolean[]{false, true}) {
+                    ByteArrayOutputStream received = new ByteArrayOutputStream();
+                    TransportRequest request = request("uuid");
+                    request.setBody(data);
+                    request.setBodyReader((response, body) -> IoUtil.copy(body, received));
+                    TransportResponse response = async ? transport.executeAsync(request, executor).get(5, TimeUnit.SECONDS)
+                            : transport.execute(request);
+                    Assert.assertEquals(transport + ":" + async, 200, response.getStatus());
+                    Assert.assertEquals("uuid", response.header("openapi-uuid"));
+                    //响应体由读取器消费，不再读入内存
+                    Assert.assertNull(response.getBody());
+                    Assert.assertArrayEquals(transport + ":" + async, data, received.toByteArray());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private TransportRequest request(String uuid) {
+        TransportRequest request = new TransportRequest();
+        request.setUrl(url);
+        request.setHeaders(Collections.singletonMap("openapi-uuid", uuid));
+        request.setBody("body".getBytes(StandardCharsets.UTF_8));
+        request.setConnectTimeout(3000);
+        request.setReadTimeout(5000);
+        return request;
+    }
+}
@@ -37,6 +37,7 @@ public class ClientApplication {
         UserApiTest2 test2 = context.getBean(UserApiTest2.class);
         test2.getRoleById();
         test2.getUserById();
+        test2.getUserByIdAsync();
         test2.saveUser();
         test2.batchSaveUser();
         test2.batchSaveUser2();
@@ -50,6 +51,7 @@ public class ClientApplication {
 
         FileApiTest fileApiTest = context.getBean(FileApiTest.class);
         fileApiTest.uploadTest();
+        fileApiTest.uploadStreamTest();
         fileApiTest.batchUploadTest();
         fileApiTest.batchUpload2Test();
         fileApiTest.downloadTest();
@@ -3,6 +3,7 @@ package openapi.example.client.openapiclient;
 import openapi.client.sdk.annotation.OpenApiMethod;
 import openapi.client.sdk.annotation.OpenApiRef;
 import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.model.StreamBinary;
 
 import java.util.List;
 
@@ -19,6 +20,9 @@ public interface FileApiClient {
     @OpenApiMethod(value = "upload", httpReadTimeout = 60)
     void upload(Long id, FileBinary file1, FileBinary file2);
 
+    @OpenApiMethod(value = "uploadStream", httpReadTimeout = 600)
+    void upload(Long id, StreamBinary file);
+
     @OpenApiMethod(value = "batchUpload", httpReadTimeout = 600)
     void upload(Long id, FileBinary[] files);
 
@@ -3,6 +3,7 @@ package openapi.example.client.openapiclient;
 import cn.hutool.core.io.FileUtil;
 import lombok.extern.slf4j.Slf4j;
 import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.model.StreamBinary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -37,6 +38,14 @@ public class FileApiTest {
         log.info("upload end. costTime={}", System.currentTimeMillis() - startTime);
     }
 
+    public void uploadStreamTest() {
+        log.info("uploadStream start...");
+        long startTime = System.currentTimeMillis();
+        File src = new File(dir, "001.txt");
+        fileApiClient.upload(11L, StreamBinary.of(src.toPath()));
+        log.info("uploadStream end. costTime={}", System.currentTimeMillis() - startTime);
+    }
+
     public void batchUploadTest() {
         log.info("batchUpload start...");
         long startTime = System.currentTimeMillis();
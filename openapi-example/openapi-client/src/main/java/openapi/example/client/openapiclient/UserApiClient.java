@@ -8,6 +8,7 @@ import openapi.sdk.common.enums.CryModeEnum;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author wanghuidong
@@ -16,9 +17,12 @@ import java.util.Map;
 @OpenApiRef(value = "userApi")
 public interface UserApiClient {
 
-    @OpenApiMethod("getUserById")
+    @OpenApiMethod(value = "getUserById", coalesce = true)
     User getUserById(Long id);
 
+    @OpenApiMethod("getUserById")
+    CompletableFuture<User> getUserByIdAsync(Long id);
+
     @OpenApiMethod("saveUser")
     Boolean saveUser(User user);
 
@@ -28,7 +32,7 @@ public interface UserApiClient {
     @OpenApiMethod("batchSaveUser2")
     void batchSaveUser(User[] users);
 
-    @OpenApiMethod(value = "listUsers")
+    @OpenApiMethod(value = "listUsers", idempotent = true)
     List<User> listUsers(List<Long> ids);
 
     @OpenApiMethod("listUsers2")
@@ -40,7 +44,7 @@ public interface UserApiClient {
     @OpenApiMethod(value = "getAllUsers", retDecrypt = "false", cryModeEnum = CryModeEnum.ASYMMETRIC_CRY, enableCompress = "true")
     List<User> getAllUsers();
 
-    @OpenApiMethod(value = "getAllUsersMap")
+    @OpenApiMethod(value = "getAllUsersMap", cacheTtl = 60)
     Map<Long, User> getAllUsersMap();
 
     @OpenApiMethod("addUser")
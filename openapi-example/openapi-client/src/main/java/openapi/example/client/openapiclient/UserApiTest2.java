@@ -11,6 +11,7 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author wanghuidong
@@ -35,6 +36,15 @@ public class UserApiTest2 {
         log.info("返回值：" + user);
     }
 
+    public void getUserByIdAsync() {
+        List<CompletableFuture<User>> futures = new ArrayList<>();
+        for (long id = 10001; id <= 10010; id++) {
+            futures.add(userApiClient.getUserByIdAsync(id));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        futures.forEach(future -> log.info("异步返回值：" + future.join()));
+    }
+
     public void saveUser() {
         User user = new User();
         user.setId(1L);
@@ -2,10 +2,13 @@ package openapi.example.server.openapi;
 
 import cn.hutool.core.io.FileUtil;
 import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.model.StreamBinary;
 import openapi.server.sdk.annotation.OpenApi;
 import openapi.server.sdk.annotation.OpenApiMethod;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -26,6 +29,15 @@ public class FileApi {
         FileUtil.writeBytes(fileBytes, dest);
     }
 
+    @OpenApiMethod("uploadStream")
+    public void upload(Long id, StreamBinary file) throws IOException {
+        //大文件在接收时已写入临时文件，不占用内存
+        File dest = new File(dir, "upload/" + file.getFileName());
+        try (InputStream in = file.openStream()) {
+            FileUtil.writeFromStream(in, dest);
+        }
+    }
+
     @OpenApiMethod("batchUpload")
     public void upload(Long id, FileBinary[] files) {
         System.out.println("batchUpload id:" + id);
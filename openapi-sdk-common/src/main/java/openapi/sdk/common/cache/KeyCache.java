@@ -0,0 +1,149 @@
+package openapi.sdk.common.cache;
+
+import cn.hutool.cache.impl.LRUCache;
+import openapi.sdk.common.constant.Constant;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 密钥对象缓存（密钥字符串 -> 解析后的密钥对象，如PrivateKey/PublicKey或BouncyCastle的密钥参数）
+ * <p>
+ * 解析Base64密钥需要解码并解析PKCS8/X509结构，每次请求都解析代价较高，故按算法分别缓存解析结果。
+ * 缓存采用LRU淘汰策略并限制容量，避免调用者数量很多时无限增长。
+ * </p>
+ * <p>
+ * 注：Signature/Cipher对象有内部状态且非线程安全，不在此缓存，只缓存不可变的密钥对象
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public final class KeyCache {
+
+    /**
+     * 私钥缓存，key: 算法名称，value: 该算法下的私钥缓存
+     */
+    private static final Map<String, LRUCache<String, Object>> PRIVATE_KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * 公钥缓存，key: 算法名称，value: 该算法下的公钥缓存
+     */
+    private static final Map<String, LRUCache<String, Object>> PUBLIC_KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * 每个算法缓存的最大密钥数量
+     */
+    private static volatile int capacity = Constant.KEY_CACHE_CAPACITY;
+
+    private KeyCache() {
+    }
+
+    /**
+     * 获取私钥对象，缓存中不存在时使用解析器解析并放入缓存
+     *
+     * @param algoName   算法名称
+     * @param privateKey 私钥字符串
+     * @param parser     私钥解析器
+     * @param <T>        私钥对象类型
+     * @return 私钥对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getPrivateKey(String algoName, String privateKey, Function<String, T> parser) {
+        LRUCache<String, Object> cache = PRIVATE_KEYS.computeIfAbsent(algoName, k -> new LRUCache<>(capacity));
+        return (T) cache.get(privateKey, () -> parser.apply(privateKey));
+    }
+
+    /**
+     * 获取公钥对象，缓存中不存在时使用解析器解析并放入缓存
+     *
+     * @param algoName  算法名称
+     * @param publicKey 公钥字符串
+     * @param parser    公钥解析器
+     * @param <T>       公钥对象类型
+     * @return 公钥对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getPublicKey(String algoName, String publicKey, Function<String, T> parser) {
+        LRUCache<String, Object> cache = PUBLIC_KEYS.computeIfAbsent(algoName, k -> new LRUCache<>(capacity));
+        return (T) cache.get(publicKey, () -> parser.apply(publicKey));
+    }
+
+    /**
+     * 设置每个算法缓存的最大密钥数量（会清空已有缓存）
+     *
+     * @param capacity 最大密钥数量
+     */
+    public static void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("密钥缓存容量必须大于0");
+        }
+        KeyCache.capacity = capacity;
+        clear();
+    }
+
+    /**
+     * 获取每个算法缓存的最大密钥数量
+     *
+     * @return 最大密钥数量
+     */
+    public static int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static void clear() {
+        PRIVATE_KEYS.clear();
+        PUBLIC_KEYS.clear();
+    }
+
+    /**
+     * 获取缓存命中次数
+     *
+     * @return 命中次数
+     */
+    public static long getHitCount() {
+        long count = 0;
+        for (LRUCache<String, Object> cache : PRIVATE_KEYS.values()) {
+            count += cache.getHitCount();
+        }
+        for (LRUCache<String, Object> cache : PUBLIC_KEYS.values()) {
+            count += cache.getHitCount();
+        }
+        return count;
+    }
+
+    /**
+     * 获取缓存未命中次数
+     *
+     * @return 未命中次数
+     */
+    public static long getMissCount() {
+        long count = 0;
+        for (LRUCache<String, Object> cache : PRIVATE_KEYS.values()) {
+            count += cache.getMissCount();
+        }
+        for (LRUCache<String, Object> cache : PUBLIC_KEYS.values()) {
+            count += cache.getMissCount();
+        }
+        return count;
+    }
+
+    /**
+     * 获取当前缓存的密钥数量
+     *
+     * @return 密钥数量
+     */
+    public static int size() {
+        int size = 0;
+        for (LRUCache<String, Object> cache : PRIVATE_KEYS.values()) {
+            size += cache.size();
+        }
+        for (LRUCache<String, Object> cache : PUBLIC_KEYS.values()) {
+            size += cache.size();
+        }
+        return size;
+    }
+}
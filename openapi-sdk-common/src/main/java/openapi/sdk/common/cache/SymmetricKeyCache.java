@@ -0,0 +1,133 @@
+package openapi.sdk.common.cache;
+
+import cn.hutool.cache.impl.LRUCache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 对称密钥缓存（经非对称加密后的密钥 -> 原始密钥）
+ * <p>
+ * 当对方在一段时间内复用同一个对称密钥时，解密该密钥的私钥运算只需执行一次。
+ * 缓存按调用者分组，每个调用者最多缓存perCallerCapacity个密钥，调用者数量也有上限，
+ * 避免单个调用者发送大量不同密钥挤占其它调用者的缓存。
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class SymmetricKeyCache {
+
+    /**
+     * 各调用者的密钥缓存，key: 调用者ID
+     */
+    private final LRUCache<String, LRUCache<String, byte[]>> callerCaches;
+
+    /**
+     * 每个调用者最多缓存的密钥数量
+     */
+    private final int perCallerCapacity;
+
+    /**
+     * 密钥缓存有效期（单位毫秒），从放入缓存开始计算
+     */
+    private final long timeout;
+
+    /**
+     * 命中次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 未命中次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 对称密钥缓存
+     *
+     * @param callerCapacity    最多缓存的调用者数量
+     * @param perCallerCapacity 每个调用者最多缓存的密钥数量
+     * @param timeout           密钥缓存有效期（单位毫秒）
+     */
+    public SymmetricKeyCache(int callerCapacity, int perCallerCapacity, long timeout) {
+        if (callerCapacity <= 0 || perCallerCapacity <= 0 || timeout <= 0) {
+            throw new IllegalArgumentException("对称密钥缓存的容量及有效期必须大于0");
+        }
+        this.callerCaches = new LRUCache<>(callerCapacity);
+        this.perCallerCapacity = perCallerCapacity;
+        this.timeout = timeout;
+    }
+
+    /**
+     * 获取原始密钥，缓存中不存在时使用解密器解密并放入缓存
+     *
+     * @param callerId   调用者ID
+     * @param wrappedKey 经非对称加密后的密钥
+     * @param unwrapper  密钥解密器
+     * @return 原始密钥
+     */
+    public byte[] get(String callerId, String wrappedKey, Function<String, byte[]> unwrapper) {
+        LRUCache<String, byte[]> cache = callerCaches.get(callerId, () -> new LRUCache<>(perCallerCapacity, timeout));
+        //不刷新访问时间，保证缓存的密钥在固定时间后过期
+        byte[] keyBytes = cache.get(wrappedKey, false);
+        if (keyBytes != null) {
+            hitCount.increment();
+            return keyBytes;
+        }
+        missCount.increment();
+        keyBytes = unwrapper.apply(wrappedKey);
+        cache.put(wrappedKey, keyBytes);
+        return keyBytes;
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 获取命中率
+     *
+     * @return 命中率（0~1），尚无访问时返回0
+     */
+    public double getHitRatio() {
+        long hit = getHitCount();
+        long total = hit + getMissCount();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * 获取当前缓存的调用者数量
+     *
+     * @return 调用者数量
+     */
+    public int getCallerCount() {
+        return callerCaches.size();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        callerCaches.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SymmetricKeyCache{callers=%d, hit=%d, miss=%d, hitRatio=%.2f}",
+                getCallerCount(), getHitCount(), getMissCount(), getHitRatio());
+    }
+}
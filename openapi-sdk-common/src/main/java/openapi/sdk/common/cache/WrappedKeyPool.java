@@ -0,0 +1,235 @@
+package openapi.sdk.common.cache;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import openapi.sdk.common.constant.Constant;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.model.WrappedKey;
+import openapi.sdk.common.util.Base64Util;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 对称密钥预生成池
+ * <p>
+ * 为每个公钥维护一个有界队列，存放预先生成好的（原始对称密钥，经该公钥加密后的密钥）对，
+ * 由后台线程在队列低于一半时补充，请求线程只需出队；队列为空时在请求线程上同步生成（记为饥饿）。
+ * 适用于远程系统数量固定的场景，池按（对称算法，非对称算法，容量）共享，所有池共用一个后台线程。
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Slf4j
+public class WrappedKeyPool {
+
+    /**
+     * 所有的密钥池，key: 对称算法:非对称算法:容量
+     */
+    private static final Map<String, WrappedKeyPool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * 补充密钥的后台线程（守护线程，所有池共用）
+     */
+    private static final ExecutorService REFILLER = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new NamedThreadFactory("openapi-key-pool-", true));
+
+    /**
+     * 各公钥的密钥队列，key: 公钥
+     */
+    private final Map<String, KeyQueue> queues = new ConcurrentHashMap<>();
+
+    private final SymmetricCryHandler symmetricCryHandler;
+
+    private final AsymmetricCryHandler asymmetricCryHandler;
+
+    /**
+     * 每个公钥最多预生成的密钥数量
+     */
+    private final int capacity;
+
+    /**
+     * 池创建时间（纳秒），用于计算补充速率
+     */
+    private final long createTime = System.nanoTime();
+
+    private final LongAdder takeCount = new LongAdder();
+
+    private final LongAdder starvationCount = new LongAdder();
+
+    private final LongAdder refillCount = new LongAdder();
+
+    private WrappedKeyPool(SymmetricCryHandler symmetricCryHandler, AsymmetricCryHandler asymmetricCryHandler, int capacity) {
+        this.symmetricCryHandler = symmetricCryHandler;
+        this.asymmetricCryHandler = asymmetricCryHandler;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 获取密钥池（同样的算法及容量共用一个池）
+     *
+     * @param symmetricCryAlgo  对称加密算法
+     * @param asymmetricCryAlgo 非对称加密算法
+     * @param capacity          每个公钥最多预生成的密钥数量
+     * @return 密钥池
+     */
+    public static WrappedKeyPool getPool(String symmetricCryAlgo, String asymmetricCryAlgo, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("密钥池容量必须大于0");
+        }
+        String poolKey = symmetricCryAlgo + ":" + asymmetricCryAlgo + ":" + capacity;
+        return POOLS.computeIfAbsent(poolKey, k -> new WrappedKeyPool(CryHandlerMap.getSymmetricCryHandler(symmetricCryAlgo),
+                CryHandlerMap.getAsymmetricCryHandler(asymmetricCryAlgo), capacity));
+    }
+
+    /**
+     * 取出一个用指定公钥加密好的对称密钥，队列为空时同步生成
+     *
+     * @param publicKey 公钥
+     * @return 对称密钥（仅可使用一次）
+     */
+    public WrappedKey take(String publicKey) {
+        takeCount.increment();
+        KeyQueue queue = queues.get(publicKey);
+        if (queue == null && queues.size() < Constant.KEY_POOL_MAX_PUBLIC_KEYS) {
+            queue = queues.computeIfAbsent(publicKey, k -> new KeyQueue(capacity));
+        }
+        WrappedKey wrappedKey = null;
+        if (queue != null) {
+            wrappedKey = queue.keys.poll();
+            if (queue.keys.size() <= capacity / 2) {
+                triggerRefill(publicKey, queue);
+            }
+        }
+        if (wrappedKey == null) {
+            starvationCount.increment();
+            wrappedKey = generate(publicKey);
+        }
+        return wrappedKey;
+    }
+
+    /**
+     * 触发后台补充（同一队列同时只有一个补充任务）
+     *
+     * @param publicKey 公钥
+     * @param queue     密钥队列
+     */
+    private void triggerRefill(String publicKey, KeyQueue queue) {
+        if (!queue.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        REFILLER.execute(() -> {
+            try {
+                while (queue.keys.remainingCapacity() > 0) {
+                    queue.keys.offer(generate(publicKey));
+                    refillCount.increment();
+                }
+            } catch (Exception ex) {
+                //补充失败不影响调用，请求线程会同步生成并抛出具体异常
+                log.warn("密钥池补充失败", ex);
+            } finally {
+                queue.refilling.set(false);
+            }
+        });
+    }
+
+    /**
+     * 生成对称密钥并用公钥加密
+     *
+     * @param publicKey 公钥
+     * @return 对称密钥
+     */
+    private WrappedKey generate(String publicKey) {
+        byte[] keyBytes = symmetricCryHandler.generateKey();
+        String cryKey = asymmetricCryHandler.cry(publicKey, Base64Util.bytesToBase64(keyBytes));
+        return new WrappedKey(keyBytes, cryKey, publicKey, 0, 1);
+    }
+
+    /**
+     * 获取取密钥的总次数
+     *
+     * @return 取密钥次数
+     */
+    public long getTakeCount() {
+        return takeCount.sum();
+    }
+
+    /**
+     * 获取饥饿次数（队列为空，在请求线程上同步生成的次数）
+     *
+     * @return 饥饿次数
+     */
+    public long getStarvationCount() {
+        return starvationCount.sum();
+    }
+
+    /**
+     * 获取饥饿率
+     *
+     * @return 饥饿率（0~1），尚无访问时返回0
+     */
+    public double getStarvationRatio() {
+        long take = getTakeCount();
+        return take == 0 ? 0 : (double) getStarvationCount() / take;
+    }
+
+    /**
+     * 获取后台补充的密钥总数
+     *
+     * @return 补充的密钥数
+     */
+    public long getRefillCount() {
+        return refillCount.sum();
+    }
+
+    /**
+     * 获取后台补充速率（自池创建以来的平均值）
+     *
+     * @return 每秒补充的密钥数
+     */
+    public double getRefillRate() {
+        double seconds = (System.nanoTime() - createTime) / 1e9;
+        return seconds <= 0 ? 0 : getRefillCount() / seconds;
+    }
+
+    /**
+     * 获取当前已预生成的密钥数量
+     *
+     * @return 密钥数量
+     */
+    public int size() {
+        int size = 0;
+        for (KeyQueue queue : queues.values()) {
+            size += queue.keys.size();
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WrappedKeyPool{size=%d, take=%d, starvation=%d, refill=%d, refillRate=%.1f/s}",
+                size(), getTakeCount(), getStarvationCount(), getRefillCount(), getRefillRate());
+    }
+
+    /**
+     * 单个公钥的密钥队列
+     */
+    private static class KeyQueue {
+        private final BlockingQueue<WrappedKey> keys;
+        private final AtomicBoolean refilling = new AtomicBoolean(false);
+
+        private KeyQueue(int capacity) {
+            this.keys = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -12,6 +12,76 @@ public class Constant {
      */
     public static final String OPENAPI_PATH = "/openapi/call";
 
+    /**
+     * openapi批量调用接口路径
+     */
+    public static final String BATCH_PATH = "/openapi/batch";
+
+    /**
+     * 批量调用请求使用的保留接口名（作为请求头的接口名参与签名，避免批量请求与单次请求互相重放）
+     */
+    public static final String BATCH_API = "openapi.batch";
+
+    /**
+     * 批量调用请求使用的保留方法名
+     */
+    public static final String BATCH_METHOD = "call";
+
+    /**
+     * 单次批量调用默认最多包含的调用条目数
+     */
+    public static final int BATCH_MAX_SIZE = 100;
+
+    /**
+     * openapi分片传输接口路径
+     */
+    public static final String CHUNK_PATH = "/openapi/chunk";
+
+    /**
+     * 分片传输请求使用的保留接口名（方法名为查询、上传、下载、释放之一）
+     */
+    public static final String CHUNK_API = "openapi.chunk";
+
+    /**
+     * 分片传输：查询已确认接收的分片
+     */
+    public static final String CHUNK_METHOD_STATUS = "status";
+
+    /**
+     * 分片传输：上传一个分片
+     */
+    public static final String CHUNK_METHOD_UPLOAD = "upload";
+
+    /**
+     * 分片传输：下载一个分片
+     */
+    public static final String CHUNK_METHOD_DOWNLOAD = "download";
+
+    /**
+     * 分片传输：释放服务端暂存的数据
+     */
+    public static final String CHUNK_METHOD_RELEASE = "release";
+
+    /**
+     * 服务端默认接受的最大分片大小（单位字节）
+     */
+    public static final long CHUNK_MAX_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * 服务端暂存的分片数据默认保留时间（单位秒），超时未完成的传输被清理
+     */
+    public static final long CHUNK_EXPIRE_TIME = 24 * 3600;
+
+    /**
+     * 服务端分片传输默认最多暂存的数据量（单位字节，所有调用者共享）
+     */
+    public static final long CHUNK_DISK_QUOTA = 10L * 1024 * 1024 * 1024;
+
+    /**
+     * openapi会话握手接口路径
+     */
+    public static final String HANDSHAKE_PATH = "/openapi/handshake";
+
     /**
      * openapi接口文档数据接口
      */
@@ -26,4 +96,79 @@ public class Constant {
      * 超出最大日志长度保留的长度
      */
     public static final int OVER_MAX_LOG_KEEP_LENGTH = 100;
+
+    /**
+     * 每种算法默认缓存的最大密钥数量
+     */
+    public static final int KEY_CACHE_CAPACITY = 4096;
+
+    /**
+     * 会话默认有效期（单位秒）
+     */
+    public static final long SESSION_TTL = 3600;
+
+    /**
+     * 服务端默认最多保存会话的调用者数量
+     */
+    public static final int SESSION_CALLER_CAPACITY = 10_000;
+
+    /**
+     * 服务端默认每个调用者最多保存的会话数量
+     */
+    public static final int SESSION_PER_CALLER = 64;
+
+    /**
+     * 握手请求默认的时间窗口（单位秒），请求时间戳与服务端时间相差超过该值时拒绝
+     */
+    public static final long HANDSHAKE_TIME_WINDOW = 300;
+
+    /**
+     * 对称密钥缓存（加密后的密钥 -> 原始密钥）默认有效期（单位秒）
+     */
+    public static final long SYMMETRIC_KEY_CACHE_TTL = 300;
+
+    /**
+     * 对称密钥缓存默认最多缓存的调用者数量
+     */
+    public static final int SYMMETRIC_KEY_CACHE_CALLER_CAPACITY = 1024;
+
+    /**
+     * 对称密钥缓存默认每个调用者最多缓存的密钥数量
+     */
+    public static final int SYMMETRIC_KEY_CACHE_PER_CALLER = 16;
+
+    /**
+     * 密钥池最多维护的公钥数量，超出的公钥不进行预生成
+     */
+    public static final int KEY_POOL_MAX_PUBLIC_KEYS = 256;
+
+    /**
+     * 服务端接收二进制参数时默认写入临时文件的阈值（单位字节），超过该大小的流式文件参数不读入内存
+     */
+    public static final long BINARY_SPOOL_THRESHOLD = 1024 * 1024;
+
+    /**
+     * 服务端接收二进制参数默认最多占用的内存（单位字节，所有请求共享）
+     */
+    public static final long BINARY_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    /**
+     * 服务端接收二进制参数默认最多占用的临时文件空间（单位字节，所有请求共享）
+     */
+    public static final long BINARY_DISK_BUDGET = 10L * 1024 * 1024 * 1024;
+
+    /**
+     * 二进制数据传输格式v1：参数长度、参数、文件数量（单字节，最多255个）后依次为各文件的长度及数据
+     */
+    public static final int BINARY_FORMAT_V1 = 1;
+
+    /**
+     * 二进制数据传输格式v2：格式标识、参数后为文件长度表（变长整数），之后依次为各文件的数据，可直接定位任意文件
+     */
+    public static final int BINARY_FORMAT_V2 = 2;
+
+    /**
+     * v2格式最多包含的文件数量
+     */
+    public static final int BINARY_MAX_COUNT = 65535;
 }
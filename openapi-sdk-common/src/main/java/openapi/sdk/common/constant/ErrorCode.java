@@ -22,4 +22,9 @@ public class ErrorCode {
      */
     public static final int NOT_FOUND = 404;
 
+    /**
+     * 会话无效（不存在或已过期，需重新握手）
+     */
+    public static final int SESSION_INVALID = 401;
+
 }
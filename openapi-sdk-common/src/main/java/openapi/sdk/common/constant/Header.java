@@ -20,6 +20,19 @@ public interface Header {
         String SYMMETRIC_CRY_KEY = "openapi-symmetricCryKey";
         String MULTI_PARAM = "openapi-multiParam";
         String DATA_TYPE = "openapi-dataType";
+        String SESSION_ID = "openapi-sessionId";
+        /**
+         * 请求时间戳（单位毫秒，握手请求时使用并参与签名）
+         */
+        String TIMESTAMP = "openapi-timestamp";
+        /**
+         * 客户端支持的二进制数据传输格式（请求体使用该格式，服务端可按该格式返回）
+         */
+        String BINARY_FORMAT = "openapi-binaryFormat";
+        /**
+         * 客户端支持分片下载时的分片大小（单位字节），二进制返回值超过该大小时服务端暂存数据并返回分片传输ID
+         */
+        String CHUNK_SIZE = "openapi-chunkSize";
     }
 
     /**
@@ -31,5 +44,8 @@ public interface Header {
         String MESSAGE = "openapi-message";
         String SYMMETRIC_CRY_KEY = "openapi-symmetricCryKey";
         String DATA_TYPE = "openapi-dataType";
+        String SESSION_ID = "openapi-sessionId";
+        String SESSION_TTL = "openapi-sessionTtl";
+        String SIGN = "openapi-sign";
     }
 }
@@ -17,6 +17,11 @@ public class AsymmetricCryAlgo {
      */
     public static final String SM2 = "SM2";
 
+    /**
+     * Ed25519签名，X25519加密（ECIES）
+     */
+    public static final String ED25519 = "ED25519";
+
     /**
      * 自定义算法
      */
@@ -26,5 +26,15 @@ public enum CryModeEnum {
     /**
      * 对称加密（对参数和返回值使用对称加密，对称加密密钥则用非对称加密后传输）
      */
-    SYMMETRIC_CRY
+    SYMMETRIC_CRY,
+
+    /**
+     * 会话加密（首次调用时通过ECDH协商会话密钥，并用双方密钥对签名认证，之后的调用仅使用对称加密和HMAC签名，不再进行非对称运算）
+     */
+    SESSION_CRY,
+
+    /**
+     * HMAC签名（不加密，使用调用者的共享密钥对参数进行HMAC签名与验证，双方均不进行非对称运算，适用于内部高频调用）
+     */
+    HMAC
 }
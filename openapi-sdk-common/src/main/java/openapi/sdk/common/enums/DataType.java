@@ -16,5 +16,10 @@ public enum DataType {
     /**
      * 二进制类型
      */
-    BINARY
+    BINARY,
+
+    /**
+     * 分片传输的二进制类型（响应体为二进制对象的属性及分片传输ID，数据需分片下载）
+     */
+    CHUNKED
 }
@@ -0,0 +1,19 @@
+package openapi.sdk.common.enums;
+
+/**
+ * HMAC算法
+ *
+ * @author wanghuidong
+ */
+public class HmacAlgo {
+
+    /**
+     * HMAC-SHA256
+     */
+    public static final String HMAC_SHA256 = "HmacSHA256";
+
+    /**
+     * 国密HMAC-SM3
+     */
+    public static final String HMAC_SM3 = "HmacSM3";
+}
@@ -17,6 +17,16 @@ public class SymmetricCryAlgo {
      */
     public static final String SM4 = "SM4";
 
+    /**
+     * AES-GCM（带认证的加密）
+     */
+    public static final String AES_GCM = "AES_GCM";
+
+    /**
+     * 国密SM4-GCM（带认证的加密）
+     */
+    public static final String SM4_GCM = "SM4_GCM";
+
     /**
      * 自定义算法
      */
@@ -1,5 +1,7 @@
 package openapi.sdk.common.exception;
 
+import openapi.sdk.common.constant.ErrorCode;
+
 /**
  * OpenApi异常
  *
@@ -7,11 +9,31 @@ package openapi.sdk.common.exception;
  */
 public class OpenApiException extends RuntimeException {
 
+    /**
+     * 错误代码
+     */
+    private final int code;
+
     public OpenApiException(String errorMsg) {
-        super(errorMsg);
+        this(ErrorCode.FAILED, errorMsg);
     }
 
     public OpenApiException(String errorMsg, Throwable throwable) {
         super(errorMsg, throwable);
+        this.code = ErrorCode.FAILED;
+    }
+
+    public OpenApiException(int code, String errorMsg) {
+        super(errorMsg);
+        this.code = code;
+    }
+
+    /**
+     * 获取错误代码
+     *
+     * @return 错误代码
+     */
+    public int getCode() {
+        return code;
     }
 }
@@ -14,4 +14,8 @@ public class OpenApiServerException extends OpenApiException {
     public OpenApiServerException(String errorMsg, Throwable throwable) {
         super(errorMsg, throwable);
     }
+
+    public OpenApiServerException(int code, String errorMsg) {
+        super(code, errorMsg);
+    }
 }
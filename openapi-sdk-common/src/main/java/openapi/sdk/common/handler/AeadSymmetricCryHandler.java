@@ -0,0 +1,79 @@
+package openapi.sdk.common.handler;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 带认证的对称加密处理器（AEAD，如AES-GCM、SM4-GCM）
+ * <p>
+ * 密文自带认证标签，解密时同时校验密文及附加认证数据（AAD）的完整性，
+ * 故会话加密模式下无需再对请求体单独计算签名，只需签名流水号、接口名等元数据
+ * </p>
+ * <p>
+ * 密文格式：随机数(nonce) + 密文 + 认证标签
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public interface AeadSymmetricCryHandler extends SymmetricCryHandler {
+
+    /**
+     * 对称加密（带附加认证数据）
+     *
+     * @param content  内容明文（字节数组）
+     * @param keyBytes 对称密钥
+     * @param aad      附加认证数据（不加密但参与认证，可为null）
+     * @return 密文（字节数组）
+     */
+    byte[] cry(byte[] content, byte[] keyBytes, byte[] aad);
+
+    /**
+     * 对称解密（带附加认证数据），认证失败时抛出异常
+     *
+     * @param content  内容密文（字节数组）
+     * @param keyBytes 对称密钥
+     * @param aad      附加认证数据（须与加密时一致，可为null）
+     * @return 内容明文（字节数组）
+     */
+    byte[] deCry(byte[] content, byte[] keyBytes, byte[] aad);
+
+    /**
+     * 获取加密输出流，写入的明文加密后写到目标流，关闭时写出认证标签（同时关闭目标流）
+     *
+     * @param out      目标输出流（接收密文）
+     * @param keyBytes 对称密钥
+     * @param aad      附加认证数据（可为null）
+     * @return 加密输出流
+     */
+    OutputStream cryStream(OutputStream out, byte[] keyBytes, byte[] aad);
+
+    /**
+     * 获取解密输入流，从源流读取密文并输出明文，读到末尾时校验认证标签，认证失败时抛出IOException
+     *
+     * @param in       源输入流（提供密文）
+     * @param keyBytes 对称密钥
+     * @param aad      附加认证数据（须与加密时一致，可为null）
+     * @return 解密输入流
+     */
+    InputStream deCryStream(InputStream in, byte[] keyBytes, byte[] aad);
+
+    @Override
+    default byte[] cry(byte[] content, byte[] keyBytes) {
+        return cry(content, keyBytes, null);
+    }
+
+    @Override
+    default byte[] deCry(byte[] content, byte[] keyBytes) {
+        return deCry(content, keyBytes, null);
+    }
+
+    @Override
+    default OutputStream cryStream(OutputStream out, byte[] keyBytes) {
+        return cryStream(out, keyBytes, null);
+    }
+
+    @Override
+    default InputStream deCryStream(InputStream in, byte[] keyBytes) {
+        return deCryStream(in, keyBytes, null);
+    }
+}
@@ -1,5 +1,7 @@
 package openapi.sdk.common.handler;
 
+import java.io.ByteArrayOutputStream;
+
 /**
  * 非对称加密处理器
  *
@@ -47,6 +49,56 @@ public interface AsymmetricCryHandler {
      */
     boolean verifySign(String publicKey, byte[] content, String sign);
 
+    /**
+     * 创建增量签名器
+     * <p>
+     * 默认实现先缓存送入的内容，签名时再调用{@link #sign(String, byte[])}，
+     * 支持增量计算的算法应覆盖此方法，避免缓存完整内容
+     * </p>
+     *
+     * @param privateKey 私钥
+     * @return 签名器
+     */
+    default ContentSigner newSigner(String privateKey) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        return new ContentSigner() {
+            @Override
+            public void update(byte[] content, int offset, int length) {
+                buffer.write(content, offset, length);
+            }
+
+            @Override
+            public String sign() {
+                return AsymmetricCryHandler.this.sign(privateKey, buffer.toByteArray());
+            }
+        };
+    }
+
+    /**
+     * 创建增量验签器
+     * <p>
+     * 默认实现先缓存送入的内容，验签时再调用{@link #verifySign(String, byte[], String)}，
+     * 支持增量计算的算法应覆盖此方法，避免缓存完整内容
+     * </p>
+     *
+     * @param publicKey 公钥
+     * @return 验签器
+     */
+    default ContentVerifier newVerifier(String publicKey) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        return new ContentVerifier() {
+            @Override
+            public void update(byte[] content, int offset, int length) {
+                buffer.write(content, offset, length);
+            }
+
+            @Override
+            public boolean verify(String sign) {
+                return AsymmetricCryHandler.this.verifySign(publicKey, buffer.toByteArray(), sign);
+            }
+        };
+    }
+
     /**
      * 非对称加密
      *
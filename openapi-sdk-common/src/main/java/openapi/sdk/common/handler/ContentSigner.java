@@ -0,0 +1,38 @@
+package openapi.sdk.common.handler;
+
+/**
+ * 增量签名器
+ * <p>
+ * 待签名的内容可分多次送入，无需预先拼接成一个完整的数组；
+ * 签名器非线程安全，且只能使用一次（调用{@link #sign()}后即失效）
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public interface ContentSigner {
+
+    /**
+     * 送入待签名的内容
+     *
+     * @param content 内容
+     * @param offset  起始位置
+     * @param length  长度
+     */
+    void update(byte[] content, int offset, int length);
+
+    /**
+     * 送入待签名的内容
+     *
+     * @param content 内容
+     */
+    default void update(byte[] content) {
+        update(content, 0, content.length);
+    }
+
+    /**
+     * 完成签名
+     *
+     * @return 签名
+     */
+    String sign();
+}
@@ -0,0 +1,39 @@
+package openapi.sdk.common.handler;
+
+/**
+ * 增量验签器
+ * <p>
+ * 签名的内容可分多次送入，无需预先拼接成一个完整的数组；
+ * 验签器非线程安全，且只能使用一次（调用{@link #verify(String)}后即失效）
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public interface ContentVerifier {
+
+    /**
+     * 送入签名的内容
+     *
+     * @param content 内容
+     * @param offset  起始位置
+     * @param length  长度
+     */
+    void update(byte[] content, int offset, int length);
+
+    /**
+     * 送入签名的内容
+     *
+     * @param content 内容
+     */
+    default void update(byte[] content) {
+        update(content, 0, content.length);
+    }
+
+    /**
+     * 完成验签
+     *
+     * @param sign 签名
+     * @return 是否验签成功
+     */
+    boolean verify(String sign);
+}
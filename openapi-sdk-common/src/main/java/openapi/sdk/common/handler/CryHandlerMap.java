@@ -2,9 +2,12 @@ package openapi.sdk.common.handler;
 
 import openapi.sdk.common.enums.AsymmetricCryAlgo;
 import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.handler.asymmetric.Ed25519AsymmetricCryHandler;
 import openapi.sdk.common.handler.asymmetric.RSAAsymmetricCryHandler;
 import openapi.sdk.common.handler.asymmetric.SM2AsymmetricCryHandler;
+import openapi.sdk.common.handler.symmetric.AESGCMSymmetricCryHandler;
 import openapi.sdk.common.handler.symmetric.AESSymmetricCryHandler;
+import openapi.sdk.common.handler.symmetric.SM4GCMSymmetricCryHandler;
 import openapi.sdk.common.handler.symmetric.SM4SymmetricCryHandler;
 
 import java.util.Map;
@@ -28,8 +31,11 @@ public final class CryHandlerMap {
     static {
         ASYMMETRIC_HANDLERS.put(AsymmetricCryAlgo.RSA, new RSAAsymmetricCryHandler());
         ASYMMETRIC_HANDLERS.put(AsymmetricCryAlgo.SM2, new SM2AsymmetricCryHandler());
+        ASYMMETRIC_HANDLERS.put(AsymmetricCryAlgo.ED25519, new Ed25519AsymmetricCryHandler());
         SYMMETRIC_HANDLERS.put(SymmetricCryAlgo.AES, new AESSymmetricCryHandler());
         SYMMETRIC_HANDLERS.put(SymmetricCryAlgo.SM4, new SM4SymmetricCryHandler());
+        SYMMETRIC_HANDLERS.put(SymmetricCryAlgo.AES_GCM, new AESGCMSymmetricCryHandler());
+        SYMMETRIC_HANDLERS.put(SymmetricCryAlgo.SM4_GCM, new SM4GCMSymmetricCryHandler());
     }
 
     private CryHandlerMap() {
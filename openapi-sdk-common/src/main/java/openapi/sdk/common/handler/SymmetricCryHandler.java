@@ -1,5 +1,13 @@
 package openapi.sdk.common.handler;
 
+import cn.hutool.core.io.IoUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
 /**
  * 对称加密处理器
  *
@@ -50,4 +58,49 @@ public interface SymmetricCryHandler {
      * @return 内容明文（字节数组）
      */
     byte[] deCry(byte[] content, byte[] keyBytes);
+
+    /**
+     * 获取加密输出流，写入的明文加密后写到目标流，关闭时写出剩余的密文（同时关闭目标流）
+     * <p>
+     * 默认实现先缓存写入的明文，关闭时再调用{@link #cry(byte[], byte[])}，
+     * 支持分段加密的算法应覆盖此方法
+     * </p>
+     *
+     * @param out      目标输出流（接收密文）
+     * @param keyBytes 对称密钥
+     * @return 加密输出流
+     */
+    default OutputStream cryStream(OutputStream out, byte[] keyBytes) {
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    out.write(cry(toByteArray(), keyBytes));
+                } finally {
+                    out.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * 获取解密输入流，从源流读取密文并输出明文
+     * <p>
+     * 默认实现先读取全部密文，再调用{@link #deCry(byte[], byte[])}，
+     * 支持分段解密的算法应覆盖此方法
+     * </p>
+     *
+     * @param in       源输入流（提供密文）
+     * @param keyBytes 对称密钥
+     * @return 解密输入流
+     */
+    default InputStream deCryStream(InputStream in, byte[] keyBytes) {
+        return new ByteArrayInputStream(deCry(IoUtil.readBytes(in), keyBytes));
+    }
 }
@@ -0,0 +1,269 @@
+package openapi.sdk.common.handler.asymmetric;
+
+import cn.hutool.crypto.CryptoException;
+import cn.hutool.crypto.SecureUtil;
+import openapi.sdk.common.cache.KeyCache;
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.enums.HmacAlgo;
+import openapi.sdk.common.handler.AeadSymmetricCryHandler;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.symmetric.AESGCMSymmetricCryHandler;
+import openapi.sdk.common.util.Base64Util;
+import openapi.sdk.common.util.HmacUtil;
+import openapi.sdk.common.util.JceUtil;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters;
+import org.bouncycastle.crypto.util.PrivateKeyFactory;
+import org.bouncycastle.crypto.util.PublicKeyFactory;
+import org.bouncycastle.math.ec.rfc7748.X25519;
+import org.bouncycastle.math.ec.rfc8032.Ed25519;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Ed25519非对称加密处理器
+ * <p>
+ * 签名采用Ed25519；加密（用于传递对称密钥）采用基于X25519的ECIES：
+ * 生成临时X25519密钥对，与对方公钥协商出共享秘密，派生出AES密钥后用AES-GCM加密内容，
+ * 密文格式为：临时公钥(32字节) + AES-GCM密文。
+ * </p>
+ * <p>
+ * 密钥采用标准的Ed25519密钥（私钥PKCS8、公钥X509编码后的Base64字符串），
+ * 加解密所用的X25519密钥由Ed25519密钥按RFC 7748的双有理映射换算得到，无需额外配置一对密钥。
+ * 签名与密钥协商均使用BouncyCastle的无状态实现，可多线程并发调用。
+ * Ed25519签名需对完整内容计算两次摘要，无法增量计算，故增量签名器沿用默认的缓存实现
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class Ed25519AsymmetricCryHandler implements AsymmetricCryHandler {
+
+    /**
+     * 曲线25519的素数p = 2^255 - 19
+     */
+    private static final BigInteger P = BigInteger.ONE.shiftLeft(255).subtract(BigInteger.valueOf(19));
+
+    /**
+     * 派生AES密钥的标识
+     */
+    private static final byte[] WRAP_INFO = HmacUtil.bytes("openapi-x25519-wrap");
+
+    /**
+     * AES密钥长度（字节）
+     */
+    private static final int AES_KEY_LENGTH = 16;
+
+    private static final AeadSymmetricCryHandler AES_GCM = new AESGCMSymmetricCryHandler();
+
+    @Override
+    public String sign(String privateKey, String content) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        return this.sign(privateKey, data);
+    }
+
+    @Override
+    public String sign(String privateKey, byte[] content) {
+        Ed25519Private key = getPrivateKey(privateKey);
+        byte[] sig = new byte[Ed25519.SIGNATURE_SIZE];
+        Ed25519.sign(key.sk, 0, key.pk, 0, content, 0, content.length, sig, 0);
+        return Base64Util.bytesToBase64(sig);
+    }
+
+    @Override
+    public boolean verifySign(String publicKey, String content, String sign) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        return this.verifySign(publicKey, data, sign);
+    }
+
+    @Override
+    public boolean verifySign(String publicKey, byte[] content, String sign) {
+        Ed25519Public key = getPublicKey(publicKey);
+        byte[] sig = Base64Util.base64ToBytes(sign);
+        if (sig.length != Ed25519.SIGNATURE_SIZE) {
+            return false;
+        }
+        return Ed25519.verify(sig, 0, key.pk, 0, content, 0, content.length);
+    }
+
+    @Override
+    public String cry(String publicKey, String content) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        byte[] encrypt = this.cry(publicKey, data);
+        return Base64Util.bytesToBase64(encrypt);
+    }
+
+    @Override
+    public byte[] cry(String publicKey, byte[] content) {
+        Ed25519Public key = getPublicKey(publicKey);
+        byte[] ephemeralPrivate = new byte[X25519.SCALAR_SIZE];
+        X25519.generatePrivateKey(JceUtil.getSecureRandom(), ephemeralPrivate);
+        byte[] ephemeralPublic = new byte[X25519.POINT_SIZE];
+        X25519.generatePublicKey(ephemeralPrivate, 0, ephemeralPublic, 0);
+        byte[] aesKey = deriveKey(ephemeralPrivate, key.xPub, ephemeralPublic, key.xPub);
+        byte[] encrypt = AES_GCM.cry(content, aesKey, ephemeralPublic);
+        byte[] out = new byte[X25519.POINT_SIZE + encrypt.length];
+        System.arraycopy(ephemeralPublic, 0, out, 0, X25519.POINT_SIZE);
+        System.arraycopy(encrypt, 0, out, X25519.POINT_SIZE, encrypt.length);
+        return out;
+    }
+
+    @Override
+    public String deCry(String privateKey, String content) {
+        byte[] dataBytes = Base64Util.base64ToBytes(content);
+        byte[] decrypt = this.deCry(privateKey, dataBytes);
+        return new String(decrypt, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] deCry(String privateKey, byte[] content) {
+        if (content.length <= X25519.POINT_SIZE) {
+            throw new CryptoException("密文长度不足");
+        }
+        Ed25519Private key = getPrivateKey(privateKey);
+        byte[] ephemeralPublic = Arrays.copyOf(content, X25519.POINT_SIZE);
+        byte[] aesKey = deriveKey(key.xPriv, ephemeralPublic, ephemeralPublic, key.xPub);
+        return AES_GCM.deCry(Arrays.copyOfRange(content, X25519.POINT_SIZE, content.length), aesKey, ephemeralPublic);
+    }
+
+    /**
+     * 协商共享秘密并派生出AES密钥
+     * <p>
+     * 加密方用临时私钥与接收方公钥协商，解密方用自己的私钥与临时公钥协商，二者得到相同的共享秘密
+     * </p>
+     *
+     * @param selfPrivate     本方X25519私钥
+     * @param remotePublic    对方X25519公钥
+     * @param ephemeralPublic 临时公钥
+     * @param recipientPublic 接收方X25519公钥
+     * @return AES密钥
+     */
+    private byte[] deriveKey(byte[] selfPrivate, byte[] remotePublic, byte[] ephemeralPublic, byte[] recipientPublic) {
+        byte[] sharedSecret = new byte[X25519.POINT_SIZE];
+        if (!X25519.calculateAgreement(selfPrivate, 0, remotePublic, 0, sharedSecret, 0)) {
+            throw new CryptoException("X25519密钥协商失败");
+        }
+        //以临时公钥及接收方公钥作为盐，与会话密钥的派生方式一致
+        byte[] masterKey = HmacUtil.hmac(HmacAlgo.HMAC_SHA256, sharedSecret, ephemeralPublic, recipientPublic);
+        Arrays.fill(sharedSecret, (byte) 0);
+        return Arrays.copyOf(HmacUtil.hmac(HmacAlgo.HMAC_SHA256, masterKey, WRAP_INFO), AES_KEY_LENGTH);
+    }
+
+    /**
+     * 获取私钥（优先从缓存获取）
+     *
+     * @param privateKey 私钥字符串
+     * @return 私钥
+     */
+    private Ed25519Private getPrivateKey(String privateKey) {
+        return KeyCache.getPrivateKey(AsymmetricCryAlgo.ED25519, privateKey, key -> {
+            try {
+                Ed25519PrivateKeyParameters params = (Ed25519PrivateKeyParameters) PrivateKeyFactory.createKey(SecureUtil.decode(key));
+                return new Ed25519Private(params.getEncoded(), params.generatePublicKey().getEncoded());
+            } catch (Exception ex) {
+                throw new CryptoException(ex);
+            }
+        });
+    }
+
+    /**
+     * 获取公钥（优先从缓存获取）
+     *
+     * @param publicKey 公钥字符串
+     * @return 公钥
+     */
+    private Ed25519Public getPublicKey(String publicKey) {
+        return KeyCache.getPublicKey(AsymmetricCryAlgo.ED25519, publicKey, key -> {
+            try {
+                Ed25519PublicKeyParameters params = (Ed25519PublicKeyParameters) PublicKeyFactory.createKey(SecureUtil.decode(key));
+                return new Ed25519Public(params.getEncoded());
+            } catch (Exception ex) {
+                throw new CryptoException(ex);
+            }
+        });
+    }
+
+    /**
+     * Ed25519公钥换算为X25519公钥：u = (1 + y) / (1 - y) mod p
+     *
+     * @param pk Ed25519公钥
+     * @return X25519公钥
+     */
+    static byte[] toX25519PublicKey(byte[] pk) {
+        byte[] le = pk.clone();
+        //最高位为x的符号位，不参与计算
+        le[31] &= 0x7F;
+        BigInteger y = new BigInteger(1, reverse(le));
+        BigInteger denominator = BigInteger.ONE.subtract(y).mod(P);
+        if (denominator.signum() == 0) {
+            throw new CryptoException("非法的Ed25519公钥");
+        }
+        BigInteger u = BigInteger.ONE.add(y).multiply(denominator.modInverse(P)).mod(P);
+        byte[] be = u.toByteArray();
+        byte[] out = new byte[X25519.POINT_SIZE];
+        for (int i = 0; i < be.length && i < X25519.POINT_SIZE; i++) {
+            out[i] = be[be.length - 1 - i];
+        }
+        return out;
+    }
+
+    /**
+     * Ed25519私钥换算为X25519私钥：取SHA-512(私钥)的前32字节并按RFC 7748进行截断
+     *
+     * @param sk Ed25519私钥
+     * @return X25519私钥
+     */
+    static byte[] toX25519PrivateKey(byte[] sk) {
+        try {
+            byte[] h = MessageDigest.getInstance("SHA-512").digest(sk);
+            byte[] out = Arrays.copyOf(h, X25519.SCALAR_SIZE);
+            Arrays.fill(h, (byte) 0);
+            out[0] &= (byte) 0xF8;
+            out[31] &= 0x7F;
+            out[31] |= 0x40;
+            return out;
+        } catch (Exception ex) {
+            throw new CryptoException(ex);
+        }
+    }
+
+    private static byte[] reverse(byte[] bytes) {
+        byte[] out = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            out[i] = bytes[bytes.length - 1 - i];
+        }
+        return out;
+    }
+
+    /**
+     * 解析后的私钥（Ed25519私钥、公钥及换算出的X25519密钥对）
+     */
+    private static final class Ed25519Private {
+        private final byte[] sk;
+        private final byte[] pk;
+        private final byte[] xPriv;
+        private final byte[] xPub;
+
+        private Ed25519Private(byte[] sk, byte[] pk) {
+            this.sk = sk;
+            this.pk = pk;
+            this.xPriv = toX25519PrivateKey(sk);
+            this.xPub = toX25519PublicKey(pk);
+        }
+    }
+
+    /**
+     * 解析后的公钥（Ed25519公钥及换算出的X25519公钥）
+     */
+    private static final class Ed25519Public {
+        private final byte[] pk;
+        private final byte[] xPub;
+
+        private Ed25519Public(byte[] pk) {
+            this.pk = pk;
+            this.xPub = toX25519PublicKey(pk);
+        }
+    }
+}
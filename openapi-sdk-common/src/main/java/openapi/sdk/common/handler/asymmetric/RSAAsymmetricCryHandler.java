@@ -1,22 +1,48 @@
 package openapi.sdk.common.handler.asymmetric;
 
+import cn.hutool.crypto.CryptoException;
 import cn.hutool.crypto.SecureUtil;
-import cn.hutool.crypto.asymmetric.KeyType;
-import cn.hutool.crypto.asymmetric.RSA;
-import cn.hutool.crypto.asymmetric.Sign;
-import cn.hutool.crypto.asymmetric.SignAlgorithm;
+import openapi.sdk.common.cache.KeyCache;
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
 import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.ContentSigner;
+import openapi.sdk.common.handler.ContentVerifier;
 import openapi.sdk.common.util.Base64Util;
+import openapi.sdk.common.util.JceUtil;
 
+import javax.crypto.Cipher;
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.RSAKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
 
 /**
  * RSA非对称加密处理器
+ * <p>
+ * 采用RSA/ECB/PKCS1Padding加密（超长内容按块分段，与hutool的RSA一致）及SHA256withRSA签名，
+ * 使用JDK默认提供者，Cipher/Signature对象按线程复用（增量签名器/验签器跨多次调用使用，单独创建Signature对象）
+ * </p>
  *
  * @author wanghuidong
  * 时间： 2022/6/4 13:30
  */
 public class RSAAsymmetricCryHandler implements AsymmetricCryHandler {
+
+    private static final String TRANSFORMATION = "RSA/ECB/PKCS1Padding";
+
+    private static final String SIGN_ALGORITHM = "SHA256withRSA";
+
+    /**
+     * PKCS1填充占用的字节数
+     */
+    private static final int PKCS1_PADDING_LENGTH = 11;
+
     @Override
     public String sign(String privateKey, String content) {
         byte[] data = content.getBytes(StandardCharsets.UTF_8);
@@ -25,9 +51,15 @@ public class RSAAsymmetricCryHandler implements AsymmetricCryHandler {
 
     @Override
     public String sign(String privateKey, byte[] content) {
-        Sign sign = SecureUtil.sign(SignAlgorithm.SHA256withRSA, privateKey, null);
-        byte[] signed = sign.sign(content);
-        return Base64Util.bytesToBase64(signed);
+        Signature signature = JceUtil.getSignature(SIGN_ALGORITHM, null);
+        try {
+            signature.initSign(getPrivateKey(privateKey));
+            signature.update(content);
+            return Base64Util.bytesToBase64(signature.sign());
+        } catch (Exception ex) {
+            JceUtil.discardSignature(SIGN_ALGORITHM, null);
+            throw new CryptoException(ex);
+        }
     }
 
     @Override
@@ -38,8 +70,73 @@ public class RSAAsymmetricCryHandler implements AsymmetricCryHandler {
 
     @Override
     public boolean verifySign(String publicKey, byte[] content, String sign) {
-        Sign signObj = SecureUtil.sign(SignAlgorithm.SHA256withRSA, null, publicKey);
-        return signObj.verify(content, Base64Util.base64ToBytes(sign));
+        Signature signature = JceUtil.getSignature(SIGN_ALGORITHM, null);
+        try {
+            signature.initVerify(getPublicKey(publicKey));
+            signature.update(content);
+            return signature.verify(Base64Util.base64ToBytes(sign));
+        } catch (Exception ex) {
+            JceUtil.discardSignature(SIGN_ALGORITHM, null);
+            throw new CryptoException(ex);
+        }
+    }
+
+    @Override
+    public ContentSigner newSigner(String privateKey) {
+        Signature signature = newSignature();
+        try {
+            signature.initSign(getPrivateKey(privateKey));
+        } catch (Exception ex) {
+            throw new CryptoException(ex);
+        }
+        return new ContentSigner() {
+            @Override
+            public void update(byte[] content, int offset, int length) {
+                try {
+                    signature.update(content, offset, length);
+                } catch (Exception ex) {
+                    throw new CryptoException(ex);
+                }
+            }
+
+            @Override
+            public String sign() {
+                try {
+                    return Base64Util.bytesToBase64(signature.sign());
+                } catch (Exception ex) {
+                    throw new CryptoException(ex);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ContentVerifier newVerifier(String publicKey) {
+        Signature signature = newSignature();
+        try {
+            signature.initVerify(getPublicKey(publicKey));
+        } catch (Exception ex) {
+            throw new CryptoException(ex);
+        }
+        return new ContentVerifier() {
+            @Override
+            public void update(byte[] content, int offset, int length) {
+                try {
+                    signature.update(content, offset, length);
+                } catch (Exception ex) {
+                    throw new CryptoException(ex);
+                }
+            }
+
+            @Override
+            public boolean verify(String sign) {
+                try {
+                    return signature.verify(Base64Util.base64ToBytes(sign));
+                } catch (Exception ex) {
+                    throw new CryptoException(ex);
+                }
+            }
+        };
     }
 
     @Override
@@ -51,8 +148,8 @@ public class RSAAsymmetricCryHandler implements AsymmetricCryHandler {
 
     @Override
     public byte[] cry(String publicKey, byte[] content) {
-        RSA rsa = new RSA(null, publicKey);
-        return rsa.encrypt(content, KeyType.PublicKey);
+        PublicKey key = getPublicKey(publicKey);
+        return doFinal(Cipher.ENCRYPT_MODE, key, content, getKeyLength(key) - PKCS1_PADDING_LENGTH);
     }
 
     @Override
@@ -64,7 +161,84 @@ public class RSAAsymmetricCryHandler implements AsymmetricCryHandler {
 
     @Override
     public byte[] deCry(String privateKey, byte[] content) {
-        RSA rsa = new RSA(privateKey, null);
-        return rsa.decrypt(content, KeyType.PrivateKey);
+        PrivateKey key = getPrivateKey(privateKey);
+        return doFinal(Cipher.DECRYPT_MODE, key, content, getKeyLength(key));
+    }
+
+    /**
+     * 分块加密或解密
+     *
+     * @param mode      Cipher.ENCRYPT_MODE或Cipher.DECRYPT_MODE
+     * @param key       密钥
+     * @param data      数据
+     * @param blockSize 每块的最大长度
+     * @return 结果
+     */
+    private byte[] doFinal(int mode, Key key, byte[] data, int blockSize) {
+        if (data.length <= blockSize) {
+            return JceUtil.doFinal(TRANSFORMATION, null, mode, key, data);
+        }
+        Cipher cipher = JceUtil.getCipher(TRANSFORMATION, null);
+        try {
+            cipher.init(mode, key, JceUtil.getSecureRandom());
+            ByteArrayOutputStream out = new ByteArrayOutputStream((data.length / blockSize + 1) * getKeyLength(key));
+            for (int offset = 0; offset < data.length; offset += blockSize) {
+                out.write(cipher.doFinal(data, offset, Math.min(blockSize, data.length - offset)));
+            }
+            return out.toByteArray();
+        } catch (Exception ex) {
+            JceUtil.discardCipher(TRANSFORMATION, null);
+            throw new CryptoException(ex);
+        }
+    }
+
+    private Signature newSignature() {
+        try {
+            return Signature.getInstance(SIGN_ALGORITHM);
+        } catch (Exception ex) {
+            throw new CryptoException(ex);
+        }
+    }
+
+    /**
+     * 获取密钥长度（字节）
+     *
+     * @param key RSA密钥
+     * @return 密钥长度
+     */
+    private int getKeyLength(Key key) {
+        return (((RSAKey) key).getModulus().bitLength() + 7) / 8;
+    }
+
+    /**
+     * 获取私钥对象（优先从缓存获取）
+     *
+     * @param privateKey 私钥字符串
+     * @return 私钥对象
+     */
+    private PrivateKey getPrivateKey(String privateKey) {
+        return KeyCache.getPrivateKey(AsymmetricCryAlgo.RSA, privateKey, key -> {
+            try {
+                return KeyFactory.getInstance(AsymmetricCryAlgo.RSA).generatePrivate(new PKCS8EncodedKeySpec(SecureUtil.decode(key)));
+            } catch (Exception ex) {
+                throw new CryptoException(ex);
+            }
+        });
+    }
+
+    /**
+     * 获取公钥对象（优先从缓存获取）
+     *
+     * @param publicKey 公钥字符串
+     * @return 公钥对象
+     */
+    private PublicKey getPublicKey(String publicKey) {
+        return KeyCache.getPublicKey(AsymmetricCryAlgo.RSA, publicKey, key -> {
+            try {
+                return KeyFactory.getInstance(AsymmetricCryAlgo.RSA).generatePublic(new X509EncodedKeySpec(SecureUtil.decode(key)));
+            } catch (Exception ex) {
+                throw new CryptoException(ex);
+            }
+        });
     }
 }
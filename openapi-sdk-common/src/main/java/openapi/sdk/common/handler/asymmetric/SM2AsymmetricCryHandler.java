@@ -1,21 +1,48 @@
 package openapi.sdk.common.handler.asymmetric;
 
+import cn.hutool.core.codec.BCD;
 import cn.hutool.core.util.HexUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.crypto.SmUtil;
-import cn.hutool.crypto.asymmetric.KeyType;
-import cn.hutool.crypto.asymmetric.SM2;
+import cn.hutool.crypto.CryptoException;
+import cn.hutool.crypto.ECKeyUtil;
+import cn.hutool.crypto.SecureUtil;
+import openapi.sdk.common.cache.KeyCache;
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
 import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.ContentSigner;
+import openapi.sdk.common.handler.ContentVerifier;
+import openapi.sdk.common.util.JceUtil;
+import org.bouncycastle.crypto.digests.SM3Digest;
+import org.bouncycastle.crypto.engines.SM2Engine;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.params.ParametersWithRandom;
+import org.bouncycastle.crypto.signers.SM2Signer;
 
 import java.nio.charset.StandardCharsets;
 
 /**
  * SM2非对称加密处理器
+ * <p>
+ * 直接使用BouncyCastle的SM2Signer/SM2Engine（密文C1C3C2、签名DER编码，与hutool的SM2一致），
+ * 二者按线程复用，每次调用用本次的密钥重新初始化（增量签名器/验签器跨多次调用使用，单独创建SM2Signer）
+ * </p>
  *
  * @author wanghuidong
  * 时间： 2022/6/4 13:31
  */
 public class SM2AsymmetricCryHandler implements AsymmetricCryHandler {
+
+    /**
+     * 每个线程复用的签名器
+     */
+    private static final ThreadLocal<SM2Signer> SIGNERS = ThreadLocal.withInitial(() -> new SM2Signer(new SM3Digest()));
+
+    /**
+     * 每个线程复用的加密引擎
+     */
+    private static final ThreadLocal<SM2Engine> ENGINES = ThreadLocal.withInitial(() -> new SM2Engine(new SM3Digest(), SM2Engine.Mode.C1C3C2));
+
     @Override
     public String sign(String privateKey, String content) {
         byte[] data = content.getBytes(StandardCharsets.UTF_8);
@@ -24,8 +51,15 @@ public class SM2AsymmetricCryHandler implements AsymmetricCryHandler {
 
     @Override
     public String sign(String privateKey, byte[] content) {
-        SM2 sm2 = SmUtil.sm2(privateKey, null);
-        return sm2.signHex(HexUtil.encodeHexStr(content));
+        SM2Signer signer = SIGNERS.get();
+        try {
+            signer.init(true, new ParametersWithRandom(getPrivateKey(privateKey), JceUtil.getSecureRandom()));
+            signer.update(content, 0, content.length);
+            return HexUtil.encodeHexStr(signer.generateSignature());
+        } catch (Exception ex) {
+            SIGNERS.remove();
+            throw new CryptoException(ex);
+        }
     }
 
     @Override
@@ -36,31 +70,108 @@ public class SM2AsymmetricCryHandler implements AsymmetricCryHandler {
 
     @Override
     public boolean verifySign(String publicKey, byte[] content, String sign) {
-        SM2 sm2 = SmUtil.sm2(null, publicKey);
-        return sm2.verifyHex(HexUtil.encodeHexStr(content), sign);
+        SM2Signer signer = SIGNERS.get();
+        try {
+            signer.init(false, getPublicKey(publicKey));
+            signer.update(content, 0, content.length);
+            return signer.verifySignature(HexUtil.decodeHex(sign));
+        } catch (Exception ex) {
+            SIGNERS.remove();
+            throw new CryptoException(ex);
+        }
+    }
+
+    @Override
+    public ContentSigner newSigner(String privateKey) {
+        SM2Signer signer = new SM2Signer(new SM3Digest());
+        signer.init(true, new ParametersWithRandom(getPrivateKey(privateKey), JceUtil.getSecureRandom()));
+        return new ContentSigner() {
+            @Override
+            public void update(byte[] content, int offset, int length) {
+                signer.update(content, offset, length);
+            }
+
+            @Override
+            public String sign() {
+                try {
+                    return HexUtil.encodeHexStr(signer.generateSignature());
+                } catch (Exception ex) {
+                    throw new CryptoException(ex);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ContentVerifier newVerifier(String publicKey) {
+        SM2Signer signer = new SM2Signer(new SM3Digest());
+        signer.init(false, getPublicKey(publicKey));
+        return new ContentVerifier() {
+            @Override
+            public void update(byte[] content, int offset, int length) {
+                signer.update(content, offset, length);
+            }
+
+            @Override
+            public boolean verify(String sign) {
+                return signer.verifySignature(HexUtil.decodeHex(sign));
+            }
+        };
     }
 
     @Override
     public String cry(String publicKey, String content) {
-        SM2 sm2 = SmUtil.sm2(null, publicKey);
-        return sm2.encryptBcd(content, KeyType.PublicKey);
+        byte[] encrypt = this.cry(publicKey, StrUtil.utf8Bytes(content));
+        return BCD.bcdToStr(encrypt);
     }
 
     @Override
     public byte[] cry(String publicKey, byte[] content) {
-        SM2 sm2 = SmUtil.sm2(null, publicKey);
-        return sm2.encrypt(content, KeyType.PublicKey);
+        SM2Engine engine = ENGINES.get();
+        try {
+            engine.init(true, new ParametersWithRandom(getPublicKey(publicKey), JceUtil.getSecureRandom()));
+            return engine.processBlock(content, 0, content.length);
+        } catch (Exception ex) {
+            ENGINES.remove();
+            throw new CryptoException(ex);
+        }
     }
 
     @Override
     public String deCry(String privateKey, String content) {
-        SM2 sm2 = SmUtil.sm2(privateKey, null);
-        return StrUtil.utf8Str(sm2.decryptFromBcd(content, KeyType.PrivateKey));
+        byte[] decrypt = this.deCry(privateKey, BCD.ascToBcd(StrUtil.utf8Bytes(content)));
+        return StrUtil.utf8Str(decrypt);
     }
 
     @Override
     public byte[] deCry(String privateKey, byte[] content) {
-        SM2 sm2 = SmUtil.sm2(privateKey, null);
-        return sm2.decrypt(content, KeyType.PrivateKey);
+        SM2Engine engine = ENGINES.get();
+        try {
+            engine.init(false, getPrivateKey(privateKey));
+            return engine.processBlock(content, 0, content.length);
+        } catch (Exception ex) {
+            ENGINES.remove();
+            throw new CryptoException(ex);
+        }
+    }
+
+    /**
+     * 获取私钥参数（优先从缓存获取）
+     *
+     * @param privateKey 私钥字符串
+     * @return 私钥参数
+     */
+    private ECPrivateKeyParameters getPrivateKey(String privateKey) {
+        return KeyCache.getPrivateKey(AsymmetricCryAlgo.SM2, privateKey, key -> ECKeyUtil.decodePrivateKeyParams(SecureUtil.decode(key)));
+    }
+
+    /**
+     * 获取公钥参数（优先从缓存获取）
+     *
+     * @param publicKey 公钥字符串
+     * @return 公钥参数
+     */
+    private ECPublicKeyParameters getPublicKey(String publicKey) {
+        return KeyCache.getPublicKey(AsymmetricCryAlgo.SM2, publicKey, key -> ECKeyUtil.decodePublicKeyParams(SecureUtil.decode(key)));
     }
 }
@@ -0,0 +1,31 @@
+package openapi.sdk.common.handler.symmetric;
+
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+
+import java.security.Provider;
+
+/**
+ * AES-GCM对称加密处理器
+ * <p>
+ * 使用JDK默认提供者（SunJCE的AES/GCM可利用CPU的AES-NI及CLMUL指令加速）
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class AESGCMSymmetricCryHandler extends GcmSymmetricCryHandler {
+
+    @Override
+    protected String getTransformation() {
+        return "AES/GCM/NoPadding";
+    }
+
+    @Override
+    protected String getKeyAlgorithm() {
+        return SymmetricCryAlgo.AES;
+    }
+
+    @Override
+    protected Provider getProvider() {
+        return null;
+    }
+}
@@ -1,17 +1,33 @@
 package openapi.sdk.common.handler.symmetric;
 
-import cn.hutool.crypto.symmetric.AES;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
 import openapi.sdk.common.enums.SymmetricCryAlgo;
 import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.util.Base64Util;
+import openapi.sdk.common.util.JceUtil;
 import openapi.sdk.common.util.SymmetricCryUtil;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * AES对称加密处理器
+ * <p>
+ * 采用AES/ECB/PKCS5Padding（与hutool的AES默认模式一致），使用JDK默认提供者（可利用CPU的AES指令加速），Cipher对象按线程复用，
+ * 流式接口每个流单独创建Cipher对象
+ * </p>
  *
  * @author wanghuidong
  * 时间： 2022/6/4 13:54
  */
 public class AESSymmetricCryHandler implements SymmetricCryHandler {
+
+    private static final String TRANSFORMATION = "AES/ECB/PKCS5Padding";
+
     @Override
     public byte[] generateKey() {
         return SymmetricCryUtil.getKey(SymmetricCryAlgo.AES);
@@ -19,25 +35,33 @@ public class AESSymmetricCryHandler implements SymmetricCryHandler {
 
     @Override
     public String cry(String content, byte[] keyBytes) {
-        AES aes = new AES(keyBytes);
-        return aes.encryptBase64(content);
+        byte[] encrypt = this.cry(content.getBytes(StandardCharsets.UTF_8), keyBytes);
+        return Base64Util.bytesToBase64(encrypt);
     }
 
     @Override
     public byte[] cry(byte[] content, byte[] keyBytes) {
-        AES aes = new AES(keyBytes);
-        return aes.encrypt(content);
+        return JceUtil.doFinal(TRANSFORMATION, null, Cipher.ENCRYPT_MODE, new SecretKeySpec(keyBytes, SymmetricCryAlgo.AES), content);
     }
 
     @Override
     public String deCry(String content, byte[] keyBytes) {
-        AES aes = new AES(keyBytes);
-        return aes.decryptStr(content);
+        byte[] decrypt = this.deCry(SecureUtil.decode(content), keyBytes);
+        return StrUtil.utf8Str(decrypt);
     }
 
     @Override
     public byte[] deCry(byte[] content, byte[] keyBytes) {
-        AES aes = new AES(keyBytes);
-        return aes.decrypt(content);
+        return JceUtil.doFinal(TRANSFORMATION, null, Cipher.DECRYPT_MODE, new SecretKeySpec(keyBytes, SymmetricCryAlgo.AES), content);
+    }
+
+    @Override
+    public OutputStream cryStream(OutputStream out, byte[] keyBytes) {
+        return SymmetricCryUtil.cryStream(TRANSFORMATION, null, new SecretKeySpec(keyBytes, SymmetricCryAlgo.AES), out);
+    }
+
+    @Override
+    public InputStream deCryStream(InputStream in, byte[] keyBytes) {
+        return SymmetricCryUtil.deCryStream(TRANSFORMATION, null, new SecretKeySpec(keyBytes, SymmetricCryAlgo.AES), in);
     }
 }
@@ -0,0 +1,164 @@
+package openapi.sdk.common.handler.symmetric;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.CryptoException;
+import cn.hutool.crypto.SecureUtil;
+import openapi.sdk.common.handler.AeadSymmetricCryHandler;
+import openapi.sdk.common.util.Base64Util;
+import openapi.sdk.common.util.JceUtil;
+import openapi.sdk.common.util.SymmetricCryUtil;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Provider;
+
+/**
+ * GCM模式对称加密处理器基类
+ * <p>
+ * 每次加密生成12字节随机数，密文格式为：随机数 + 密文 + 16字节认证标签。
+ * 字节数组接口使用按线程复用的Cipher对象，一次doFinal直接写入结果数组；
+ * 流式接口每个流单独创建Cipher对象，避免与同线程的其它调用互相干扰
+ * </p>
+ * <p>
+ * 注：为保证不输出未经认证的明文，JDK及BouncyCastle的GCM解密都会在校验认证标签后才输出明文，
+ * 故解密流在读到末尾前会在内部缓冲密文
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public abstract class GcmSymmetricCryHandler implements AeadSymmetricCryHandler {
+
+    /**
+     * 随机数长度（字节）
+     */
+    public static final int NONCE_LENGTH = 12;
+
+    /**
+     * 认证标签长度（位）
+     */
+    public static final int TAG_BITS = 128;
+
+    /**
+     * 获取转换名称，如AES/GCM/NoPadding
+     *
+     * @return 转换名称
+     */
+    protected abstract String getTransformation();
+
+    /**
+     * 获取密钥算法名称，如AES
+     *
+     * @return 密钥算法名称
+     */
+    protected abstract String getKeyAlgorithm();
+
+    /**
+     * 获取提供者
+     *
+     * @return 提供者，为null时使用JDK默认提供者
+     */
+    protected abstract Provider getProvider();
+
+    @Override
+    public byte[] generateKey() {
+        return SymmetricCryUtil.getKey(getKeyAlgorithm());
+    }
+
+    @Override
+    public String cry(String content, byte[] keyBytes) {
+        byte[] encrypt = this.cry(content.getBytes(StandardCharsets.UTF_8), keyBytes);
+        return Base64Util.bytesToBase64(encrypt);
+    }
+
+    @Override
+    public String deCry(String content, byte[] keyBytes) {
+        byte[] decrypt = this.deCry(SecureUtil.decode(content), keyBytes);
+        return StrUtil.utf8Str(decrypt);
+    }
+
+    @Override
+    public byte[] cry(byte[] content, byte[] keyBytes, byte[] aad) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        JceUtil.getSecureRandom().nextBytes(nonce);
+        Cipher cipher = JceUtil.getCipher(getTransformation(), getProvider());
+        try {
+            init(cipher, Cipher.ENCRYPT_MODE, keyBytes, nonce, aad);
+            byte[] out = new byte[NONCE_LENGTH + cipher.getOutputSize(content.length)];
+            System.arraycopy(nonce, 0, out, 0, NONCE_LENGTH);
+            cipher.doFinal(content, 0, content.length, out, NONCE_LENGTH);
+            return out;
+        } catch (Exception ex) {
+            JceUtil.discardCipher(getTransformation(), getProvider());
+            throw new CryptoException(ex);
+        }
+    }
+
+    @Override
+    public byte[] deCry(byte[] content, byte[] keyBytes, byte[] aad) {
+        if (content.length < NONCE_LENGTH + TAG_BITS / 8) {
+            throw new CryptoException("密文长度不足");
+        }
+        Cipher cipher = JceUtil.getCipher(getTransformation(), getProvider());
+        try {
+            init(cipher, Cipher.DECRYPT_MODE, keyBytes, content, aad);
+            return cipher.doFinal(content, NONCE_LENGTH, content.length - NONCE_LENGTH);
+        } catch (Exception ex) {
+            JceUtil.discardCipher(getTransformation(), getProvider());
+            throw new CryptoException(ex);
+        }
+    }
+
+    @Override
+    public OutputStream cryStream(OutputStream out, byte[] keyBytes, byte[] aad) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        JceUtil.getSecureRandom().nextBytes(nonce);
+        try {
+            Cipher cipher = JceUtil.newCipher(getTransformation(), getProvider());
+            init(cipher, Cipher.ENCRYPT_MODE, keyBytes, nonce, aad);
+            out.write(nonce);
+            return new CipherOutputStream(out, cipher);
+        } catch (Exception ex) {
+            throw new CryptoException(ex);
+        }
+    }
+
+    @Override
+    public InputStream deCryStream(InputStream in, byte[] keyBytes, byte[] aad) {
+        try {
+            byte[] nonce = new byte[NONCE_LENGTH];
+            new DataInputStream(in).readFully(nonce);
+            Cipher cipher = JceUtil.newCipher(getTransformation(), getProvider());
+            init(cipher, Cipher.DECRYPT_MODE, keyBytes, nonce, aad);
+            return new CipherInputStream(in, cipher);
+        } catch (EOFException ex) {
+            throw new CryptoException("密文长度不足");
+        } catch (Exception ex) {
+            throw new CryptoException(ex);
+        }
+    }
+
+    /**
+     * 初始化Cipher对象
+     *
+     * @param cipher   Cipher对象
+     * @param mode     Cipher.ENCRYPT_MODE或Cipher.DECRYPT_MODE
+     * @param keyBytes 对称密钥
+     * @param nonce    随机数（取前NONCE_LENGTH个字节）
+     * @param aad      附加认证数据（可为null）
+     * @throws Exception 初始化异常
+     */
+    private void init(Cipher cipher, int mode, byte[] keyBytes, byte[] nonce, byte[] aad) throws Exception {
+        cipher.init(mode, new SecretKeySpec(keyBytes, getKeyAlgorithm()), new GCMParameterSpec(TAG_BITS, nonce, 0, NONCE_LENGTH));
+        if (aad != null && aad.length > 0) {
+            cipher.updateAAD(aad);
+        }
+    }
+}
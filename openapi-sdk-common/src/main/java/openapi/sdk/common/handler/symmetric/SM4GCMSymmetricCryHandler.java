@@ -0,0 +1,32 @@
+package openapi.sdk.common.handler.symmetric;
+
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.util.JceUtil;
+
+import java.security.Provider;
+
+/**
+ * SM4-GCM对称加密处理器
+ * <p>
+ * 使用BouncyCastle提供者
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class SM4GCMSymmetricCryHandler extends GcmSymmetricCryHandler {
+
+    @Override
+    protected String getTransformation() {
+        return "SM4/GCM/NoPadding";
+    }
+
+    @Override
+    protected String getKeyAlgorithm() {
+        return SymmetricCryAlgo.SM4;
+    }
+
+    @Override
+    protected Provider getProvider() {
+        return JceUtil.getBcProvider();
+    }
+}
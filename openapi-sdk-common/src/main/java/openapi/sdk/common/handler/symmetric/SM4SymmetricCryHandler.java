@@ -1,17 +1,33 @@
 package openapi.sdk.common.handler.symmetric;
 
-import cn.hutool.crypto.symmetric.SM4;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
 import openapi.sdk.common.enums.SymmetricCryAlgo;
 import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.util.Base64Util;
+import openapi.sdk.common.util.JceUtil;
 import openapi.sdk.common.util.SymmetricCryUtil;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * SM4对称加密处理器
+ * <p>
+ * 采用SM4/ECB/PKCS5Padding（与hutool的SM4默认模式一致），使用BouncyCastle提供者，Cipher对象按线程复用，
+ * 流式接口每个流单独创建Cipher对象
+ * </p>
  *
  * @author wanghuidong
  * 时间： 2022/6/4 13:57
  */
 public class SM4SymmetricCryHandler implements SymmetricCryHandler {
+
+    private static final String TRANSFORMATION = "SM4/ECB/PKCS5Padding";
+
     @Override
     public byte[] generateKey() {
         return SymmetricCryUtil.getKey(SymmetricCryAlgo.SM4);
@@ -19,25 +35,33 @@ public class SM4SymmetricCryHandler implements SymmetricCryHandler {
 
     @Override
     public String cry(String content, byte[] keyBytes) {
-        SM4 sm4 = new SM4(keyBytes);
-        return sm4.encryptBase64(content);
+        byte[] encrypt = this.cry(content.getBytes(StandardCharsets.UTF_8), keyBytes);
+        return Base64Util.bytesToBase64(encrypt);
     }
 
     @Override
     public byte[] cry(byte[] content, byte[] keyBytes) {
-        SM4 sm4 = new SM4(keyBytes);
-        return sm4.encrypt(content);
+        return JceUtil.doFinal(TRANSFORMATION, JceUtil.getBcProvider(), Cipher.ENCRYPT_MODE, new SecretKeySpec(keyBytes, SymmetricCryAlgo.SM4), content);
     }
 
     @Override
     public String deCry(String content, byte[] keyBytes) {
-        SM4 sm4 = new SM4(keyBytes);
-        return sm4.decryptStr(content);
+        byte[] decrypt = this.deCry(SecureUtil.decode(content), keyBytes);
+        return StrUtil.utf8Str(decrypt);
     }
 
     @Override
     public byte[] deCry(byte[] content, byte[] keyBytes) {
-        SM4 sm4 = new SM4(keyBytes);
-        return sm4.decrypt(content);
+        return JceUtil.doFinal(TRANSFORMATION, JceUtil.getBcProvider(), Cipher.DECRYPT_MODE, new SecretKeySpec(keyBytes, SymmetricCryAlgo.SM4), content);
+    }
+
+    @Override
+    public OutputStream cryStream(OutputStream out, byte[] keyBytes) {
+        return SymmetricCryUtil.cryStream(TRANSFORMATION, JceUtil.getBcProvider(), new SecretKeySpec(keyBytes, SymmetricCryAlgo.SM4), out);
+    }
+
+    @Override
+    public InputStream deCryStream(InputStream in, byte[] keyBytes) {
+        return SymmetricCryUtil.deCryStream(TRANSFORMATION, JceUtil.getBcProvider(), new SecretKeySpec(keyBytes, SymmetricCryAlgo.SM4), in);
     }
 }
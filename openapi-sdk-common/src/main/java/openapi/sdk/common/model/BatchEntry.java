@@ -0,0 +1,35 @@
+package openapi.sdk.common.model;
+
+import lombok.Data;
+
+/**
+ * 批量调用中的一个调用条目
+ * <p>
+ * 所有条目序列化为JSON数组后作为批量请求的请求体，由同一个签名及对称密钥保护
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Data
+public class BatchEntry {
+
+    /**
+     * 接口名
+     */
+    private String api;
+
+    /**
+     * 方法名
+     */
+    private String method;
+
+    /**
+     * 是否是多参
+     */
+    private boolean multiParam;
+
+    /**
+     * 方法参数（与单次调用的请求体明文一致）
+     */
+    private String body;
+}
@@ -0,0 +1,55 @@
+package openapi.sdk.common.model;
+
+import lombok.Data;
+import openapi.sdk.common.constant.ErrorCode;
+
+/**
+ * 批量调用中一个调用条目的结果
+ *
+ * @author wanghuidong
+ */
+@Data
+public class BatchResult {
+
+    /**
+     * 返回码
+     */
+    private Integer code;
+
+    /**
+     * 返回消息
+     */
+    private String message;
+
+    /**
+     * 目标接口返回值
+     */
+    private String data;
+
+    /**
+     * 调用成功的结果
+     *
+     * @param data 数据
+     * @return 条目结果
+     */
+    public static BatchResult success(String data) {
+        BatchResult result = new BatchResult();
+        result.code = ErrorCode.SUCCESS;
+        result.data = data;
+        return result;
+    }
+
+    /**
+     * 调用失败的结果
+     *
+     * @param code    错误代码
+     * @param message 错误消息
+     * @return 条目结果
+     */
+    public static BatchResult error(int code, String message) {
+        BatchResult result = new BatchResult();
+        result.code = code;
+        result.message = message;
+        return result;
+    }
+}
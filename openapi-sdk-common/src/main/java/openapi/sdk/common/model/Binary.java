@@ -49,6 +49,12 @@ public class Binary {
     @OpenApiDoc(ignore = true)
     private String dataStr;
 
+    /**
+     * 分片传输ID（分片传输时由SDK设置，此时数据不在请求体（响应体）中，而是分片暂存在服务端）
+     */
+    @OpenApiDoc(ignore = true)
+    private String transferId;
+
     /**
      * 设置数据
      *
@@ -0,0 +1,96 @@
+package openapi.sdk.common.model;
+
+import openapi.sdk.common.exception.OpenApiException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 解析后的二进制请求体（响应体）
+ * <p>
+ * 只记录参数字符串及各文件数据在请求体中的位置，文件数据在获取时才截取为视图（不拷贝），可按任意顺序、多线程并行获取
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class BinaryFrame {
+
+    private final byte[] bodyBytes;
+
+    private final int format;
+
+    private final String paramStr;
+
+    private final int[] offsets;
+
+    private final int[] lengths;
+
+    /**
+     * 构造解析结果
+     *
+     * @param bodyBytes 请求体（响应体）中的字节数据
+     * @param format    传输格式
+     * @param paramStr  参数字符串
+     * @param offsets   各文件数据的起始位置
+     * @param lengths   各文件数据的长度
+     */
+    public BinaryFrame(byte[] bodyBytes, int format, String paramStr, int[] offsets, int[] lengths) {
+        this.bodyBytes = bodyBytes;
+        this.format = format;
+        this.paramStr = paramStr;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * 获取传输格式
+     *
+     * @return 传输格式
+     */
+    public int getFormat() {
+        return format;
+    }
+
+    /**
+     * 获取参数字符串
+     *
+     * @return 参数字符串
+     */
+    public String getParamStr() {
+        return paramStr;
+    }
+
+    /**
+     * 获取文件数量
+     *
+     * @return 文件数量
+     */
+    public int getBinaryCount() {
+        return offsets.length;
+    }
+
+    /**
+     * 获取文件数据的视图（不拷贝，与请求体共享数据）
+     *
+     * @param index 文件序号
+     * @return 文件数据的视图
+     */
+    public ByteBuffer getBinaryData(int index) {
+        if (index < 0 || index >= offsets.length) {
+            throw new OpenApiException("二进制数据格式错误：文件个数不匹配");
+        }
+        return ByteBuffer.wrap(bodyBytes, offsets[index], lengths[index]).slice();
+    }
+
+    /**
+     * 获取文件数据（拷贝）
+     *
+     * @param index 文件序号
+     * @return 文件数据
+     */
+    public byte[] getBinaryDataBytes(int index) {
+        ByteBuffer data = getBinaryData(index);
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        return bytes;
+    }
+}
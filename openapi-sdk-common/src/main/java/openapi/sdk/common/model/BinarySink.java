@@ -0,0 +1,112 @@
+package openapi.sdk.common.model;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 二进制返回值的接收目标（用于下载大文件）
+ * <p>
+ * 作为方法参数传入（不会发送给服务端）时，返回值中二进制对象的数据在接收响应时边解密、解压边写入文件或输出流，
+ * 只有参数部分（文件名等）解析为返回值，内存占用与文件大小无关
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class BinarySink {
+
+    private final Path path;
+
+    private final OutputStream outputStream;
+
+    private final boolean temp;
+
+    private volatile Path tempFile;
+
+    private BinarySink(Path path, OutputStream outputStream, boolean temp) {
+        this.path = path;
+        this.outputStream = outputStream;
+        this.temp = temp;
+    }
+
+    /**
+     * 写入指定文件（已存在则覆盖）
+     *
+     * @param path 文件路径
+     * @return 接收目标
+     */
+    public static BinarySink of(Path path) {
+        return new BinarySink(path, null, false);
+    }
+
+    /**
+     * 写入输出流（写入完成后不关闭，由调用方关闭）
+     *
+     * @param outputStream 输出流
+     * @return 接收目标
+     */
+    public static BinarySink of(OutputStream outputStream) {
+        return new BinarySink(null, outputStream, false);
+    }
+
+    /**
+     * 写入接收时创建的临时文件，接收失败时删除（接收成功后由调用方负责删除）
+     *
+     * @return 接收目标
+     */
+    public static BinarySink tempFile() {
+        return new BinarySink(null, null, true);
+    }
+
+    /**
+     * 打开输出流，由调用方负责关闭
+     *
+     * @return 输出流
+     * @throws IOException 打开异常
+     */
+    public OutputStream open() throws IOException {
+        if (temp) {
+            tempFile = Files.createTempFile("openapi-", ".download");
+            return Files.newOutputStream(tempFile);
+        }
+        if (path != null) {
+            return Files.newOutputStream(path);
+        }
+        return new FilterOutputStream(outputStream) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    /**
+     * 获取写入的文件
+     *
+     * @return 文件路径，写入输出流或临时文件尚未创建时返回null
+     */
+    public Path getPath() {
+        return temp ? tempFile : path;
+    }
+
+    /**
+     * 接收失败时丢弃已写入的临时文件
+     */
+    public void discard() {
+        Path file = tempFile;
+        if (temp && file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                //临时文件删除失败不影响调用结果
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package openapi.sdk.common.model;
+
+import lombok.Data;
+
+/**
+ * 分片传输请求的参数
+ * <p>
+ * 每个分片作为一次独立签名、加密的请求（响应）传输，参数序列化为JSON后作为请求体的参数部分
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Data
+public class ChunkParam {
+
+    /**
+     * 分片传输ID
+     */
+    private String transferId;
+
+    /**
+     * 分片序号（从0开始）
+     */
+    private int index;
+
+    /**
+     * 分片大小（单位字节，最后一个分片可能小于该值）
+     */
+    private long chunkSize;
+
+    /**
+     * 文件总长度（单位字节）
+     */
+    private long length;
+}
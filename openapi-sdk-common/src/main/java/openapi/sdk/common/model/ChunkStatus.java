@@ -0,0 +1,27 @@
+package openapi.sdk.common.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 分片传输的接收状态
+ * <p>
+ * 中断的上传重新开始时先查询该状态，只上传未确认接收的分片
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Data
+public class ChunkStatus {
+
+    /**
+     * 分片传输ID
+     */
+    private String transferId;
+
+    /**
+     * 服务端已确认接收的分片序号
+     */
+    private List<Integer> received;
+}
@@ -6,6 +6,8 @@ import lombok.Data;
 import openapi.sdk.common.enums.DataType;
 import openapi.sdk.common.util.TruncateUtil;
 
+import java.util.Map;
+
 /**
  * openapi入参
  *
@@ -44,6 +46,21 @@ public class InParams {
      */
     private byte[] bodyBytes;
 
+    /**
+     * 流式请求体（方法参数含{@link StreamBinary}时由sdk生成，代替bodyBytes在发送时边读边写入）
+     */
+    private transient StreamBody bodyStream;
+
+    /**
+     * 二进制返回值的接收目标（方法参数含{@link BinarySink}时由sdk提取，不发送给服务端）
+     */
+    private transient BinarySink binarySink;
+
+    /**
+     * 需分片上传的二进制对象（key为分片传输ID，数据超过分片大小时由sdk分出，发送请求前分片上传，不在请求体中）
+     */
+    private transient Map<String, Binary> chunkBinaries;
+
     /**
      * 用于日志打印
      */
@@ -59,6 +76,11 @@ public class InParams {
      */
     private String symmetricCryKey;
 
+    /**
+     * 会话ID（会话加密模式下由sdk设置）
+     */
+    private String sessionId;
+
     /**
      * 是否是多参方法（由sdk判断）
      */
@@ -69,6 +91,16 @@ public class InParams {
      */
     private DataType dataType;
 
+    /**
+     * 二进制数据传输格式（0或1为v1格式，参见{@link openapi.sdk.common.constant.Constant#BINARY_FORMAT_V2}）
+     */
+    private int binaryFormat;
+
+    /**
+     * 客户端支持分片下载时的分片大小（单位字节），0表示不支持
+     */
+    private long chunkSize;
+
     @Override
     public String toString() {
         InParams inParams = new InParams();
@@ -76,6 +108,9 @@ public class InParams {
         inParams.setBody(TruncateUtil.truncate(inParams.getBody()));
         inParams.setBodyBytesStr(TruncateUtil.truncate(inParams.getBodyBytes()));
         inParams.setBodyBytes(null);
+        inParams.setBodyStream(null);
+        inParams.setBinarySink(null);
+        inParams.setChunkBinaries(null);
         return JSONUtil.toJsonStr(inParams);
     }
 
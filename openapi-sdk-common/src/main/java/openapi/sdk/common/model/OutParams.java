@@ -7,6 +7,8 @@ import openapi.sdk.common.constant.ErrorCode;
 import openapi.sdk.common.enums.DataType;
 import openapi.sdk.common.util.TruncateUtil;
 
+import java.nio.ByteBuffer;
+
 /**
  * openapi出参
  *
@@ -56,6 +58,11 @@ public class OutParams {
      */
     private String dataBytesStr;
 
+    /**
+     * 返回值（分段形式，无需压缩、加密的二进制返回值由sdk生成，代替dataBytes依次写出，不拼接成新的数组）
+     */
+    private transient ByteBuffer[] dataBuffers;
+
     /**
      * 对称加密Key(由sdk生成)
      */
@@ -66,6 +73,21 @@ public class OutParams {
      */
     private DataType dataType;
 
+    /**
+     * 会话ID（会话握手时由sdk生成）
+     */
+    private String sessionId;
+
+    /**
+     * 会话有效期（单位秒，会话握手时由sdk设置）
+     */
+    private Long sessionTtl;
+
+    /**
+     * 签名（会话握手时由sdk生成）
+     */
+    private String sign;
+
 
     /**
      * 调用成功的结果
@@ -0,0 +1,54 @@
+package openapi.sdk.common.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 会话密钥（由ECDH密钥协商得出）
+ *
+ * @author wanghuidong
+ */
+@Getter
+@Setter
+public class SessionKey {
+
+    /**
+     * 会话ID
+     */
+    private String sessionId;
+
+    /**
+     * 调用者ID
+     */
+    private String callerId;
+
+    /**
+     * 对称加密密钥
+     */
+    private byte[] cryKey;
+
+    /**
+     * HMAC签名密钥
+     */
+    private byte[] macKey;
+
+    /**
+     * 过期时间（毫秒时间戳）
+     */
+    private long expireTime;
+
+    /**
+     * 判断会话是否已过期
+     *
+     * @return 是否已过期
+     */
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= expireTime;
+    }
+
+    @Override
+    public String toString() {
+        //不输出密钥，避免泄露到日志中
+        return String.format("SessionKey(sessionId=%s, callerId=%s, expireTime=%s)", sessionId, callerId, expireTime);
+    }
+}
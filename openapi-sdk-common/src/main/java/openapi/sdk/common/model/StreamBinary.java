@@ -0,0 +1,222 @@
+package openapi.sdk.common.model;
+
+import openapi.sdk.common.exception.OpenApiException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 流式文件（用于上传大文件）
+ * <p>
+ * 数据不加载到内存，发送请求时才从文件、文件通道或输入流中边读边写入HTTP请求体（压缩、加密在同一流水线中完成），
+ * 内存占用与文件大小无关，可传输超过2GB的文件；传输格式与{@link FileBinary}一致，服务端可按{@link FileBinary}接收，
+ * 或按{@link StreamBinary}接收（较大的文件在接收时写入临时文件，通过{@link #openStream()}读取）
+ * </p>
+ * <p>
+ * 注：基于输入流创建的对象只能发送一次，会话失效后不会重新握手重发，输入流在发送完成后关闭
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class StreamBinary extends FileBinary {
+
+    private transient Path path;
+
+    private transient FileChannel channel;
+
+    private transient long position;
+
+    private transient InputStream inputStream;
+
+    private transient boolean consumed;
+
+    private transient ByteBuffer buffer;
+
+    /**
+     * 构造器（用于克隆实例，数据来源需通过of方法指定）
+     */
+    public StreamBinary() {
+    }
+
+    /**
+     * 基于文件创建
+     *
+     * @param path 文件路径
+     * @return 流式文件
+     */
+    public static StreamBinary of(Path path) {
+        StreamBinary binary = new StreamBinary();
+        try {
+            binary.setLength(Files.size(path));
+        } catch (IOException ex) {
+            throw new OpenApiException("读取文件大小失败：" + path, ex);
+        }
+        binary.path = path;
+        binary.setFileName(path.getFileName() == null ? null : path.getFileName().toString());
+        return binary;
+    }
+
+    /**
+     * 基于文件通道创建，传输从通道当前位置到文件末尾的数据（读取时不改变通道的位置，通道由调用方关闭）
+     *
+     * @param channel 文件通道
+     * @return 流式文件
+     */
+    public static StreamBinary of(FileChannel channel) {
+        StreamBinary binary = new StreamBinary();
+        try {
+            binary.position = channel.position();
+            binary.setLength(channel.size() - binary.position);
+        } catch (IOException ex) {
+            throw new OpenApiException("读取文件通道大小失败", ex);
+        }
+        binary.channel = channel;
+        return binary;
+    }
+
+    /**
+     * 基于输入流创建
+     *
+     * @param inputStream 输入流
+     * @param length      数据长度（字节数），输入流提供的数据不足时发送失败
+     * @return 流式文件
+     */
+    public static StreamBinary of(InputStream inputStream, long length) {
+        if (length < 0) {
+            throw new OpenApiException("数据长度不能小于0");
+        }
+        StreamBinary binary = new StreamBinary();
+        binary.setLength(length);
+        binary.inputStream = inputStream;
+        return binary;
+    }
+
+    /**
+     * 绑定接收到的文件（服务端接收时使用，文件在响应完成后删除）
+     * <p>
+     * 注：不提供setter，避免通过JSON参数指定服务端文件
+     * </p>
+     *
+     * @param path 接收时写入的临时文件
+     */
+    public void bind(Path path) {
+        try {
+            setLength(Files.size(path));
+        } catch (IOException ex) {
+            throw new OpenApiException("读取文件大小失败：" + path, ex);
+        }
+        this.path = path;
+    }
+
+    /**
+     * 绑定接收到的数据（服务端接收较小的文件时使用）
+     *
+     * @param bytes 接收到的数据
+     */
+    public void bind(byte[] bytes) {
+        bind(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * 绑定接收到的数据视图（服务端从请求体中截取时使用，不拷贝数据）
+     *
+     * @param buffer 接收到的数据
+     */
+    public void bind(ByteBuffer buffer) {
+        setLength(buffer.remaining());
+        this.buffer = buffer;
+    }
+
+    /**
+     * 打开数据的输入流，由调用方负责关闭
+     *
+     * @return 输入流
+     * @throws IOException 打开异常
+     */
+    public InputStream openStream() throws IOException {
+        if (path != null) {
+            return Files.newInputStream(path);
+        }
+        if (channel != null) {
+            return new ChannelInputStream(channel, position);
+        }
+        if (buffer != null) {
+            if (buffer.hasArray()) {
+                return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return new ByteArrayInputStream(bytes);
+        }
+        if (inputStream == null) {
+            throw new OpenApiException("流式文件未指定数据来源");
+        }
+        synchronized (this) {
+            if (consumed) {
+                throw new OpenApiException("输入流已读取过，不能重复发送");
+            }
+            consumed = true;
+        }
+        return inputStream;
+    }
+
+    /**
+     * 数据能否重复读取（基于输入流创建的只能读取一次）
+     *
+     * @return 能否重复读取
+     */
+    public boolean repeatable() {
+        return inputStream == null;
+    }
+
+    /**
+     * 设置数据（流式文件不支持）
+     *
+     * @param data 数据
+     */
+    @Override
+    public void setData(byte[] data) {
+        //克隆实例时会设置为null
+        if (data != null) {
+            throw new OpenApiException("流式文件不支持设置字节数组数据，请使用FileBinary");
+        }
+    }
+
+    /**
+     * 从文件通道的指定位置读取（不改变通道的位置）
+     */
+    private static class ChannelInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        ChannelInputStream(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int n = channel.read(ByteBuffer.wrap(b, off, len), position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+    }
+}
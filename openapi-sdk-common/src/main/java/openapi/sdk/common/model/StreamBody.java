@@ -0,0 +1,43 @@
+package openapi.sdk.common.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 流式请求体
+ * <p>
+ * 发送时才打开输入流边读边写入HTTP请求体，不在内存中保留完整内容
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public interface StreamBody {
+
+    /**
+     * 获取内容长度
+     *
+     * @return 内容长度（字节数），未知时返回-1（使用分块传输）
+     */
+    long getLength();
+
+    /**
+     * 打开输入流，由调用方负责关闭
+     *
+     * @return 输入流
+     * @throws IOException 打开异常
+     */
+    InputStream open() throws IOException;
+
+    /**
+     * 是否可重复打开（基于输入流的内容只能读取一次）
+     *
+     * @return 是否可重复打开
+     */
+    boolean isRepeatable();
+
+    /**
+     * 释放占用的资源（如临时文件），请求发送完成后调用
+     */
+    default void release() {
+    }
+}
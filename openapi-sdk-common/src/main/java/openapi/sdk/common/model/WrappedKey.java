@@ -0,0 +1,82 @@
+package openapi.sdk.common.model;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 可复用的对称密钥（原始密钥及其经非对称加密后的值）
+ * <p>
+ * 在复用窗口（时间或次数）内，发送方重复使用同一个对称密钥，避免每次请求都生成密钥并执行公钥加密
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Getter
+public class WrappedKey {
+
+    /**
+     * 原始对称密钥
+     */
+    private final byte[] keyBytes;
+
+    /**
+     * 经非对称加密后的对称密钥（Base64）
+     */
+    private final String cryKey;
+
+    /**
+     * 加密对称密钥所用的公钥
+     */
+    private final String publicKey;
+
+    /**
+     * 过期时间（毫秒时间戳）
+     */
+    private final long expireTime;
+
+    /**
+     * 最多使用次数，小于等于0表示不限次数
+     */
+    private final int maxUses;
+
+    /**
+     * 已使用次数
+     */
+    private final AtomicInteger uses = new AtomicInteger(1);
+
+    /**
+     * 可复用的对称密钥（创建即算作使用一次）
+     *
+     * @param keyBytes   原始对称密钥
+     * @param cryKey     经非对称加密后的对称密钥
+     * @param publicKey  加密对称密钥所用的公钥
+     * @param reuseTime  复用时间（单位秒），小于等于0表示不限时间
+     * @param reuseCount 复用次数，小于等于0表示不限次数
+     */
+    public WrappedKey(byte[] keyBytes, String cryKey, String publicKey, long reuseTime, int reuseCount) {
+        this.keyBytes = keyBytes;
+        this.cryKey = cryKey;
+        this.publicKey = publicKey;
+        this.expireTime = reuseTime > 0 ? System.currentTimeMillis() + reuseTime * 1000 : Long.MAX_VALUE;
+        this.maxUses = reuseCount;
+    }
+
+    /**
+     * 尝试再使用一次该密钥
+     *
+     * @param publicKey 本次加密对称密钥所需的公钥
+     * @return 是否可以使用（未过期、未超出使用次数且公钥一致）
+     */
+    public boolean tryUse(String publicKey) {
+        if (!this.publicKey.equals(publicKey) || System.currentTimeMillis() >= expireTime) {
+            return false;
+        }
+        return maxUses <= 0 || uses.incrementAndGet() <= maxUses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WrappedKey{keyBytes=******, expireTime=%d, maxUses=%d, uses=%d}", expireTime, maxUses, uses.get());
+    }
+}
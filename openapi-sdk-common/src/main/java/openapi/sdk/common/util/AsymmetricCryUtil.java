@@ -2,7 +2,13 @@ package openapi.sdk.common.util;
 
 import cn.hutool.crypto.SecureUtil;
 import lombok.extern.slf4j.Slf4j;
+import openapi.sdk.common.exception.OpenApiException;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters;
+import org.bouncycastle.crypto.util.PrivateKeyInfoFactory;
+import org.bouncycastle.crypto.util.SubjectPublicKeyInfoFactory;
 
+import java.io.IOException;
 import java.security.KeyPair;
 
 /**
@@ -37,4 +43,21 @@ public class AsymmetricCryUtil {
         String publicKey = Base64Util.bytesToBase64(pair.getPublic().getEncoded());
         return new openapi.sdk.common.model.KeyPair(privateKey, publicKey);
     }
+
+    /**
+     * 生成Ed25519的公私密钥（私钥PKCS8编码，公钥X509编码）
+     *
+     * @return 密钥对
+     */
+    public static openapi.sdk.common.model.KeyPair generateEd25519Keys() {
+        try {
+            Ed25519PrivateKeyParameters privateKeyParams = new Ed25519PrivateKeyParameters(JceUtil.getSecureRandom());
+            Ed25519PublicKeyParameters publicKeyParams = privateKeyParams.generatePublicKey();
+            String privateKey = Base64Util.bytesToBase64(PrivateKeyInfoFactory.createPrivateKeyInfo(privateKeyParams).getEncoded());
+            String publicKey = Base64Util.bytesToBase64(SubjectPublicKeyInfoFactory.createSubjectPublicKeyInfo(publicKeyParams).getEncoded());
+            return new openapi.sdk.common.model.KeyPair(privateKey, publicKey);
+        } catch (IOException ex) {
+            throw new OpenApiException("生成Ed25519密钥失败", ex);
+        }
+    }
 }
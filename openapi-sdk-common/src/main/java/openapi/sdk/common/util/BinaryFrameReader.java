@@ -0,0 +1,118 @@
+package openapi.sdk.common.util;
+
+import cn.hutool.core.util.ByteUtil;
+import openapi.sdk.common.constant.Constant;
+import openapi.sdk.common.exception.OpenApiException;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 二进制请求体（响应体）的流式读取器，自动识别v1、v2格式
+ * <p>
+ * 依次调用：{@link #getParamLength()}（或{@link #readParamStr()}）、{@link #readBinaryCount()}、
+ * 每个文件调用一次{@link #nextBinaryLength()}后从输入流读取该长度的文件数据
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class BinaryFrameReader {
+
+    private final DataInputStream in;
+
+    private final int format;
+
+    private final int paramLength;
+
+    private int binaryCount = -1;
+
+    private long[] binaryLengths;
+
+    private int next;
+
+    /**
+     * 读取格式标识及参数长度，读取后输入流位于参数处
+     *
+     * @param in 请求体（响应体）的输入流
+     * @throws IOException 读取异常
+     */
+    public BinaryFrameReader(DataInputStream in) throws IOException {
+        this.in = in;
+        byte[] head = new byte[4];
+        in.readFully(head);
+        this.format = BinaryUtil.getFormat(head);
+        int length = format == Constant.BINARY_FORMAT_V2 ? BinaryUtil.toInt(BinaryUtil.readVarint(in)) : ByteUtil.bytesToInt(head);
+        if (length < 0) {
+            throw new OpenApiException("二进制数据格式错误：参数长度越界");
+        }
+        this.paramLength = length;
+    }
+
+    /**
+     * 获取传输格式
+     *
+     * @return 传输格式
+     */
+    public int getFormat() {
+        return format;
+    }
+
+    /**
+     * 获取参数长度，调用方自行读取该长度的参数
+     *
+     * @return 参数长度
+     */
+    public int getParamLength() {
+        return paramLength;
+    }
+
+    /**
+     * 读取参数字符串
+     *
+     * @return 参数字符串
+     * @throws IOException 读取异常
+     */
+    public String readParamStr() throws IOException {
+        byte[] paramBytes = new byte[paramLength];
+        in.readFully(paramBytes);
+        return new String(paramBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读取文件数量（v2格式同时读取文件长度表），读取后输入流位于第一个文件处
+     *
+     * @return 文件数量
+     * @throws IOException 读取异常
+     */
+    public int readBinaryCount() throws IOException {
+        if (format == Constant.BINARY_FORMAT_V1) {
+            binaryCount = in.readUnsignedByte();
+            return binaryCount;
+        }
+        long count = BinaryUtil.readVarint(in);
+        if (count > Constant.BINARY_MAX_COUNT) {
+            throw new OpenApiException("二进制数据格式错误：文件数量越界");
+        }
+        binaryLengths = new long[(int) count];
+        for (int i = 0; i < binaryLengths.length; i++) {
+            binaryLengths[i] = BinaryUtil.readVarint(in);
+        }
+        binaryCount = binaryLengths.length;
+        return binaryCount;
+    }
+
+    /**
+     * 获取下一个文件的长度，调用后输入流位于该文件的数据处
+     *
+     * @return 文件长度
+     * @throws IOException 读取异常
+     */
+    public long nextBinaryLength() throws IOException {
+        if (next >= binaryCount) {
+            throw new OpenApiException("二进制数据格式错误：文件个数不匹配");
+        }
+        next++;
+        return format == Constant.BINARY_FORMAT_V1 ? BinaryUtil.readBinaryLength(in) : binaryLengths[next - 1];
+    }
+}
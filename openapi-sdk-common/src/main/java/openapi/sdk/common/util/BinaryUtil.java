@@ -1,12 +1,27 @@
 package openapi.sdk.common.util;
 
-import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.ByteUtil;
+import openapi.sdk.common.constant.Constant;
 import openapi.sdk.common.model.Binary;
+import openapi.sdk.common.model.BinaryFrame;
 import openapi.sdk.common.exception.OpenApiException;
+import openapi.sdk.common.model.StreamBinary;
+import openapi.sdk.common.model.StreamBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.List;
 
 /**
@@ -17,6 +32,11 @@ import java.util.List;
  */
 public class BinaryUtil {
 
+    /**
+     * v2格式标识（"OAB"+版本号，最后一个字节的最高位为1，按v1格式读取时参数长度为负数，不会被误解析）
+     */
+    private static final byte[] FORMAT_V2_MAGIC = {'O', 'A', 'B', (byte) (0x80 | Constant.BINARY_FORMAT_V2)};
+
     /**
      * 判断是否是二进制类型参数(包括数组、集合)
      *
@@ -67,40 +87,515 @@ public class BinaryUtil {
      * @return 字节数据
      */
     public static byte[] buildSingleBinaryBytes(Binary binary, String paramStr) {
-        long binaryLength = binary.getLength();
-        byte[] binaryDataBytes = binary.getData();
-        byte[] paramBytes = paramStr.getBytes(StandardCharsets.UTF_8);
-        byte[] paramLengthBytes = ByteUtil.intToBytes(paramBytes.length);
-        byte[] binaryCountBytes = new byte[]{1};
-        byte[] binaryLengthBytes = ByteUtil.longToBytes(binaryLength);
-        return ArrayUtil.addAll(paramLengthBytes, paramBytes, binaryCountBytes, binaryLengthBytes, binaryDataBytes);
+        return toBytes(buildSingleBinaryBuffers(binary, paramStr));
     }
 
     /**
-     * 构建多个二进制对象的字节数据
+     * 按指定格式构建二进制对象的字节数据
+     *
+     * @param binary   二进制对象
+     * @param paramStr 参数的字符串表示
+     * @param format   传输格式
+     * @return 字节数据
+     */
+    public static byte[] buildSingleBinaryBytes(Binary binary, String paramStr, int format) {
+        return toBytes(buildSingleBinaryBuffers(binary, paramStr, format));
+    }
+
+    /**
+     * 构建多个二进制对象的字节数据（各部分只拷贝一次）
      *
      * @param binaries     多个二进制对象
      * @param paramJsonStr 参数的字符串表示
      * @return 字节数据
      */
     public static byte[] buildMultiBinaryBytes(List<Binary> binaries, String paramJsonStr) {
-        List<byte[]> binaryLengthBytesList = new ArrayList<>();
-        List<byte[]> binaryDataBytesList = new ArrayList<>();
+        return toBytes(buildMultiBinaryBuffers(binaries, paramJsonStr));
+    }
+
+    /**
+     * 按指定格式构建多个二进制对象的字节数据
+     *
+     * @param binaries     多个二进制对象
+     * @param paramJsonStr 参数的字符串表示
+     * @param format       传输格式
+     * @return 字节数据
+     */
+    public static byte[] buildMultiBinaryBytes(List<Binary> binaries, String paramJsonStr, int format) {
+        return toBytes(buildMultiBinaryBuffers(binaries, paramJsonStr, format));
+    }
+
+    /**
+     * 构建二进制对象的分段数据
+     *
+     * @param binary   二进制对象
+     * @param paramStr 参数的字符串表示
+     * @return 分段数据
+     * @see #buildMultiBinaryBuffers(List, String)
+     */
+    public static ByteBuffer[] buildSingleBinaryBuffers(Binary binary, String paramStr) {
+        return buildSingleBinaryBuffers(binary, paramStr, Constant.BINARY_FORMAT_V1);
+    }
+
+    /**
+     * 按指定格式构建二进制对象的分段数据
+     *
+     * @param binary   二进制对象
+     * @param paramStr 参数的字符串表示
+     * @param format   传输格式
+     * @return 分段数据
+     */
+    public static ByteBuffer[] buildSingleBinaryBuffers(Binary binary, String paramStr, int format) {
+        return buildMultiBinaryBuffers(Collections.singletonList(binary), paramStr, format);
+    }
+
+    /**
+     * 构建多个二进制对象的分段数据
+     * <p>
+     * 依次为：参数及文件数量（ParamsSize + ParamsData + BinaryCount）、每个二进制对象的长度（BinarySize）及数据（BinaryData），
+     * 二进制数据直接引用{@link Binary#getData()}，不进行拷贝；可通过{@link #write(GatheringByteChannel, ByteBuffer[])}聚集写出
+     * </p>
+     *
+     * @param binaries     多个二进制对象
+     * @param paramJsonStr 参数的字符串表示
+     * @return 分段数据
+     */
+    public static ByteBuffer[] buildMultiBinaryBuffers(List<Binary> binaries, String paramJsonStr) {
+        return buildMultiBinaryBuffers(binaries, paramJsonStr, Constant.BINARY_FORMAT_V1);
+    }
+
+    /**
+     * 按指定格式构建多个二进制对象的分段数据
+     * <p>
+     * v2格式依次为：格式标识、参数长度及参数、文件数量及各文件的长度（变长整数）、各文件的数据，二进制数据同样不进行拷贝
+     * </p>
+     *
+     * @param binaries     多个二进制对象
+     * @param paramJsonStr 参数的字符串表示
+     * @param format       传输格式
+     * @return 分段数据
+     */
+    public static ByteBuffer[] buildMultiBinaryBuffers(List<Binary> binaries, String paramJsonStr, int format) {
+        boolean v2 = format >= Constant.BINARY_FORMAT_V2;
+        ByteBuffer[] buffers = new ByteBuffer[1 + binaries.size() * (v2 ? 1 : 2)];
+        buffers[0] = ByteBuffer.wrap(buildHeadBytes(paramJsonStr, binaries, format));
+        int i = 1;
         for (Binary binary : binaries) {
-            byte[] binaryLengthBytes = ByteUtil.longToBytes(binary.getLength());
-            byte[] binaryDataBytes = binary.getData();
-            binaryLengthBytesList.add(binaryLengthBytes);
-            binaryDataBytesList.add(binaryDataBytes);
+            if (!v2) {
+                buffers[i++] = ByteBuffer.wrap(ByteUtil.longToBytes(binary.getLength()));
+            }
+            buffers[i++] = ByteBuffer.wrap(binary.getData() == null ? new byte[0] : binary.getData());
         }
+        return buffers;
+    }
+
+    /**
+     * 构建文件数据之前的部分
+     * <p>
+     * v1格式：ParamsSize + ParamsData + BinaryCount；
+     * v2格式：格式标识 + ParamsSize + ParamsData + BinaryCount + 各文件的BinarySize（长度、数量均为变长整数）
+     * </p>
+     *
+     * @param paramJsonStr 参数的字符串表示
+     * @param binaries     多个二进制对象
+     * @param format       传输格式
+     * @return 字节数据
+     */
+    private static byte[] buildHeadBytes(String paramJsonStr, List<Binary> binaries, int format) {
         byte[] paramBytes = paramJsonStr.getBytes(StandardCharsets.UTF_8);
-        byte[] paramLengthBytes = ByteUtil.intToBytes(paramBytes.length);
-        int binaryCount = binaries.size();
-        byte[] binaryCountBytes = new byte[]{(byte) binaryCount};
-        byte[] bodyBytes = ArrayUtil.addAll(paramLengthBytes, paramBytes, binaryCountBytes);
-        for (int i = 0; i < binaryCount; i++) {
-            bodyBytes = ArrayUtil.addAll(bodyBytes, binaryLengthBytesList.get(i), binaryDataBytesList.get(i));
+        if (format < Constant.BINARY_FORMAT_V2) {
+            if (binaries.size() > 255) {
+                throw new OpenApiException("v1格式最多传输255个文件，请使用v2格式");
+            }
+            byte[] headBytes = new byte[4 + paramBytes.length + 1];
+            ByteBuffer.wrap(headBytes).order(ByteUtil.DEFAULT_ORDER).putInt(paramBytes.length).put(paramBytes).put((byte) binaries.size());
+            return headBytes;
+        }
+        if (binaries.size() > Constant.BINARY_MAX_COUNT) {
+            throw new OpenApiException("最多传输" + Constant.BINARY_MAX_COUNT + "个文件");
+        }
+        ByteArrayOutputStream head = new ByteArrayOutputStream(FORMAT_V2_MAGIC.length + 10 + paramBytes.length + 5 + binaries.size() * 4);
+        head.write(FORMAT_V2_MAGIC, 0, FORMAT_V2_MAGIC.length);
+        writeVarint(head, paramBytes.length);
+        head.write(paramBytes, 0, paramBytes.length);
+        writeVarint(head, binaries.size());
+        for (Binary binary : binaries) {
+            writeVarint(head, binary.getLength());
+        }
+        return head.toByteArray();
+    }
+
+    /**
+     * 解析二进制请求体（响应体），自动识别v1、v2格式
+     * <p>
+     * v2格式直接读取文件长度表，v1格式依次跳过各文件（只读取长度，不拷贝数据）；文件数据通过{@link BinaryFrame#getBinaryData(int)}按需截取
+     * </p>
+     *
+     * @param bodyBytes 请求体（响应体）中的字节数据
+     * @return 解析结果
+     */
+    public static BinaryFrame parseFrame(byte[] bodyBytes) {
+        if (bodyBytes == null || bodyBytes.length < 5) {
+            throw new OpenApiException("二进制数据格式错误：缺少参数长度或文件数量");
+        }
+        int format = getFormat(bodyBytes);
+        int[] offsets;
+        int[] lengths;
+        String paramStr;
+        if (format == Constant.BINARY_FORMAT_V1) {
+            int paramLength = getParamLength(bodyBytes);
+            paramStr = getParamStr(bodyBytes, paramLength);
+            long index = getBinaryLengthStartIndex(paramLength);
+            int count = bodyBytes[(int) index - 1] & 0xFF;
+            offsets = new int[count];
+            lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                ByteBuffer data = getBinaryData(bodyBytes, index);
+                offsets[i] = (int) index + 8;
+                lengths[i] = data.remaining();
+                index = getNextBinaryLengthStartIndex(index, data);
+            }
+            return new BinaryFrame(bodyBytes, format, paramStr, offsets, lengths);
+        }
+        int[] pos = {FORMAT_V2_MAGIC.length};
+        int paramLength = toInt(readVarint(bodyBytes, pos));
+        if (paramLength > bodyBytes.length - pos[0]) {
+            throw new OpenApiException("二进制数据格式错误：参数长度越界");
+        }
+        paramStr = new String(bodyBytes, pos[0], paramLength, StandardCharsets.UTF_8);
+        pos[0] += paramLength;
+        long count = readVarint(bodyBytes, pos);
+        if (count > Constant.BINARY_MAX_COUNT || count > bodyBytes.length - pos[0]) {
+            throw new OpenApiException("二进制数据格式错误：文件数量越界");
+        }
+        offsets = new int[(int) count];
+        lengths = new int[(int) count];
+        for (int i = 0; i < count; i++) {
+            lengths[i] = toInt(readVarint(bodyBytes, pos));
+        }
+        long offset = pos[0];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = (int) offset;
+            offset += lengths[i];
+            if (offset > bodyBytes.length) {
+                throw new OpenApiException("二进制数据格式错误：文件长度越界");
+            }
+        }
+        return new BinaryFrame(bodyBytes, format, paramStr, offsets, lengths);
+    }
+
+    /**
+     * 根据请求体的前4个字节识别传输格式
+     *
+     * @param head 请求体（至少4个字节）
+     * @return 传输格式
+     */
+    static int getFormat(byte[] head) {
+        //v1格式的参数长度不为负数，最后一个字节的最高位为0
+        if ((head[3] & 0x80) == 0) {
+            return Constant.BINARY_FORMAT_V1;
+        }
+        for (int i = 0; i < FORMAT_V2_MAGIC.length; i++) {
+            if (head[i] != FORMAT_V2_MAGIC[i]) {
+                throw new OpenApiException("二进制数据格式错误：不支持的格式");
+            }
+        }
+        return Constant.BINARY_FORMAT_V2;
+    }
+
+    /**
+     * 写入变长整数（每字节7位，低位在前，最高位表示是否还有后续字节）
+     *
+     * @param out   输出流
+     * @param value 非负整数
+     */
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * 从字节数组读取变长整数
+     *
+     * @param bytes 字节数组
+     * @param pos   读取位置，读取后后移
+     * @return 非负整数
+     */
+    private static long readVarint(byte[] bytes, int[] pos) {
+        long value = 0;
+        for (int shift = 0; shift < 63; shift += 7) {
+            if (pos[0] >= bytes.length) {
+                throw new OpenApiException("二进制数据格式错误：数据不完整");
+            }
+            byte b = bytes[pos[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new OpenApiException("二进制数据格式错误：长度越界");
+    }
+
+    /**
+     * 从输入流读取变长整数
+     *
+     * @param in 输入流
+     * @return 非负整数
+     * @throws IOException 读取异常
+     */
+    static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 63; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new OpenApiException("二进制数据格式错误：长度越界");
+    }
+
+    /**
+     * 转换为数组长度（不能超过约2GB）
+     *
+     * @param value 长度
+     * @return 数组长度
+     */
+    static int toInt(long value) {
+        if (value > Integer.MAX_VALUE - 8) {
+            throw new OpenApiException("二进制数据格式错误：长度越界");
+        }
+        return (int) value;
+    }
+
+    /**
+     * 获取分段数据的总长度
+     *
+     * @param buffers 分段数据
+     * @return 总长度
+     */
+    public static long getLength(ByteBuffer[] buffers) {
+        long length = 0;
+        for (ByteBuffer buffer : buffers) {
+            length += buffer.remaining();
+        }
+        return length;
+    }
+
+    /**
+     * 将分段数据拼接为字节数组（按总长度一次分配，各段只拷贝一次，不改变各段的位置）
+     *
+     * @param buffers 分段数据
+     * @return 字节数组
+     */
+    public static byte[] toBytes(ByteBuffer[] buffers) {
+        long length = getLength(buffers);
+        //受限于数组的索引为int类型，拼接后不能大于约2GB
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new OpenApiException("二进制数据超过2GB，请使用StreamBinary传输");
+        }
+        byte[] bytes = new byte[(int) length];
+        int offset = 0;
+        for (ByteBuffer buffer : buffers) {
+            int remaining = buffer.remaining();
+            buffer.duplicate().get(bytes, offset, remaining);
+            offset += remaining;
+        }
+        return bytes;
+    }
+
+    /**
+     * 将分段数据依次写入输出流（不改变各段的位置）
+     *
+     * @param out     输出流
+     * @param buffers 分段数据
+     * @throws IOException 写入异常
+     */
+    public static void write(OutputStream out, ByteBuffer[] buffers) throws IOException {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasArray()) {
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } else {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.duplicate().get(bytes);
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * 将分段数据聚集写入通道（一次系统调用写出多段，不改变各段的位置）
+     *
+     * @param channel 通道（如文件通道、套接字通道）
+     * @param buffers 分段数据
+     * @return 写入的字节数
+     * @throws IOException 写入异常
+     */
+    public static long write(GatheringByteChannel channel, ByteBuffer[] buffers) throws IOException {
+        ByteBuffer[] duplicates = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            duplicates[i] = buffers[i].duplicate();
+        }
+        long length = getLength(buffers);
+        long written = 0;
+        while (written < length) {
+            written += channel.write(duplicates);
+        }
+        return written;
+    }
+
+    /**
+     * 判断是否含有流式文件
+     *
+     * @param binaries 多个二进制对象
+     * @return 是否含有流式文件
+     */
+    public static boolean hasStreamBinary(List<Binary> binaries) {
+        for (Binary binary : binaries) {
+            if (binary instanceof StreamBinary) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 构建多个二进制对象的流式请求体（含流式文件时使用）
+     * <p>
+     * 与{@link #buildMultiBinaryBytes}的格式一致，但各二进制对象的数据在读取到时才打开，不拼接成完整的字节数组，
+     * 请求体可超过2GB
+     * </p>
+     *
+     * @param binaries     多个二进制对象
+     * @param paramJsonStr 参数的字符串表示
+     * @return 流式请求体
+     */
+    public static StreamBody buildMultiBinaryBody(List<Binary> binaries, String paramJsonStr) {
+        return buildMultiBinaryBody(binaries, paramJsonStr, Constant.BINARY_FORMAT_V1);
+    }
+
+    /**
+     * 按指定格式构建多个二进制对象的流式请求体
+     *
+     * @param binaries     多个二进制对象
+     * @param paramJsonStr 参数的字符串表示
+     * @param format       传输格式
+     * @return 流式请求体
+     */
+    public static StreamBody buildMultiBinaryBody(List<Binary> binaries, String paramJsonStr, int format) {
+        byte[] headBytes = buildHeadBytes(paramJsonStr, binaries, format);
+        boolean inlineLength = format < Constant.BINARY_FORMAT_V2;
+        long length = headBytes.length;
+        boolean repeatable = true;
+        for (Binary binary : binaries) {
+            length += (inlineLength ? 8 : 0) + binary.getLength();
+            if (binary instanceof StreamBinary && !((StreamBinary) binary).repeatable()) {
+                repeatable = false;
+            }
+        }
+        long bodyLength = length;
+        boolean bodyRepeatable = repeatable;
+        return new StreamBody() {
+            @Override
+            public long getLength() {
+                return bodyLength;
+            }
+
+            @Override
+            public InputStream open() {
+                return new SequenceInputStream(new BinaryFrameEnumeration(headBytes, binaries, inlineLength));
+            }
+
+            @Override
+            public boolean isRepeatable() {
+                return bodyRepeatable;
+            }
+        };
+    }
+
+    /**
+     * 从输入流读取参数字符串（ParamsSize + ParamsData），读取后输入流位于BinaryCount处
+     *
+     * @param in 请求体（响应体）的输入流
+     * @return 参数字符串
+     * @throws IOException 读取异常
+     */
+    public static String readParamStr(DataInputStream in) throws IOException {
+        byte[] paramBytes = new byte[readParamLength(in)];
+        in.readFully(paramBytes);
+        return new String(paramBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 从输入流读取参数长度（ParamsSize）
+     *
+     * @param in 请求体（响应体）的输入流
+     * @return 参数长度
+     * @throws IOException 读取异常
+     */
+    public static int readParamLength(DataInputStream in) throws IOException {
+        byte[] paramLengthBytes = new byte[4];
+        in.readFully(paramLengthBytes);
+        int paramLength = ByteUtil.bytesToInt(paramLengthBytes);
+        if (paramLength < 0) {
+            throw new OpenApiException("二进制数据格式错误：参数长度越界");
+        }
+        return paramLength;
+    }
+
+    /**
+     * 从输入流读取下一个二进制对象的数据长度（BinarySize），读取后输入流位于BinaryData处
+     *
+     * @param in 请求体（响应体）的输入流
+     * @return 数据长度
+     * @throws IOException 读取异常
+     */
+    public static long readBinaryLength(DataInputStream in) throws IOException {
+        byte[] binaryLengthBytes = new byte[8];
+        in.readFully(binaryLengthBytes);
+        long binaryLength = ByteUtil.bytesToLong(binaryLengthBytes);
+        if (binaryLength < 0) {
+            throw new OpenApiException("二进制数据格式错误：文件长度越界");
+        }
+        return binaryLength;
+    }
+
+    /**
+     * 从输入流读取下一个二进制对象（BinarySize + BinaryData），数据写入输出流
+     *
+     * @param in  请求体（响应体）的输入流
+     * @param out 数据的输出流
+     * @return 数据长度
+     * @throws IOException 读写异常
+     */
+    public static long readBinaryData(DataInputStream in, OutputStream out) throws IOException {
+        long binaryLength = readBinaryLength(in);
+        copyBinaryData(in, out, binaryLength);
+        return binaryLength;
+    }
+
+    /**
+     * 从输入流读取指定长度的文件数据写入输出流
+     *
+     * @param in           请求体（响应体）的输入流
+     * @param out          数据的输出流
+     * @param binaryLength 数据长度
+     * @throws IOException 读写异常
+     */
+    public static void copyBinaryData(DataInputStream in, OutputStream out, long binaryLength) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = binaryLength;
+        while (remaining > 0) {
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (n < 0) {
+                throw new OpenApiException("二进制数据格式错误：文件长度越界");
+            }
+            out.write(buffer, 0, n);
+            remaining -= n;
         }
-        return bodyBytes;
     }
 
     /**
@@ -113,7 +608,7 @@ public class BinaryUtil {
         if (bodyBytes == null || bodyBytes.length < 5) {
             throw new OpenApiException("二进制数据格式错误：缺少参数长度或文件数量");
         }
-        int paramLength = ByteUtil.bytesToInt(ArrayUtil.sub(bodyBytes, 0, 4));
+        int paramLength = ByteUtil.bytesToInt(bodyBytes, 0, ByteUtil.DEFAULT_ORDER);
         if (paramLength < 0 || paramLength > bodyBytes.length - 5) {
             throw new OpenApiException("二进制数据格式错误：参数长度越界");
         }
@@ -128,9 +623,7 @@ public class BinaryUtil {
      * @return 参数字符串
      */
     public static String getParamStr(byte[] bodyBytes, int paramLength) {
-        byte[] paramBytes = ArrayUtil.sub(bodyBytes, 4, 4 + paramLength);
-        String paramStr = new String(paramBytes, StandardCharsets.UTF_8);
-        return paramStr;
+        return new String(bodyBytes, 4, paramLength, StandardCharsets.UTF_8);
     }
 
     /**
@@ -148,20 +641,31 @@ public class BinaryUtil {
      *
      * @param bodyBytes              请求体（响应体）中的字节数据
      * @param binaryLengthStartIndex 二进制文件长度信息(BinarySize)的起始位置
-     * @return 文件数据
+     * @return 文件数据（拷贝）
      */
     public static byte[] getBinaryDataBytes(byte[] bodyBytes, long binaryLengthStartIndex) {
+        return toBytes(new ByteBuffer[]{getBinaryData(bodyBytes, binaryLengthStartIndex)});
+    }
+
+    /**
+     * 获取二进制对象中的文件数据的视图（不拷贝，与请求体共享数据）
+     *
+     * @param bodyBytes              请求体（响应体）中的字节数据
+     * @param binaryLengthStartIndex 二进制文件长度信息(BinarySize)的起始位置
+     * @return 文件数据的视图
+     */
+    public static ByteBuffer getBinaryData(byte[] bodyBytes, long binaryLengthStartIndex) {
         if (bodyBytes == null || binaryLengthStartIndex < 0 || binaryLengthStartIndex > bodyBytes.length - 8L) {
             throw new OpenApiException("二进制数据格式错误：文件长度位置越界");
         }
-        //受限于hutool和底层数组拷贝工具类的位置索引为int类型，文件传输不能大于2,147,483,648字节（约2GB）
-        long binaryLength = ByteUtil.bytesToLong(ArrayUtil.sub(bodyBytes, (int) binaryLengthStartIndex, (int) (binaryLengthStartIndex + 8)));
+        //受限于数组的索引为int类型，文件传输不能大于2,147,483,648字节（约2GB），更大的文件使用StreamBinary
+        long binaryLength = ByteUtil.bytesToLong(bodyBytes, (int) binaryLengthStartIndex, ByteUtil.DEFAULT_ORDER);
         long binaryDataStartIndex = binaryLengthStartIndex + 8;
         long binaryDataEndIndex = binaryDataStartIndex + binaryLength;
         if (binaryLength < 0 || binaryDataEndIndex < binaryDataStartIndex || binaryDataEndIndex > bodyBytes.length) {
             throw new OpenApiException("二进制数据格式错误：文件长度越界");
         }
-        return ArrayUtil.sub(bodyBytes, (int) binaryDataStartIndex, (int) binaryDataEndIndex);
+        return ByteBuffer.wrap(bodyBytes, (int) binaryDataStartIndex, (int) binaryLength).slice();
     }
 
     /**
@@ -175,5 +679,118 @@ public class BinaryUtil {
         return binaryLengthStartIndex + 8 + binaryDataBytes.length;
     }
 
+    /**
+     * 获取下一个二进制对象数据的长度信息(BinarySize)起始位置
+     *
+     * @param binaryLengthStartIndex 二进制数据长度信息(BinarySize)的起始位置
+     * @param binaryData             上一个二进制对象的数据视图
+     * @return 下一个二进制对象数据的长度信息(BinarySize)起始位置
+     */
+    public static long getNextBinaryLengthStartIndex(long binaryLengthStartIndex, ByteBuffer binaryData) {
+        return binaryLengthStartIndex + 8 + binaryData.remaining();
+    }
 
+    /**
+     * 依次产生请求体的各部分：参数及文件数量、每个二进制对象的长度（仅v1格式）及数据（读取到时才打开）
+     */
+    private static class BinaryFrameEnumeration implements Enumeration<InputStream> {
+
+        private final List<Binary> binaries;
+
+        private InputStream next;
+
+        private int index;
+
+        BinaryFrameEnumeration(byte[] headBytes, List<Binary> binaries, boolean inlineLength) {
+            this.binaries = binaries;
+            this.next = new ByteArrayInputStream(headBytes);
+            //长度已在文件长度表中时跳过各文件的长度部分
+            this.index = inlineLength ? 0 : -1;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return next != null || (index >= 0 ? index < binaries.size() * 2 : -index - 1 < binaries.size());
+        }
+
+        @Override
+        public InputStream nextElement() {
+            if (next != null) {
+                InputStream current = next;
+                next = null;
+                return current;
+            }
+            Binary binary;
+            boolean lengthPart;
+            if (index >= 0) {
+                binary = binaries.get(index / 2);
+                lengthPart = index % 2 == 0;
+                index++;
+            } else {
+                binary = binaries.get(-index - 1);
+                lengthPart = false;
+                index--;
+            }
+            if (lengthPart) {
+                return new ByteArrayInputStream(ByteUtil.longToBytes(binary.getLength()));
+            }
+            if (!(binary instanceof StreamBinary)) {
+                return new ByteArrayInputStream(binary.getData() == null ? new byte[0] : binary.getData());
+            }
+            try {
+                return new FixedLengthInputStream(((StreamBinary) binary).openStream(), binary.getLength());
+            } catch (IOException ex) {
+                throw new OpenApiException("打开流式文件失败", ex);
+            }
+        }
+    }
+
+    /**
+     * 只读取指定长度的数据，数据不足时抛出异常，避免请求体与声明的长度不一致
+     */
+    private static class FixedLengthInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        FixedLengthInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n < 0) {
+                throw new IOException("流式文件的数据不足，还差" + remaining + "字节");
+            }
+            remaining -= n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
 }
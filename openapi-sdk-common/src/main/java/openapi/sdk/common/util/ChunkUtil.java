@@ -0,0 +1,63 @@
+package openapi.sdk.common.util;
+
+import openapi.sdk.common.exception.OpenApiException;
+
+import java.util.regex.Pattern;
+
+/**
+ * 分片传输工具类
+ *
+ * @author wanghuidong
+ */
+public class ChunkUtil {
+
+    /**
+     * 分片传输ID的格式（用作服务端暂存目录名的一部分，只允许字母、数字、下划线及短横线）
+     */
+    private static final Pattern TRANSFER_ID_PATTERN = Pattern.compile("[0-9A-Za-z_-]{1,64}");
+
+    /**
+     * 获取分片数量
+     *
+     * @param length    文件总长度
+     * @param chunkSize 分片大小
+     * @return 分片数量（空文件为1个空分片）
+     */
+    public static int getChunkCount(long length, long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new OpenApiException("分片大小必须大于0");
+        }
+        long count = Math.max(1, (length + chunkSize - 1) / chunkSize);
+        if (count > Integer.MAX_VALUE) {
+            throw new OpenApiException("分片数量过多，请增大分片大小");
+        }
+        return (int) count;
+    }
+
+    /**
+     * 获取分片的长度
+     *
+     * @param length    文件总长度
+     * @param chunkSize 分片大小
+     * @param index     分片序号
+     * @return 分片的长度
+     */
+    public static long getChunkLength(long length, long chunkSize, int index) {
+        long offset = index * chunkSize;
+        if (index < 0 || (offset >= length && !(index == 0 && length == 0))) {
+            throw new OpenApiException("分片序号越界：" + index);
+        }
+        return Math.min(chunkSize, length - offset);
+    }
+
+    /**
+     * 校验分片传输ID
+     *
+     * @param transferId 分片传输ID
+     */
+    public static void checkTransferId(String transferId) {
+        if (transferId == null || !TRANSFER_ID_PATTERN.matcher(transferId).matches()) {
+            throw new OpenApiException("分片传输ID格式错误");
+        }
+    }
+}
@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import openapi.sdk.common.exception.OpenApiException;
 import openapi.sdk.common.model.InParams;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -18,6 +19,11 @@ import java.nio.charset.StandardCharsets;
 @Slf4j
 public class CommonUtil {
 
+    /**
+     * 请求体不参与签名时，代替非空请求体参与签名的标记
+     */
+    private static final byte[] BODY_PRESENT = {1};
+
     /**
      * 获取待签名的内容
      *
@@ -36,6 +42,86 @@ public class CommonUtil {
         return ArrayUtil.addAll(bodyBytes, inParams.getUuid().getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * 获取HMAC签名的内容
+     * <p>
+     * 使用数据+uuid+接口名+方法名作为签名的内容，各部分分别送入HMAC计算，无需拼接成新的数组
+     * </p>
+     *
+     * @param inParams 入参
+     * @return 签名的内容
+     */
+    public static byte[][] getHmacSignContent(InParams inParams) {
+        return getHmacSignContent(inParams, true);
+    }
+
+    /**
+     * 获取HMAC签名的内容
+     * <p>
+     * 请求体采用带认证的对称加密（AEAD）时，请求体已由认证标签保护，无需再参与签名，可省去一次对请求体的完整遍历；
+     * 但空请求体不经过认证标签校验，此时以请求体是否存在的标记代替请求体参与签名，请求体被整体去掉时验签失败
+     * </p>
+     *
+     * @param inParams 入参
+     * @param signBody 请求体是否参与签名
+     * @return 签名的内容
+     */
+    public static byte[][] getHmacSignContent(InParams inParams, boolean signBody) {
+        if (inParams.getUuid() == null) {
+            throw new OpenApiException("流水号不能为空");
+        }
+        byte[] body;
+        if (signBody) {
+            body = inParams.getBodyBytes();
+        } else {
+            body = ArrayUtil.isNotEmpty(inParams.getBodyBytes()) || inParams.getBodyStream() != null ? BODY_PRESENT : null;
+        }
+        return new byte[][]{body, HmacUtil.bytes(inParams.getUuid()),
+                HmacUtil.bytes(inParams.getApi()), HmacUtil.bytes(inParams.getMethod())};
+    }
+
+    /**
+     * 获取请求体的附加认证数据（AEAD加密时使用）
+     * <p>
+     * 将流水号、接口名、方法名绑定到密文上，密文被挪用到其它请求时无法通过认证
+     * </p>
+     *
+     * @param inParams 入参
+     * @return 附加认证数据
+     */
+    public static byte[] getRequestAad(InParams inParams) {
+        return joinParts(HmacUtil.bytes("request"), HmacUtil.bytes(inParams.getUuid()),
+                HmacUtil.bytes(inParams.getApi()), HmacUtil.bytes(inParams.getMethod()));
+    }
+
+    /**
+     * 获取返回值的附加认证数据（AEAD加密时使用）
+     *
+     * @param uuid 流水号
+     * @return 附加认证数据
+     */
+    public static byte[] getResponseAad(String uuid) {
+        return joinParts(HmacUtil.bytes("response"), HmacUtil.bytes(uuid));
+    }
+
+    /**
+     * 拼接各部分内容，每部分前附加4字节长度，避免不同拆分方式得到相同结果
+     *
+     * @param parts 各部分内容
+     * @return 拼接后的内容
+     */
+    static byte[] joinParts(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += 4 + part.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (byte[] part : parts) {
+            buffer.putInt(part.length).put(part);
+        }
+        return buffer.array();
+    }
+
     /**
      * 拼接url地址
      *
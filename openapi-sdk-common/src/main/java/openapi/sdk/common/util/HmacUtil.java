@@ -0,0 +1,180 @@
+package openapi.sdk.common.util;
+
+import cn.hutool.core.util.ByteUtil;
+import openapi.sdk.common.exception.OpenApiException;
+import openapi.sdk.common.handler.ContentVerifier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * HMAC签名工具类
+ *
+ * @author wanghuidong
+ */
+public class HmacUtil {
+
+    /**
+     * 计算HMAC签名（各部分依次送入，无需拼接成新的数组；每部分前附加4字节长度，避免不同拆分方式得到相同签名）
+     *
+     * @param hmacAlgo HMAC算法
+     * @param key      密钥
+     * @param parts    待签名的内容
+     * @return 签名（Base64字符串）
+     */
+    public static String sign(String hmacAlgo, byte[] key, byte[]... parts) {
+        return Base64Util.bytesToBase64(hmac(hmacAlgo, key, parts));
+    }
+
+    /**
+     * 计算HMAC签名（请求体以流的形式送入，用于流式请求体）
+     *
+     * @param hmacAlgo   HMAC算法
+     * @param key        密钥
+     * @param body       请求体的输入流（由调用方关闭）
+     * @param bodyLength 请求体长度
+     * @param parts      请求体之后的其它待签名内容
+     * @return 签名（Base64字符串）
+     */
+    public static String sign(String hmacAlgo, byte[] key, InputStream body, long bodyLength, byte[]... parts) {
+        return Base64Util.bytesToBase64(hmac(hmacAlgo, key, body, bodyLength, parts));
+    }
+
+    /**
+     * 验证HMAC签名
+     *
+     * @param hmacAlgo HMAC算法
+     * @param key      密钥
+     * @param sign     签名（Base64字符串）
+     * @param parts    签名的内容
+     * @return 是否验签成功
+     */
+    public static boolean verify(String hmacAlgo, byte[] key, String sign, byte[]... parts) {
+        if (sign == null) {
+            return false;
+        }
+        byte[] expected = hmac(hmacAlgo, key, parts);
+        //使用常量时间比较，避免时序攻击
+        return MessageDigest.isEqual(expected, Base64Util.base64ToBytes(sign));
+    }
+
+    /**
+     * 创建增量验签器（请求体边接收边送入，用于流式请求体）
+     * <p>
+     * 与请求体作为第一部分传入{@link #verify(String, byte[], String, byte[]...)}的结果一致，
+     * 送入的请求体长度与声明的长度不一致时验签失败
+     * </p>
+     *
+     * @param hmacAlgo   HMAC算法
+     * @param key        密钥
+     * @param bodyLength 请求体长度
+     * @param parts      请求体之后的其它签名内容
+     * @return 增量验签器
+     */
+    public static ContentVerifier newVerifier(String hmacAlgo, byte[] key, long bodyLength, byte[]... parts) {
+        Mac mac = JceUtil.newMac(hmacAlgo);
+        try {
+            mac.init(new SecretKeySpec(key, hmacAlgo));
+        } catch (Exception ex) {
+            throw new OpenApiException("HMAC计算失败：" + hmacAlgo, ex);
+        }
+        mac.update(ByteUtil.intToBytes((int) bodyLength, ByteOrder.BIG_ENDIAN));
+        return new ContentVerifier() {
+            private long total;
+
+            @Override
+            public void update(byte[] content, int offset, int length) {
+                mac.update(content, offset, length);
+                total += length;
+            }
+
+            @Override
+            public boolean verify(String sign) {
+                if (sign == null || total != bodyLength) {
+                    return false;
+                }
+                for (byte[] part : parts) {
+                    byte[] data = part == null ? new byte[0] : part;
+                    mac.update(ByteUtil.intToBytes(data.length, ByteOrder.BIG_ENDIAN));
+                    mac.update(data);
+                }
+                return MessageDigest.isEqual(mac.doFinal(), Base64Util.base64ToBytes(sign));
+            }
+        };
+    }
+
+    /**
+     * 计算HMAC
+     *
+     * @param hmacAlgo HMAC算法
+     * @param key      密钥
+     * @param parts    内容
+     * @return HMAC值
+     */
+    public static byte[] hmac(String hmacAlgo, byte[] key, byte[]... parts) {
+        Mac mac = JceUtil.getMac(hmacAlgo);
+        try {
+            mac.init(new SecretKeySpec(key, hmacAlgo));
+            for (byte[] part : parts) {
+                byte[] data = part == null ? new byte[0] : part;
+                mac.update(ByteUtil.intToBytes(data.length, ByteOrder.BIG_ENDIAN));
+                mac.update(data);
+            }
+            return mac.doFinal();
+        } catch (Exception ex) {
+            JceUtil.discardMac(hmacAlgo);
+            throw new OpenApiException("HMAC计算失败：" + hmacAlgo, ex);
+        }
+    }
+
+    /**
+     * 计算HMAC（请求体以流的形式送入，与请求体作为第一部分传入{@link #hmac(String, byte[], byte[]...)}的结果一致）
+     *
+     * @param hmacAlgo   HMAC算法
+     * @param key        密钥
+     * @param body       请求体的输入流（由调用方关闭）
+     * @param bodyLength 请求体长度
+     * @param parts      请求体之后的其它内容
+     * @return HMAC值
+     */
+    public static byte[] hmac(String hmacAlgo, byte[] key, InputStream body, long bodyLength, byte[]... parts) {
+        Mac mac = JceUtil.getMac(hmacAlgo);
+        try {
+            mac.init(new SecretKeySpec(key, hmacAlgo));
+            //长度前缀为4字节，超过2GB的请求体取低32位，两端计算方式一致即可
+            mac.update(ByteUtil.intToBytes((int) bodyLength, ByteOrder.BIG_ENDIAN));
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            for (int n; (n = body.read(buffer)) > 0; ) {
+                mac.update(buffer, 0, n);
+                total += n;
+            }
+            if (total != bodyLength) {
+                throw new OpenApiException("请求体长度与声明的长度不一致：" + total + "/" + bodyLength);
+            }
+            for (byte[] part : parts) {
+                byte[] data = part == null ? new byte[0] : part;
+                mac.update(ByteUtil.intToBytes(data.length, ByteOrder.BIG_ENDIAN));
+                mac.update(data);
+            }
+            return mac.doFinal();
+        } catch (Exception ex) {
+            JceUtil.discardMac(hmacAlgo);
+            throw new OpenApiException("HMAC计算失败：" + hmacAlgo, ex);
+        }
+    }
+
+    /**
+     * 字符串转字节数组（null视为空）
+     *
+     * @param str 字符串
+     * @return UTF-8字节数组
+     */
+    public static byte[] bytes(String str) {
+        return str == null ? new byte[0] : str.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,231 @@
+package openapi.sdk.common.util;
+
+import cn.hutool.crypto.CryptoException;
+import cn.hutool.crypto.GlobalBouncyCastleProvider;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JCE对象工具类
+ * <p>
+ * Cipher/Signature/Mac的getInstance需要查找安全提供者，高并发下存在锁竞争，
+ * 而这些对象本身非线程安全，故按线程缓存，每次使用前用本次的密钥重新初始化。
+ * 使用过程中出现异常时丢弃该线程的缓存对象，避免残留状态影响下一次调用。
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class JceUtil {
+
+    /**
+     * 每个线程缓存的Cipher对象，key: 提供者名称:转换名称
+     */
+    private static final ThreadLocal<Map<String, Cipher>> CIPHERS = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * 每个线程缓存的Signature对象，key: 提供者名称:算法名称
+     */
+    private static final ThreadLocal<Map<String, Signature>> SIGNATURES = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * 每个线程缓存的Mac对象，key: 提供者名称:算法名称
+     */
+    private static final ThreadLocal<Map<String, Mac>> MACS = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * 每个线程的安全随机数生成器
+     * <p>
+     * Linux下默认的NativePRNG全局加锁，RSA填充、SM2加密等每次都需要随机数，多线程时竞争明显，故按线程创建。
+     * 优先采用DRBG（JDK9+），否则采用SHA1PRNG，二者均由系统熵源自动播种
+     * </p>
+     */
+    private static final ThreadLocal<SecureRandom> RANDOMS = ThreadLocal.withInitial(JceUtil::createSecureRandom);
+
+    /**
+     * 获取BouncyCastle提供者（国密算法需要）
+     *
+     * @return BouncyCastle提供者，不存在时返回null（使用JDK默认提供者）
+     */
+    public static Provider getBcProvider() {
+        return GlobalBouncyCastleProvider.INSTANCE.getProvider();
+    }
+
+    /**
+     * 获取当前线程的安全随机数生成器
+     *
+     * @return 安全随机数生成器
+     */
+    public static SecureRandom getSecureRandom() {
+        return RANDOMS.get();
+    }
+
+    /**
+     * 获取当前线程缓存的Cipher对象（调用方需重新init）
+     *
+     * @param transformation 转换名称，如AES/ECB/PKCS5Padding
+     * @param provider       提供者，为null时使用JDK默认提供者
+     * @return Cipher对象
+     */
+    public static Cipher getCipher(String transformation, Provider provider) {
+        return CIPHERS.get().computeIfAbsent(cacheKey(provider, transformation), k -> {
+            try {
+                return provider == null ? Cipher.getInstance(transformation) : Cipher.getInstance(transformation, provider);
+            } catch (Exception ex) {
+                throw new CryptoException(ex);
+            }
+        });
+    }
+
+    /**
+     * 获取当前线程缓存的Signature对象（调用方需重新init）
+     *
+     * @param algorithm 签名算法，如SHA256withRSA
+     * @param provider  提供者，为null时使用JDK默认提供者
+     * @return Signature对象
+     */
+    public static Signature getSignature(String algorithm, Provider provider) {
+        return SIGNATURES.get().computeIfAbsent(cacheKey(provider, algorithm), k -> {
+            try {
+                return provider == null ? Signature.getInstance(algorithm) : Signature.getInstance(algorithm, provider);
+            } catch (Exception ex) {
+                throw new CryptoException(ex);
+            }
+        });
+    }
+
+    /**
+     * 获取当前线程缓存的Mac对象（调用方需重新init）
+     *
+     * @param algorithm HMAC算法，如HmacSHA256
+     * @return Mac对象
+     */
+    public static Mac getMac(String algorithm) {
+        return MACS.get().computeIfAbsent(algorithm, JceUtil::newMac);
+    }
+
+    /**
+     * 创建新的Mac对象（不缓存）
+     * <p>
+     * 用于增量计算：计算的生命周期不确定，期间同一线程可能还有其它HMAC计算，故不能使用线程缓存的对象
+     * </p>
+     *
+     * @param algorithm HMAC算法，如HmacSHA256
+     * @return Mac对象
+     */
+    public static Mac newMac(String algorithm) {
+        //HmacSM3等国密算法仅BouncyCastle支持，其它优先使用JDK默认提供者
+        try {
+            return Mac.getInstance(algorithm);
+        } catch (Exception ex) {
+            Provider provider = getBcProvider();
+            if (provider == null) {
+                throw new CryptoException(ex);
+            }
+            try {
+                return Mac.getInstance(algorithm, provider);
+            } catch (Exception e) {
+                throw new CryptoException(e);
+            }
+        }
+    }
+
+    /**
+     * 创建新的Cipher对象（不缓存）
+     * <p>
+     * 用于流式加解密：流的生命周期不确定，期间同一线程可能还有其它加解密调用，故不能使用线程缓存的对象
+     * </p>
+     *
+     * @param transformation 转换名称
+     * @param provider       提供者，为null时使用JDK默认提供者
+     * @return Cipher对象
+     */
+    public static Cipher newCipher(String transformation, Provider provider) {
+        try {
+            return provider == null ? Cipher.getInstance(transformation) : Cipher.getInstance(transformation, provider);
+        } catch (Exception ex) {
+            throw new CryptoException(ex);
+        }
+    }
+
+    /**
+     * 使用当前线程缓存的Cipher对象完成一次加密或解密
+     * <p>
+     * 先用update处理整块数据、再用doFinal处理末尾不足一块的数据并直接写入结果数组：
+     * JDK的doFinal(byte[])在需要填充时会先把整个输入拷贝到一个新数组，大数据量时多占用一倍内存
+     * </p>
+     *
+     * @param transformation 转换名称
+     * @param provider       提供者，为null时使用JDK默认提供者
+     * @param mode           Cipher.ENCRYPT_MODE或Cipher.DECRYPT_MODE
+     * @param key            密钥
+     * @param data           数据
+     * @return 结果
+     */
+    public static byte[] doFinal(String transformation, Provider provider, int mode, Key key, byte[] data) {
+        Cipher cipher = getCipher(transformation, provider);
+        try {
+            cipher.init(mode, key, getSecureRandom());
+            byte[] out = new byte[cipher.getOutputSize(data.length)];
+            int length = cipher.update(data, 0, data.length, out, 0);
+            length += cipher.doFinal(out, length);
+            //解密时去除填充后的实际长度可能小于预估长度
+            return length == out.length ? out : Arrays.copyOf(out, length);
+        } catch (Exception ex) {
+            discardCipher(transformation, provider);
+            throw new CryptoException(ex);
+        }
+    }
+
+    /**
+     * 丢弃当前线程缓存的Cipher对象
+     *
+     * @param transformation 转换名称
+     * @param provider       提供者
+     */
+    public static void discardCipher(String transformation, Provider provider) {
+        CIPHERS.get().remove(cacheKey(provider, transformation));
+    }
+
+    /**
+     * 丢弃当前线程缓存的Signature对象
+     *
+     * @param algorithm 签名算法
+     * @param provider  提供者
+     */
+    public static void discardSignature(String algorithm, Provider provider) {
+        SIGNATURES.get().remove(cacheKey(provider, algorithm));
+    }
+
+    /**
+     * 丢弃当前线程缓存的Mac对象
+     *
+     * @param algorithm HMAC算法
+     */
+    public static void discardMac(String algorithm) {
+        MACS.get().remove(algorithm);
+    }
+
+    private static SecureRandom createSecureRandom() {
+        for (String algorithm : new String[]{"DRBG", "SHA1PRNG"}) {
+            try {
+                return SecureRandom.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException ex) {
+                //尝试下一个算法
+            }
+        }
+        return new SecureRandom();
+    }
+
+    private static String cacheKey(Provider provider, String algorithm) {
+        return (provider == null ? "" : provider.getName()) + ":" + algorithm;
+    }
+}
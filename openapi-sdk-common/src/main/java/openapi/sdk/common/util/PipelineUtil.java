@@ -0,0 +1,409 @@
+package openapi.sdk.common.util;
+
+import cn.hutool.core.io.FastByteArrayOutputStream;
+import cn.hutool.core.io.IoUtil;
+import openapi.sdk.common.exception.OpenApiException;
+import openapi.sdk.common.handler.AeadSymmetricCryHandler;
+import openapi.sdk.common.handler.ContentSigner;
+import openapi.sdk.common.handler.ContentVerifier;
+import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.model.StreamBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 请求体处理管道工具类
+ * <p>
+ * 将压缩、对称加密、签名串成一条流水线，数据只遍历一次：明文 → 压缩 → 对称加密 → 传输字节，
+ * 产生的传输字节同时增量送入签名器，不再为压缩结果、密文、待签名内容（密文+流水号）分别生成完整的中间数组。
+ * 解密方向同理：密文 → 对称解密 → 解压 → 明文
+ * </p>
+ * <p>
+ * 注：不压缩时对称加解密本身只需一次doFinal，直接使用字节数组接口，无需经过流
+ * </p>
+ * <p>
+ * 流式请求体（{@link StreamBody}）在读取时才经过流水线，每次只处理一个数据块，内存占用与请求体大小无关
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class PipelineUtil {
+
+    /**
+     * 每次送入流水线的数据块大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 压缩、加密并签名
+     *
+     * @param data     明文
+     * @param compress 是否压缩
+     * @param handler  对称加密处理器（为null时不加密）
+     * @param keyBytes 对称密钥
+     * @param aad      附加认证数据（仅AEAD算法使用）
+     * @param signer   签名器（为null时不签名），传输字节会依次送入签名器
+     * @return 传输字节
+     */
+    public static byte[] seal(byte[] data, boolean compress, SymmetricCryHandler handler, byte[] keyBytes, byte[] aad, ContentSigner signer) {
+        if (!compress) {
+            byte[] wireBytes = handler == null ? data : cry(handler, data, keyBytes, aad);
+            if (signer != null) {
+                signer.update(wireBytes);
+            }
+            return wireBytes;
+        }
+        FastByteArrayOutputStream buffer = new FastByteArrayOutputStream(Math.max(data.length / 4, BUFFER_SIZE));
+        OutputStream out = new SignOutputStream(buffer, signer);
+        try {
+            if (handler != null) {
+                out = handler instanceof AeadSymmetricCryHandler
+                        ? ((AeadSymmetricCryHandler) handler).cryStream(out, keyBytes, aad)
+                        : handler.cryStream(out, keyBytes);
+            }
+            try (OutputStream gzipOut = new GZIPOutputStream(out, BUFFER_SIZE)) {
+                //分块写入，避免加密流一次性为整个数据分配输出缓冲
+                for (int offset = 0; offset < data.length; offset += BUFFER_SIZE) {
+                    gzipOut.write(data, offset, Math.min(BUFFER_SIZE, data.length - offset));
+                }
+            }
+        } catch (IOException ex) {
+            throw new OpenApiException("请求体压缩加密失败", ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 压缩、加密流式请求体（读取时才处理，不签名）
+     *
+     * @param body     明文请求体
+     * @param compress 是否压缩
+     * @param handler  对称加密处理器（为null时不加密）
+     * @param keyBytes 对称密钥
+     * @param aad      附加认证数据（仅AEAD算法使用）
+     * @return 传输的请求体，压缩或加密后长度未知
+     */
+    public static StreamBody seal(StreamBody body, boolean compress, SymmetricCryHandler handler, byte[] keyBytes, byte[] aad) {
+        if (!compress && handler == null) {
+            return body;
+        }
+        return new StreamBody() {
+            @Override
+            public long getLength() {
+                return -1;
+            }
+
+            @Override
+            public InputStream open() throws IOException {
+                return new SealInputStream(body.open(), compress, handler, keyBytes, aad);
+            }
+
+            @Override
+            public boolean isRepeatable() {
+                return body.isRepeatable();
+            }
+
+            @Override
+            public void release() {
+                body.release();
+            }
+        };
+    }
+
+    /**
+     * 将流式请求体写入临时文件，同时送入签名器
+     * <p>
+     * 用于签名需在发送请求体之前得到、但请求体无法读取两次（如随机IV加密、输入流）的情况，
+     * 临时文件在{@link StreamBody#release()}时删除
+     * </p>
+     *
+     * @param body   请求体
+     * @param signer 签名器（为null时不签名）
+     * @return 基于临时文件的请求体（长度已知，可重复读取）
+     */
+    public static StreamBody spool(StreamBody body, ContentSigner signer) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("openapi-", ".body");
+            try (InputStream in = body.open(); OutputStream out = new SignOutputStream(Files.newOutputStream(file), signer)) {
+                IoUtil.copy(in, out, BUFFER_SIZE);
+            }
+            long length = Files.size(file);
+            Path spoolFile = file;
+            return new StreamBody() {
+                @Override
+                public long getLength() {
+                    return length;
+                }
+
+                @Override
+                public InputStream open() throws IOException {
+                    return Files.newInputStream(spoolFile);
+                }
+
+                @Override
+                public boolean isRepeatable() {
+                    return true;
+                }
+
+                @Override
+                public void release() {
+                    deleteQuietly(spoolFile);
+                }
+            };
+        } catch (IOException ex) {
+            deleteQuietly(file);
+            throw new OpenApiException("请求体写入临时文件失败", ex);
+        } catch (RuntimeException ex) {
+            deleteQuietly(file);
+            throw ex;
+        } finally {
+            body.release();
+        }
+    }
+
+    /**
+     * 解密并解压
+     *
+     * @param data       传输字节
+     * @param decompress 是否解压
+     * @param handler    对称加密处理器（为null时不解密）
+     * @param keyBytes   对称密钥
+     * @param aad        附加认证数据（仅AEAD算法使用）
+     * @return 明文
+     */
+    public static byte[] open(byte[] data, boolean decompress, SymmetricCryHandler handler, byte[] keyBytes, byte[] aad) {
+        if (!decompress) {
+            return handler == null ? data : deCry(handler, data, keyBytes, aad);
+        }
+        InputStream in = new ByteArrayInputStream(data);
+        if (handler != null) {
+            in = handler instanceof AeadSymmetricCryHandler
+                    ? ((AeadSymmetricCryHandler) handler).deCryStream(in, keyBytes, aad)
+                    : handler.deCryStream(in, keyBytes);
+        }
+        FastByteArrayOutputStream out = new FastByteArrayOutputStream(Math.max(data.length * 2, BUFFER_SIZE));
+        try (InputStream gzipIn = new GZIPInputStream(in, BUFFER_SIZE)) {
+            IoUtil.copy(gzipIn, out, BUFFER_SIZE);
+        } catch (IOException ex) {
+            throw new OpenApiException("请求体解密解压失败", ex);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 解密并解压输入流（读取时才处理，用于流式接收）
+     *
+     * @param in         传输字节的输入流
+     * @param decompress 是否解压
+     * @param handler    对称加密处理器（为null时不解密）
+     * @param keyBytes   对称密钥
+     * @param aad        附加认证数据（仅AEAD算法使用）
+     * @return 明文的输入流
+     * @throws IOException 读取异常
+     */
+    public static InputStream open(InputStream in, boolean decompress, SymmetricCryHandler handler, byte[] keyBytes, byte[] aad) throws IOException {
+        if (handler != null) {
+            in = handler instanceof AeadSymmetricCryHandler
+                    ? ((AeadSymmetricCryHandler) handler).deCryStream(in, keyBytes, aad)
+                    : handler.deCryStream(in, keyBytes);
+        }
+        return decompress ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    /**
+     * 读取时将读到的字节送入验签器（用于边接收边验签）
+     *
+     * @param in       传输字节的输入流
+     * @param verifier 验签器
+     * @return 输入流
+     */
+    public static InputStream verify(InputStream in, ContentVerifier verifier) {
+        return new VerifyInputStream(in, verifier);
+    }
+
+    private static byte[] cry(SymmetricCryHandler handler, byte[] data, byte[] keyBytes, byte[] aad) {
+        if (handler instanceof AeadSymmetricCryHandler) {
+            return ((AeadSymmetricCryHandler) handler).cry(data, keyBytes, aad);
+        }
+        return handler.cry(data, keyBytes);
+    }
+
+    private static byte[] deCry(SymmetricCryHandler handler, byte[] data, byte[] keyBytes, byte[] aad) {
+        if (handler instanceof AeadSymmetricCryHandler) {
+            return ((AeadSymmetricCryHandler) handler).deCry(data, keyBytes, aad);
+        }
+        return handler.deCry(data, keyBytes);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            //临时文件删除失败不影响调用结果
+        }
+    }
+
+    /**
+     * 读取时将明文逐块送入压缩、加密流水线，返回流水线的输出（推模式的压缩、加密流转为拉模式，无需额外线程）
+     */
+    private static class SealInputStream extends InputStream {
+
+        private final InputStream source;
+
+        private final FastByteArrayOutputStream sink = new FastByteArrayOutputStream(BUFFER_SIZE);
+
+        private final OutputStream pipeline;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private byte[] pending = new byte[0];
+
+        private int pos;
+
+        private boolean finished;
+
+        SealInputStream(InputStream source, boolean compress, SymmetricCryHandler handler, byte[] keyBytes, byte[] aad) throws IOException {
+            this.source = source;
+            OutputStream out = sink;
+            if (handler != null) {
+                out = handler instanceof AeadSymmetricCryHandler
+                        ? ((AeadSymmetricCryHandler) handler).cryStream(out, keyBytes, aad)
+                        : handler.cryStream(out, keyBytes);
+            }
+            this.pipeline = compress ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (pos >= pending.length) {
+                if (finished) {
+                    return -1;
+                }
+                fill();
+            }
+            int n = Math.min(len, pending.length - pos);
+            System.arraycopy(pending, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        private void fill() throws IOException {
+            int n = source.read(buffer);
+            if (n < 0) {
+                //关闭流水线，输出压缩尾部及最后的密文块（含认证标签）
+                pipeline.close();
+                finished = true;
+            } else {
+                pipeline.write(buffer, 0, n);
+            }
+            pending = sink.toByteArray();
+            sink.reset();
+            pos = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+    }
+
+    /**
+     * 读取源输入流的同时送入验签器
+     */
+    private static class VerifyInputStream extends FilterInputStream {
+
+        private final ContentVerifier verifier;
+
+        VerifyInputStream(InputStream in, ContentVerifier verifier) {
+            super(in);
+            this.verifier = verifier;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                verifier.update(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            //跳过的字节也需送入验签器
+            byte[] buffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+            int read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * 写入目标流的同时送入签名器
+     */
+    private static class SignOutputStream extends OutputStream {
+
+        private final OutputStream out;
+
+        private final ContentSigner signer;
+
+        SignOutputStream(OutputStream out, ContentSigner signer) {
+            this.out = out;
+            this.signer = signer;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (signer != null) {
+                signer.update(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
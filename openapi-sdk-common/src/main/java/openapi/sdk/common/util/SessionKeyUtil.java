@@ -0,0 +1,132 @@
+package openapi.sdk.common.util;
+
+import cn.hutool.crypto.GlobalBouncyCastleProvider;
+import cn.hutool.crypto.KeyUtil;
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.enums.HmacAlgo;
+import openapi.sdk.common.exception.OpenApiException;
+import openapi.sdk.common.model.SessionKey;
+
+import javax.crypto.KeyAgreement;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+
+/**
+ * 会话密钥工具类（基于ECDH密钥协商）
+ * <p>
+ * 握手时双方各生成一个临时EC密钥对，交换公钥后协商出共享秘密，再从共享秘密派生出对称加密密钥与HMAC密钥。
+ * 临时公钥由双方原有的私钥签名，从而保证协商过程不被中间人篡改。
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class SessionKeyUtil {
+
+    /**
+     * 国密曲线
+     */
+    private static final String SM2_CURVE = "sm2p256v1";
+
+    /**
+     * 标准曲线
+     */
+    private static final String DEFAULT_CURVE = "secp256r1";
+
+    /**
+     * 会话对称加密密钥长度（字节），AES与SM4均为128位
+     */
+    private static final int CRY_KEY_LENGTH = 16;
+
+    /**
+     * 生成临时EC密钥对
+     *
+     * @param asymmetricCryAlgo 非对称加密算法（SM2采用国密曲线，其它采用secp256r1）
+     * @return 临时密钥对
+     */
+    public static KeyPair generateEphemeralKeyPair(String asymmetricCryAlgo) {
+        return KeyUtil.generateKeyPair("EC", new ECGenParameterSpec(getCurve(asymmetricCryAlgo)));
+    }
+
+    /**
+     * 协商出会话密钥
+     *
+     * @param selfPrivateKey  本方临时私钥
+     * @param remotePublicKey 对方临时公钥（X509编码）
+     * @param clientPublicKey 客户端临时公钥（X509编码）
+     * @param serverPublicKey 服务端临时公钥（X509编码）
+     * @param hmacAlgo        HMAC算法
+     * @return 会话密钥（仅包含cryKey与macKey）
+     */
+    public static SessionKey agree(PrivateKey selfPrivateKey, byte[] remotePublicKey,
+                                   byte[] clientPublicKey, byte[] serverPublicKey, String hmacAlgo) {
+        try {
+            PublicKey publicKey = KeyUtil.generatePublicKey("EC", remotePublicKey);
+            Provider provider = GlobalBouncyCastleProvider.INSTANCE.getProvider();
+            KeyAgreement keyAgreement = provider == null ? KeyAgreement.getInstance("ECDH") : KeyAgreement.getInstance("ECDH", provider);
+            keyAgreement.init(selfPrivateKey);
+            keyAgreement.doPhase(publicKey, true);
+            byte[] sharedSecret = keyAgreement.generateSecret();
+
+            //以双方临时公钥作为盐，从共享秘密派生出主密钥，再分别派生加密密钥与签名密钥
+            byte[] masterKey = HmacUtil.hmac(hmacAlgo, sharedSecret, clientPublicKey, serverPublicKey);
+            Arrays.fill(sharedSecret, (byte) 0);
+            SessionKey sessionKey = new SessionKey();
+            sessionKey.setCryKey(Arrays.copyOf(HmacUtil.hmac(hmacAlgo, masterKey, HmacUtil.bytes("openapi-cry")), CRY_KEY_LENGTH));
+            sessionKey.setMacKey(HmacUtil.hmac(hmacAlgo, masterKey, HmacUtil.bytes("openapi-mac")));
+            return sessionKey;
+        } catch (OpenApiException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new OpenApiException("会话密钥协商失败", ex);
+        }
+    }
+
+    /**
+     * 获取会话使用的HMAC算法
+     *
+     * @param asymmetricCryAlgo 非对称加密算法
+     * @return HMAC算法（SM2采用HmacSM3，其它采用HmacSHA256）
+     */
+    public static String getHmacAlgo(String asymmetricCryAlgo) {
+        return AsymmetricCryAlgo.SM2.equals(asymmetricCryAlgo) ? HmacAlgo.HMAC_SM3 : HmacAlgo.HMAC_SHA256;
+    }
+
+    /**
+     * 获取握手请求签名的内容
+     * <p>
+     * 客户端临时公钥、流水号及时间戳附加长度后拼接，服务端据此拒绝超出时间窗口或重复的握手请求
+     * </p>
+     *
+     * @param clientPublicKey 客户端临时公钥
+     * @param uuid            流水号
+     * @param timestamp       时间戳（单位毫秒）
+     * @return 签名的内容
+     */
+    public static byte[] getHandshakeRequestSignContent(byte[] clientPublicKey, String uuid, long timestamp) {
+        return CommonUtil.joinParts(clientPublicKey, HmacUtil.bytes(uuid), HmacUtil.bytes(String.valueOf(timestamp)));
+    }
+
+    /**
+     * 获取握手签名的内容
+     * <p>
+     * 各部分附加长度后拼接，避免会话ID与流水号的边界被挪动后得到相同的签名内容
+     * </p>
+     *
+     * @param clientPublicKey 客户端临时公钥
+     * @param serverPublicKey 服务端临时公钥
+     * @param sessionId       会话ID
+     * @param uuid            流水号
+     * @return 签名的内容
+     */
+    public static byte[] getHandshakeSignContent(byte[] clientPublicKey, byte[] serverPublicKey, String sessionId, String uuid) {
+        return CommonUtil.joinParts(clientPublicKey, serverPublicKey, HmacUtil.bytes(sessionId), HmacUtil.bytes(uuid));
+    }
+
+    private static String getCurve(String asymmetricCryAlgo) {
+        return AsymmetricCryAlgo.SM2.equals(asymmetricCryAlgo) ? SM2_CURVE : DEFAULT_CURVE;
+    }
+}
@@ -1,10 +1,14 @@
 package openapi.sdk.common.util;
 
-import cn.hutool.crypto.KeyUtil;
+import cn.hutool.crypto.CryptoException;
 
-import javax.crypto.SecretKey;
-import java.security.SecureRandom;
-import java.util.UUID;
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.Key;
+import java.security.Provider;
 
 /**
  * 对称加密工具类
@@ -13,6 +17,11 @@ import java.util.UUID;
  */
 public class SymmetricCryUtil {
 
+    /**
+     * 对称加密密钥长度（字节），AES与SM4均采用128位
+     */
+    private static final int KEY_LENGTH = 16;
+
     /**
      * 获取一个对称加密密钥
      *
@@ -20,11 +29,45 @@ public class SymmetricCryUtil {
      * @return 对称加密密钥
      */
     public static byte[] getKey(String symmetricCryAlgo) {
-        //随机数作为种子
-        String key = UUID.randomUUID().toString();
+        //AES与SM4的128位密钥均为任意随机字节，无需经过KeyGenerator
+        byte[] key = new byte[KEY_LENGTH];
+        JceUtil.getSecureRandom().nextBytes(key);
+        return key;
+    }
+
+    /**
+     * 获取加密输出流（每个流单独创建Cipher对象）
+     *
+     * @param transformation 转换名称
+     * @param provider       提供者，为null时使用JDK默认提供者
+     * @param key            密钥
+     * @param out            目标输出流（接收密文）
+     * @return 加密输出流
+     */
+    public static OutputStream cryStream(String transformation, Provider provider, Key key, OutputStream out) {
+        return new CipherOutputStream(out, initCipher(transformation, provider, Cipher.ENCRYPT_MODE, key));
+    }
+
+    /**
+     * 获取解密输入流（每个流单独创建Cipher对象）
+     *
+     * @param transformation 转换名称
+     * @param provider       提供者，为null时使用JDK默认提供者
+     * @param key            密钥
+     * @param in             源输入流（提供密文）
+     * @return 解密输入流
+     */
+    public static InputStream deCryStream(String transformation, Provider provider, Key key, InputStream in) {
+        return new CipherInputStream(in, initCipher(transformation, provider, Cipher.DECRYPT_MODE, key));
+    }
 
-        //SM4密钥长度也为128位(可以与AES采用项目算法产生密钥), SecureRandom当种子一样时产生一样的序列
-        SecretKey secretKey = KeyUtil.generateKey(symmetricCryAlgo, 128, new SecureRandom(key.getBytes()));
-        return secretKey.getEncoded();
+    private static Cipher initCipher(String transformation, Provider provider, int mode, Key key) {
+        Cipher cipher = JceUtil.newCipher(transformation, provider);
+        try {
+            cipher.init(mode, key);
+            return cipher;
+        } catch (Exception ex) {
+            throw new CryptoException(ex);
+        }
     }
 }
@@ -0,0 +1,54 @@
+package openapi.sdk.common.cache;
+
+import cn.hutool.crypto.SecureUtil;
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.model.KeyPair;
+import openapi.sdk.common.util.AsymmetricCryUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+
+public class KeyCacheTest {
+
+    @After
+    public void reset() {
+        KeyCache.setCapacity(4096);
+    }
+
+    @Test
+    public void handlersShouldReuseParsedKeys() {
+        KeyCache.clear();
+        Map<String, KeyPair> keyPairs = new HashMap<>();
+        keyPairs.put(AsymmetricCryAlgo.RSA, AsymmetricCryUtil.generateRSAKeys());
+        keyPairs.put(AsymmetricCryAlgo.SM2, AsymmetricCryUtil.generateSM2Keys());
+        for (Map.Entry<String, KeyPair> entry : keyPairs.entrySet()) {
+            KeyPair keyPair = entry.getValue();
+            AsymmetricCryHandler handler = CryHandlerMap.getAsymmetricCryHandler(entry.getKey());
+            for (int i = 0; i < 3; i++) {
+                String sign = handler.sign(keyPair.getPrivateKey(), "content");
+                Assert.assertTrue(handler.verifySign(keyPair.getPublicKey(), "content", sign));
+                String cry = handler.cry(keyPair.getPublicKey(), "secret");
+                Assert.assertEquals("secret", handler.deCry(keyPair.getPrivateKey(), cry));
+            }
+        }
+        Assert.assertEquals(4, KeyCache.size());
+        Assert.assertTrue(KeyCache.getHitCount() > KeyCache.getMissCount());
+    }
+
+    @Test
+    public void cacheShouldBeBounded() {
+        KeyCache.setCapacity(2);
+        PublicKey publicKey = SecureUtil.generateKeyPair("RSA").getPublic();
+        for (int i = 0; i < 5; i++) {
+            String key = "key" + i;
+            KeyCache.getPublicKey("TEST", key, k -> publicKey);
+        }
+        Assert.assertTrue(KeyCache.size() <= 2);
+    }
+}
@@ -0,0 +1,53 @@
+package openapi.sdk.common.cache;
+
+import openapi.sdk.common.model.WrappedKey;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SymmetricKeyCacheTest {
+
+    @Test
+    public void shouldUnwrapOncePerKey() {
+        SymmetricKeyCache cache = new SymmetricKeyCache(4, 4, 60_000);
+        AtomicInteger unwraps = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            byte[] key = cache.get("001", "wrapped", k -> {
+                unwraps.incrementAndGet();
+                return new byte[]{1, 2, 3};
+            });
+            Assert.assertArrayEquals(new byte[]{1, 2, 3}, key);
+        }
+        Assert.assertEquals(1, unwraps.get());
+        Assert.assertEquals(9, cache.getHitCount());
+        Assert.assertEquals(0.9, cache.getHitRatio(), 0.0001);
+    }
+
+    @Test
+    public void shouldLimitKeysPerCaller() {
+        SymmetricKeyCache cache = new SymmetricKeyCache(4, 2, 60_000);
+        AtomicInteger unwraps = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            cache.get("001", "wrapped" + i, k -> {
+                unwraps.incrementAndGet();
+                return new byte[0];
+            });
+        }
+        //超出每个调用者的上限后最早的密钥被淘汰，需要重新解密
+        cache.get("001", "wrapped0", k -> {
+            unwraps.incrementAndGet();
+            return new byte[0];
+        });
+        Assert.assertEquals(4, unwraps.get());
+    }
+
+    @Test
+    public void wrappedKeyShouldRespectReuseCount() {
+        WrappedKey wrappedKey = new WrappedKey(new byte[16], "cryKey", "publicKey", 60, 3);
+        Assert.assertTrue(wrappedKey.tryUse("publicKey"));
+        Assert.assertTrue(wrappedKey.tryUse("publicKey"));
+        Assert.assertFalse(wrappedKey.tryUse("publicKey"));
+        Assert.assertFalse(new WrappedKey(new byte[16], "cryKey", "publicKey", 60, 0).tryUse("otherKey"));
+    }
+}
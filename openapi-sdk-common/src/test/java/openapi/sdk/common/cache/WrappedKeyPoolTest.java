@@ -0,0 +1,35 @@
+package openapi.sdk.common.cache;
+
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.model.KeyPair;
+import openapi.sdk.common.model.WrappedKey;
+import openapi.sdk.common.util.AsymmetricCryUtil;
+import openapi.sdk.common.util.Base64Util;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WrappedKeyPoolTest {
+
+    @Test
+    public void shouldServeFromBackgroundRefill() throws InterruptedException {
+        KeyPair keyPair = AsymmetricCryUtil.generateRSAKeys();
+        WrappedKeyPool pool = WrappedKeyPool.getPool(SymmetricCryAlgo.AES, AsymmetricCryAlgo.RSA, 4);
+
+        //首次取用时队列为空，同步生成并触发后台补充
+        pool.take(keyPair.getPublicKey());
+        Assert.assertEquals(1, pool.getStarvationCount());
+        for (int i = 0; i < 100 && pool.size() < 4; i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(4, pool.size());
+
+        WrappedKey wrappedKey = pool.take(keyPair.getPublicKey());
+        Assert.assertEquals(1, pool.getStarvationCount());
+        Assert.assertTrue(pool.getRefillCount() >= 4);
+        String key = CryHandlerMap.getAsymmetricCryHandler(AsymmetricCryAlgo.RSA).deCry(keyPair.getPrivateKey(), wrappedKey.getCryKey());
+        Assert.assertArrayEquals(wrappedKey.getKeyBytes(), Base64Util.base64ToBytes(key));
+        Assert.assertFalse(wrappedKey.tryUse(keyPair.getPublicKey()));
+    }
+}
@@ -0,0 +1,78 @@
+package openapi.sdk.common.handler;
+
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.crypto.CryptoException;
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class AeadSymmetricCryHandlerTest {
+
+    private static final String[] ALGOS = {SymmetricCryAlgo.AES_GCM, SymmetricCryAlgo.SM4_GCM};
+
+    private static final byte[] AAD = "uuid".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] DATA = new byte[100_000];
+
+    static {
+        for (int i = 0; i < DATA.length; i++) {
+            DATA[i] = (byte) i;
+        }
+    }
+
+    @Test
+    public void bytesAndStreamShouldInterop() throws IOException {
+        for (String algo : ALGOS) {
+            AeadSymmetricCryHandler handler = (AeadSymmetricCryHandler) CryHandlerMap.getSymmetricCryHandler(algo);
+            byte[] key = handler.generateKey();
+            byte[] cry = handler.cry(DATA, key, AAD);
+            Assert.assertFalse(Arrays.equals(cry, handler.cry(DATA, key, AAD)));
+            Assert.assertArrayEquals(DATA, handler.deCry(cry, key, AAD));
+            Assert.assertEquals("内容", handler.deCry(handler.cry("内容", key), key));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (OutputStream cryOut = handler.cryStream(out, key, AAD)) {
+                cryOut.write(DATA, 0, 1000);
+                cryOut.write(DATA, 1000, DATA.length - 1000);
+            }
+            Assert.assertArrayEquals(DATA, handler.deCry(out.toByteArray(), key, AAD));
+            try (InputStream in = handler.deCryStream(new ByteArrayInputStream(cry), key, AAD)) {
+                Assert.assertArrayEquals(DATA, IoUtil.readBytes(in));
+            }
+        }
+    }
+
+    @Test
+    public void tamperedDataShouldFail() {
+        for (String algo : ALGOS) {
+            AeadSymmetricCryHandler handler = (AeadSymmetricCryHandler) CryHandlerMap.getSymmetricCryHandler(algo);
+            byte[] key = handler.generateKey();
+            byte[] cry = handler.cry(DATA, key, AAD);
+            assertFail(() -> handler.deCry(cry, key, "other".getBytes(StandardCharsets.UTF_8)));
+            byte[] tampered = cry.clone();
+            tampered[20] ^= 1;
+            assertFail(() -> handler.deCry(tampered, key, AAD));
+            assertFail(() -> IoUtil.readBytes(handler.deCryStream(new ByteArrayInputStream(tampered), key, AAD)));
+            //失败后线程缓存的Cipher仍可正常使用
+            Assert.assertArrayEquals(DATA, handler.deCry(cry, key, AAD));
+        }
+    }
+
+    private void assertFail(Runnable runnable) {
+        try {
+            runnable.run();
+            Assert.fail("认证失败时应抛出异常");
+        } catch (CryptoException | IORuntimeException ex) {
+            //预期的异常
+        }
+    }
+}
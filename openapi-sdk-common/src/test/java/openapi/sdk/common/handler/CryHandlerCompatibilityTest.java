@@ -0,0 +1,72 @@
+package openapi.sdk.common.handler;
+
+import cn.hutool.crypto.SmUtil;
+import cn.hutool.crypto.asymmetric.KeyType;
+import cn.hutool.crypto.asymmetric.RSA;
+import cn.hutool.crypto.asymmetric.SM2;
+import cn.hutool.crypto.asymmetric.Sign;
+import cn.hutool.crypto.asymmetric.SignAlgorithm;
+import cn.hutool.crypto.symmetric.AES;
+import cn.hutool.crypto.symmetric.SM4;
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.model.KeyPair;
+import openapi.sdk.common.util.AsymmetricCryUtil;
+import openapi.sdk.common.util.Base64Util;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 内置处理器与hutool实现的互通性测试，保证与旧版本客户端/服务端兼容
+ */
+public class CryHandlerCompatibilityTest {
+
+    private static final byte[] DATA = new byte[500];
+
+    static {
+        Arrays.fill(DATA, (byte) 7);
+    }
+
+    @Test
+    public void symmetricHandlersShouldMatchHutool() {
+        byte[] key = CryHandlerMap.getSymmetricCryHandler(SymmetricCryAlgo.AES).generateKey();
+        SymmetricCryHandler aesHandler = CryHandlerMap.getSymmetricCryHandler(SymmetricCryAlgo.AES);
+        Assert.assertArrayEquals(new AES(key).encrypt(DATA), aesHandler.cry(DATA, key));
+        Assert.assertEquals("内容", new AES(key).decryptStr(aesHandler.cry("内容", key)));
+        Assert.assertEquals("内容", aesHandler.deCry(new AES(key).encryptHex("内容"), key));
+
+        SymmetricCryHandler sm4Handler = CryHandlerMap.getSymmetricCryHandler(SymmetricCryAlgo.SM4);
+        Assert.assertArrayEquals(new SM4(key).encrypt(DATA), sm4Handler.cry(DATA, key));
+        Assert.assertEquals("内容", new SM4(key).decryptStr(sm4Handler.cry("内容", key)));
+    }
+
+    @Test
+    public void rsaHandlerShouldMatchHutool() {
+        KeyPair keyPair = AsymmetricCryUtil.generateRSAKeys();
+        AsymmetricCryHandler handler = CryHandlerMap.getAsymmetricCryHandler(AsymmetricCryAlgo.RSA);
+        RSA rsa = new RSA(keyPair.getPrivateKey(), keyPair.getPublicKey());
+        Assert.assertArrayEquals(DATA, rsa.decrypt(handler.cry(keyPair.getPublicKey(), DATA), KeyType.PrivateKey));
+        Assert.assertArrayEquals(DATA, handler.deCry(keyPair.getPrivateKey(), rsa.encrypt(DATA, KeyType.PublicKey)));
+
+        Sign sign = new Sign(SignAlgorithm.SHA256withRSA, keyPair.getPrivateKey(), keyPair.getPublicKey());
+        Assert.assertEquals(Base64Util.bytesToBase64(sign.sign(DATA)), handler.sign(keyPair.getPrivateKey(), DATA));
+        Assert.assertTrue(handler.verifySign(keyPair.getPublicKey(), DATA, Base64Util.bytesToBase64(sign.sign(DATA))));
+    }
+
+    @Test
+    public void sm2HandlerShouldMatchHutool() {
+        KeyPair keyPair = AsymmetricCryUtil.generateSM2Keys();
+        AsymmetricCryHandler handler = CryHandlerMap.getAsymmetricCryHandler(AsymmetricCryAlgo.SM2);
+        SM2 sm2 = SmUtil.sm2(keyPair.getPrivateKey(), keyPair.getPublicKey());
+        Assert.assertArrayEquals(DATA, sm2.decrypt(handler.cry(keyPair.getPublicKey(), DATA), KeyType.PrivateKey));
+        Assert.assertArrayEquals(DATA, handler.deCry(keyPair.getPrivateKey(), sm2.encrypt(DATA, KeyType.PublicKey)));
+        Assert.assertEquals("内容", new String(sm2.decryptFromBcd(handler.cry(keyPair.getPublicKey(), "内容"), KeyType.PrivateKey), StandardCharsets.UTF_8));
+        Assert.assertEquals("内容", handler.deCry(keyPair.getPrivateKey(), sm2.encryptBcd("内容", KeyType.PublicKey)));
+
+        Assert.assertTrue(sm2.verify(DATA, cn.hutool.core.util.HexUtil.decodeHex(handler.sign(keyPair.getPrivateKey(), DATA))));
+        Assert.assertTrue(handler.verifySign(keyPair.getPublicKey(), DATA, sm2.signHex(cn.hutool.core.util.HexUtil.encodeHexStr(DATA))));
+    }
+}
@@ -0,0 +1,55 @@
+package openapi.sdk.common.handler.asymmetric;
+
+import cn.hutool.crypto.CryptoException;
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.model.KeyPair;
+import openapi.sdk.common.util.AsymmetricCryUtil;
+import openapi.sdk.common.util.Base64Util;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+import org.bouncycastle.crypto.util.PrivateKeyFactory;
+import org.bouncycastle.math.ec.rfc7748.X25519;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class Ed25519AsymmetricCryHandlerTest {
+
+    @Test
+    public void x25519KeysShouldMatch() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            KeyPair keyPair = AsymmetricCryUtil.generateEd25519Keys();
+            Ed25519PrivateKeyParameters params = (Ed25519PrivateKeyParameters) PrivateKeyFactory.createKey(Base64Util.base64ToBytes(keyPair.getPrivateKey()));
+            byte[] xPub = new byte[X25519.POINT_SIZE];
+            X25519.generatePublicKey(Ed25519AsymmetricCryHandler.toX25519PrivateKey(params.getEncoded()), 0, xPub, 0);
+            Assert.assertArrayEquals(xPub, Ed25519AsymmetricCryHandler.toX25519PublicKey(params.generatePublicKey().getEncoded()));
+        }
+    }
+
+    @Test
+    public void signAndCry() {
+        KeyPair keyPair = AsymmetricCryUtil.generateEd25519Keys();
+        AsymmetricCryHandler handler = CryHandlerMap.getAsymmetricCryHandler(AsymmetricCryAlgo.ED25519);
+        String sign = handler.sign(keyPair.getPrivateKey(), "content");
+        Assert.assertTrue(handler.verifySign(keyPair.getPublicKey(), "content", sign));
+        Assert.assertFalse(handler.verifySign(keyPair.getPublicKey(), "content2", sign));
+        Assert.assertFalse(handler.verifySign(AsymmetricCryUtil.generateEd25519Keys().getPublicKey(), "content", sign));
+
+        String cry = handler.cry(keyPair.getPublicKey(), "secret");
+        Assert.assertNotEquals(cry, handler.cry(keyPair.getPublicKey(), "secret"));
+        Assert.assertEquals("secret", handler.deCry(keyPair.getPrivateKey(), cry));
+        byte[] data = new byte[10_000];
+        Assert.assertArrayEquals(data, handler.deCry(keyPair.getPrivateKey(), handler.cry(keyPair.getPublicKey(), data)));
+
+        byte[] tampered = handler.cry(keyPair.getPublicKey(), "secret".getBytes(StandardCharsets.UTF_8));
+        tampered[0] ^= 1;
+        try {
+            handler.deCry(keyPair.getPrivateKey(), tampered);
+            Assert.fail("篡改后的密文应解密失败");
+        } catch (CryptoException ex) {
+            //预期的异常
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package openapi.sdk.common.model;
+
+import cn.hutool.json.JSONUtil;
+import openapi.sdk.common.constant.ErrorCode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class BatchModelTest {
+
+    @Test
+    public void entriesShouldKeepJsonBodiesAsStrings() {
+        BatchEntry entry = new BatchEntry();
+        entry.setApi("userApi");
+        entry.setMethod("saveUser");
+        entry.setMultiParam(true);
+        entry.setBody("[\"{\\\"id\\\":1,\\\"name\\\":\\\"张三\\\"}\",\"2\"]");
+        BatchEntry noParam = new BatchEntry();
+        noParam.setApi("userApi");
+        noParam.setMethod("listUsers");
+        noParam.setBody("");
+
+        String json = JSONUtil.toJsonStr(Arrays.asList(entry, noParam));
+        List<BatchEntry> entries = JSONUtil.toList(json, BatchEntry.class);
+        Assert.assertEquals(Arrays.asList(entry, noParam), entries);
+    }
+
+    @Test
+    public void resultsShouldKeepCodesAndData() {
+        List<BatchResult> results = Arrays.asList(BatchResult.success("{\"id\":1}"), BatchResult.success(""),
+                BatchResult.error(ErrorCode.SESSION_INVALID, "会话不存在"), BatchResult.success("123"));
+        List<BatchResult> parsed = JSONUtil.toList(JSONUtil.toJsonStr(results), BatchResult.class);
+        Assert.assertEquals(results, parsed);
+        Assert.assertEquals(String.class, parsed.get(0).getData().getClass());
+    }
+}
@@ -1,10 +1,29 @@
 package openapi.sdk.common.util;
 
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.RandomUtil;
+import openapi.sdk.common.constant.Constant;
 import openapi.sdk.common.exception.OpenApiException;
+import openapi.sdk.common.model.Binary;
+import openapi.sdk.common.model.BinaryFrame;
+import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.model.StreamBody;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 public class BinaryUtilTest {
 
@@ -23,4 +42,108 @@ public class BinaryUtilTest {
     public void outOfRangeBinaryLengthShouldBeRejected() {
         BinaryUtil.getBinaryDataBytes(new byte[8], 1);
     }
+
+    @Test
+    public void gatheredBuffersShouldMatchBytes() throws IOException {
+        List<Binary> binaries = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            FileBinary binary = new FileBinary();
+            binary.setFileName(i + ".bin");
+            binary.setData(RandomUtil.randomBytes(1000 * i));
+            binaries.add(binary);
+        }
+        String paramStr = BinaryUtil.getBinariesString(binaries);
+        byte[] bodyBytes = BinaryUtil.buildMultiBinaryBytes(binaries, paramStr);
+        ByteBuffer[] buffers = BinaryUtil.buildMultiBinaryBuffers(binaries, paramStr);
+        Assert.assertSame(binaries.get(2).getData(), buffers[6].array());
+        Assert.assertEquals(bodyBytes.length, BinaryUtil.getLength(buffers));
+
+        Path file = Files.createTempFile("BinaryUtilTest", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            Assert.assertEquals(bodyBytes.length, BinaryUtil.write(channel, buffers));
+            Assert.assertArrayEquals(bodyBytes, Files.readAllBytes(file));
+        } finally {
+            Files.delete(file);
+        }
+
+        //解析：参数与各二进制数据的视图
+        int paramLength = BinaryUtil.getParamLength(bodyBytes);
+        Assert.assertEquals(paramStr, BinaryUtil.getParamStr(bodyBytes, paramLength));
+        long index = BinaryUtil.getBinaryLengthStartIndex(paramLength);
+        for (Binary binary : binaries) {
+            ByteBuffer data = BinaryUtil.getBinaryData(bodyBytes, index);
+            Assert.assertSame(bodyBytes, data.array());
+            Assert.assertArrayEquals(binary.getData(), BinaryUtil.toBytes(new ByteBuffer[]{data}));
+            index = BinaryUtil.getNextBinaryLengthStartIndex(index, data);
+        }
+        Assert.assertEquals(bodyBytes.length, index);
+    }
+
+    @Test
+    public void v2FrameShouldSupportMoreThan255Binaries() throws IOException {
+        List<Binary> binaries = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            FileBinary binary = new FileBinary();
+            binary.setFileName(i + ".bin");
+            binary.setData(RandomUtil.randomBytes(i));
+            binaries.add(binary);
+        }
+        String paramStr = BinaryUtil.getBinariesString(binaries);
+        try {
+            BinaryUtil.buildMultiBinaryBytes(binaries, paramStr);
+            Assert.fail("v1格式不支持超过255个文件");
+        } catch (OpenApiException ex) {
+            //预期异常
+        }
+
+        //按序号倒序获取，均为请求体的视图
+        byte[] bodyBytes = BinaryUtil.buildMultiBinaryBytes(binaries, paramStr, Constant.BINARY_FORMAT_V2);
+        BinaryFrame frame = BinaryUtil.parseFrame(bodyBytes);
+        Assert.assertEquals(Constant.BINARY_FORMAT_V2, frame.getFormat());
+        Assert.assertEquals(paramStr, frame.getParamStr());
+        Assert.assertEquals(binaries.size(), frame.getBinaryCount());
+        for (int i = binaries.size() - 1; i >= 0; i--) {
+            Assert.assertSame(bodyBytes, frame.getBinaryData(i).array());
+            Assert.assertArrayEquals(binaries.get(i).getData(), frame.getBinaryDataBytes(i));
+        }
+
+        //流式请求体与字节数据一致，且可按流读取
+        StreamBody body = BinaryUtil.buildMultiBinaryBody(binaries, paramStr, Constant.BINARY_FORMAT_V2);
+        Assert.assertEquals(bodyBytes.length, body.getLength());
+        byte[] streamBytes;
+        try (InputStream in = body.open()) {
+            streamBytes = IoUtil.readBytes(in);
+        }
+        Assert.assertArrayEquals(bodyBytes, streamBytes);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bodyBytes));
+        BinaryFrameReader reader = new BinaryFrameReader(in);
+        Assert.assertEquals(paramStr, reader.readParamStr());
+        Assert.assertEquals(binaries.size(), reader.readBinaryCount());
+        for (Binary binary : binaries) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BinaryUtil.copyBinaryData(in, out, reader.nextBinaryLength());
+            Assert.assertArrayEquals(binary.getData(), out.toByteArray());
+        }
+        Assert.assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void v1FrameShouldBeParsedByFrameParser() {
+        FileBinary binary = new FileBinary();
+        binary.setFileName("a.bin");
+        binary.setData(RandomUtil.randomBytes(100));
+        String paramStr = BinaryUtil.getBinaryString(binary);
+        BinaryFrame frame = BinaryUtil.parseFrame(BinaryUtil.buildSingleBinaryBytes(binary, paramStr));
+        Assert.assertEquals(Constant.BINARY_FORMAT_V1, frame.getFormat());
+        Assert.assertEquals(paramStr, frame.getParamStr());
+        Assert.assertArrayEquals(binary.getData(), frame.getBinaryDataBytes(0));
+    }
+
+    @Test(expected = OpenApiException.class)
+    public void v2FrameShouldBeRejectedByV1Parser() {
+        FileBinary binary = new FileBinary();
+        binary.setData(new byte[10]);
+        byte[] bodyBytes = BinaryUtil.buildSingleBinaryBytes(binary, "{}", Constant.BINARY_FORMAT_V2);
+        BinaryUtil.getParamLength(bodyBytes);
+    }
 }
@@ -1,5 +1,6 @@
 package openapi.sdk.common.util;
 
+import openapi.sdk.common.enums.HmacAlgo;
 import openapi.sdk.common.model.InParams;
 import org.junit.Assert;
 import org.junit.Test;
@@ -19,6 +20,23 @@ public class CommonUtilTest {
         );
     }
 
+    @Test
+    public void hmacSignContentShouldBindBodyPresenceWhenBodyNotSigned() {
+        InParams inParams = new InParams();
+        inParams.setUuid("uuid");
+        inParams.setApi("api");
+        inParams.setMethod("method");
+        String emptySign = HmacUtil.sign(HmacAlgo.HMAC_SHA256, new byte[16], CommonUtil.getHmacSignContent(inParams, false));
+
+        inParams.setBodyBytes(new byte[]{1, 2, 3});
+        String bodySign = HmacUtil.sign(HmacAlgo.HMAC_SHA256, new byte[16], CommonUtil.getHmacSignContent(inParams, false));
+        //请求体被去掉后签名不一致
+        Assert.assertNotEquals(emptySign, bodySign);
+        //请求体内容由认证标签保护，不参与签名
+        inParams.setBodyBytes(new byte[]{4, 5});
+        Assert.assertEquals(bodySign, HmacUtil.sign(HmacAlgo.HMAC_SHA256, new byte[16], CommonUtil.getHmacSignContent(inParams, false)));
+    }
+
     @Test
     public void completeUrlShouldNormalizeSeparator() {
         Assert.assertEquals(
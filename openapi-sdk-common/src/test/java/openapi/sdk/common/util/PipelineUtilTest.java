@@ -0,0 +1,140 @@
+package openapi.sdk.common.util;
+
+import cn.hutool.core.io.IoUtil;
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.enums.HmacAlgo;
+import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.handler.AeadSymmetricCryHandler;
+import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.ContentSigner;
+import openapi.sdk.common.handler.ContentVerifier;
+import openapi.sdk.common.handler.CryHandlerMap;
+import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.model.InParams;
+import openapi.sdk.common.model.KeyPair;
+import openapi.sdk.common.model.StreamBody;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class PipelineUtilTest {
+
+    private static final byte[] DATA = new byte[100_000];
+
+    static {
+        for (int i = 0; i < DATA.length; i++) {
+            DATA[i] = (byte) (i % 97);
+        }
+    }
+
+    @Test
+    public void sealShouldMatchSeparatePasses() {
+        InParams inParams = new InParams();
+        inParams.setUuid("uuid");
+        inParams.setApi("api");
+        inParams.setMethod("method");
+        byte[] aad = CommonUtil.getRequestAad(inParams);
+        for (String algo : new String[]{SymmetricCryAlgo.AES, SymmetricCryAlgo.SM4, SymmetricCryAlgo.AES_GCM, null}) {
+            SymmetricCryHandler handler = algo == null ? null : CryHandlerMap.getSymmetricCryHandler(algo);
+            byte[] key = handler == null ? null : handler.generateKey();
+            for (boolean compress : new boolean[]{true, false}) {
+                byte[] wire = PipelineUtil.seal(DATA, compress, handler, key, aad, null);
+                Assert.assertArrayEquals(DATA, PipelineUtil.open(wire, compress, handler, key, aad));
+
+                //与旧版本的分步处理互通：先解密再解压
+                byte[] plain = handler == null ? wire : handler instanceof AeadSymmetricCryHandler
+                        ? ((AeadSymmetricCryHandler) handler).deCry(wire, key, aad) : handler.deCry(wire, key);
+                Assert.assertArrayEquals(DATA, compress ? CompressUtil.decompress(plain) : plain);
+            }
+        }
+    }
+
+    @Test
+    public void streamSealShouldBeOpenedAsBytes() throws IOException {
+        StreamBody body = new StreamBody() {
+            @Override
+            public long getLength() {
+                return DATA.length;
+            }
+
+            @Override
+            public InputStream open() {
+                return new ByteArrayInputStream(DATA);
+            }
+
+            @Override
+            public boolean isRepeatable() {
+                return true;
+            }
+        };
+        byte[] aad = HmacUtil.bytes("aad");
+        for (String algo : new String[]{SymmetricCryAlgo.AES, SymmetricCryAlgo.SM4, SymmetricCryAlgo.AES_GCM, null}) {
+            SymmetricCryHandler handler = algo == null ? null : CryHandlerMap.getSymmetricCryHandler(algo);
+            byte[] key = handler == null ? null : handler.generateKey();
+            for (boolean compress : new boolean[]{true, false}) {
+                StreamBody sealed = PipelineUtil.seal(body, compress, handler, key, aad);
+                byte[] wire;
+                try (InputStream in = sealed.open()) {
+                    wire = IoUtil.readBytes(in, false);
+                }
+                Assert.assertArrayEquals(DATA, PipelineUtil.open(wire, compress, handler, key, aad));
+
+                StreamBody spooled = PipelineUtil.spool(sealed, null);
+                try (InputStream in = spooled.open()) {
+                    Assert.assertArrayEquals(DATA, PipelineUtil.open(IoUtil.readBytes(in, false), compress, handler, key, aad));
+                } finally {
+                    spooled.release();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void incrementalSignShouldMatchConcatenatedContent() {
+        byte[] key = CryHandlerMap.getSymmetricCryHandler(SymmetricCryAlgo.AES).generateKey();
+        for (String algo : new String[]{AsymmetricCryAlgo.RSA, AsymmetricCryAlgo.SM2, AsymmetricCryAlgo.ED25519}) {
+            AsymmetricCryHandler handler = CryHandlerMap.getAsymmetricCryHandler(algo);
+            KeyPair keyPair = AsymmetricCryAlgo.RSA.equals(algo) ? AsymmetricCryUtil.generateRSAKeys()
+                    : AsymmetricCryAlgo.SM2.equals(algo) ? AsymmetricCryUtil.generateSM2Keys() : AsymmetricCryUtil.generateEd25519Keys();
+
+            ContentSigner signer = handler.newSigner(keyPair.getPrivateKey());
+            InParams inParams = new InParams();
+            inParams.setUuid("uuid");
+            inParams.setBodyBytes(PipelineUtil.seal(DATA, true, CryHandlerMap.getSymmetricCryHandler(SymmetricCryAlgo.AES), key, null, signer));
+            signer.update(HmacUtil.bytes(inParams.getUuid()));
+            String sign = signer.sign();
+            Assert.assertTrue(algo, handler.verifySign(keyPair.getPublicKey(), CommonUtil.getSignContent(inParams), sign));
+
+            ContentVerifier verifier = handler.newVerifier(keyPair.getPublicKey());
+            verifier.update(inParams.getBodyBytes());
+            verifier.update(HmacUtil.bytes(inParams.getUuid()));
+            Assert.assertTrue(algo, verifier.verify(handler.sign(keyPair.getPrivateKey(), CommonUtil.getSignContent(inParams))));
+
+            verifier = handler.newVerifier(keyPair.getPublicKey());
+            verifier.update(inParams.getBodyBytes());
+            Assert.assertFalse(algo, verifier.verify(sign));
+        }
+    }
+
+    @Test
+    public void streamingHmacVerifyShouldMatchVerify() throws IOException {
+        byte[] key = HmacUtil.bytes("hmac-secret");
+        byte[] wire = PipelineUtil.seal(DATA, true, null, null, null, null);
+        byte[][] parts = {HmacUtil.bytes("uuid"), HmacUtil.bytes("api"), HmacUtil.bytes("method")};
+        String sign = HmacUtil.sign(HmacAlgo.HMAC_SHA256, key, wire, parts[0], parts[1], parts[2]);
+
+        ContentVerifier verifier = HmacUtil.newVerifier(HmacAlgo.HMAC_SHA256, key, wire.length, parts);
+        try (InputStream in = PipelineUtil.open(PipelineUtil.verify(new ByteArrayInputStream(wire), verifier), true, null, null, null)) {
+            Assert.assertArrayEquals(DATA, IoUtil.readBytes(in, false));
+        }
+        Assert.assertTrue(verifier.verify(sign));
+
+        //请求体被截断
+        verifier = HmacUtil.newVerifier(HmacAlgo.HMAC_SHA256, key, wire.length, parts);
+        verifier.update(wire, 0, wire.length - 1);
+        Assert.assertFalse(verifier.verify(sign));
+    }
+}
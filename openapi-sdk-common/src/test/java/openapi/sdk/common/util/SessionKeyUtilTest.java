@@ -0,0 +1,44 @@
+package openapi.sdk.common.util;
+
+import openapi.sdk.common.enums.AsymmetricCryAlgo;
+import openapi.sdk.common.model.SessionKey;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.KeyPair;
+import java.util.Arrays;
+
+public class SessionKeyUtilTest {
+
+    @Test
+    public void bothSidesShouldAgreeOnSameKeys() {
+        for (String algo : new String[]{AsymmetricCryAlgo.RSA, AsymmetricCryAlgo.SM2}) {
+            String hmacAlgo = SessionKeyUtil.getHmacAlgo(algo);
+            KeyPair client = SessionKeyUtil.generateEphemeralKeyPair(algo);
+            KeyPair server = SessionKeyUtil.generateEphemeralKeyPair(algo);
+            byte[] clientPub = client.getPublic().getEncoded();
+            byte[] serverPub = server.getPublic().getEncoded();
+
+            SessionKey clientKey = SessionKeyUtil.agree(client.getPrivate(), serverPub, clientPub, serverPub, hmacAlgo);
+            SessionKey serverKey = SessionKeyUtil.agree(server.getPrivate(), clientPub, clientPub, serverPub, hmacAlgo);
+            Assert.assertArrayEquals(clientKey.getCryKey(), serverKey.getCryKey());
+            Assert.assertArrayEquals(clientKey.getMacKey(), serverKey.getMacKey());
+            Assert.assertEquals(16, clientKey.getCryKey().length);
+
+            String sign = HmacUtil.sign(hmacAlgo, clientKey.getMacKey(), HmacUtil.bytes("body"), HmacUtil.bytes("uuid"));
+            Assert.assertTrue(HmacUtil.verify(hmacAlgo, serverKey.getMacKey(), sign, HmacUtil.bytes("body"), HmacUtil.bytes("uuid")));
+            Assert.assertFalse(HmacUtil.verify(hmacAlgo, serverKey.getMacKey(), sign, HmacUtil.bytes("bod"), HmacUtil.bytes("yuuid")));
+        }
+    }
+
+    @Test
+    public void handshakeSignContentShouldSeparateParts() {
+        byte[] clientPub = {1, 2};
+        byte[] serverPub = {3, 4};
+        byte[] content = SessionKeyUtil.getHandshakeSignContent(clientPub, serverPub, "session1", "uuid");
+        Assert.assertArrayEquals(content, SessionKeyUtil.getHandshakeSignContent(clientPub, serverPub, "session1", "uuid"));
+        //会话ID与流水号的边界挪动后签名内容不同
+        Assert.assertFalse(Arrays.equals(content, SessionKeyUtil.getHandshakeSignContent(clientPub, serverPub, "session", "1uuid")));
+        Assert.assertFalse(Arrays.equals(content, SessionKeyUtil.getHandshakeSignContent(new byte[]{1}, new byte[]{2, 3, 4}, "session1", "uuid")));
+    }
+}
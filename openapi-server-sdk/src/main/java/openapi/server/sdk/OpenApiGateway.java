@@ -1,31 +1,54 @@
 package openapi.server.sdk;
 
+import cn.hutool.cache.impl.LRUCache;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.thread.NamedThreadFactory;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONUtil;
 import lombok.extern.slf4j.Slf4j;
+import openapi.sdk.common.cache.SymmetricKeyCache;
+import openapi.sdk.common.cache.WrappedKeyPool;
 import openapi.sdk.common.constant.Constant;
+import openapi.sdk.common.constant.ErrorCode;
 import openapi.sdk.common.constant.Header;
 import openapi.sdk.common.enums.AsymmetricCryAlgo;
 import openapi.sdk.common.enums.CryModeEnum;
 import openapi.sdk.common.enums.DataType;
 import openapi.sdk.common.enums.SymmetricCryAlgo;
+import openapi.sdk.common.exception.OpenApiException;
 import openapi.sdk.common.exception.OpenApiServerException;
+import openapi.sdk.common.handler.AeadSymmetricCryHandler;
 import openapi.sdk.common.handler.AsymmetricCryHandler;
+import openapi.sdk.common.handler.ContentVerifier;
 import openapi.sdk.common.handler.CryHandlerMap;
 import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.sdk.common.model.BatchEntry;
+import openapi.sdk.common.model.BatchResult;
 import openapi.sdk.common.model.Binary;
+import openapi.sdk.common.model.BinaryFrame;
+import openapi.sdk.common.model.ChunkParam;
+import openapi.sdk.common.model.ChunkStatus;
+import openapi.sdk.common.model.FileBinary;
 import openapi.sdk.common.model.InParams;
 import openapi.sdk.common.model.OutParams;
+import openapi.sdk.common.model.SessionKey;
+import openapi.sdk.common.model.StreamBinary;
+import openapi.sdk.common.model.StreamBody;
+import openapi.sdk.common.model.WrappedKey;
 import openapi.sdk.common.util.*;
 import openapi.server.sdk.annotation.OpenApi;
 import openapi.server.sdk.annotation.OpenApiMethod;
+import openapi.server.sdk.binary.BinaryBudget;
+import openapi.server.sdk.binary.BinaryReceiver;
+import openapi.server.sdk.chunk.ChunkStore;
+import openapi.server.sdk.chunk.LocalChunkStore;
 import openapi.server.sdk.config.OpenApiConfig;
 import openapi.server.sdk.model.ApiHandler;
 import openapi.server.sdk.model.Context;
 import openapi.server.sdk.model.OpenApiRequest;
+import openapi.server.sdk.session.SessionManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.context.ApplicationContext;
@@ -34,24 +57,41 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 对外开放api网关入口
  * <p>
  * 功能
  * 1.负责对外开放接口(基于HTTP对外提供服务)
- * 2.实现接口的参数与返回值的加解密（使用非对称加密：RSA/SM2，或对称加密：AES/SM4）
+ * 2.实现接口的参数与返回值的加解密（使用非对称加密：RSA/SM2/ED25519，或对称加密：AES/SM4/AES_GCM/SM4_GCM）
  * 3.实现接口的验签（服务端会校验客户端的签名，确保调用者身份以及数据不被篡改）
  * 4.实现非对称加密+对称加密联合模式（内容对称加密，对称加密密钥采用非对称加密）
+ * 5.实现会话加密模式（握手协商会话密钥，之后的调用仅使用对称加密与HMAC签名）
+ * 6.实现批量调用（一次签名、加密的请求携带多个方法调用，并行执行后返回各自的结果）
+ * 7.实现二进制请求体的流式接收（边接收边验签、解密、解压，大文件写入临时文件，内存与磁盘占用受预算限制）
  * <p>
  *
  * @author wanghuidong
@@ -99,6 +139,81 @@ public class OpenApiGateway {
      */
     private SymmetricCryHandler symmetricCryHandler;
 
+    /**
+     * 会话管理器
+     */
+    private SessionManager sessionManager;
+
+    /**
+     * 会话签名采用的HMAC算法
+     */
+    private String sessionHmacAlgo;
+
+    /**
+     * HMAC模式采用的HMAC算法
+     */
+    private String hmacAlgo;
+
+    /**
+     * 对称密钥缓存（调用者加密后的对称密钥 -> 原始密钥），未启用时为null
+     */
+    private SymmetricKeyCache symmetricKeyCache;
+
+    /**
+     * 返回值加密所用的可复用对称密钥，key: 调用者ID，未启用复用时为null
+     */
+    private LRUCache<String, WrappedKey> retKeys;
+
+    /**
+     * 返回值加密所用的对称密钥预生成池，未启用时为null
+     */
+    private WrappedKeyPool keyPool;
+
+    /**
+     * 返回值加密时对称密钥的复用时间（单位秒）
+     */
+    private long symmetricKeyReuseTime;
+
+    /**
+     * 返回值加密时对称密钥的复用次数
+     */
+    private int symmetricKeyReuseCount;
+
+    /**
+     * 单次批量调用最多包含的调用条目数
+     */
+    private int batchMaxSize;
+
+    /**
+     * 执行批量调用条目的线程池
+     */
+    private ExecutorService batchExecutor;
+
+    /**
+     * 接收二进制参数的资源预算
+     */
+    private BinaryBudget binaryBudget;
+
+    /**
+     * 流式文件参数写入临时文件的阈值
+     */
+    private long binarySpoolThreshold;
+
+    /**
+     * 分片传输的暂存器
+     */
+    private ChunkStore chunkStore;
+
+    /**
+     * 分片传输时接受的最大分片大小
+     */
+    private long chunkMaxSize;
+
+    /**
+     * 分片请求体中除分片数据外的固定开销上限（参数、帧头、加密填充等）
+     */
+    private static final long CHUNK_BODY_OVERHEAD = 64 * 1024;
+
     /**
      * 初始化
      */
@@ -122,6 +237,16 @@ public class OpenApiGateway {
         log.info("OpenApiGateway init succeed. path={}", Constant.OPENAPI_PATH);
     }
 
+    /**
+     * 销毁
+     */
+    @PreDestroy
+    public void destroy() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdown();
+        }
+    }
+
     /**
      * 获取所有的openapi处理器的字符串表示
      *
@@ -150,14 +275,19 @@ public class OpenApiGateway {
         this.cryModeEnum = config.getCryMode();
         this.symmetricCryAlgo = config.getSymmetricCry();
         this.enableCompress = config.enableCompress();
-        if (StrUtil.isBlank(this.selfPrivateKey)) {
+        this.hmacAlgo = config.getHmacAlgo();
+        if (this.cryModeEnum == null || this.cryModeEnum == CryModeEnum.UNKNOWN) {
+            throw new IllegalStateException("OpenApiGateway init failed: cryMode is null or UNKNOWN");
+        }
+        //HMAC模式下不进行非对称运算，可以不配置本系统私钥
+        if (StrUtil.isBlank(this.selfPrivateKey) && this.cryModeEnum != CryModeEnum.HMAC) {
             throw new IllegalStateException("OpenApiGateway init failed: selfPrivateKey is blank");
         }
         if (StrUtil.isBlank(this.asymmetricCryAlgo)) {
             throw new IllegalStateException("OpenApiGateway init failed: asymmetricCry is blank");
         }
-        if (this.cryModeEnum == null || this.cryModeEnum == CryModeEnum.UNKNOWN) {
-            throw new IllegalStateException("OpenApiGateway init failed: cryMode is null or UNKNOWN");
+        if (StrUtil.isBlank(this.hmacAlgo)) {
+            throw new IllegalStateException("OpenApiGateway init failed: hmacAlgo is blank");
         }
         CryHandlerMap.addAsymmetricCryHandler(AsymmetricCryAlgo.CUSTOM, config.customAsymmetricCryHandler());
         CryHandlerMap.addSymmetricCryHandler(SymmetricCryAlgo.CUSTOM, config.customSymmetricCryHandler());
@@ -173,6 +303,46 @@ public class OpenApiGateway {
             log.error(errMsg);
             throw new RuntimeException(errMsg);
         }
+        if (config.getSessionCallerCapacity() <= 0 || config.getSessionPerCaller() <= 0 || config.getSessionTtl() <= 0
+                || config.getHandshakeTimeWindow() <= 0) {
+            throw new IllegalStateException("OpenApiGateway init failed: sessionCallerCapacity, sessionPerCaller, sessionTtl and handshakeTimeWindow must be positive");
+        }
+        this.sessionManager = new SessionManager(config.getSessionCallerCapacity(), config.getSessionPerCaller(),
+                config.getSessionTtl(), config.getHandshakeTimeWindow());
+        this.sessionHmacAlgo = SessionKeyUtil.getHmacAlgo(this.asymmetricCryAlgo);
+        if (config.getSymmetricKeyCacheTtl() > 0) {
+            this.symmetricKeyCache = new SymmetricKeyCache(config.getSymmetricKeyCacheCallerCapacity(),
+                    config.getSymmetricKeyCachePerCaller(), config.getSymmetricKeyCacheTtl() * 1000);
+        }
+        this.symmetricKeyReuseTime = config.getSymmetricKeyReuseTime();
+        this.symmetricKeyReuseCount = config.getSymmetricKeyReuseCount();
+        if (config.getSymmetricKeyPoolSize() > 0) {
+            this.keyPool = WrappedKeyPool.getPool(this.symmetricCryAlgo, this.asymmetricCryAlgo, config.getSymmetricKeyPoolSize());
+        }
+        if (this.symmetricKeyReuseTime > 0 || this.symmetricKeyReuseCount > 0) {
+            this.retKeys = new LRUCache<>(config.getSymmetricKeyCacheCallerCapacity());
+        }
+        if (config.getBatchThreads() <= 0 || config.getBatchMaxSize() <= 0) {
+            throw new IllegalStateException("OpenApiGateway init failed: batchThreads and batchMaxSize must be positive");
+        }
+        this.batchMaxSize = config.getBatchMaxSize();
+        //有界队列，队列已满时条目在请求线程上执行，避免批量请求无限堆积
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(config.getBatchThreads(), config.getBatchThreads(), 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(this.batchMaxSize), new NamedThreadFactory("openapi-batch-", true),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        this.batchExecutor = executor;
+        if (config.getBinarySpoolThreshold() < 0 || config.getBinaryMemoryBudget() <= 0 || config.getBinaryDiskBudget() <= 0) {
+            throw new IllegalStateException("OpenApiGateway init failed: binarySpoolThreshold must not be negative, binaryMemoryBudget and binaryDiskBudget must be positive");
+        }
+        this.binarySpoolThreshold = config.getBinarySpoolThreshold();
+        this.binaryBudget = new BinaryBudget(config.getBinaryMemoryBudget(), config.getBinaryDiskBudget());
+        if (config.getChunkMaxSize() <= 0 || config.getChunkExpireTime() <= 0 || config.getChunkDiskQuota() <= 0) {
+            throw new IllegalStateException("OpenApiGateway init failed: chunkMaxSize, chunkExpireTime and chunkDiskQuota must be positive");
+        }
+        this.chunkMaxSize = config.getChunkMaxSize();
+        this.chunkStore = config.getChunkStore() != null ? config.getChunkStore()
+                : new LocalChunkStore(config.getChunkExpireTime(), config.getChunkDiskQuota());
     }
 
     /**
@@ -190,6 +360,12 @@ public class OpenApiGateway {
             if (StrUtil.isBlank(openApiName)) {
                 throw new IllegalStateException("@OpenApi名称不能为空：" + c.getName());
             }
+            if (Constant.BATCH_API.equals(openApiName)) {
+                throw new IllegalStateException("@OpenApi名称" + Constant.BATCH_API + "为批量调用保留名称：" + c.getName());
+            }
+            if (Constant.CHUNK_API.equals(openApiName)) {
+                throw new IllegalStateException("@OpenApi名称" + Constant.CHUNK_API + "为分片传输保留名称：" + c.getName());
+            }
             //遍历方法
             Method[] methods = c.getDeclaredMethods();
             if (ArrayUtil.isNotEmpty(methods)) {
@@ -243,9 +419,10 @@ public class OpenApiGateway {
     public void callMethod(HttpServletRequest request, HttpServletResponse response) {
         OutParams outParams = null;
         InParams inParams = null;
+        BinaryReceiver receiver = new BinaryReceiver(binaryBudget, binarySpoolThreshold);
         try {
-            //获取入参
-            inParams = getInParams(request);
+            //获取入参（二进制请求体不读入内存，获取方法参数时边接收边处理）
+            inParams = getInParams(request, true);
             log.debug("{}接收到请求：{}", logPrefix.get(), inParams);
             log.debug("{}请求体的数据类型为：{}", logPrefix.get(), inParams.getDataType());
 
@@ -253,13 +430,437 @@ public class OpenApiGateway {
             ApiHandler apiHandler = getApiHandler(inParams);
 
             //获取方法参数
-            List<Object> params = getParam(inParams, apiHandler);
+            List<Object> params = getParam(inParams, apiHandler, receiver);
 
             //调用目标方法
             outParams = doCall(apiHandler, params, inParams);
         } catch (OpenApiServerException be) {
             log.error(logPrefix.get() + be.getMessage());
-            outParams = OutParams.error(be.getMessage());
+            outParams = OutParams.error(be.getCode(), be.getMessage());
+        } catch (Exception ex) {
+            log.error(logPrefix.get() + "系统异常：", ex);
+            outParams = OutParams.error("系统异常");
+        } finally {
+            completeCall(response, inParams, outParams);
+            //响应完成后删除临时文件并归还预算，调用成功时删除已合并的分片传输
+            receiver.release(OutParams.isSuccess(outParams));
+        }
+    }
+
+    /**
+     * 批量调用
+     * <p>
+     * 一个请求携带多个（接口名、方法名、参数）调用条目，共用一次验签、解密及返回值加密；
+     * 条目在有界线程池上并行执行，按请求中的顺序返回各条目的返回码及返回值，单个条目失败不影响其它条目
+     * </p>
+     *
+     * @param request  请求对象
+     * @param response 响应对象
+     */
+    @PostMapping(value = Constant.BATCH_PATH,
+            consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE},
+            produces = {MediaType.APPLICATION_OCTET_STREAM_VALUE}
+    )
+    public void callBatch(HttpServletRequest request, HttpServletResponse response) {
+        OutParams outParams = null;
+        InParams inParams = null;
+        try {
+            //获取入参
+            inParams = getInParams(request, false);
+            log.debug("{}接收到批量请求：{}", logPrefix.get(), inParams);
+            if (!Constant.BATCH_API.equals(inParams.getApi()) || !Constant.BATCH_METHOD.equals(inParams.getMethod())) {
+                throw new OpenApiServerException("批量调用的接口名或方法名不正确");
+            }
+
+            //验签（批量调用使用网关的加密模式）
+            verify(inParams, this.cryModeEnum);
+
+            //获取调用条目
+            List<BatchEntry> entries = getBatchEntries(inParams);
+
+            //并行调用目标方法
+            List<BatchResult> results = doBatchCall(inParams, entries);
+
+            //压缩&加密返回值
+            outParams = getBatchOutParams(inParams, results);
+        } catch (OpenApiServerException be) {
+            log.error(logPrefix.get() + be.getMessage());
+            outParams = OutParams.error(be.getCode(), be.getMessage());
+        } catch (Exception ex) {
+            log.error(logPrefix.get() + "系统异常：", ex);
+            outParams = OutParams.error("系统异常");
+        } finally {
+            completeCall(response, inParams, outParams);
+        }
+    }
+
+    /**
+     * 分片传输
+     * <p>
+     * 大文件按分片逐个上传（下载），每个分片是一次独立验签、解密（加密）的请求，客户端可多连接并行传输；
+     * 上传的分片写入暂存器后才确认接收，中断后重新开始时先查询已接收的分片，只传输剩余部分。
+     * 分片请求使用网关的加密模式及压缩设置
+     * </p>
+     *
+     * @param request  请求对象
+     * @param response 响应对象
+     */
+    @PostMapping(value = Constant.CHUNK_PATH,
+            consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE},
+            produces = {MediaType.APPLICATION_OCTET_STREAM_VALUE}
+    )
+    public void callChunk(HttpServletRequest request, HttpServletResponse response) {
+        OutParams outParams = null;
+        InParams inParams = null;
+        BinaryReceiver receiver = new BinaryReceiver(binaryBudget, binarySpoolThreshold);
+        try {
+            //获取入参（请求体按预算及分片请求的大小上限读取）
+            long maxBodySize = getChunkBodyMaxSize();
+            inParams = getInParams(request, true, true);
+            log.debug("{}接收到分片请求：{}", logPrefix.get(), inParams);
+            if (!Constant.CHUNK_API.equals(inParams.getApi())) {
+                throw new OpenApiServerException("分片传输的接口名不正确");
+            }
+            inParams.setBodyBytes(readBody(inParams.getBodyStream(), receiver, maxBodySize));
+            inParams.setBodyStream(null);
+
+            //验签（分片传输使用网关的加密模式）
+            verify(inParams, this.cryModeEnum);
+            if (ArrayUtil.isEmpty(inParams.getBodyBytes())) {
+                throw new OpenApiServerException("分片传输的参数不能为空");
+            }
+
+            //解密&解压后执行分片操作
+            byte[] bodyBytes = decryptBody(inParams, this.cryModeEnum, this.enableCompress);
+            outParams = doChunkCall(inParams, bodyBytes);
+        } catch (OpenApiServerException be) {
+            log.error(logPrefix.get() + be.getMessage());
+            outParams = OutParams.error(be.getCode(), be.getMessage());
+        } catch (Exception ex) {
+            log.error(logPrefix.get() + "系统异常：", ex);
+            outParams = OutParams.error("系统异常");
+        } finally {
+            completeCall(response, inParams, outParams);
+            receiver.release();
+        }
+    }
+
+    /**
+     * 获取分片请求体的大小上限：分片数据加上压缩膨胀、加密及参数的开销
+     *
+     * @return 分片请求体的大小上限（单位字节）
+     */
+    private long getChunkBodyMaxSize() {
+        return chunkMaxSize + (chunkMaxSize >> 10) + CHUNK_BODY_OVERHEAD;
+    }
+
+    /**
+     * 执行分片操作：查询已接收的分片、上传分片、下载分片、释放暂存的数据
+     *
+     * @param inParams  分片请求的入参
+     * @param bodyBytes 解密、解压后的请求体
+     * @return 出参
+     * @throws IOException 暂存器读写异常
+     */
+    private OutParams doChunkCall(InParams inParams, byte[] bodyBytes) throws IOException {
+        String callerId = inParams.getCallerId();
+        BinaryFrame frame = null;
+        String paramStr;
+        if (inParams.getDataType() == DataType.BINARY) {
+            frame = BinaryUtil.parseFrame(bodyBytes);
+            paramStr = frame.getParamStr();
+        } else {
+            paramStr = new String(bodyBytes, StandardCharsets.UTF_8);
+        }
+        ChunkParam param = JSONUtil.toBean(paramStr, ChunkParam.class);
+        checkTransferId(param.getTransferId());
+        String transferId = param.getTransferId();
+        String retStr = StrUtil.EMPTY;
+        byte[] retBytes = null;
+        OutParams outParams = OutParams.success();
+        outParams.setDataType(DataType.TEXT);
+        switch (inParams.getMethod()) {
+            case Constant.CHUNK_METHOD_STATUS:
+                ChunkStatus status = new ChunkStatus();
+                status.setTransferId(transferId);
+                status.setReceived(chunkStore.getReceived(callerId, transferId));
+                retStr = JSONUtil.toJsonStr(status);
+                break;
+            case Constant.CHUNK_METHOD_UPLOAD:
+                if (frame == null || frame.getBinaryCount() != 1) {
+                    throw new OpenApiServerException("分片上传须携带一个分片数据");
+                }
+                if (param.getChunkSize() <= 0 || param.getChunkSize() > chunkMaxSize || param.getLength() < 0) {
+                    throw new OpenApiServerException("分片大小须大于0且不超过" + chunkMaxSize + "，文件长度不能为负数");
+                }
+                //分片数按客户端声明的分片大小计算（小于上限时分片数更多），序号及数据长度须与之一致
+                long expectedLength;
+                try {
+                    expectedLength = ChunkUtil.getChunkLength(param.getLength(), param.getChunkSize(), param.getIndex());
+                } catch (OpenApiException ex) {
+                    throw new OpenApiServerException(ex.getMessage());
+                }
+                ByteBuffer data = frame.getBinaryData(0);
+                if (data.remaining() != expectedLength) {
+                    throw new OpenApiServerException("分片数据长度不正确");
+                }
+                chunkStore.write(callerId, transferId, param.getIndex(), data);
+                break;
+            case Constant.CHUNK_METHOD_DOWNLOAD:
+                if (param.getChunkSize() <= 0 || param.getChunkSize() > chunkMaxSize) {
+                    throw new OpenApiServerException("分片大小须大于0且不超过" + chunkMaxSize);
+                }
+                long chunkLength;
+                try {
+                    chunkLength = ChunkUtil.getChunkLength(param.getLength(), param.getChunkSize(), param.getIndex());
+                } catch (OpenApiException ex) {
+                    throw new OpenApiServerException(ex.getMessage());
+                }
+                FileBinary chunk = new FileBinary();
+                chunk.setData(chunkStore.read(callerId, transferId, param.getIndex() * param.getChunkSize(), (int) chunkLength));
+                retStr = paramStr;
+                retBytes = BinaryUtil.buildSingleBinaryBytes(chunk, retStr, inParams.getBinaryFormat());
+                outParams.setDataType(DataType.BINARY);
+                break;
+            case Constant.CHUNK_METHOD_RELEASE:
+                chunkStore.delete(callerId, transferId);
+                break;
+            default:
+                throw new OpenApiServerException("分片传输的方法名不正确");
+        }
+
+        //压缩&加密返回值（使用网关的设置）
+        if (retBytes == null && StrUtil.isNotEmpty(retStr)) {
+            retBytes = retStr.getBytes(StandardCharsets.UTF_8);
+        }
+        if (ArrayUtil.isNotEmpty(retBytes)) {
+            retBytes = enableCompress ? CompressUtil.compress(retBytes) : retBytes;
+            if (retEncrypt) {
+                retBytes = encryptRet(inParams, retBytes, outParams, this.cryModeEnum);
+            }
+        }
+        outParams.setData(retStr);
+        outParams.setDataBytes(retBytes);
+        return outParams;
+    }
+
+    /**
+     * 完成一次调用：写返回值到响应并清理日志前缀
+     *
+     * @param response  响应对象
+     * @param inParams  入参
+     * @param outParams 出参
+     */
+    private void completeCall(HttpServletResponse response, InParams inParams, OutParams outParams) {
+        if (outParams == null) {
+            outParams = OutParams.error("系统异常");
+        }
+        outParams.setUuid(inParams != null ? inParams.getUuid() : null);
+        if (outParams.getDataType() == null) {
+            outParams.setDataType(DataType.TEXT);
+        }
+        log.debug("{}响应体的数据类型为：{}", logPrefix.get(), outParams.getDataType());
+
+        //写返回值到响应
+        writeOutParams(response, outParams);
+
+        log.debug("{}调用完毕：{}", logPrefix.get(), outParams);
+        logPrefix.remove();
+    }
+
+    /**
+     * 获取批量调用的调用条目
+     *
+     * @param inParams 入参
+     * @return 调用条目
+     */
+    private List<BatchEntry> getBatchEntries(InParams inParams) {
+        if (ArrayUtil.isEmpty(inParams.getBodyBytes())) {
+            throw new OpenApiServerException("批量调用的条目不能为空");
+        }
+        if (inParams.getDataType() != DataType.TEXT) {
+            throw new OpenApiServerException("批量调用不支持二进制数据");
+        }
+        byte[] bodyBytes = decryptBody(inParams, this.cryModeEnum, this.enableCompress);
+        List<BatchEntry> entries;
+        try {
+            entries = JSONUtil.toList(new String(bodyBytes, StandardCharsets.UTF_8), BatchEntry.class);
+        } catch (Exception ex) {
+            log.error(logPrefix.get() + "批量调用条目转换异常", ex);
+            throw new OpenApiServerException("批量调用条目转换异常:" + ex.getMessage());
+        }
+        if (CollUtil.isEmpty(entries)) {
+            throw new OpenApiServerException("批量调用的条目不能为空");
+        }
+        if (entries.size() > batchMaxSize) {
+            throw new OpenApiServerException(String.format("批量调用的条目数%d超出上限%d", entries.size(), batchMaxSize));
+        }
+        return entries;
+    }
+
+    /**
+     * 并行调用批量请求中的所有条目
+     *
+     * @param inParams 批量请求的入参
+     * @param entries  调用条目
+     * @return 各条目的结果（与条目顺序一致）
+     */
+    private List<BatchResult> doBatchCall(InParams inParams, List<BatchEntry> entries) {
+        long startTime = System.nanoTime();
+        List<CompletableFuture<BatchResult>> futures = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BatchEntry entry = entries.get(i);
+            int index = i;
+            futures.add(CompletableFuture.supplyAsync(() -> callBatchEntry(inParams, entry, index), batchExecutor));
+        }
+        List<BatchResult> results = new ArrayList<>(entries.size());
+        for (CompletableFuture<BatchResult> future : futures) {
+            results.add(future.join());
+        }
+        this.logCostTime("批量调用" + entries.size() + "个条目", startTime);
+        return results;
+    }
+
+    /**
+     * 调用批量请求中的一个条目（异常转换为该条目的错误结果）
+     *
+     * @param inParams 批量请求的入参
+     * @param entry    调用条目
+     * @param index    条目序号
+     * @return 条目结果
+     */
+    private BatchResult callBatchEntry(InParams inParams, BatchEntry entry, int index) {
+        //线程池繁忙时在请求线程上执行，需恢复原日志前缀
+        String previousPrefix = logPrefix.get();
+        logPrefix.set(String.format("uuid=%s#%d:", inParams.getUuid(), index));
+        try {
+            InParams entryInParams = new InParams();
+            entryInParams.setUuid(inParams.getUuid());
+            entryInParams.setCallerId(inParams.getCallerId());
+            entryInParams.setApi(entry.getApi());
+            entryInParams.setMethod(entry.getMethod());
+            entryInParams.setMultiParam(entry.isMultiParam());
+            entryInParams.setDataType(DataType.TEXT);
+            if (StrUtil.isNotEmpty(entry.getBody())) {
+                entryInParams.setBodyBytes(entry.getBody().getBytes(StandardCharsets.UTF_8));
+            }
+            if (StrUtil.isBlank(entry.getApi()) || StrUtil.isBlank(entry.getMethod())) {
+                throw new OpenApiServerException("API接口名、方法名不能为空");
+            }
+
+            //获取openapi处理器，方法级别的加密设置须与网关一致
+            ApiHandler apiHandler = getApiHandler(entryInParams);
+            if (this.getCryModeEnum(apiHandler) != this.cryModeEnum || this.isRetEncrypt(apiHandler) != this.retEncrypt) {
+                throw new OpenApiServerException("方法的加密设置与网关不一致，不支持批量调用");
+            }
+            if (Binary.class.isAssignableFrom(apiHandler.getMethod().getReturnType())) {
+                throw new OpenApiServerException("二进制类型的返回值不支持批量调用");
+            }
+
+            //获取方法参数
+            List<Object> params = Collections.emptyList();
+            if (ArrayUtil.isNotEmpty(entryInParams.getBodyBytes())) {
+                params = convertParams(entryInParams, apiHandler, entryInParams.getBodyBytes(), null);
+                for (Object param : params) {
+                    if (BinaryUtil.isBinaryParam(param)) {
+                        throw new OpenApiServerException("二进制类型的参数不支持批量调用");
+                    }
+                }
+            }
+
+            //调用目标方法
+            Object ret = invoke(apiHandler, params);
+            return BatchResult.success(ret == null ? StrUtil.EMPTY : StrObjectConvert.objToStr(ret, ret.getClass()));
+        } catch (OpenApiServerException be) {
+            log.error(logPrefix.get() + be.getMessage());
+            return BatchResult.error(be.getCode(), be.getMessage());
+        } catch (Exception ex) {
+            log.error(logPrefix.get() + "系统异常：", ex);
+            return BatchResult.error(ErrorCode.FAILED, "系统异常");
+        } finally {
+            if (previousPrefix != null) {
+                logPrefix.set(previousPrefix);
+            } else {
+                logPrefix.remove();
+            }
+        }
+    }
+
+    /**
+     * 构造批量调用的出参（使用网关的压缩、加密设置）
+     *
+     * @param inParams 批量请求的入参
+     * @param results  各条目的结果
+     * @return 出参
+     */
+    private OutParams getBatchOutParams(InParams inParams, List<BatchResult> results) {
+        OutParams outParams = OutParams.success();
+        outParams.setDataType(DataType.TEXT);
+        String retStr = JSONUtil.toJsonStr(results);
+        byte[] retBytes = enableCompress ? CompressUtil.compressText(retStr) : retStr.getBytes(StandardCharsets.UTF_8);
+        if (retEncrypt) {
+            retBytes = encryptRet(inParams, retBytes, outParams, this.cryModeEnum);
+        }
+        outParams.setData(retStr);
+        outParams.setDataBytes(retBytes);
+        return outParams;
+    }
+
+    /**
+     * 会话握手（会话加密模式下使用）
+     * <p>
+     * 验证调用者对其临时公钥、流水号及时间戳的签名，拒绝超出时间窗口或流水号重复（被重放）的握手请求后，
+     * 生成服务端临时密钥对并协商出会话密钥，返回服务端临时公钥、会话ID及有效期，并用本系统私钥签名，供调用者验证
+     * </p>
+     *
+     * @param request  请求对象
+     * @param response 响应对象
+     */
+    @PostMapping(value = Constant.HANDSHAKE_PATH,
+            consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE},
+            produces = {MediaType.APPLICATION_OCTET_STREAM_VALUE}
+    )
+    public void handshake(HttpServletRequest request, HttpServletResponse response) {
+        OutParams outParams = null;
+        InParams inParams = null;
+        try {
+            //获取入参
+            inParams = getHandshakeInParams(request);
+            log.debug("{}接收到握手请求：{}", logPrefix.get(), inParams);
+
+            //验证调用者对临时公钥、流水号及时间戳的签名
+            long timestamp = getHandshakeTimestamp(request);
+            long verifyStartTime = System.nanoTime();
+            byte[] requestSignContent = SessionKeyUtil.getHandshakeRequestSignContent(inParams.getBodyBytes(), inParams.getUuid(), timestamp);
+            boolean verify = asymmetricCryHandler.verifySign(getCallerPublicKey(inParams), requestSignContent, inParams.getSign());
+            this.logCostTime("验签", verifyStartTime);
+            if (!verify) {
+                throw new OpenApiServerException("验签失败");
+            }
+            if (!sessionManager.acceptHandshake(inParams.getCallerId(), inParams.getUuid(), timestamp)) {
+                throw new OpenApiServerException("握手请求已过期或重复");
+            }
+
+            //生成服务端临时密钥对，协商出会话密钥
+            long startTime = System.nanoTime();
+            byte[] clientPublicKey = inParams.getBodyBytes();
+            KeyPair keyPair = SessionKeyUtil.generateEphemeralKeyPair(asymmetricCryAlgo);
+            byte[] serverPublicKey = keyPair.getPublic().getEncoded();
+            SessionKey sessionKey = SessionKeyUtil.agree(keyPair.getPrivate(), clientPublicKey, clientPublicKey, serverPublicKey, sessionHmacAlgo);
+            sessionKey = sessionManager.create(inParams.getCallerId(), sessionKey);
+            this.logCostTime("会话密钥协商", startTime);
+
+            //对握手结果签名
+            byte[] signContent = SessionKeyUtil.getHandshakeSignContent(clientPublicKey, serverPublicKey, sessionKey.getSessionId(), inParams.getUuid());
+            outParams = OutParams.success();
+            outParams.setSessionId(sessionKey.getSessionId());
+            outParams.setSessionTtl(sessionManager.getTtl());
+            outParams.setSign(asymmetricCryHandler.sign(selfPrivateKey, signContent));
+            outParams.setDataBytes(serverPublicKey);
+            log.debug("{}会话创建成功：{}，当前会话数：{}", logPrefix.get(), sessionKey, sessionManager.size());
+        } catch (OpenApiServerException be) {
+            log.error(logPrefix.get() + be.getMessage());
+            outParams = OutParams.error(be.getCode(), be.getMessage());
         } catch (Exception ex) {
             log.error(logPrefix.get() + "系统异常：", ex);
             outParams = OutParams.error("系统异常");
@@ -268,26 +869,85 @@ public class OpenApiGateway {
                 outParams = OutParams.error("系统异常");
             }
             outParams.setUuid(inParams != null ? inParams.getUuid() : null);
-            if (outParams.getDataType() == null) {
-                outParams.setDataType(DataType.TEXT);
-            }
-            log.debug("{}响应体的数据类型为：{}", logPrefix.get(), outParams.getDataType());
+            outParams.setDataType(DataType.TEXT);
 
             //写返回值到响应
             writeOutParams(response, outParams);
-
-            log.debug("{}调用完毕：{}", logPrefix.get(), outParams);
             logPrefix.remove();
         }
     }
 
     /**
-     * 获取入参
+     * 获取握手请求的时间戳
+     *
+     * @param request 请求对象
+     * @return 时间戳（单位毫秒）
+     */
+    private long getHandshakeTimestamp(HttpServletRequest request) {
+        String timestamp = request.getHeader(Header.Request.TIMESTAMP);
+        if (StrUtil.isBlank(timestamp)) {
+            throw new OpenApiServerException("握手请求时间戳不能为空");
+        }
+        try {
+            return Long.parseLong(timestamp);
+        } catch (NumberFormatException ex) {
+            throw new OpenApiServerException("握手请求时间戳格式错误");
+        }
+    }
+
+    /**
+     * 获取握手入参
      *
      * @param request 请求对象
      * @return 入参
      */
-    private InParams getInParams(HttpServletRequest request) {
+    private InParams getHandshakeInParams(HttpServletRequest request) {
+        InParams inParams = new InParams();
+        try {
+            inParams.setUuid(request.getHeader(Header.Request.UUID));
+            logPrefix.set(String.format("uuid=%s:", inParams.getUuid()));
+            inParams.setCallerId(request.getHeader(Header.Request.CALLER_ID));
+            inParams.setSign(request.getHeader(Header.Request.SIGN));
+            inParams.setBodyBytes(IoUtil.readBytes(request.getInputStream()));
+        } catch (Exception ex) {
+            log.error(logPrefix.get() + "从请求流读取数据异常", ex);
+            throw new OpenApiServerException("从请求流读取数据异常:" + ex.getMessage());
+        }
+        if (StrUtil.isBlank(inParams.getUuid())) {
+            throw new OpenApiServerException("请求流水号不能为空");
+        }
+        if (StrUtil.isBlank(inParams.getCallerId())) {
+            throw new OpenApiServerException("调用者ID不能为空");
+        }
+        if (StrUtil.isBlank(inParams.getSign())) {
+            throw new OpenApiServerException("请求签名不能为空");
+        }
+        if (ArrayUtil.isEmpty(inParams.getBodyBytes())) {
+            throw new OpenApiServerException("临时公钥不能为空");
+        }
+        return inParams;
+    }
+
+    /**
+     * 获取入参
+     *
+     * @param request      请求对象
+     * @param streamBinary 二进制请求体是否流式接收（不读入内存）
+     * @return 入参
+     */
+    private InParams getInParams(HttpServletRequest request, boolean streamBinary) {
+        return getInParams(request, streamBinary, false);
+    }
+
+    /**
+     * 获取入参
+     *
+     * @param request      请求对象
+     * @param streamBinary 二进制请求体是否流式接收（不读入内存）
+     * @param streamAll    所有类型的请求体是否都流式接收（由调用方按预算读取）
+     * @return 入参
+     */
+    private InParams getInParams(HttpServletRequest request, boolean streamBinary, boolean streamAll) {
         InParams inParams = new InParams();
         try {
             //获取请求头
@@ -301,13 +961,26 @@ public class OpenApiGateway {
             inParams.setMethod(request.getHeader(Header.Request.METHOD));
             inParams.setSign(request.getHeader(Header.Request.SIGN));
             inParams.setSymmetricCryKey(request.getHeader(Header.Request.SYMMETRIC_CRY_KEY));
+            inParams.setSessionId(request.getHeader(Header.Request.SESSION_ID));
             inParams.setMultiParam(Boolean.parseBoolean(request.getHeader(Header.Request.MULTI_PARAM)));
             inParams.setDataType(Enum.valueOf(DataType.class, request.getHeader(Header.Request.DATA_TYPE)));
+            String binaryFormat = request.getHeader(Header.Request.BINARY_FORMAT);
+            if (StrUtil.isNotBlank(binaryFormat)) {
+                inParams.setBinaryFormat(Integer.parseInt(binaryFormat));
+            }
+            String chunkSize = request.getHeader(Header.Request.CHUNK_SIZE);
+            if (StrUtil.isNotBlank(chunkSize)) {
+                inParams.setChunkSize(Long.parseLong(chunkSize));
+            }
 
             //获取请求体
             InputStream inputStream = request.getInputStream();
-            byte[] inputBytes = IoUtil.readBytes(inputStream);
-            inParams.setBodyBytes(inputBytes);
+            if (streamAll || (streamBinary && inParams.getDataType() == DataType.BINARY)) {
+                inParams.setBodyStream(new RequestBody(inputStream, request.getContentLengthLong()));
+            } else {
+                byte[] inputBytes = IoUtil.readBytes(inputStream);
+                inParams.setBodyBytes(inputBytes);
+            }
             validateInParams(inParams);
         } catch (Exception ex) {
             log.error(logPrefix.get() + "从请求流读取数据异常", ex);
@@ -335,84 +1008,348 @@ public class OpenApiGateway {
     }
 
     /**
-     * 写返回值到响应
+     * 写返回值到响应
+     *
+     * @param response  HTTP响应对象
+     * @param outParams 返回值
+     */
+    private void writeOutParams(HttpServletResponse response, OutParams outParams) {
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            if (outParams.getUuid() != null) {
+                response.addHeader(Header.Response.UUID, outParams.getUuid());
+            }
+            response.addHeader(Header.Response.CODE, String.valueOf(outParams.getCode()));
+            if (outParams.getMessage() != null) {
+                response.addHeader(Header.Response.MESSAGE, Base64Util.strToBase64(outParams.getMessage()));
+            }
+            if (outParams.getSymmetricCryKey() != null) {
+                response.addHeader(Header.Response.SYMMETRIC_CRY_KEY, outParams.getSymmetricCryKey());
+            }
+            if (outParams.getSessionId() != null) {
+                response.addHeader(Header.Response.SESSION_ID, outParams.getSessionId());
+            }
+            if (outParams.getSessionTtl() != null) {
+                response.addHeader(Header.Response.SESSION_TTL, String.valueOf(outParams.getSessionTtl()));
+            }
+            if (outParams.getSign() != null) {
+                response.addHeader(Header.Response.SIGN, outParams.getSign());
+            }
+            response.addHeader(Header.Response.DATA_TYPE, outParams.getDataType().name());
+            if (outParams.getDataBuffers() != null) {
+                try (OutputStream out = response.getOutputStream()) {
+                    BinaryUtil.write(out, outParams.getDataBuffers());
+                }
+                return;
+            }
+            if (ArrayUtil.isEmpty(outParams.getDataBytes())) {
+                return;
+            }
+            IoUtil.write(response.getOutputStream(), true, outParams.getDataBytes());
+        } catch (Exception ex) {
+            log.error(logPrefix.get() + "写返回值到响应流异常", ex);
+        }
+    }
+
+
+    /**
+     * 获取openapi处理器
+     *
+     * @param inParams 入参
+     * @return openapi处理器
+     */
+    private ApiHandler getApiHandler(InParams inParams) {
+        String handlerKey = getHandlerKey(inParams.getApi(), inParams.getMethod());
+        ApiHandler apiHandler = apiHandlerMap.get(handlerKey);
+        if (apiHandler == null) {
+            throw new OpenApiServerException("找不到指定的openapi处理器");
+        }
+        return apiHandler;
+    }
+
+    /**
+     * 获取方法参数
+     *
+     * @param inParams   入参
+     * @param apiHandler openapi处理器
+     * @param receiver   二进制数据接收器
+     * @return 方法参数
+     */
+    private List<Object> getParam(InParams inParams, ApiHandler apiHandler, BinaryReceiver receiver) {
+        CryModeEnum cryModeEnum = this.getCryModeEnum(apiHandler);
+        if (inParams.getBodyStream() != null) {
+            if (cryModeEnum != CryModeEnum.ASYMMETRIC_CRY) {
+                return getStreamParam(inParams, apiHandler, cryModeEnum, receiver);
+            }
+            //非对称加密只能整体解密，读取完整请求体后按字节数组处理
+            inParams.setBodyBytes(readBody(inParams.getBodyStream(), receiver));
+            inParams.setBodyStream(null);
+        }
+
+        //验签
+        verify(inParams, cryModeEnum);
+
+        //请求体为空，即参数为空
+        if (ArrayUtil.isEmpty(inParams.getBodyBytes())) {
+            return Collections.emptyList();
+        }
+
+        //解密&解压
+        byte[] bodyBytes = decryptBody(inParams, cryModeEnum, isEnableCompress(apiHandler));
+        return convertParams(inParams, apiHandler, bodyBytes, receiver);
+    }
+
+    /**
+     * 流式获取方法参数
+     * <p>
+     * 请求体边接收边验签、解密、解压，二进制数据按预算读入内存或写入临时文件（超过阈值的{@link StreamBinary}），
+     * 请求体接收完毕且验签通过后才返回参数
+     * </p>
+     *
+     * @param inParams    入参
+     * @param apiHandler  openapi处理器
+     * @param cryModeEnum 加密模式
+     * @param receiver    二进制数据接收器
+     * @return 方法参数
+     */
+    private List<Object> getStreamParam(InParams inParams, ApiHandler apiHandler, CryModeEnum cryModeEnum, BinaryReceiver receiver) {
+        long startTime = System.nanoTime();
+        StreamBody body = inParams.getBodyStream();
+        long length = body.getLength();
+        InputStream wire = null;
+        try {
+            wire = body.open();
+            if (length < 0) {
+                //分块传输时长度未知，先写入临时文件（HMAC签名内容包含请求体长度）
+                Path file = receiver.spool(wire);
+                wire.close();
+                length = Files.size(file);
+                wire = Files.newInputStream(file);
+            }
+            if (length == 0) {
+                //请求体为空，即参数为空（按空请求体验签，客户端签名时携带了请求体则验签失败）
+                inParams.setBodyBytes(new byte[0]);
+                inParams.setBodyStream(null);
+                verify(inParams, cryModeEnum);
+                return Collections.emptyList();
+            }
+
+            //边接收边验签
+            ContentVerifier verifier = newStreamVerifier(inParams, cryModeEnum, length);
+            InputStream verifying = verifier == null ? wire : PipelineUtil.verify(wire, verifier);
+
+            //边接收边解密&解压
+            SymmetricCryHandler handler = null;
+            byte[] keyBytes = null;
+            if (cryModeEnum == CryModeEnum.SYMMETRIC_CRY) {
+                handler = this.symmetricCryHandler;
+                keyBytes = this.unwrapSymmetricKey(inParams.getCallerId(), inParams.getSymmetricCryKey());
+            } else if (cryModeEnum == CryModeEnum.SESSION_CRY) {
+                handler = this.symmetricCryHandler;
+                keyBytes = getSessionKey(inParams).getCryKey();
+            }
+            if (handler instanceof AeadSymmetricCryHandler) {
+                //AEAD解密需在认证标签校验通过后才输出明文，密文由JCE在内存中缓冲
+                receiver.acquireMemory(length);
+            }
+            DataInputStream in = new DataInputStream(PipelineUtil.open(verifying, isEnableCompress(apiHandler), handler, keyBytes,
+                    handler == null ? null : CommonUtil.getRequestAad(inParams)));
+
+            //读取参数及二进制数据
+            BinaryFrameReader reader = new BinaryFrameReader(in);
+            String paramStr = new String(receiver.readBytes(in, reader.getParamLength()), StandardCharsets.UTF_8);
+            int binaryCount = reader.readBinaryCount();
+            int[] filled = {0};
+            List<Binary> chunkedBinaries = new ArrayList<>();
+            List<Object> params = convertParams(inParams, apiHandler, paramStr, chunkFiller(chunkedBinaries, binary -> {
+                filled[0]++;
+                long binaryLength = reader.nextBinaryLength();
+                if (binary instanceof StreamBinary) {
+                    StreamBinary streamBinary = (StreamBinary) binary;
+                    if (receiver.shouldSpool(binaryLength)) {
+                        streamBinary.bind(receiver.readFile(in, binaryLength));
+                    } else {
+                        streamBinary.bind(receiver.readBytes(in, binaryLength));
+                    }
+                } else {
+                    binary.setData(receiver.readBytes(in, binaryLength));
+                }
+            }));
+            if (filled[0] != binaryCount || in.read() >= 0) {
+                throw new OpenApiServerException("二进制数据格式错误：文件个数不匹配");
+            }
+
+            //读取剩余的请求体后完成验签
+            byte[] buffer = new byte[8192];
+            while (verifying.read(buffer) >= 0) {
+                //仅送入验签器
+            }
+            if (verifier != null && !verifier.verify(inParams.getSign())) {
+                throw new OpenApiServerException("验签失败");
+            }
+            this.logCostTime("接收请求体", startTime);
+
+            //验签通过后才合并已分片上传的二进制数据
+            fillChunkedBinaries(inParams, chunkedBinaries, receiver);
+            return params;
+        } catch (OpenApiServerException be) {
+            throw be;
+        } catch (Exception ex) {
+            log.error(logPrefix.get() + "接收请求体异常", ex);
+            throw new OpenApiServerException("接收请求体异常:" + ex.getMessage());
+        } finally {
+            IoUtil.close(wire);
+        }
+    }
+
+    /**
+     * 创建流式请求体的验签器，签名内容与{@link #verify(InParams, CryModeEnum)}一致
      *
-     * @param response  HTTP响应对象
-     * @param outParams 返回值
+     * @param inParams    入参
+     * @param cryModeEnum 加密模式
+     * @param length      请求体长度
+     * @return 验签器，请求体不参与签名时（会话模式AEAD加密）已完成验签，返回null
      */
-    private void writeOutParams(HttpServletResponse response, OutParams outParams) {
-        try {
-            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
-            if (outParams.getUuid() != null) {
-                response.addHeader(Header.Response.UUID, outParams.getUuid());
+    private ContentVerifier newStreamVerifier(InParams inParams, CryModeEnum cryModeEnum, long length) {
+        //请求体之后的签名内容：流水号+接口名+方法名
+        byte[][] hmacParts = Arrays.copyOfRange(CommonUtil.getHmacSignContent(inParams, false), 1, 4);
+        if (cryModeEnum == CryModeEnum.HMAC) {
+            String secret = config.getCallerHmacSecret(inParams.getCallerId());
+            if (StrUtil.isBlank(secret)) {
+                throw new OpenApiServerException("找不到调用者HMAC密钥");
             }
-            response.addHeader(Header.Response.CODE, String.valueOf(outParams.getCode()));
-            if (outParams.getMessage() != null) {
-                response.addHeader(Header.Response.MESSAGE, Base64Util.strToBase64(outParams.getMessage()));
+            return HmacUtil.newVerifier(hmacAlgo, HmacUtil.bytes(secret), length, hmacParts);
+        }
+        if (cryModeEnum == CryModeEnum.SESSION_CRY) {
+            if (this.symmetricCryHandler instanceof AeadSymmetricCryHandler) {
+                verifySessionSign(inParams);
+                return null;
             }
-            if (outParams.getSymmetricCryKey() != null) {
-                response.addHeader(Header.Response.SYMMETRIC_CRY_KEY, outParams.getSymmetricCryKey());
+            return HmacUtil.newVerifier(sessionHmacAlgo, getSessionKey(inParams).getMacKey(), length, hmacParts);
+        }
+        //请求体+流水号
+        ContentVerifier verifier = this.asymmetricCryHandler.newVerifier(getCallerPublicKey(inParams));
+        byte[] uuidBytes = HmacUtil.bytes(inParams.getUuid());
+        return new ContentVerifier() {
+            @Override
+            public void update(byte[] content, int offset, int len) {
+                verifier.update(content, offset, len);
             }
-            response.addHeader(Header.Response.DATA_TYPE, outParams.getDataType().name());
-            if (ArrayUtil.isEmpty(outParams.getDataBytes())) {
-                return;
+
+            @Override
+            public boolean verify(String sign) {
+                verifier.update(uuidBytes);
+                return verifier.verify(sign);
             }
-            IoUtil.write(response.getOutputStream(), true, outParams.getDataBytes());
+        };
+    }
+
+    /**
+     * 按预算读取完整的流式请求体
+     *
+     * @param body     流式请求体
+     * @param receiver 二进制数据接收器
+     * @return 请求体
+     */
+    private byte[] readBody(StreamBody body, BinaryReceiver receiver) {
+        return readBody(body, receiver, Long.MAX_VALUE);
+    }
+
+    /**
+     * 按预算读取完整的流式请求体，超出上限时拒绝
+     *
+     * @param body      流式请求体
+     * @param receiver  二进制数据接收器
+     * @param maxLength 请求体的大小上限
+     * @return 请求体
+     */
+    private byte[] readBody(StreamBody body, BinaryReceiver receiver, long maxLength) {
+        if (body.getLength() > maxLength) {
+            throw new OpenApiServerException("请求体超出上限" + maxLength);
+        }
+        try (InputStream in = body.open()) {
+            if (body.getLength() >= 0) {
+                return receiver.readBytes(new DataInputStream(in), body.getLength());
+            }
+            Path file = receiver.spool(in, maxLength);
+            receiver.acquireMemory(Files.size(file));
+            return Files.readAllBytes(file);
+        } catch (OpenApiServerException be) {
+            throw be;
         } catch (Exception ex) {
-            log.error(logPrefix.get() + "写返回值到响应流异常", ex);
+            log.error(logPrefix.get() + "从请求流读取数据异常", ex);
+            throw new OpenApiServerException("从请求流读取数据异常:" + ex.getMessage());
         }
     }
 
-
     /**
-     * 获取openapi处理器
+     * 验签
      *
-     * @param inParams 入参
-     * @return openapi处理器
+     * @param inParams    入参
+     * @param cryModeEnum 加密模式
      */
-    private ApiHandler getApiHandler(InParams inParams) {
-        String handlerKey = getHandlerKey(inParams.getApi(), inParams.getMethod());
-        ApiHandler apiHandler = apiHandlerMap.get(handlerKey);
-        if (apiHandler == null) {
-            throw new OpenApiServerException("找不到指定的openapi处理器");
+    private void verify(InParams inParams, CryModeEnum cryModeEnum) {
+        if (cryModeEnum == CryModeEnum.SESSION_CRY) {
+            verifySessionSign(inParams);
+        } else if (cryModeEnum == CryModeEnum.HMAC) {
+            verifyHmacSign(inParams);
+        } else {
+            verifySign(inParams);
         }
-        return apiHandler;
     }
 
     /**
-     * 获取方法参数
+     * 将解密后的入参体转换为方法参数
      *
      * @param inParams   入参
      * @param apiHandler openapi处理器
+     * @param bodyBytes  解密、解压后的入参体
+     * @param receiver   二进制数据接收器（批量调用时为null，不支持分片传输的参数）
      * @return 方法参数
      */
-    private List<Object> getParam(InParams inParams, ApiHandler apiHandler) {
-        //验签
-        verifySign(inParams);
-
-        //请求体为空，即参数为空
-        if (ArrayUtil.isEmpty(inParams.getBodyBytes())) {
-            return Collections.emptyList();
+    private List<Object> convertParams(InParams inParams, ApiHandler apiHandler, byte[] bodyBytes, BinaryReceiver receiver) {
+        if (inParams.getDataType() != DataType.BINARY) {
+            return convertParams(inParams, apiHandler, new String(bodyBytes, StandardCharsets.UTF_8), null);
+        }
+        //二进制类型，解析出参数及各文件数据的位置，二进制数据按序号从请求体中截取
+        BinaryFrame frame;
+        try {
+            frame = BinaryUtil.parseFrame(bodyBytes);
+        } catch (Exception ex) {
+            log.error(logPrefix.get() + "入参转换异常", ex);
+            throw new OpenApiServerException("入参转换异常:" + ex.getMessage());
+        }
+        int[] index = {0};
+        BinaryFiller filler = binary -> this.fillBinaryData(binary, frame, index[0]++);
+        List<Binary> chunkedBinaries = new ArrayList<>();
+        List<Object> params = convertParams(inParams, apiHandler, frame.getParamStr(),
+                receiver == null ? filler : chunkFiller(chunkedBinaries, filler));
+        if (index[0] != frame.getBinaryCount()) {
+            throw new OpenApiServerException("二进制数据格式错误：文件个数不匹配");
+        }
+        try {
+            fillChunkedBinaries(inParams, chunkedBinaries, receiver);
+        } catch (IOException ex) {
+            log.error(logPrefix.get() + "合并分片异常", ex);
+            throw new OpenApiServerException("合并分片异常:" + ex.getMessage());
         }
+        return params;
+    }
 
-        //解密
-        byte[] bodyBytes = decryptBody(inParams, apiHandler);
-        String paramStr;
+    /**
+     * 将参数字符串转换为方法参数
+     *
+     * @param inParams   入参
+     * @param apiHandler openapi处理器
+     * @param paramStr   参数字符串
+     * @param filler     二进制数据填充器（非二进制类型时为null）
+     * @return 方法参数
+     */
+    private List<Object> convertParams(InParams inParams, ApiHandler apiHandler, String paramStr, BinaryFiller filler) {
         try {
             Type[] paramTypes = apiHandler.getParamTypes();
             List<Type> paramTypeList = getNormalParamTypeList(paramTypes);
             //将入参转换为方法参数
-            int paramLength = 0;
-            long binaryLengthStartIndex = 0;
-            if (inParams.getDataType() == DataType.BINARY) {
-                //二进制类型，提取参数byte[]转换为参数
-                bodyBytes = isEnableCompress(apiHandler) ? CompressUtil.decompress(bodyBytes) : bodyBytes;
-                paramLength = BinaryUtil.getParamLength(bodyBytes);
-                binaryLengthStartIndex = BinaryUtil.getBinaryLengthStartIndex(paramLength);
-                paramStr = BinaryUtil.getParamStr(bodyBytes, paramLength);
-            } else {
-                paramStr = isEnableCompress(apiHandler) ? CompressUtil.decompressToText(bodyBytes) : new String(bodyBytes, StandardCharsets.UTF_8);
-            }
             List<Object> normalParams = new ArrayList<>();
             if (inParams.isMultiParam()) {
                 //多参支持
@@ -423,8 +1360,8 @@ public class OpenApiGateway {
                 for (int i = 0; i < list.size(); i++) {
                     Object obj = StrObjectConvert.strToObj(list.get(i), paramTypeList.get(i));
                     //如果是二进制类型参数，则按照顺序依次填充数据
-                    if (BinaryUtil.isBinaryParam(obj)) {
-                        binaryLengthStartIndex = this.fillBinaryParam(obj, bodyBytes, binaryLengthStartIndex);
+                    if (filler != null && BinaryUtil.isBinaryParam(obj)) {
+                        this.fillBinaryParam(obj, filler);
                     }
                     normalParams.add(obj);
                 }
@@ -433,8 +1370,8 @@ public class OpenApiGateway {
                     //单参
                     Type paramType = paramTypeList.get(0);
                     Object obj = StrObjectConvert.strToObj(paramStr, paramType);
-                    if (BinaryUtil.isBinaryParam(obj)) {
-                        this.fillBinaryParam(obj, bodyBytes, binaryLengthStartIndex);
+                    if (filler != null && BinaryUtil.isBinaryParam(obj)) {
+                        this.fillBinaryParam(obj, filler);
                     }
                     normalParams.add(obj);
                 } else {
@@ -503,58 +1440,154 @@ public class OpenApiGateway {
     /**
      * 填充二进制类型参数对象
      *
-     * @param obj                    参数对象
-     * @param bodyBytes              HTTP请求体（或响应体）的字节数据
-     * @param binaryLengthStartIndex 二进制数据长度信息的起始索引
-     * @return 下一个二进制数据长度信息的起始索引
+     * @param obj    参数对象
+     * @param filler 二进制数据填充器
+     * @throws IOException 读取异常
      */
-    private long fillBinaryParam(Object obj, byte[] bodyBytes, long binaryLengthStartIndex) {
+    private void fillBinaryParam(Object obj, BinaryFiller filler) throws IOException {
         if (obj instanceof Binary) {
-            binaryLengthStartIndex = this.fillBinaryData((Binary) obj, bodyBytes, binaryLengthStartIndex);
+            filler.fill((Binary) obj);
         } else if (TypeUtil.isBinaryArray(obj.getClass())) {
             Binary[] binaries = (Binary[]) obj;
             for (Binary binary : binaries) {
-                binaryLengthStartIndex = this.fillBinaryData(binary, bodyBytes, binaryLengthStartIndex);
+                filler.fill(binary);
             }
         } else if (TypeUtil.isBinaryCollection(obj)) {
             Collection coll = (Collection) obj;
             for (Object element : coll) {
-                Binary binary = (Binary) element;
-                binaryLengthStartIndex = this.fillBinaryData(binary, bodyBytes, binaryLengthStartIndex);
+                filler.fill((Binary) element);
             }
         }
-        return binaryLengthStartIndex;
     }
 
 
     /**
      * 填充Binary对象中的数据
      *
-     * @param binary                 二进制对象
-     * @param bodyBytes              整个请求体的数据
-     * @param binaryLengthStartIndex 二进制数据长度信息(BinarySize)的起始位置
-     * @return 下一个二进制数据长度信息(BinarySize)的起始位置
+     * @param binary 二进制对象
+     * @param frame  解析后的请求体
+     * @param index  文件序号
+     */
+    private void fillBinaryData(Binary binary, BinaryFrame frame, int index) {
+        if (binary instanceof StreamBinary) {
+            //流式文件直接引用请求体中的数据
+            ((StreamBinary) binary).bind(frame.getBinaryData(index));
+        } else {
+            binary.setData(frame.getBinaryDataBytes(index));
+        }
+    }
+
+    /**
+     * 包装二进制数据填充器：已分片上传的二进制对象（带分片传输ID）只记录下来，验签通过后再由
+     * {@link #fillChunkedBinaries}从暂存器合并后填充，其它的从请求体中填充
+     *
+     * @param chunkedBinaries 记录已分片上传的二进制对象
+     * @param filler          从请求体中填充的填充器
+     * @return 填充器
+     */
+    private BinaryFiller chunkFiller(List<Binary> chunkedBinaries, BinaryFiller filler) {
+        return binary -> {
+            if (binary.getTransferId() == null) {
+                filler.fill(binary);
+            } else {
+                checkTransferId(binary.getTransferId());
+                chunkedBinaries.add(binary);
+            }
+        };
+    }
+
+    /**
+     * 合并已分片上传的二进制对象（须在验签通过后调用，避免未认证的请求触发合并）
+     *
+     * @param inParams        入参
+     * @param chunkedBinaries 已分片上传的二进制对象
+     * @param receiver        二进制数据接收器
+     * @throws IOException 读取异常
+     */
+    private void fillChunkedBinaries(InParams inParams, List<Binary> chunkedBinaries, BinaryReceiver receiver) throws IOException {
+        for (Binary binary : chunkedBinaries) {
+            fillChunkedBinary(inParams, binary, receiver);
+        }
+    }
+
+    /**
+     * 合并已上传的分片并填充到二进制对象中
+     * <p>
+     * 流式文件直接绑定合并后的文件，其它的按内存预算读入内存；调用成功后删除暂存的数据，失败时保留以便客户端重试
+     * </p>
+     *
+     * @param inParams 入参
+     * @param binary   二进制对象
+     * @param receiver 二进制数据接收器
+     * @throws IOException 读取异常
+     */
+    private void fillChunkedBinary(InParams inParams, Binary binary, BinaryReceiver receiver) throws IOException {
+        String callerId = inParams.getCallerId();
+        String transferId = binary.getTransferId();
+        long startTime = System.nanoTime();
+        Path file = chunkStore.assemble(callerId, transferId, binary.getLength());
+        if (binary instanceof StreamBinary) {
+            ((StreamBinary) binary).bind(file);
+        } else {
+            if (binary.getLength() > Integer.MAX_VALUE - 8) {
+                throw new OpenApiServerException("二进制数据超过2GB，请使用StreamBinary接收");
+            }
+            receiver.acquireMemory(binary.getLength());
+            binary.setData(Files.readAllBytes(file));
+        }
+        binary.setTransferId(null);
+        receiver.onSuccess(() -> deleteTransfer(callerId, transferId));
+        this.logCostTime("合并分片", startTime);
+    }
+
+    /**
+     * 删除分片传输暂存的数据（删除失败时由暂存器按保留时间清理）
+     *
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     */
+    private void deleteTransfer(String callerId, String transferId) {
+        try {
+            chunkStore.delete(callerId, transferId);
+        } catch (Exception ex) {
+            log.warn("{}删除分片传输失败：{}", logPrefix.get(), ex.getMessage());
+        }
+    }
+
+    /**
+     * 校验分片传输ID
+     *
+     * @param transferId 分片传输ID
      */
-    private long fillBinaryData(Binary binary, byte[] bodyBytes, long binaryLengthStartIndex) {
-        byte[] binaryDataBytes = BinaryUtil.getBinaryDataBytes(bodyBytes, binaryLengthStartIndex);
-        binary.setData(binaryDataBytes);
-        return BinaryUtil.getNextBinaryLengthStartIndex(binaryLengthStartIndex, binaryDataBytes);
+    private void checkTransferId(String transferId) {
+        try {
+            ChunkUtil.checkTransferId(transferId);
+        } catch (OpenApiException ex) {
+            throw new OpenApiServerException(ex.getMessage());
+        }
     }
 
 
     /**
      * 验签
+     * <p>
+     * 请求体与流水号依次送入增量验签器，无需拼接签名内容
+     * </p>
      *
      * @param inParams 入参
      */
     private void verifySign(InParams inParams) {
         long startTime = System.nanoTime();
-        String callerPublicKey = config.getCallerPublicKey(inParams.getCallerId());
-        if (StrUtil.isBlank(callerPublicKey)) {
-            throw new OpenApiServerException("找不到调用者公钥");
+        if (inParams.getUuid() == null) {
+            throw new OpenApiServerException("流水号不能为空");
         }
-        byte[] signContent = CommonUtil.getSignContent(inParams);
-        boolean verify = this.asymmetricCryHandler.verifySign(callerPublicKey, signContent, inParams.getSign());
+        ContentVerifier verifier = this.asymmetricCryHandler.newVerifier(getCallerPublicKey(inParams));
+        //与CommonUtil.getSignContent的内容一致：请求体+流水号
+        if (inParams.getBodyBytes() != null) {
+            verifier.update(inParams.getBodyBytes());
+        }
+        verifier.update(HmacUtil.bytes(inParams.getUuid()));
+        boolean verify = verifier.verify(inParams.getSign());
         this.logCostTime("验签", startTime);
         if (!verify) {
             throw new OpenApiServerException("验签失败");
@@ -562,25 +1595,78 @@ public class OpenApiGateway {
     }
 
     /**
-     * 解密入参体
+     * 验证会话签名（HMAC）
      *
-     * @param inParams   入参
-     * @param apiHandler openapi处理器
-     * @return 解密后的入参体
+     * @param inParams 入参
+     */
+    private void verifySessionSign(InParams inParams) {
+        long startTime = System.nanoTime();
+        SessionKey sessionKey = getSessionKey(inParams);
+        //AEAD加密时请求体由认证标签保护，HMAC只需覆盖流水号、接口名、方法名
+        boolean signBody = !(this.symmetricCryHandler instanceof AeadSymmetricCryHandler);
+        boolean verify = HmacUtil.verify(sessionHmacAlgo, sessionKey.getMacKey(), inParams.getSign(), CommonUtil.getHmacSignContent(inParams, signBody));
+        this.logCostTime("验签", startTime);
+        if (!verify) {
+            throw new OpenApiServerException("验签失败");
+        }
+    }
+
+    /**
+     * 验证HMAC签名（HMAC模式，使用调用者的共享密钥）
+     *
+     * @param inParams 入参
+     */
+    private void verifyHmacSign(InParams inParams) {
+        long startTime = System.nanoTime();
+        String secret = config.getCallerHmacSecret(inParams.getCallerId());
+        if (StrUtil.isBlank(secret)) {
+            throw new OpenApiServerException("找不到调用者HMAC密钥");
+        }
+        boolean verify = HmacUtil.verify(hmacAlgo, HmacUtil.bytes(secret), inParams.getSign(), CommonUtil.getHmacSignContent(inParams));
+        this.logCostTime("验签", startTime);
+        if (!verify) {
+            throw new OpenApiServerException("验签失败");
+        }
+    }
+
+    /**
+     * 获取调用者的会话密钥
+     *
+     * @param inParams 入参
+     * @return 会话密钥
+     */
+    private SessionKey getSessionKey(InParams inParams) {
+        SessionKey sessionKey = sessionManager.get(inParams.getSessionId(), inParams.getCallerId());
+        if (sessionKey == null) {
+            throw new OpenApiServerException(ErrorCode.SESSION_INVALID, "会话不存在或已过期，请重新握手");
+        }
+        return sessionKey;
+    }
+
+    /**
+     * 解密并解压入参体（对称加密时解密与解压在同一流水线中完成）
+     *
+     * @param inParams    入参
+     * @param cryModeEnum 加密模式
+     * @param decompress  是否解压
+     * @return 解密、解压后的入参体
      */
-    private byte[] decryptBody(InParams inParams, ApiHandler apiHandler) {
+    private byte[] decryptBody(InParams inParams, CryModeEnum cryModeEnum, boolean decompress) {
         long startTime = System.nanoTime();
         byte[] bodyBytes = inParams.getBodyBytes();
         try {
-            CryModeEnum cryModeEnum = this.getCryModeEnum(apiHandler);
             if (cryModeEnum == CryModeEnum.SYMMETRIC_CRY) {
-                String key = this.asymmetricCryHandler.deCry(selfPrivateKey, inParams.getSymmetricCryKey());
-                byte[] keyBytes = Base64Util.base64ToBytes(key);
-                bodyBytes = this.symmetricCryHandler.deCry(bodyBytes, keyBytes);
+                byte[] keyBytes = this.unwrapSymmetricKey(inParams.getCallerId(), inParams.getSymmetricCryKey());
+                bodyBytes = PipelineUtil.open(bodyBytes, decompress, this.symmetricCryHandler, keyBytes, CommonUtil.getRequestAad(inParams));
+            } else if (cryModeEnum == CryModeEnum.SESSION_CRY) {
+                bodyBytes = PipelineUtil.open(bodyBytes, decompress, this.symmetricCryHandler, getSessionKey(inParams).getCryKey(),
+                        CommonUtil.getRequestAad(inParams));
             } else if (cryModeEnum == CryModeEnum.ASYMMETRIC_CRY) {
                 bodyBytes = this.asymmetricCryHandler.deCry(selfPrivateKey, bodyBytes);
+                bodyBytes = decompress ? CompressUtil.decompress(bodyBytes) : bodyBytes;
             } else {
-                //不加密模式CryModeEnum.NONE
+                //不加密模式CryModeEnum.NONE、CryModeEnum.HMAC
+                bodyBytes = PipelineUtil.open(bodyBytes, decompress, null, null, null);
             }
         } catch (OpenApiServerException be) {
             throw new OpenApiServerException("解密失败：" + be.getMessage());
@@ -603,34 +1689,30 @@ public class OpenApiGateway {
     private OutParams doCall(ApiHandler apiHandler, List<Object> paramList, InParams inParams) {
         try {
             OutParams outParams = OutParams.success();
-
-            long startTime = System.nanoTime();
-            Object[] params = paramList.toArray();
-
-            log.debug("{}调用API:{},入参：{}", logPrefix.get(), apiHandler, TruncateUtil.truncate(paramList));
-            Object ret;
-            try {
-                ret = apiHandler.getMethod().invoke(apiHandler.getBean(), params);
-            } catch (InvocationTargetException ex) {
-                Throwable target = ex.getTargetException();
-                if (target instanceof OpenApiServerException) {
-                    throw (OpenApiServerException) target;
-                }
-                throw ex;
-            }
-            log.debug("{}调用API:{},出参：{}", logPrefix.get(), apiHandler, TruncateUtil.truncate(ret));
-            this.logCostTime("调用API", startTime);
+            Object ret = invoke(apiHandler, paramList);
 
             String retStr = StrUtil.EMPTY;
             byte[] retBytes = null;
+            ByteBuffer[] retBuffers = null;
             outParams.setDataType(DataType.TEXT);
             if (ret != null) {
-                if (ret instanceof Binary) {
+                if (ret instanceof Binary && isChunkDownload(inParams, (Binary) ret)) {
+                    //客户端支持分片下载且数据超过分片大小，暂存数据后只返回二进制对象的属性及分片传输ID
+                    retStr = stageBinary(inParams, (Binary) ret);
+                    retBytes = isEnableCompress(apiHandler) ? CompressUtil.compressText(retStr) : retStr.getBytes(StandardCharsets.UTF_8);
+                    outParams.setDataType(DataType.CHUNKED);
+                } else if (ret instanceof Binary) {
                     //二进制类型，将其它属性与数据分开传输
                     Binary binary = (Binary) ret;
                     retStr = BinaryUtil.getBinaryString(binary);
-                    retBytes = BinaryUtil.buildSingleBinaryBytes(binary, retStr);
-                    retBytes = isEnableCompress(apiHandler) ? CompressUtil.compress(retBytes) : retBytes;
+                    ByteBuffer[] buffers = BinaryUtil.buildSingleBinaryBuffers(binary, retStr, inParams.getBinaryFormat());
+                    if (isEnableCompress(apiHandler) || isRetEncrypt(apiHandler)) {
+                        retBytes = BinaryUtil.toBytes(buffers);
+                        retBytes = isEnableCompress(apiHandler) ? CompressUtil.compress(retBytes) : retBytes;
+                    } else {
+                        //无需压缩、加密时参数与数据依次写出，不拼接成新的数组
+                        retBuffers = buffers;
+                    }
                     outParams.setDataType(DataType.BINARY);
                 } else {
                     //文本类型直接转成字符串
@@ -647,11 +1729,12 @@ public class OpenApiGateway {
                 //判断返回值是否需要加密
                 boolean retEncrypt = isRetEncrypt(apiHandler);
                 if (retEncrypt) {
-                    retBytes = encryptRet(inParams, retBytes, outParams, apiHandler);
+                    retBytes = encryptRet(inParams, retBytes, outParams, this.getCryModeEnum(apiHandler));
                 }
             }
             outParams.setData(retStr);
             outParams.setDataBytes(retBytes);
+            outParams.setDataBuffers(retBuffers);
             return outParams;
         } catch (OpenApiServerException be) {
             throw new OpenApiServerException("调用opeapi处理器异常:" + be.getMessage());
@@ -662,37 +1745,93 @@ public class OpenApiGateway {
     }
 
     /**
-     * 加密返回值
+     * 是否分片下载二进制返回值（客户端支持分片下载、分片大小不超过上限且数据超过分片大小）
+     *
+     * @param inParams openapi入参
+     * @param binary   二进制返回值
+     * @return 是否分片下载
+     */
+    private boolean isChunkDownload(InParams inParams, Binary binary) {
+        long chunkSize = inParams.getChunkSize();
+        return chunkSize > 0 && chunkSize <= chunkMaxSize && binary.getLength() > chunkSize;
+    }
+
+    /**
+     * 暂存二进制返回值，供客户端分片下载
+     *
+     * @param inParams openapi入参
+     * @param binary   二进制返回值
+     * @return 二进制对象的字符串表示（数据清空，带分片传输ID）
+     * @throws IOException 读写异常
+     */
+    private String stageBinary(InParams inParams, Binary binary) throws IOException {
+        long startTime = System.nanoTime();
+        String transferId;
+        if (binary instanceof StreamBinary) {
+            try (InputStream in = ((StreamBinary) binary).openStream()) {
+                transferId = chunkStore.stage(inParams.getCallerId(), in);
+            }
+        } else {
+            byte[] data = binary.getData() == null ? new byte[0] : binary.getData();
+            transferId = chunkStore.stage(inParams.getCallerId(), new ByteArrayInputStream(data));
+        }
+        binary.setTransferId(transferId);
+        this.logCostTime("暂存二进制返回值", startTime);
+        return BinaryUtil.getBinaryString(binary);
+    }
+
+    /**
+     * 反射调用目标方法
      *
-     * @param inParams   openapi入参
-     * @param retBytes   返回值（字节数组表示）
-     * @param outParams  openapi出参
      * @param apiHandler openapi处理器
-     * @return 加密后的返回值
+     * @param paramList  方法参数
+     * @return 目标方法的返回值
+     * @throws Exception 目标方法抛出的异常（OpenApiServerException原样抛出）
      */
-    private byte[] encryptRet(InParams inParams, byte[] retBytes, OutParams outParams, ApiHandler apiHandler) {
+    private Object invoke(ApiHandler apiHandler, List<Object> paramList) throws Exception {
+        long startTime = System.nanoTime();
+        log.debug("{}调用API:{},入参：{}", logPrefix.get(), apiHandler, TruncateUtil.truncate(paramList));
+        Object ret;
         try {
-            long startTime = System.nanoTime();
-            //获取调用者公钥
-            String callerPublicKey = config.getCallerPublicKey(inParams.getCallerId());
-            if (StrUtil.isBlank(callerPublicKey)) {
-                throw new OpenApiServerException("找不到调用者公钥");
+            ret = apiHandler.getMethod().invoke(apiHandler.getBean(), paramList.toArray());
+        } catch (InvocationTargetException ex) {
+            Throwable target = ex.getTargetException();
+            if (target instanceof OpenApiServerException) {
+                throw (OpenApiServerException) target;
             }
+            throw ex;
+        }
+        log.debug("{}调用API:{},出参：{}", logPrefix.get(), apiHandler, TruncateUtil.truncate(ret));
+        this.logCostTime("调用API", startTime);
+        return ret;
+    }
 
+    /**
+     * 加密返回值
+     *
+     * @param inParams    openapi入参
+     * @param retBytes    返回值（字节数组表示）
+     * @param outParams   openapi出参
+     * @param cryModeEnum 加密模式
+     * @return 加密后的返回值
+     */
+    private byte[] encryptRet(InParams inParams, byte[] retBytes, OutParams outParams, CryModeEnum cryModeEnum) {
+        try {
+            long startTime = System.nanoTime();
             //加密返回值
-            CryModeEnum cryModeEnum = this.getCryModeEnum(apiHandler);
             if (cryModeEnum == CryModeEnum.SYMMETRIC_CRY) {
                 //启用对称加密模式
-                byte[] keyBytes = this.symmetricCryHandler.generateKey();
-                String key = Base64Util.bytesToBase64(keyBytes);
-                String cryKey = this.asymmetricCryHandler.cry(callerPublicKey, key);
-                outParams.setSymmetricCryKey(cryKey);
-                retBytes = this.symmetricCryHandler.cry(retBytes, keyBytes);
+                WrappedKey wrappedKey = this.getRetKey(inParams.getCallerId(), getCallerPublicKey(inParams));
+                outParams.setSymmetricCryKey(wrappedKey.getCryKey());
+                retBytes = this.symmetricCry(retBytes, wrappedKey.getKeyBytes(), CommonUtil.getResponseAad(inParams.getUuid()));
+            } else if (cryModeEnum == CryModeEnum.SESSION_CRY) {
+                //会话加密模式，使用会话密钥对称加密
+                retBytes = this.symmetricCry(retBytes, getSessionKey(inParams).getCryKey(), CommonUtil.getResponseAad(inParams.getUuid()));
             } else if (cryModeEnum == CryModeEnum.ASYMMETRIC_CRY) {
                 //仅采用非对称加密模式
-                retBytes = this.asymmetricCryHandler.cry(callerPublicKey, retBytes);
+                retBytes = this.asymmetricCryHandler.cry(getCallerPublicKey(inParams), retBytes);
             } else {
-                //不加密模式CryModeEnum.NONE
+                //不加密模式CryModeEnum.NONE、CryModeEnum.HMAC
             }
             this.logCostTime("加密", startTime);
         } catch (OpenApiServerException be) {
@@ -703,6 +1842,111 @@ public class OpenApiGateway {
         return retBytes;
     }
 
+    /**
+     * 获取调用者公钥
+     *
+     * @param inParams openapi入参
+     * @return 调用者公钥
+     */
+    private String getCallerPublicKey(InParams inParams) {
+        String callerPublicKey = config.getCallerPublicKey(inParams.getCallerId());
+        if (StrUtil.isBlank(callerPublicKey)) {
+            throw new OpenApiServerException("找不到调用者公钥");
+        }
+        return callerPublicKey;
+    }
+
+    /**
+     * 对称加密（AEAD算法时绑定附加认证数据）
+     *
+     * @param data     明文
+     * @param keyBytes 对称密钥
+     * @param aad      附加认证数据
+     * @return 密文
+     */
+    private byte[] symmetricCry(byte[] data, byte[] keyBytes, byte[] aad) {
+        if (this.symmetricCryHandler instanceof AeadSymmetricCryHandler) {
+            return ((AeadSymmetricCryHandler) this.symmetricCryHandler).cry(data, keyBytes, aad);
+        }
+        return this.symmetricCryHandler.cry(data, keyBytes);
+    }
+
+    /**
+     * 解密调用者传来的对称密钥（启用缓存时同一密钥只解密一次）
+     *
+     * @param callerId 调用者ID
+     * @param cryKey   加密后的对称密钥
+     * @return 原始对称密钥
+     */
+    private byte[] unwrapSymmetricKey(String callerId, String cryKey) {
+        if (symmetricKeyCache == null) {
+            return Base64Util.base64ToBytes(this.asymmetricCryHandler.deCry(selfPrivateKey, cryKey));
+        }
+        byte[] keyBytes = symmetricKeyCache.get(callerId, cryKey,
+                key -> Base64Util.base64ToBytes(this.asymmetricCryHandler.deCry(selfPrivateKey, key)));
+        log.debug("{}对称密钥缓存：{}", logPrefix.get(), symmetricKeyCache);
+        return keyBytes;
+    }
+
+    /**
+     * 获取返回值加密所用的对称密钥（启用复用时在复用窗口内返回同一密钥）
+     *
+     * @param callerId        调用者ID
+     * @param callerPublicKey 调用者公钥
+     * @return 对称密钥
+     */
+    private WrappedKey getRetKey(String callerId, String callerPublicKey) {
+        if (retKeys != null) {
+            WrappedKey wrappedKey = retKeys.get(callerId, false);
+            if (wrappedKey != null && wrappedKey.tryUse(callerPublicKey)) {
+                return wrappedKey;
+            }
+        }
+        byte[] keyBytes;
+        String cryKey;
+        if (keyPool != null) {
+            //从预生成池取出已加密好的密钥
+            WrappedKey pooledKey = keyPool.take(callerPublicKey);
+            keyBytes = pooledKey.getKeyBytes();
+            cryKey = pooledKey.getCryKey();
+        } else {
+            keyBytes = this.symmetricCryHandler.generateKey();
+            cryKey = this.asymmetricCryHandler.cry(callerPublicKey, Base64Util.bytesToBase64(keyBytes));
+        }
+        WrappedKey wrappedKey = new WrappedKey(keyBytes, cryKey, callerPublicKey, symmetricKeyReuseTime, symmetricKeyReuseCount);
+        if (retKeys != null) {
+            retKeys.put(callerId, wrappedKey);
+        }
+        return wrappedKey;
+    }
+
+    /**
+     * 获取对称密钥缓存（可用于查看缓存命中率等指标）
+     *
+     * @return 对称密钥缓存，未启用时返回null
+     */
+    public SymmetricKeyCache getSymmetricKeyCache() {
+        return symmetricKeyCache;
+    }
+
+    /**
+     * 获取返回值加密所用的对称密钥预生成池（可用于查看补充速率、饥饿率等指标）
+     *
+     * @return 对称密钥预生成池，未启用时返回null
+     */
+    public WrappedKeyPool getKeyPool() {
+        return keyPool;
+    }
+
+    /**
+     * 获取接收二进制参数的资源预算（可用于查看内存、临时文件空间的占用）
+     *
+     * @return 资源预算
+     */
+    public BinaryBudget getBinaryBudget() {
+        return binaryBudget;
+    }
+
     /**
      * 获取加密模式
      *
@@ -781,8 +2025,12 @@ public class OpenApiGateway {
         }
         if (cryModeEnum == CryModeEnum.SYMMETRIC_CRY) {
             log.debug("{}采用非对称加密{}+对称加密{}模式", methodId, asymmetricCryAlgo, symmetricCryAlgo);
+        } else if (cryModeEnum == CryModeEnum.SESSION_CRY) {
+            log.debug("{}采用会话加密模式,握手用的非对称加密{},会话用的对称加密{}", methodId, asymmetricCryAlgo, symmetricCryAlgo);
         } else if (cryModeEnum == CryModeEnum.ASYMMETRIC_CRY) {
             log.debug("{}仅采用非对称加密{}模式", methodId, asymmetricCryAlgo);
+        } else if (cryModeEnum == CryModeEnum.HMAC) {
+            log.debug("{}采用HMAC模式,签名用的HMAC算法{}", methodId, hmacAlgo);
         } else {
             log.debug("{}采用不加密模式,签名用的非对称加密{}", methodId, asymmetricCryAlgo);
         }
@@ -811,4 +2059,49 @@ public class OpenApiGateway {
     private void logCostTime(String operate, long startTime) {
         log.debug("{}{}耗时:{}ms", logPrefix.get(), operate, (System.nanoTime() - startTime) / 100_0000);
     }
+
+    /**
+     * 二进制数据填充器，按参数中二进制对象的顺序依次填充数据
+     */
+    @FunctionalInterface
+    private interface BinaryFiller {
+
+        /**
+         * 填充二进制对象的数据
+         *
+         * @param binary 二进制对象
+         * @throws IOException 读取异常
+         */
+        void fill(Binary binary) throws IOException;
+    }
+
+    /**
+     * HTTP请求体（只能读取一次）
+     */
+    private static class RequestBody implements StreamBody {
+
+        private final InputStream inputStream;
+
+        private final long length;
+
+        RequestBody(InputStream inputStream, long length) {
+            this.inputStream = inputStream;
+            this.length = length;
+        }
+
+        @Override
+        public long getLength() {
+            return length;
+        }
+
+        @Override
+        public InputStream open() {
+            return inputStream;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+    }
 }
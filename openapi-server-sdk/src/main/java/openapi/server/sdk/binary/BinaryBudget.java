@@ -0,0 +1,116 @@
+package openapi.server.sdk.binary;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 接收二进制参数的资源预算（所有请求共享）
+ * <p>
+ * 接收前先预留内存或临时文件空间，预留失败时拒绝请求，避免并发上传大文件耗尽内存或磁盘
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class BinaryBudget {
+
+    /**
+     * 内存上限（单位字节）
+     */
+    private final long memoryLimit;
+
+    /**
+     * 临时文件空间上限（单位字节）
+     */
+    private final long diskLimit;
+
+    /**
+     * 已预留的内存
+     */
+    private final AtomicLong memoryUsed = new AtomicLong();
+
+    /**
+     * 已预留的临时文件空间
+     */
+    private final AtomicLong diskUsed = new AtomicLong();
+
+    /**
+     * 构造预算
+     *
+     * @param memoryLimit 内存上限（单位字节）
+     * @param diskLimit   临时文件空间上限（单位字节）
+     */
+    public BinaryBudget(long memoryLimit, long diskLimit) {
+        this.memoryLimit = memoryLimit;
+        this.diskLimit = diskLimit;
+    }
+
+    /**
+     * 预留内存
+     *
+     * @param bytes 字节数
+     * @return 是否预留成功
+     */
+    public boolean tryAcquireMemory(long bytes) {
+        return tryAcquire(memoryUsed, memoryLimit, bytes);
+    }
+
+    /**
+     * 释放预留的内存
+     *
+     * @param bytes 字节数
+     */
+    public void releaseMemory(long bytes) {
+        memoryUsed.addAndGet(-bytes);
+    }
+
+    /**
+     * 预留临时文件空间
+     *
+     * @param bytes 字节数
+     * @return 是否预留成功
+     */
+    public boolean tryAcquireDisk(long bytes) {
+        return tryAcquire(diskUsed, diskLimit, bytes);
+    }
+
+    /**
+     * 释放预留的临时文件空间
+     *
+     * @param bytes 字节数
+     */
+    public void releaseDisk(long bytes) {
+        diskUsed.addAndGet(-bytes);
+    }
+
+    private static boolean tryAcquire(AtomicLong used, long limit, long bytes) {
+        while (true) {
+            long current = used.get();
+            if (current + bytes > limit) {
+                return false;
+            }
+            if (used.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    public long getMemoryUsed() {
+        return memoryUsed.get();
+    }
+
+    public long getDiskUsed() {
+        return diskUsed.get();
+    }
+
+    public long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    public long getDiskLimit() {
+        return diskLimit;
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryBudget{memory=" + memoryUsed.get() + "/" + memoryLimit + ", disk=" + diskUsed.get() + "/" + diskLimit + "}";
+    }
+}
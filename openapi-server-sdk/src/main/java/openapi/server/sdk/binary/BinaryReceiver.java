@@ -0,0 +1,209 @@
+package openapi.server.sdk.binary;
+
+import openapi.sdk.common.exception.OpenApiServerException;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单个请求的二进制数据接收器
+ * <p>
+ * 从请求体中读取二进制数据时按预算预留内存或临时文件空间，请求处理完成后调用{@link #release()}删除临时文件并归还预算
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class BinaryReceiver {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final BinaryBudget budget;
+
+    private final long spoolThreshold;
+
+    private final List<Path> files = new ArrayList<>();
+
+    /**
+     * 调用成功后执行的清理操作（如删除已合并的分片传输，调用失败时保留以便客户端重试）
+     */
+    private final List<Runnable> successActions = new ArrayList<>();
+
+    private long memoryAcquired;
+
+    private long diskAcquired;
+
+    /**
+     * 构造接收器
+     *
+     * @param budget         资源预算
+     * @param spoolThreshold 写入临时文件的阈值（单位字节）
+     */
+    public BinaryReceiver(BinaryBudget budget, long spoolThreshold) {
+        this.budget = budget;
+        this.spoolThreshold = spoolThreshold;
+    }
+
+    /**
+     * 数据是否应写入临时文件
+     *
+     * @param length 数据长度
+     * @return 是否写入临时文件
+     */
+    public boolean shouldSpool(long length) {
+        return length > spoolThreshold;
+    }
+
+    /**
+     * 预留内存后读取指定长度的数据
+     *
+     * @param in     输入流
+     * @param length 数据长度
+     * @return 数据
+     * @throws IOException 读取异常
+     */
+    public byte[] readBytes(DataInputStream in, long length) throws IOException {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new OpenApiServerException("二进制数据超过2GB，请使用StreamBinary接收");
+        }
+        acquireMemory(length);
+        byte[] data = new byte[(int) length];
+        in.readFully(data);
+        return data;
+    }
+
+    /**
+     * 预留内存
+     *
+     * @param length 字节数
+     */
+    public void acquireMemory(long length) {
+        if (!budget.tryAcquireMemory(length)) {
+            throw new OpenApiServerException("服务端接收二进制数据的内存不足，请稍后重试");
+        }
+        memoryAcquired += length;
+    }
+
+    /**
+     * 预留临时文件空间后将指定长度的数据写入临时文件
+     *
+     * @param in     输入流
+     * @param length 数据长度
+     * @return 临时文件
+     * @throws IOException 读写异常
+     */
+    public Path readFile(InputStream in, long length) throws IOException {
+        acquireDisk(length);
+        Path file = createFile();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = length;
+            while (remaining > 0) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (n < 0) {
+                    throw new OpenApiServerException("二进制数据格式错误：文件数据不完整");
+                }
+                out.write(buffer, 0, n);
+                remaining -= n;
+            }
+        }
+        return file;
+    }
+
+    /**
+     * 将长度未知的数据全部写入临时文件，边写入边预留临时文件空间
+     *
+     * @param in 输入流
+     * @return 临时文件
+     * @throws IOException 读写异常
+     */
+    public Path spool(InputStream in) throws IOException {
+        return spool(in, Long.MAX_VALUE);
+    }
+
+    /**
+     * 将长度未知的数据全部写入临时文件，边写入边预留临时文件空间，超过上限时拒绝
+     *
+     * @param in        输入流
+     * @param maxLength 数据长度上限
+     * @return 临时文件
+     * @throws IOException 读写异常
+     */
+    public Path spool(InputStream in, long maxLength) throws IOException {
+        Path file = createFile();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long total = 0;
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                total += n;
+                if (total > maxLength) {
+                    throw new OpenApiServerException("请求体超出上限" + maxLength);
+                }
+                acquireDisk(n);
+                out.write(buffer, 0, n);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * 登记调用成功后执行的清理操作
+     *
+     * @param action 清理操作
+     */
+    public void onSuccess(Runnable action) {
+        successActions.add(action);
+    }
+
+    /**
+     * 删除临时文件并归还预算，调用成功时同时执行登记的清理操作
+     *
+     * @param success 调用是否成功
+     */
+    public void release(boolean success) {
+        if (success) {
+            for (Runnable action : successActions) {
+                action.run();
+            }
+        }
+        successActions.clear();
+        release();
+    }
+
+    /**
+     * 删除临时文件并归还预算
+     */
+    public void release() {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                //临时文件删除失败不影响调用结果
+            }
+        }
+        files.clear();
+        budget.releaseMemory(memoryAcquired);
+        budget.releaseDisk(diskAcquired);
+        memoryAcquired = 0;
+        diskAcquired = 0;
+    }
+
+    private void acquireDisk(long length) {
+        if (!budget.tryAcquireDisk(length)) {
+            throw new OpenApiServerException("服务端接收二进制数据的临时文件空间不足，请稍后重试");
+        }
+        diskAcquired += length;
+    }
+
+    private Path createFile() throws IOException {
+        Path file = Files.createTempFile("openapi-", ".upload");
+        files.add(file);
+        return file;
+    }
+}
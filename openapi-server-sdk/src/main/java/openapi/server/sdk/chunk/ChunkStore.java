@@ -0,0 +1,82 @@
+package openapi.server.sdk.chunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 分片传输的暂存器
+ * <p>
+ * 上传时暂存各分片，全部接收后合并为一个文件交给openapi方法；下载时暂存方法返回的二进制数据，供客户端按分片读取。
+ * 数据按（调用者ID，分片传输ID）隔离，调用者只能访问自己的传输；实现应限制暂存数据的总量，超出时拒绝写入。
+ * 默认实现{@link LocalChunkStore}暂存在本地临时目录，多节点部署时需自定义基于共享存储的实现（或将同一调用者固定路由到同一节点）
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public interface ChunkStore {
+
+    /**
+     * 获取已确认接收的分片序号
+     *
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     * @return 已接收的分片序号，传输不存在时返回空列表
+     * @throws IOException 读取异常
+     */
+    List<Integer> getReceived(String callerId, String transferId) throws IOException;
+
+    /**
+     * 写入一个分片，写入完成后才视为已接收（重复写入时覆盖）
+     *
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     * @param index      分片序号
+     * @param data       分片数据
+     * @throws IOException 写入异常
+     */
+    void write(String callerId, String transferId, int index, ByteBuffer data) throws IOException;
+
+    /**
+     * 按序合并所有分片（可重复调用，已合并时直接返回）
+     *
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     * @param length     文件总长度，分片不完整或长度不一致时抛出异常
+     * @return 合并后的文件
+     * @throws IOException 读写异常
+     */
+    Path assemble(String callerId, String transferId, long length) throws IOException;
+
+    /**
+     * 暂存待下载的数据
+     *
+     * @param callerId 调用者ID
+     * @param in       数据的输入流（由调用方关闭）
+     * @return 分片传输ID
+     * @throws IOException 写入异常
+     */
+    String stage(String callerId, InputStream in) throws IOException;
+
+    /**
+     * 读取暂存数据的一个区间
+     *
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     * @param offset     起始位置
+     * @param length     长度
+     * @return 数据
+     * @throws IOException 读取异常
+     */
+    byte[] read(String callerId, String transferId, long offset, int length) throws IOException;
+
+    /**
+     * 删除传输暂存的所有数据
+     *
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     */
+    void delete(String callerId, String transferId);
+}
@@ -0,0 +1,356 @@
+package openapi.server.sdk.chunk;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import lombok.extern.slf4j.Slf4j;
+import openapi.sdk.common.exception.OpenApiServerException;
+import openapi.sdk.common.util.ChunkUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地临时目录的分片暂存器
+ * <p>
+ * 每个传输一个目录（目录名由调用者ID及分片传输ID摘要得到），分片先写入临时文件再改名，改名后才视为已接收；
+ * 合并时按序拼接为data文件并删除各分片，同时记录分片数量，合并后查询状态仍返回所有分片已接收。
+ * 超过保留时间未更新的传输目录在查询状态或暂存下载数据时顺带清理。
+ * 写入分片、合并及暂存下载数据前按暂存数据量上限预留空间，超出时拒绝；启动时计入暂存目录中已有的数据
+ * </p>
+ *
+ * @author wanghuidong
+ */
+@Slf4j
+public class LocalChunkStore implements ChunkStore {
+
+    private static final String CHUNK_SUFFIX = ".chunk";
+
+    private static final String DATA_FILE = "data";
+
+    private static final String COUNT_FILE = "count";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 清理过期传输的最小间隔（单位毫秒）
+     */
+    private static final long CLEAN_INTERVAL = 60_000;
+
+    private final Path root;
+
+    private final long expireMillis;
+
+    /**
+     * 暂存数据量上限（单位字节）
+     */
+    private final long quota;
+
+    /**
+     * 已暂存的数据量（删除目录时按实际大小归还，为近似值）
+     */
+    private final AtomicLong used = new AtomicLong();
+
+    /**
+     * 合并分片时使用的锁（按传输目录散列），避免同一传输并发合并
+     */
+    private final Object[] locks = new Object[64];
+
+    private volatile long lastCleanTime;
+
+    /**
+     * 在系统临时目录下暂存
+     *
+     * @param expireTime 保留时间（单位秒）
+     * @param quota      暂存数据量上限（单位字节）
+     */
+    public LocalChunkStore(long expireTime, long quota) {
+        this(Paths.get(System.getProperty("java.io.tmpdir"), "openapi-chunk"), expireTime, quota);
+    }
+
+    /**
+     * 在指定目录下暂存
+     *
+     * @param root       暂存目录
+     * @param expireTime 保留时间（单位秒）
+     * @param quota      暂存数据量上限（单位字节）
+     */
+    public LocalChunkStore(Path root, long expireTime, long quota) {
+        this.root = root;
+        this.expireMillis = expireTime * 1000;
+        this.quota = quota;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        if (Files.isDirectory(root)) {
+            used.set(FileUtil.size(root.toFile()));
+        }
+    }
+
+    @Override
+    public List<Integer> getReceived(String callerId, String transferId) throws IOException {
+        cleanExpired();
+        Path dir = getDir(callerId, transferId);
+        if (!Files.isDirectory(dir)) {
+            return Collections.emptyList();
+        }
+        List<Integer> received = new ArrayList<>();
+        Path countFile = dir.resolve(COUNT_FILE);
+        if (Files.exists(countFile)) {
+            //已合并
+            int count = Integer.parseInt(new String(Files.readAllBytes(countFile), StandardCharsets.UTF_8));
+            for (int i = 0; i < count; i++) {
+                received.add(i);
+            }
+            return received;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + CHUNK_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                received.add(Integer.parseInt(name.substring(0, name.length() - CHUNK_SUFFIX.length())));
+            }
+        }
+        Collections.sort(received);
+        return received;
+    }
+
+    @Override
+    public void write(String callerId, String transferId, int index, ByteBuffer data) throws IOException {
+        if (index < 0) {
+            throw new OpenApiServerException("分片序号越界：" + index);
+        }
+        long size = data.remaining();
+        acquire(size);
+        boolean written = false;
+        Path dir = null;
+        Path tmp = null;
+        try {
+            dir = Files.createDirectories(getDir(callerId, transferId));
+            tmp = Files.createTempFile(dir, index + "-", ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = data.duplicate();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Path chunk = dir.resolve(index + CHUNK_SUFFIX);
+            //重复写入时覆盖，归还被覆盖的分片占用的空间
+            long replaced = Files.exists(chunk) ? Files.size(chunk) : 0;
+            Files.move(tmp, chunk, StandardCopyOption.REPLACE_EXISTING);
+            written = true;
+            release(replaced);
+        } finally {
+            if (tmp != null) {
+                Files.deleteIfExists(tmp);
+            }
+            if (!written) {
+                release(size);
+            }
+        }
+    }
+
+    @Override
+    public Path assemble(String callerId, String transferId, long length) throws IOException {
+        Path dir = getDir(callerId, transferId);
+        synchronized (locks[(dir.hashCode() & 0x7FFFFFFF) % locks.length]) {
+            Path data = dir.resolve(DATA_FILE);
+            if (Files.exists(dir.resolve(COUNT_FILE))) {
+                if (Files.size(data) != length) {
+                    throw new OpenApiServerException("分片数据长度不一致");
+                }
+                return data;
+            }
+            List<Integer> received = getReceived(callerId, transferId);
+            if (received.isEmpty()) {
+                throw new OpenApiServerException("分片传输不存在或已过期");
+            }
+            long total = 0;
+            for (int i = 0; i < received.size(); i++) {
+                if (received.get(i) != i) {
+                    throw new OpenApiServerException("分片不完整，缺少分片：" + i);
+                }
+                total += Files.size(dir.resolve(i + CHUNK_SUFFIX));
+            }
+            if (total != length) {
+                throw new OpenApiServerException("分片数据长度不一致");
+            }
+            //合并期间分片与合并后的文件同时存在，先预留合并后文件的空间，删除分片后归还
+            acquire(total);
+            Path tmp = dir.resolve(DATA_FILE + ".tmp");
+            try {
+                try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (int i = 0; i < received.size(); i++) {
+                        try (FileChannel in = FileChannel.open(dir.resolve(i + CHUNK_SUFFIX), StandardOpenOption.READ)) {
+                            long size = in.size();
+                            long position = 0;
+                            while (position < size) {
+                                position += in.transferTo(position, size - position, out);
+                            }
+                        }
+                    }
+                }
+                Files.move(tmp, data, StandardCopyOption.REPLACE_EXISTING);
+                Files.write(dir.resolve(COUNT_FILE), String.valueOf(received.size()).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(tmp);
+                release(total);
+                throw ex;
+            }
+            for (int i = 0; i < received.size(); i++) {
+                Files.deleteIfExists(dir.resolve(i + CHUNK_SUFFIX));
+            }
+            release(total);
+            return data;
+        }
+    }
+
+    @Override
+    public String stage(String callerId, InputStream in) throws IOException {
+        cleanExpired();
+        String transferId = IdUtil.simpleUUID();
+        Path dir = Files.createDirectories(getDir(callerId, transferId));
+        Path tmp = dir.resolve(DATA_FILE + ".tmp");
+        long total = 0;
+        try {
+            //边写入边预留空间
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) >= 0) {
+                    acquire(n);
+                    total += n;
+                    out.write(buffer, 0, n);
+                }
+            }
+            Files.move(tmp, dir.resolve(DATA_FILE), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            FileUtil.del(dir);
+            release(total);
+            throw ex;
+        }
+        return transferId;
+    }
+
+    @Override
+    public byte[] read(String callerId, String transferId, long offset, int length) throws IOException {
+        Path data = getDir(callerId, transferId).resolve(DATA_FILE);
+        if (!Files.exists(data)) {
+            throw new OpenApiServerException("分片传输不存在或已过期");
+        }
+        try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+            if (offset < 0 || length < 0 || offset + length > channel.size()) {
+                throw new OpenApiServerException("分片越界");
+            }
+            byte[] bytes = new byte[length];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new OpenApiServerException("分片数据不完整");
+                }
+            }
+            return bytes;
+        }
+    }
+
+    @Override
+    public void delete(String callerId, String transferId) {
+        deleteDir(getDir(callerId, transferId));
+    }
+
+    /**
+     * 获取已暂存的数据量
+     *
+     * @return 已暂存的数据量（单位字节）
+     */
+    public long getUsed() {
+        return used.get();
+    }
+
+    /**
+     * 获取传输的暂存目录
+     *
+     * @param callerId   调用者ID
+     * @param transferId 分片传输ID
+     * @return 暂存目录
+     */
+    private Path getDir(String callerId, String transferId) {
+        ChunkUtil.checkTransferId(transferId);
+        return root.resolve(DigestUtil.sha256Hex(callerId + "/" + transferId));
+    }
+
+    /**
+     * 删除传输目录并归还其占用的空间
+     *
+     * @param dir 传输目录
+     */
+    private void deleteDir(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        long size = FileUtil.size(dir.toFile());
+        FileUtil.del(dir);
+        release(size);
+    }
+
+    /**
+     * 预留暂存空间
+     *
+     * @param bytes 字节数
+     */
+    private void acquire(long bytes) {
+        while (true) {
+            long current = used.get();
+            if (current + bytes > quota) {
+                throw new OpenApiServerException("分片暂存空间不足，请稍后重试");
+            }
+            if (used.compareAndSet(current, current + bytes)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 归还暂存空间
+     *
+     * @param bytes 字节数
+     */
+    private void release(long bytes) {
+        used.updateAndGet(current -> Math.max(0, current - bytes));
+    }
+
+    /**
+     * 清理超过保留时间未更新的传输目录
+     */
+    private void cleanExpired() {
+        long now = System.currentTimeMillis();
+        if (now - lastCleanTime < CLEAN_INTERVAL || !Files.isDirectory(root)) {
+            return;
+        }
+        lastCleanTime = now;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root)) {
+            for (Path dir : dirs) {
+                if (now - Files.getLastModifiedTime(dir).toMillis() > expireMillis) {
+                    deleteDir(dir);
+                }
+            }
+        } catch (Exception ex) {
+            //清理失败不影响传输
+            log.warn("清理过期的分片传输失败：{}", ex.getMessage());
+        }
+    }
+}
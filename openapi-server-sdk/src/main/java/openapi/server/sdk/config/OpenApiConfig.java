@@ -1,11 +1,15 @@
 package openapi.server.sdk.config;
 
 
+import openapi.sdk.common.constant.Constant;
 import openapi.sdk.common.enums.AsymmetricCryAlgo;
 import openapi.sdk.common.enums.CryModeEnum;
+import openapi.sdk.common.enums.HmacAlgo;
 import openapi.sdk.common.enums.SymmetricCryAlgo;
 import openapi.sdk.common.handler.AsymmetricCryHandler;
 import openapi.sdk.common.handler.SymmetricCryHandler;
+import openapi.server.sdk.chunk.ChunkStore;
+import openapi.server.sdk.chunk.LocalChunkStore;
 
 /**
  * 开放api服务端配置类接口，由引入者去实现
@@ -30,7 +34,27 @@ public interface OpenApiConfig {
     String getCallerPublicKey(String callerId);
 
     /**
-     * 获取采用的非对称加密算法(RSA,SM2)
+     * 获取调用者的HMAC共享密钥（HMAC模式下使用）
+     *
+     * @param callerId 调用者ID
+     * @return 调用者的HMAC共享密钥
+     */
+    default String getCallerHmacSecret(String callerId) {
+        return null;
+    }
+
+    /**
+     * 获取HMAC模式采用的HMAC算法(HmacSHA256或HmacSM3)
+     *
+     * @return HMAC算法
+     * @see HmacAlgo
+     */
+    default String getHmacAlgo() {
+        return HmacAlgo.HMAC_SHA256;
+    }
+
+    /**
+     * 获取采用的非对称加密算法(RSA,SM2,ED25519)
      *
      * @return 加密算法
      * @see AsymmetricCryAlgo
@@ -54,7 +78,7 @@ public interface OpenApiConfig {
     }
 
     /**
-     * 获取对称加密算法(AES或SM4)
+     * 获取对称加密算法(AES、SM4或带认证的AES_GCM、SM4_GCM)
      *
      * @return 对称加密算法
      * @see SymmetricCryAlgo
@@ -83,6 +107,195 @@ public interface OpenApiConfig {
         return false;
     }
 
+    /**
+     * 配置会话有效期（会话加密模式下使用），过期后客户端需重新握手
+     *
+     * @return 会话有效期（单位秒）
+     */
+    default long getSessionTtl() {
+        return Constant.SESSION_TTL;
+    }
+
+    /**
+     * 配置最多保存会话的调用者数量（会话加密模式下使用），一般不小于调用者数量
+     *
+     * @return 最多保存会话的调用者数量
+     */
+    default int getSessionCallerCapacity() {
+        return Constant.SESSION_CALLER_CAPACITY;
+    }
+
+    /**
+     * 配置每个调用者最多保存的会话数量（会话加密模式下使用），一般按调用方实例数估算，超出时淘汰该调用者最久未使用的会话
+     *
+     * @return 每个调用者最多保存的会话数量
+     */
+    default int getSessionPerCaller() {
+        return Constant.SESSION_PER_CALLER;
+    }
+
+    /**
+     * 配置握手请求的时间窗口（会话加密模式下使用），请求时间戳与服务端时间相差超过该值时拒绝，防止握手请求被重放
+     *
+     * @return 握手请求的时间窗口（单位秒）
+     */
+    default long getHandshakeTimeWindow() {
+        return Constant.HANDSHAKE_TIME_WINDOW;
+    }
+
+    /**
+     * 配置对称密钥缓存的有效期（对称加密模式下使用）
+     * <p>
+     * 调用者在复用窗口内复用同一个对称密钥时，只需解密一次该密钥，配置为0则不缓存
+     * </p>
+     *
+     * @return 对称密钥缓存有效期（单位秒）
+     */
+    default long getSymmetricKeyCacheTtl() {
+        return Constant.SYMMETRIC_KEY_CACHE_TTL;
+    }
+
+    /**
+     * 配置对称密钥缓存最多缓存的调用者数量
+     *
+     * @return 最多缓存的调用者数量
+     */
+    default int getSymmetricKeyCacheCallerCapacity() {
+        return Constant.SYMMETRIC_KEY_CACHE_CALLER_CAPACITY;
+    }
+
+    /**
+     * 配置对称密钥缓存中每个调用者最多缓存的密钥数量
+     *
+     * @return 每个调用者最多缓存的密钥数量
+     */
+    default int getSymmetricKeyCachePerCaller() {
+        return Constant.SYMMETRIC_KEY_CACHE_PER_CALLER;
+    }
+
+    /**
+     * 配置返回值加密时对称密钥的复用时间（对称加密模式下使用）
+     * <p>
+     * 与复用次数均配置为0时不复用，每次返回都生成新的对称密钥
+     * </p>
+     *
+     * @return 复用时间（单位秒），0表示不限时间
+     */
+    default long getSymmetricKeyReuseTime() {
+        return 0;
+    }
+
+    /**
+     * 配置返回值加密时对称密钥的复用次数（对称加密模式下使用）
+     *
+     * @return 复用次数，0表示不限次数
+     */
+    default int getSymmetricKeyReuseCount() {
+        return 0;
+    }
+
+    /**
+     * 配置返回值加密时对称密钥预生成池的容量（对称加密模式下使用）
+     * <p>
+     * 大于0时由后台线程为每个调用者公钥预先生成并加密对称密钥，适用于调用者数量固定的场景
+     * </p>
+     *
+     * @return 每个调用者公钥预生成的密钥数量，0表示不启用
+     */
+    default int getSymmetricKeyPoolSize() {
+        return 0;
+    }
+
+    /**
+     * 配置执行批量调用条目的线程数
+     * <p>
+     * 所有批量请求共用该线程池，线程池繁忙时条目在请求线程上执行
+     * </p>
+     *
+     * @return 线程数
+     */
+    default int getBatchThreads() {
+        return Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    /**
+     * 配置单次批量调用最多包含的调用条目数
+     *
+     * @return 最多包含的调用条目数
+     */
+    default int getBatchMaxSize() {
+        return Constant.BATCH_MAX_SIZE;
+    }
+
+    /**
+     * 配置接收流式文件参数（StreamBinary）时写入临时文件的阈值
+     * <p>
+     * 超过该大小的文件边接收边写入临时文件，不读入内存，临时文件在响应完成后删除
+     * </p>
+     *
+     * @return 阈值（单位字节）
+     */
+    default long getBinarySpoolThreshold() {
+        return Constant.BINARY_SPOOL_THRESHOLD;
+    }
+
+    /**
+     * 配置接收二进制参数最多占用的内存（所有请求共享），超出时拒绝请求
+     *
+     * @return 内存上限（单位字节）
+     */
+    default long getBinaryMemoryBudget() {
+        return Constant.BINARY_MEMORY_BUDGET;
+    }
+
+    /**
+     * 配置接收二进制参数最多占用的临时文件空间（所有请求共享），超出时拒绝请求
+     *
+     * @return 临时文件空间上限（单位字节）
+     */
+    default long getBinaryDiskBudget() {
+        return Constant.BINARY_DISK_BUDGET;
+    }
+
+    /**
+     * 配置分片传输的暂存器
+     * <p>
+     * 为null时使用{@link LocalChunkStore}暂存在本地临时目录；多节点部署时需配置基于共享存储的实现
+     * </p>
+     *
+     * @return 分片暂存器
+     */
+    default ChunkStore getChunkStore() {
+        return null;
+    }
+
+    /**
+     * 配置分片传输时接受的最大分片大小，超出时拒绝分片上传及分片下载
+     *
+     * @return 最大分片大小（单位字节）
+     */
+    default long getChunkMaxSize() {
+        return Constant.CHUNK_MAX_SIZE;
+    }
+
+    /**
+     * 配置分片传输暂存数据的保留时间，超时未完成的传输被清理（仅对默认的本地暂存器有效）
+     *
+     * @return 保留时间（单位秒）
+     */
+    default long getChunkExpireTime() {
+        return Constant.CHUNK_EXPIRE_TIME;
+    }
+
+    /**
+     * 配置分片传输最多暂存的数据量（所有调用者共享），超出时拒绝分片上传及暂存下载数据（仅对默认的本地暂存器有效）
+     *
+     * @return 暂存数据量上限（单位字节）
+     */
+    default long getChunkDiskQuota() {
+        return Constant.CHUNK_DISK_QUOTA;
+    }
+
     /**
      * 配置自定义的非对称加密处理器
      *
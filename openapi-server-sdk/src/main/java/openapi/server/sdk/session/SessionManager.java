@@ -0,0 +1,172 @@
+package openapi.server.sdk.session;
+
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.util.IdUtil;
+import openapi.sdk.common.model.SessionKey;
+
+/**
+ * 会话管理器，保存握手后协商出的会话密钥
+ * <p>
+ * 会话按调用者分组，每个调用者最多保存perCallerCapacity个会话（超出时淘汰该调用者最久未使用的会话），调用者数量也有上限，
+ * 单个调用者频繁握手（或握手请求被重放）只会淘汰自己的会话，不会挤占其它调用者的会话；会话超过有效期自动失效，客户端需重新握手。
+ * 握手请求须携带签名的时间戳且流水号不能重复，超出时间窗口或已处理过的握手请求被拒绝
+ * </p>
+ *
+ * @author wanghuidong
+ */
+public class SessionManager {
+
+    /**
+     * 各调用者的会话，key: 调用者ID
+     */
+    private final LRUCache<String, CallerSessions> callerSessions;
+
+    /**
+     * 每个调用者最多保存的会话数量
+     */
+    private final int perCallerCapacity;
+
+    /**
+     * 会话有效期（单位秒）
+     */
+    private final long ttl;
+
+    /**
+     * 握手请求的时间窗口（单位毫秒），请求时间戳与当前时间相差超过该值时拒绝
+     */
+    private final long handshakeWindowMillis;
+
+    /**
+     * 构造会话管理器
+     *
+     * @param callerCapacity    最多保存会话的调用者数量
+     * @param perCallerCapacity 每个调用者最多保存的会话数量
+     * @param ttl               会话有效期（单位秒）
+     * @param handshakeWindow   握手请求的时间窗口（单位秒）
+     */
+    public SessionManager(int callerCapacity, int perCallerCapacity, long ttl, long handshakeWindow) {
+        if (callerCapacity <= 0 || perCallerCapacity <= 0 || ttl <= 0 || handshakeWindow <= 0) {
+            throw new IllegalArgumentException("会话容量、有效期及握手时间窗口必须大于0");
+        }
+        this.callerSessions = new LRUCache<>(callerCapacity);
+        this.perCallerCapacity = perCallerCapacity;
+        this.ttl = ttl;
+        this.handshakeWindowMillis = handshakeWindow * 1000;
+    }
+
+    /**
+     * 接受握手请求：时间戳在时间窗口内且流水号未处理过时记录该流水号
+     *
+     * @param callerId  调用者ID
+     * @param uuid      握手请求的流水号
+     * @param timestamp 握手请求的时间戳（单位毫秒，已经过签名验证）
+     * @return 是否接受，时间戳超出时间窗口或流水号重复（请求被重放）时返回false
+     */
+    public boolean acceptHandshake(String callerId, String uuid, long timestamp) {
+        if (Math.abs(System.currentTimeMillis() - timestamp) > handshakeWindowMillis) {
+            return false;
+        }
+        LRUCache<String, Boolean> handshakes = getCallerSessions(callerId).handshakes;
+        synchronized (handshakes) {
+            if (handshakes.containsKey(uuid)) {
+                return false;
+            }
+            handshakes.put(uuid, Boolean.TRUE);
+            return true;
+        }
+    }
+
+    /**
+     * 创建会话
+     *
+     * @param callerId   调用者ID
+     * @param sessionKey 协商出的会话密钥
+     * @return 会话密钥（已设置会话ID与过期时间）
+     */
+    public SessionKey create(String callerId, SessionKey sessionKey) {
+        sessionKey.setSessionId(IdUtil.simpleUUID());
+        sessionKey.setCallerId(callerId);
+        sessionKey.setExpireTime(System.currentTimeMillis() + ttl * 1000);
+        getCallerSessions(callerId).sessions.put(sessionKey.getSessionId(), sessionKey);
+        return sessionKey;
+    }
+
+    /**
+     * 获取调用者的会话
+     *
+     * @param sessionId 会话ID
+     * @param callerId  调用者ID
+     * @return 会话密钥，不存在、已过期或不属于该调用者时返回null
+     */
+    public SessionKey get(String sessionId, String callerId) {
+        if (sessionId == null || callerId == null) {
+            return null;
+        }
+        CallerSessions caller = callerSessions.get(callerId, false);
+        if (caller == null) {
+            return null;
+        }
+        SessionKey sessionKey = caller.sessions.get(sessionId, false);
+        if (sessionKey == null || sessionKey.isExpired() || !sessionKey.getCallerId().equals(callerId)) {
+            return null;
+        }
+        return sessionKey;
+    }
+
+    /**
+     * 获取会话有效期
+     *
+     * @return 会话有效期（单位秒）
+     */
+    public long getTtl() {
+        return ttl;
+    }
+
+    /**
+     * 获取当前会话数量
+     *
+     * @return 会话数量
+     */
+    public int size() {
+        int size = 0;
+        for (CallerSessions caller : callerSessions) {
+            size += caller.sessions.size();
+        }
+        return size;
+    }
+
+    /**
+     * 获取当前保存会话的调用者数量
+     *
+     * @return 调用者数量
+     */
+    public int getCallerCount() {
+        return callerSessions.size();
+    }
+
+    private CallerSessions getCallerSessions(String callerId) {
+        return callerSessions.get(callerId, () -> new CallerSessions(perCallerCapacity, ttl * 1000, handshakeWindowMillis * 2));
+    }
+
+    /**
+     * 单个调用者的会话及已处理的握手流水号
+     */
+    private static class CallerSessions {
+
+        /**
+         * 会话表，key: 会话ID
+         */
+        private final LRUCache<String, SessionKey> sessions;
+
+        /**
+         * 时间窗口内已处理的握手流水号（保留两个时间窗口的时长，更早的请求已被时间戳校验拒绝；
+         * 容量满时淘汰最早的记录，被淘汰的请求即使重放也只影响该调用者自己的会话）
+         */
+        private final LRUCache<String, Boolean> handshakes;
+
+        CallerSessions(int capacity, long ttlMillis, long handshakeTimeout) {
+            this.sessions = new LRUCache<>(capacity, ttlMillis);
+            this.handshakes = new LRUCache<>(capacity, handshakeTimeout);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package openapi.server.sdk.binary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BinaryBudgetTest {
+
+    @Test
+    public void acquireShouldRejectOverLimitAndRecoverAfterRelease() {
+        BinaryBudget budget = new BinaryBudget(100, 1000);
+
+        Assert.assertTrue(budget.tryAcquireMemory(60));
+        Assert.assertTrue(budget.tryAcquireMemory(40));
+        Assert.assertFalse("超过内存上限时应拒绝", budget.tryAcquireMemory(1));
+        Assert.assertEquals(100, budget.getMemoryUsed());
+        budget.releaseMemory(40);
+        Assert.assertTrue(budget.tryAcquireMemory(40));
+
+        Assert.assertTrue(budget.tryAcquireDisk(1000));
+        Assert.assertFalse("超过临时文件空间上限时应拒绝", budget.tryAcquireDisk(1));
+        //内存与临时文件空间分别计算
+        Assert.assertEquals(100, budget.getMemoryUsed());
+        budget.releaseDisk(1000);
+        Assert.assertEquals(0, budget.getDiskUsed());
+        Assert.assertTrue(budget.tryAcquireDisk(1));
+    }
+
+    @Test
+    public void rejectedAcquireShouldNotChangeUsage() {
+        BinaryBudget budget = new BinaryBudget(10, 10);
+        Assert.assertFalse(budget.tryAcquireMemory(11));
+        Assert.assertFalse(budget.tryAcquireDisk(11));
+        Assert.assertEquals(0, budget.getMemoryUsed());
+        Assert.assertEquals(0, budget.getDiskUsed());
+    }
+}
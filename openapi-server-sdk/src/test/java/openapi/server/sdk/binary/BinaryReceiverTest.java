@@ -0,0 +1,214 @@
+package openapi.server.sdk.binary;
+
+import cn.hutool.core.util.RandomUtil;
+import openapi.sdk.common.enums.HmacAlgo;
+import openapi.sdk.common.exception.OpenApiServerException;
+import openapi.sdk.common.handler.ContentVerifier;
+import openapi.sdk.common.model.Binary;
+import openapi.sdk.common.model.FileBinary;
+import openapi.sdk.common.util.BinaryFrameReader;
+import openapi.sdk.common.util.BinaryUtil;
+import openapi.sdk.common.util.HmacUtil;
+import openapi.sdk.common.util.PipelineUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BinaryReceiverTest {
+
+    private static final byte[] KEY = HmacUtil.bytes("hmac-secret");
+
+    @Test
+    public void readBytesShouldAcquireMemoryAndReleaseIt() throws IOException {
+        BinaryBudget budget = new BinaryBudget(100, 0);
+        BinaryReceiver receiver = new BinaryReceiver(budget, 1000);
+        byte[] data = RandomUtil.randomBytes(60);
+
+        Assert.assertArrayEquals(data, receiver.readBytes(new DataInputStream(new ByteArrayInputStream(data)), data.length));
+        Assert.assertEquals(60, budget.getMemoryUsed());
+        try {
+            receiver.readBytes(new DataInputStream(new ByteArrayInputStream(data)), data.length);
+            Assert.fail("超过内存预算时应拒绝");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        }
+        Assert.assertEquals(60, budget.getMemoryUsed());
+
+        receiver.release();
+        Assert.assertEquals(0, budget.getMemoryUsed());
+    }
+
+    @Test
+    public void releaseShouldDeleteTempFilesAndReturnDisk() throws IOException {
+        BinaryBudget budget = new BinaryBudget(0, 100);
+        BinaryReceiver receiver = new BinaryReceiver(budget, 10);
+        byte[] data = RandomUtil.randomBytes(40);
+
+        Assert.assertTrue(receiver.shouldSpool(data.length));
+        Path file = receiver.readFile(new ByteArrayInputStream(data), data.length);
+        Path spooled = receiver.spool(new ByteArrayInputStream(data));
+        Assert.assertArrayEquals(data, Files.readAllBytes(file));
+        Assert.assertArrayEquals(data, Files.readAllBytes(spooled));
+        Assert.assertEquals(80, budget.getDiskUsed());
+
+        //长度未知时边写入边预留，超过预算时拒绝
+        try {
+            receiver.spool(new ByteArrayInputStream(data));
+            Assert.fail("超过临时文件空间预算时应拒绝");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        }
+
+        receiver.release();
+        Assert.assertFalse(Files.exists(file));
+        Assert.assertFalse(Files.exists(spooled));
+        Assert.assertEquals(0, budget.getDiskUsed());
+    }
+
+    @Test
+    public void readFileShouldRejectIncompleteData() throws IOException {
+        BinaryBudget budget = new BinaryBudget(0, 100);
+        BinaryReceiver receiver = new BinaryReceiver(budget, 0);
+        try {
+            receiver.readFile(new ByteArrayInputStream(new byte[10]), 20);
+            Assert.fail("数据不完整时应拒绝");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        }
+        receiver.release();
+        Assert.assertEquals(0, budget.getDiskUsed());
+    }
+
+    @Test
+    public void successActionsShouldRunOnlyOnSuccess() {
+        BinaryBudget budget = new BinaryBudget(100, 100);
+        int[] runs = {0};
+
+        BinaryReceiver failed = new BinaryReceiver(budget, 0);
+        failed.acquireMemory(10);
+        failed.onSuccess(() -> runs[0]++);
+        failed.release(false);
+        Assert.assertEquals(0, runs[0]);
+        Assert.assertEquals(0, budget.getMemoryUsed());
+
+        BinaryReceiver succeeded = new BinaryReceiver(budget, 0);
+        succeeded.onSuccess(() -> runs[0]++);
+        succeeded.release(true);
+        succeeded.release(true);
+        Assert.assertEquals("清理操作只执行一次", 1, runs[0]);
+    }
+
+    @Test
+    public void streamVerifyShouldAcceptIntactBody() throws IOException {
+        byte[] small = RandomUtil.randomBytes(100);
+        byte[] large = RandomUtil.randomBytes(20000);
+        byte[] body = buildBody(small, large);
+        String sign = sign(body);
+
+        BinaryBudget budget = new BinaryBudget(1 << 20, 1 << 20);
+        BinaryReceiver receiver = new BinaryReceiver(budget, 1000);
+        List<Object> binaries = receive(new ByteArrayInputStream(body), body.length, sign, receiver);
+        Assert.assertArrayEquals(small, (byte[]) binaries.get(0));
+        Path file = (Path) binaries.get(1);
+        Assert.assertArrayEquals(large, Files.readAllBytes(file));
+
+        receiver.release(true);
+        Assert.assertFalse(Files.exists(file));
+        Assert.assertEquals(0, budget.getMemoryUsed());
+        Assert.assertEquals(0, budget.getDiskUsed());
+    }
+
+    @Test
+    public void streamVerifyShouldRejectTamperedBody() {
+        byte[] body = buildBody(RandomUtil.randomBytes(100), RandomUtil.randomBytes(20000));
+        String sign = sign(body);
+        byte[] tampered = body.clone();
+        tampered[tampered.length - 1] ^= 1;
+        assertRejected(new ByteArrayInputStream(tampered), tampered.length, sign);
+    }
+
+    @Test
+    public void streamVerifyShouldRejectTruncatedBody() {
+        byte[] body = buildBody(RandomUtil.randomBytes(100), RandomUtil.randomBytes(20000));
+        String sign = sign(body);
+        byte[] truncated = Arrays.copyOf(body, body.length - 1000);
+        //请求体在传输中被截断（声明的长度不变）
+        assertRejected(new ByteArrayInputStream(truncated), body.length, sign);
+        //请求体及声明的长度同时被截断
+        assertRejected(new ByteArrayInputStream(truncated), truncated.length, sign);
+    }
+
+    private void assertRejected(InputStream wire, long length, String sign) {
+        BinaryBudget budget = new BinaryBudget(1 << 20, 1 << 20);
+        BinaryReceiver receiver = new BinaryReceiver(budget, 1000);
+        try {
+            receive(wire, length, sign, receiver);
+            Assert.fail("请求体被篡改或截断时应拒绝");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        } finally {
+            receiver.release(false);
+        }
+        Assert.assertEquals(0, budget.getMemoryUsed());
+        Assert.assertEquals(0, budget.getDiskUsed());
+    }
+
+    private byte[] buildBody(byte[]... data) {
+        List<Binary> binaries = new ArrayList<>();
+        for (byte[] bytes : data) {
+            FileBinary binary = new FileBinary();
+            binary.setData(bytes);
+            binaries.add(binary);
+        }
+        return BinaryUtil.buildMultiBinaryBytes(binaries, BinaryUtil.getBinariesString(binaries));
+    }
+
+    private String sign(byte[] body) {
+        return HmacUtil.sign(HmacAlgo.HMAC_SHA256, KEY, body, HmacUtil.bytes("uuid"), HmacUtil.bytes("api"), HmacUtil.bytes("method"));
+    }
+
+    /**
+     * 按OpenApiGateway接收流式请求体的方式边接收边验签：二进制数据按阈值读入内存或写入临时文件，读取完毕后完成验签
+     *
+     * @param wire     请求体的输入流
+     * @param length   声明的请求体长度
+     * @param sign     签名
+     * @param receiver 二进制数据接收器
+     * @return 各二进制数据（内存中的字节数组或临时文件）
+     */
+    private List<Object> receive(InputStream wire, long length, String sign, BinaryReceiver receiver) {
+        ContentVerifier verifier = HmacUtil.newVerifier(HmacAlgo.HMAC_SHA256, KEY, length,
+                HmacUtil.bytes("uuid"), HmacUtil.bytes("api"), HmacUtil.bytes("method"));
+        InputStream verifying = PipelineUtil.verify(wire, verifier);
+        try {
+            DataInputStream in = new DataInputStream(verifying);
+            BinaryFrameReader reader = new BinaryFrameReader(in);
+            reader.readParamStr();
+            int count = reader.readBinaryCount();
+            List<Object> binaries = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                long binaryLength = reader.nextBinaryLength();
+                binaries.add(receiver.shouldSpool(binaryLength) ? receiver.readFile(in, binaryLength) : receiver.readBytes(in, binaryLength));
+            }
+            byte[] buffer = new byte[8192];
+            while (verifying.read(buffer) >= 0) {
+                //仅送入验签器
+            }
+            if (!verifier.verify(sign)) {
+                throw new OpenApiServerException("验签失败");
+            }
+            return binaries;
+        } catch (IOException ex) {
+            throw new OpenApiServerException("接收请求体异常:" + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package openapi.server.sdk.chunk;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.RandomUtil;
+import openapi.sdk.common.exception.OpenApiException;
+import openapi.sdk.common.exception.OpenApiServerException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class LocalChunkStoreTest {
+
+    private static final String CALLER = "caller";
+
+    private Path root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("openapi-chunk-test");
+    }
+
+    @After
+    public void tearDown() {
+        FileUtil.del(root);
+    }
+
+    @Test
+    public void outOfOrderWriteShouldAssembleInOrder() throws IOException {
+        LocalChunkStore store = new LocalChunkStore(root, 3600, 1000);
+        byte[] data = RandomUtil.randomBytes(25);
+        store.write(CALLER, "t1", 2, ByteBuffer.wrap(data, 20, 5));
+        store.write(CALLER, "t1", 0, ByteBuffer.wrap(data, 0, 10));
+        Assert.assertEquals(Arrays.asList(0, 2), store.getReceived(CALLER, "t1"));
+        store.write(CALLER, "t1", 1, ByteBuffer.wrap(data, 10, 10));
+        //重复写入时覆盖，不重复计入暂存数据量
+        store.write(CALLER, "t1", 1, ByteBuffer.wrap(data, 10, 10));
+        Assert.assertEquals(25, store.getUsed());
+
+        Path file = store.assemble(CALLER, "t1", data.length);
+        Assert.assertArrayEquals(data, Files.readAllBytes(file));
+        Assert.assertEquals("合并后归还分片占用的空间", 25, store.getUsed());
+        //已合并时直接返回，已接收的分片数从记录的分片数读取
+        Assert.assertEquals(file, store.assemble(CALLER, "t1", data.length));
+        Assert.assertEquals(Arrays.asList(0, 1, 2), store.getReceived(CALLER, "t1"));
+        Assert.assertArrayEquals(Arrays.copyOfRange(data, 10, 20), store.read(CALLER, "t1", 10, 10));
+    }
+
+    @Test
+    public void assembleShouldRejectMissingChunkOrLengthMismatch() throws IOException {
+        LocalChunkStore store = new LocalChunkStore(root, 3600, 1000);
+        store.write(CALLER, "t1", 0, ByteBuffer.wrap(new byte[10]));
+        store.write(CALLER, "t1", 2, ByteBuffer.wrap(new byte[10]));
+        assertAssembleRejected(store, "t1", 30);
+
+        store.write(CALLER, "t2", 0, ByteBuffer.wrap(new byte[10]));
+        store.write(CALLER, "t2", 1, ByteBuffer.wrap(new byte[10]));
+        assertAssembleRejected(store, "t2", 25);
+        //合并失败不改变已接收的分片及暂存数据量
+        Assert.assertEquals(Arrays.asList(0, 1), store.getReceived(CALLER, "t2"));
+        Assert.assertEquals(40, store.getUsed());
+
+        store.assemble(CALLER, "t2", 20);
+        assertAssembleRejected(store, "t2", 25);
+    }
+
+    @Test
+    public void readShouldRejectOutOfBounds() throws IOException {
+        LocalChunkStore store = new LocalChunkStore(root, 3600, 1000);
+        String transferId = store.stage(CALLER, new ByteArrayInputStream(new byte[20]));
+        Assert.assertEquals(10, store.read(CALLER, transferId, 10, 10).length);
+        assertReadRejected(store, transferId, 15, 10);
+        assertReadRejected(store, transferId, -1, 5);
+        assertReadRejected(store, transferId, 0, -1);
+        assertReadRejected(store, "missing", 0, 1);
+        //不同调用者之间隔离
+        try {
+            store.read("other", transferId, 0, 1);
+            Assert.fail("不能读取其它调用者的传输");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        }
+    }
+
+    @Test
+    public void deleteAndExpiryShouldRemoveDataAndReturnQuota() throws IOException {
+        LocalChunkStore store = new LocalChunkStore(root, 60, 1000);
+        store.write(CALLER, "t1", 0, ByteBuffer.wrap(new byte[10]));
+        String staged = store.stage(CALLER, new ByteArrayInputStream(new byte[20]));
+        Assert.assertEquals(30, store.getUsed());
+
+        store.delete(CALLER, staged);
+        Assert.assertEquals(10, store.getUsed());
+        assertReadRejected(store, staged, 0, 1);
+        store.delete(CALLER, staged);
+
+        //超过保留时间未更新的传输在查询状态时清理（清理有最小间隔，使用新的暂存器立即触发）
+        FileTime expired = FileTime.fromMillis(System.currentTimeMillis() - 120_000);
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root)) {
+            for (Path dir : dirs) {
+                Files.setLastModifiedTime(dir, expired);
+            }
+        }
+        LocalChunkStore restarted = new LocalChunkStore(root, 60, 1000);
+        Assert.assertEquals(10, restarted.getUsed());
+        Assert.assertEquals(Collections.emptyList(), restarted.getReceived(CALLER, "t1"));
+        Assert.assertEquals(0, restarted.getUsed());
+        Assert.assertEquals(0, FileUtil.ls(root.toString()).length);
+    }
+
+    @Test
+    public void quotaShouldRejectOverLimitAndCountExistingData() throws IOException {
+        LocalChunkStore store = new LocalChunkStore(root, 3600, 25);
+        store.write(CALLER, "t1", 0, ByteBuffer.wrap(new byte[10]));
+        store.write(CALLER, "t1", 1, ByteBuffer.wrap(new byte[10]));
+        try {
+            store.write(CALLER, "t1", 2, ByteBuffer.wrap(new byte[10]));
+            Assert.fail("超过暂存数据量上限时应拒绝");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        }
+        try {
+            store.stage(CALLER, new ByteArrayInputStream(new byte[10]));
+            Assert.fail("超过暂存数据量上限时应拒绝");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        }
+        //合并期间需要同时容纳分片及合并后的文件
+        try {
+            store.assemble(CALLER, "t1", 20);
+            Assert.fail("超过暂存数据量上限时应拒绝");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        }
+        Assert.assertEquals(20, store.getUsed());
+        Assert.assertEquals(Arrays.asList(0, 1), store.getReceived(CALLER, "t1"));
+
+        //重新创建时计入暂存目录中已有的数据
+        Assert.assertEquals(20, new LocalChunkStore(root, 3600, 25).getUsed());
+        store.delete(CALLER, "t1");
+        Assert.assertEquals(0, store.getUsed());
+        store.write(CALLER, "t1", 0, ByteBuffer.wrap(new byte[25]));
+    }
+
+    @Test
+    public void illegalTransferIdShouldBeRejected() throws IOException {
+        LocalChunkStore store = new LocalChunkStore(root, 3600, 1000);
+        for (String transferId : new String[]{"../x", "..", "a/b", "a\\b", "", null}) {
+            try {
+                store.write(CALLER, transferId, 0, ByteBuffer.wrap(new byte[1]));
+                Assert.fail("分片传输ID格式错误时应拒绝：" + transferId);
+            } catch (OpenApiException ignored) {
+                //预期的异常
+            }
+            try {
+                store.getReceived(CALLER, transferId);
+                Assert.fail("分片传输ID格式错误时应拒绝：" + transferId);
+            } catch (OpenApiException ignored) {
+                //预期的异常
+            }
+        }
+        Assert.assertEquals(0, store.getUsed());
+    }
+
+    private void assertAssembleRejected(LocalChunkStore store, String transferId, long length) throws IOException {
+        try {
+            store.assemble(CALLER, transferId, length);
+            Assert.fail("分片不完整或长度不一致时应拒绝");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        }
+    }
+
+    private void assertReadRejected(LocalChunkStore store, String transferId, long offset, int length) throws IOException {
+        try {
+            store.read(CALLER, transferId, offset, length);
+            Assert.fail("读取越界或传输不存在时应拒绝");
+        } catch (OpenApiServerException ignored) {
+            //预期的异常
+        }
+    }
+}
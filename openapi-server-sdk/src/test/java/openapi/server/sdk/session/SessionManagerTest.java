@@ -0,0 +1,41 @@
+package openapi.server.sdk.session;
+
+import openapi.sdk.common.model.SessionKey;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SessionManagerTest {
+
+    @Test
+    public void handshakesOfOneCallerShouldNotEvictOtherCallers() {
+        SessionManager manager = new SessionManager(10, 4, 3600, 300);
+        SessionKey sessionA = manager.create("callerA", new SessionKey());
+
+        //调用者B大量握手（或重放握手请求）只淘汰自己的会话
+        SessionKey firstB = manager.create("callerB", new SessionKey());
+        for (int i = 0; i < 100; i++) {
+            manager.create("callerB", new SessionKey());
+        }
+        Assert.assertSame(sessionA, manager.get(sessionA.getSessionId(), "callerA"));
+        Assert.assertNull(manager.get(firstB.getSessionId(), "callerB"));
+        Assert.assertEquals(5, manager.size());
+        Assert.assertEquals(2, manager.getCallerCount());
+
+        //会话不能被其它调用者使用
+        Assert.assertNull(manager.get(sessionA.getSessionId(), "callerB"));
+    }
+
+    @Test
+    public void replayedOrStaleHandshakeShouldBeRejected() {
+        SessionManager manager = new SessionManager(10, 4, 3600, 300);
+        long now = System.currentTimeMillis();
+        Assert.assertTrue(manager.acceptHandshake("callerA", "uuid1", now));
+        Assert.assertFalse("重放的握手请求应被拒绝", manager.acceptHandshake("callerA", "uuid1", now));
+        //流水号按调用者区分
+        Assert.assertTrue(manager.acceptHandshake("callerB", "uuid1", now));
+
+        Assert.assertFalse("过期的握手请求应被拒绝", manager.acceptHandshake("callerA", "uuid2", now - 301_000));
+        Assert.assertFalse("超前的握手请求应被拒绝", manager.acceptHandshake("callerA", "uuid3", now + 301_000));
+        Assert.assertTrue(manager.acceptHandshake("callerA", "uuid4", now - 60_000));
+    }
+}